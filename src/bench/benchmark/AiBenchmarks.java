@@ -0,0 +1,121 @@
+package benchmark;
+
+import ai.AiPlayer;
+import ai.GreedySearch;
+import ai.HeuristicWeights;
+import ai.LookaheadSearch;
+import ai.Placement;
+import ai.PlacementSearch;
+import ai.TranspositionTable;
+import model.Game;
+import simulation.GameEngine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+// Benchmarks for the computer player's searches. Each operation decides where to put the active piece of one of
+// a fixed set of games in progress. The two-ply search is run with 1, 2, 4, ... threads, up to the number of
+// available processors, to show how its throughput scales; every decision scores about the same number of
+// boards, so decisions per second are proportional to boards scored per second.
+//
+// The two-ply search is also run with a transposition table. The table is cleared before every decision, since
+// the benchmark cycles through the same positions and would otherwise find every board already scored, so it only
+// shows what the table saves within one decision.
+//
+// Usage: AiBenchmarks [warmup milliseconds] [measurement milliseconds]
+public class AiBenchmarks {
+    private static final long DEFAULT_WARMUP_MILLIS = 1000;
+    private static final long DEFAULT_MEASUREMENT_MILLIS = 2000;
+
+    // Number of games the searches cycle through, and the number of pieces placed in each before measuring
+    private static final int NUM_POSITIONS = 64;
+    private static final int PIECES_BEFORE_MEASURING = 40;
+
+    // Entries and stripes of the transposition table, enough for every board one decision scores
+    private static final int TABLE_ENTRIES = 4096;
+    private static final int TABLE_STRIPES = 64;
+
+    public static void main(String[] args) {
+        long warmupMillis = args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_WARMUP_MILLIS;
+        long measurementMillis = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_MEASUREMENT_MILLIS;
+        BenchmarkRunner runner = new BenchmarkRunner(warmupMillis, measurementMillis);
+
+        List<ForkJoinPool> pools = new ArrayList<ForkJoinPool>();
+        List<BenchmarkResult> results = new ArrayList<BenchmarkResult>();
+        for (Benchmark benchmark : getBenchmarks(pools)) {
+            results.add(runner.run(benchmark));
+        }
+        for (ForkJoinPool pool : pools) {
+            pool.shutdown();
+        }
+        System.out.print(BenchmarkRunner.toTable(results));
+    }
+
+    // MODIFIES: pools
+    // EFFECTS: returns every benchmark for the computer player, and adds the pools the benchmarks use to pools
+    public static List<Benchmark> getBenchmarks(List<ForkJoinPool> pools) {
+        List<Benchmark> benchmarks = new ArrayList<Benchmark>();
+        benchmarks.add(new SearchBenchmark("GreedySearch", new GreedySearch(HeuristicWeights.DEFAULT)));
+        int processors = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= processors; threads *= 2) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            pools.add(pool);
+            benchmarks.add(new SearchBenchmark("LookaheadSearch, " + threads + " threads",
+                    new LookaheadSearch(HeuristicWeights.DEFAULT, pool)));
+            TranspositionTable table = new TranspositionTable(TABLE_ENTRIES, TABLE_STRIPES);
+            benchmarks.add(new SearchBenchmark("LookaheadSearch + table, " + threads + " threads",
+                    new LookaheadSearch(HeuristicWeights.DEFAULT, pool, table), table));
+        }
+        return benchmarks;
+    }
+
+    // EFFECTS: returns games in progress, each played by the greedy player for a while from a different seed
+    private static Game[] makePositions() {
+        Game[] games = new Game[NUM_POSITIONS];
+        for (int i = 0; i < NUM_POSITIONS; i++) {
+            games[i] = new Game(i, 0);
+            games[i].setNotificationsEnabled(false);
+            AiPlayer player = new AiPlayer();
+            GameEngine engine = new GameEngine(games[i], player);
+            while (player.getNumDecisions() < PIECES_BEFORE_MEASURING && engine.step()) {
+                // keep playing
+            }
+        }
+        return games;
+    }
+
+    // Decides where the active piece of each position goes in turn
+    private static class SearchBenchmark extends Benchmark {
+        private final PlacementSearch search;
+        private final TranspositionTable table;
+        private Game[] positions;
+        private int next;
+
+        SearchBenchmark(String name, PlacementSearch search) {
+            this(name, search, null);
+        }
+
+        SearchBenchmark(String name, PlacementSearch search, TranspositionTable table) {
+            super(name);
+            this.search = search;
+            this.table = table;
+        }
+
+        @Override
+        public void setUp() {
+            positions = makePositions();
+        }
+
+        @Override
+        public long runOperation() {
+            Game game = positions[next];
+            next = (next + 1) % NUM_POSITIONS;
+            if (table != null) {
+                table.clear();
+            }
+            Placement placement = search.findBestPlacement(game);
+            return placement == null ? 0 : placement.getReferenceX() + placement.getOrientation();
+        }
+    }
+}
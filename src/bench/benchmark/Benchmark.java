@@ -0,0 +1,26 @@
+package benchmark;
+
+// Represents a micro-benchmark: a named operation that is run many times by a BenchmarkRunner.
+public abstract class Benchmark {
+    private String name;
+
+    // EFFECTS: creates a benchmark with the given name
+    public Benchmark(String name) {
+        this.name = name;
+    }
+
+    // EFFECTS: returns the name of this benchmark
+    public String getName() {
+        return name;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: prepares the state the operation needs. Called once, before the benchmark is warmed up.
+    public void setUp() {
+    }
+
+    // MODIFIES: this
+    // EFFECTS: performs the operation once, and returns a value computed from its result. The runner consumes
+    //          the value so that the JIT compiler cannot remove the operation as dead code.
+    public abstract long runOperation();
+}
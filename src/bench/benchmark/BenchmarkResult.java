@@ -0,0 +1,40 @@
+package benchmark;
+
+// Represents the measurements taken for one benchmark: its throughput, and how much memory it allocates.
+public class BenchmarkResult {
+    private String name;
+    private double operationsPerSecond;
+    private double bytesPerOperation;
+
+    // EFFECTS: creates a result for the benchmark with the given name
+    public BenchmarkResult(String name, double operationsPerSecond, double bytesPerOperation) {
+        this.name = name;
+        this.operationsPerSecond = operationsPerSecond;
+        this.bytesPerOperation = bytesPerOperation;
+    }
+
+    // EFFECTS: returns the name of the benchmark
+    public String getName() {
+        return name;
+    }
+
+    // EFFECTS: returns the number of operations performed per second
+    public double getOperationsPerSecond() {
+        return operationsPerSecond;
+    }
+
+    // EFFECTS: returns the average time one operation took, in nanoseconds
+    public double getNanosecondsPerOperation() {
+        return 1e9 / operationsPerSecond;
+    }
+
+    // EFFECTS: returns the average number of bytes allocated on the heap by one operation
+    public double getBytesPerOperation() {
+        return bytesPerOperation;
+    }
+
+    // EFFECTS: returns the number of megabytes allocated on the heap per second while the benchmark ran
+    public double getAllocationRate() {
+        return operationsPerSecond * bytesPerOperation / (1024 * 1024);
+    }
+}
@@ -0,0 +1,75 @@
+package benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+// Runs benchmarks and measures them. Each benchmark is warmed up so that the JIT compiler has optimized it,
+// then run for a fixed amount of time. Throughput is measured with System.nanoTime, and the allocation rate
+// is measured with the JVM's per-thread allocation counter (the same counter JMH's gc profiler reads).
+public class BenchmarkRunner {
+    // Operations are run in chunks of this size between clock readings, so reading the clock does not
+    // dominate fast operations
+    private static final int OPERATIONS_PER_CHUNK = 1000;
+
+    private long warmupNanoseconds;
+    private long measurementNanoseconds;
+
+    // Results of every operation are folded into this field so that they are never dead code
+    private volatile long sink;
+
+    // EFFECTS: creates a runner that warms each benchmark up for warmupMillis milliseconds, then measures it for
+    //          measurementMillis milliseconds
+    public BenchmarkRunner(long warmupMillis, long measurementMillis) {
+        this.warmupNanoseconds = warmupMillis * 1000000;
+        this.measurementNanoseconds = measurementMillis * 1000000;
+    }
+
+    // MODIFIES: benchmark
+    // EFFECTS: sets up, warms up and measures the given benchmark, then returns its measurements
+    public BenchmarkResult run(Benchmark benchmark) {
+        com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        benchmark.setUp();
+        runFor(benchmark, warmupNanoseconds);
+
+        long bytesBefore = threadBean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        long operations = runFor(benchmark, measurementNanoseconds);
+        long elapsed = System.nanoTime() - start;
+        long bytesAllocated = threadBean.getThreadAllocatedBytes(threadId) - bytesBefore;
+
+        return new BenchmarkResult(benchmark.getName(), operations * 1e9 / elapsed,
+                (double) bytesAllocated / operations);
+    }
+
+    // EFFECTS: returns the given results as a table that can be printed to the console
+    public static String toTable(List<BenchmarkResult> results) {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("%-45s %15s %12s %12s %12s%n", "Benchmark", "ops/s", "ns/op", "B/op", "MB/s"));
+        for (BenchmarkResult result : results) {
+            table.append(String.format("%-45s %15.0f %12.1f %12.1f %12.1f%n", result.getName(),
+                    result.getOperationsPerSecond(), result.getNanosecondsPerOperation(),
+                    result.getBytesPerOperation(), result.getAllocationRate()));
+        }
+        return table.toString();
+    }
+
+    // MODIFIES: benchmark
+    // EFFECTS: runs the benchmark's operation in chunks until at least the given number of nanoseconds have
+    //          passed, and returns the number of operations that were run
+    private long runFor(Benchmark benchmark, long nanoseconds) {
+        long operations = 0;
+        long accumulator = 0;
+        long end = System.nanoTime() + nanoseconds;
+        while (System.nanoTime() < end) {
+            for (int i = 0; i < OPERATIONS_PER_CHUNK; i++) {
+                accumulator += benchmark.runOperation();
+            }
+            operations += OPERATIONS_PER_CHUNK;
+        }
+        sink = accumulator;
+        return operations;
+    }
+}
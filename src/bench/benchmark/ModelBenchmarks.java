@@ -0,0 +1,273 @@
+package benchmark;
+
+import model.Game;
+import model.board.Board;
+import model.pieces.Piece;
+import model.pieces.PieceShape;
+import model.pieces.TPiece;
+import model.randomizer.PieceRandomizer;
+import model.randomizer.RandomizerKind;
+import model.randomizer.SequenceRandomizer;
+import model.randomizer.UniformRandomizer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Benchmarks for the classes in the model package. Prints the throughput and allocation rate of each one.
+//
+// Usage: ModelBenchmarks [warmup milliseconds] [measurement milliseconds]
+public class ModelBenchmarks {
+    private static final long DEFAULT_WARMUP_MILLIS = 1000;
+    private static final long DEFAULT_MEASUREMENT_MILLIS = 2000;
+
+    // Number of rows at the bottom of the board in the line clear benchmarks that always have a hole
+    private static final int GARBAGE_ROWS = 8;
+
+    // Widths and height of the large boards in the line clear benchmarks
+    private static final int[] LARGE_BOARD_WIDTHS = {64, 200};
+    private static final int LARGE_BOARD_HEIGHT = 400;
+
+    // Number of pieces in the sequence the pre-generated randomizer benchmark deals
+    private static final int SEQUENCE_LENGTH = 1 << 16;
+
+    public static void main(String[] args) {
+        long warmupMillis = args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_WARMUP_MILLIS;
+        long measurementMillis = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_MEASUREMENT_MILLIS;
+        BenchmarkRunner runner = new BenchmarkRunner(warmupMillis, measurementMillis);
+
+        List<BenchmarkResult> results = new ArrayList<BenchmarkResult>();
+        for (Benchmark benchmark : getBenchmarks()) {
+            results.add(runner.run(benchmark));
+        }
+        System.out.print(BenchmarkRunner.toTable(results));
+    }
+
+    // EFFECTS: returns every benchmark for the model package
+    public static List<Benchmark> getBenchmarks() {
+        List<Benchmark> benchmarks = new ArrayList<Benchmark>();
+        benchmarks.add(new GameUpdateBenchmark());
+        benchmarks.add(new RotateBenchmark());
+        benchmarks.add(new MoveLeftRightBenchmark());
+        benchmarks.add(new MoveDownBenchmark());
+        benchmarks.add(new HardDropTileLocationsBenchmark(false));
+        benchmarks.add(new HardDropTileLocationsBenchmark(true));
+        for (int rows = 0; rows <= 4; rows++) {
+            benchmarks.add(new ClearLinesBenchmark(rows, Game.WIDTH, Game.HEIGHT));
+        }
+        for (int width : LARGE_BOARD_WIDTHS) {
+            benchmarks.add(new ClearLinesBenchmark(1, width, LARGE_BOARD_HEIGHT));
+            benchmarks.add(new ClearLinesBenchmark(4, width, LARGE_BOARD_HEIGHT));
+        }
+        benchmarks.add(new BlankBoardBenchmark());
+        for (RandomizerKind kind : RandomizerKind.values()) {
+            benchmarks.add(new RandomizerBenchmark(kind.name(), kind.create(0)));
+        }
+        benchmarks.add(new RandomizerBenchmark("SEQUENCE",
+                SequenceRandomizer.generate(RandomizerKind.BAG.create(0), SEQUENCE_LENGTH)));
+        return benchmarks;
+    }
+
+    // EFFECTS: returns a T piece that has been moved a few rows down into the middle of an empty board
+    private static Piece makePieceInOpenSpace(Game game) {
+        game.getPlayfield().clear();
+        Piece piece = new TPiece(game);
+        for (int i = 0; i < Game.HEIGHT / 4; i++) {
+            piece.moveDown();
+        }
+        return piece;
+    }
+
+    // Updates a game with no player input; a new game is started whenever the previous one ends
+    private static class GameUpdateBenchmark extends Benchmark {
+        private Game game;
+        private long seed;
+
+        GameUpdateBenchmark() {
+            super("Game.update");
+        }
+
+        @Override
+        public void setUp() {
+            game = new Game(seed, 0);
+        }
+
+        @Override
+        public long runOperation() {
+            if (game.isGameOver()) {
+                seed++;
+                game = new Game(seed, 0);
+            }
+            game.update();
+            return game.getScore();
+        }
+    }
+
+    // Rotates a T piece in open space
+    private static class RotateBenchmark extends Benchmark {
+        private Piece piece;
+
+        RotateBenchmark() {
+            super("Piece.rotate");
+        }
+
+        @Override
+        public void setUp() {
+            piece = makePieceInOpenSpace(new Game(0, 0));
+        }
+
+        @Override
+        public long runOperation() {
+            return piece.rotate() ? 1 : 0;
+        }
+    }
+
+    // Moves a T piece left and then back right in open space
+    private static class MoveLeftRightBenchmark extends Benchmark {
+        private Piece piece;
+
+        MoveLeftRightBenchmark() {
+            super("Piece.moveLeft + Piece.moveRight");
+        }
+
+        @Override
+        public void setUp() {
+            piece = makePieceInOpenSpace(new Game(0, 0));
+        }
+
+        @Override
+        public long runOperation() {
+            return (piece.moveLeft() ? 1 : 0) + (piece.moveRight() ? 1 : 0);
+        }
+    }
+
+    // Moves a T piece down one row; once it reaches the floor, it is removed and a new piece starts at the top
+    private static class MoveDownBenchmark extends Benchmark {
+        private Game game;
+        private Piece piece;
+
+        MoveDownBenchmark() {
+            super("Piece.moveDown");
+        }
+
+        @Override
+        public void setUp() {
+            game = new Game(0, 0);
+            game.getPlayfield().clear();
+            piece = new TPiece(game);
+        }
+
+        @Override
+        public long runOperation() {
+            if (piece.moveDown()) {
+                return 1;
+            }
+            for (int i = 0; i < PieceShape.NUM_TILES; i++) {
+                game.removeTileAt(piece.getTileX(i), piece.getTileY(i));
+            }
+            piece = new TPiece(game);
+            return 0;
+        }
+    }
+
+    // Gets the hard drop preview of a T piece. Unless the preview is allowed to come from the cache, the piece
+    // moves sideways before every call, so the preview has to be recomputed.
+    private static class HardDropTileLocationsBenchmark extends Benchmark {
+        private boolean cached;
+        private Piece piece;
+        private boolean moveLeft;
+
+        HardDropTileLocationsBenchmark(boolean cached) {
+            super(cached ? "Piece.getHardDropTileLocations (cached)" : "Piece.getHardDropTileLocations (moved)");
+            this.cached = cached;
+        }
+
+        @Override
+        public void setUp() {
+            piece = makePieceInOpenSpace(new Game(0, 0));
+        }
+
+        @Override
+        public long runOperation() {
+            if (!cached) {
+                moveLeft = !moveLeft;
+                if (moveLeft) {
+                    piece.moveLeft();
+                } else {
+                    piece.moveRight();
+                }
+            }
+            return piece.getHardDropTileLocations().size();
+        }
+    }
+
+    // Fills the given number of rows just above a stack of rows that each have a hole, then clears them. This
+    // is the work Game.clearLines delegates to the board after a piece locks. Since the garbage rows are below
+    // the cleared rows, the board is in the same state after every operation.
+    private static class ClearLinesBenchmark extends Benchmark {
+        private int rows;
+        private int width;
+        private int height;
+        private Board board;
+
+        ClearLinesBenchmark(int rows, int width, int height) {
+            super("Game.clearLines (fill and clear " + rows + " rows"
+                    + (width == Game.WIDTH && height == Game.HEIGHT ? "" : ", " + width + "x" + height) + ")");
+            this.rows = rows;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public void setUp() {
+            board = new Game(0, 0, new UniformRandomizer(0), width, height).getPlayfield();
+            board.clear();
+            for (int r = height - GARBAGE_ROWS; r < height; r++) {
+                for (int c = 0; c < width; c++) {
+                    if (c != r % width) {
+                        board.placeTileAt(c, r);
+                    }
+                }
+            }
+        }
+
+        @Override
+        public long runOperation() {
+            int lastRow = height - GARBAGE_ROWS - 1;
+            int firstRow = lastRow - rows + 1;
+            for (int r = firstRow; r <= lastRow; r++) {
+                for (int c = 0; c < width; c++) {
+                    board.placeTileAt(c, r);
+                }
+            }
+            // Like Game.clearLines, only check the rows that could have been filled
+            return board.clearFilledRows(Math.min(firstRow, lastRow), lastRow);
+        }
+    }
+
+    // Builds a blank board represented as a list of arraylists of booleans
+    private static class BlankBoardBenchmark extends Benchmark {
+        BlankBoardBenchmark() {
+            super("Game.getBlankBoard");
+        }
+
+        @Override
+        public long runOperation() {
+            return Game.getBlankBoard().size();
+        }
+    }
+
+    // Deals one piece from a randomizer
+    private static class RandomizerBenchmark extends Benchmark {
+        private final PieceRandomizer randomizer;
+
+        RandomizerBenchmark(String kind, PieceRandomizer randomizer) {
+            super("PieceRandomizer.nextPieceType (" + kind + ")");
+            this.randomizer = randomizer;
+        }
+
+        @Override
+        public long runOperation() {
+            return randomizer.nextPieceType();
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package benchmark;
+
+import model.Game;
+import model.board.Board;
+import model.pieces.Piece;
+import model.pieces.PieceShape;
+import ui.graphics.BoardPanel;
+import ui.graphics.TileSprites;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Benchmarks for drawing the board. Each operation draws one full frame of a game in progress onto an
+// off-screen image, either by filling and outlining every cell (the way BoardPanel used to draw) or by copying
+// pre-rendered TileSprites. Prints the throughput and allocation rate of each one; ns/op is the frame time.
+//
+// Usage: RenderBenchmarks [warmup milliseconds] [measurement milliseconds]
+public class RenderBenchmarks {
+    private static final long DEFAULT_WARMUP_MILLIS = 1000;
+    private static final long DEFAULT_MEASUREMENT_MILLIS = 2000;
+
+    // Colour BoardPanel used to fill the hard drop preview before it drew sprites
+    private static final Color HARD_DROP_PREVIEW_COLOUR =
+            new Color(Color.RED.getRed(), Color.RED.getBlue(), Color.RED.getGreen(), 127);
+
+    // Number of rows at the bottom of the board that are filled with random tiles
+    private static final int GARBAGE_ROWS = 10;
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        long warmupMillis = args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_WARMUP_MILLIS;
+        long measurementMillis = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_MEASUREMENT_MILLIS;
+        BenchmarkRunner runner = new BenchmarkRunner(warmupMillis, measurementMillis);
+
+        List<BenchmarkResult> results = new ArrayList<BenchmarkResult>();
+        for (Benchmark benchmark : getBenchmarks()) {
+            results.add(runner.run(benchmark));
+        }
+        System.out.print(BenchmarkRunner.toTable(results));
+    }
+
+    // EFFECTS: returns every benchmark for drawing the board
+    public static List<Benchmark> getBenchmarks() {
+        List<Benchmark> benchmarks = new ArrayList<Benchmark>();
+        benchmarks.add(new ImmediateFrameBenchmark());
+        benchmarks.add(new SpriteFrameBenchmark());
+        return benchmarks;
+    }
+
+    // EFFECTS: returns a game whose bottom rows are filled with random tiles, with the active piece partway down
+    private static Game makeGameInProgress() {
+        Game game = new Game(0, 0);
+        Board board = game.getPlayfield();
+        Random random = new Random(0);
+        for (int r = Game.HEIGHT - GARBAGE_ROWS; r < Game.HEIGHT; r++) {
+            for (int c = 0; c < Game.WIDTH; c++) {
+                if (random.nextInt(4) != 0) {
+                    board.placeTileAt(c, r);
+                }
+            }
+        }
+        for (int i = 0; i < 3; i++) {
+            game.getActivePiece().moveDown();
+        }
+        return game;
+    }
+
+    // EFFECTS: returns true if the cell at the given row and column holds a tile of the given active piece
+    private static boolean isActiveTile(Piece activePiece, int row, int column) {
+        for (int i = 0; i < PieceShape.NUM_TILES; i++) {
+            if (activePiece.getTileX(i) == column && activePiece.getTileY(i) == row) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Draws one frame of a game in progress onto an off-screen image
+    private abstract static class FrameBenchmark extends Benchmark {
+        protected Game game;
+        protected BufferedImage frame;
+        protected Graphics2D graphics;
+
+        FrameBenchmark(String name) {
+            super(name);
+        }
+
+        @Override
+        public void setUp() {
+            game = makeGameInProgress();
+            Dimension size = BoardPanel.getBoardSize(game);
+            frame = new BufferedImage(size.width + 1, size.height + 1, BufferedImage.TYPE_INT_RGB);
+            graphics = frame.createGraphics();
+        }
+
+        @Override
+        public long runOperation() {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, frame.getWidth(), frame.getHeight());
+            Board board = game.getPlayfield();
+            Piece activePiece = game.getActivePiece();
+            for (int r = 0; r < board.getHeight(); r++) {
+                for (int c = 0; c < board.getWidth(); c++) {
+                    if (!board.isCellOccupied(c, r)) {
+                        drawEmptyCell(r, c);
+                    } else {
+                        drawFilledCell(r, c, isActiveTile(activePiece, r, c));
+                    }
+                }
+            }
+            for (Point p : activePiece.getHardDropTileLocations()) {
+                if (!board.isCellOccupied(p.x, p.y)) {
+                    drawHardDropPreviewCell(p.y, p.x);
+                }
+            }
+            return frame.getRGB(0, 0);
+        }
+
+        // EFFECTS: draws an empty cell at the given row and column
+        protected abstract void drawEmptyCell(int row, int column);
+
+        // EFFECTS: draws a cell holding a tile at the given row and column
+        protected abstract void drawFilledCell(int row, int column, boolean active);
+
+        // EFFECTS: draws a cell of the hard drop preview at the given row and column
+        protected abstract void drawHardDropPreviewCell(int row, int column);
+    }
+
+    // Fills and outlines every cell with Graphics.fillRect and Graphics.drawRect
+    private static class ImmediateFrameBenchmark extends FrameBenchmark {
+        private static final int SIDE = BoardPanel.TILE_SIDE_LENGTH;
+
+        ImmediateFrameBenchmark() {
+            super("Board frame (fillRect and drawRect)");
+        }
+
+        @Override
+        protected void drawEmptyCell(int row, int column) {
+            graphics.setColor(Color.BLACK);
+            graphics.drawRect(column * SIDE, row * SIDE, SIDE, SIDE);
+        }
+
+        @Override
+        protected void drawFilledCell(int row, int column, boolean active) {
+            drawColouredCell(row, column, active ? Color.RED : Color.BLACK);
+        }
+
+        @Override
+        protected void drawHardDropPreviewCell(int row, int column) {
+            drawColouredCell(row, column, HARD_DROP_PREVIEW_COLOUR);
+        }
+
+        // EFFECTS: fills the cell at the given row and column with the given colour, and outlines it
+        private void drawColouredCell(int row, int column, Color colour) {
+            graphics.setColor(colour);
+            graphics.fillRect(column * SIDE, row * SIDE, SIDE, SIDE);
+            graphics.setColor(colour == Color.BLACK ? Color.WHITE : Color.BLACK);
+            graphics.drawRect(column * SIDE, row * SIDE, SIDE, SIDE);
+        }
+    }
+
+    // Copies a pre-rendered sprite for every cell with Graphics.drawImage
+    private static class SpriteFrameBenchmark extends FrameBenchmark {
+        private static final int SIDE = BoardPanel.TILE_SIDE_LENGTH;
+
+        private TileSprites sprites;
+
+        SpriteFrameBenchmark() {
+            super("Board frame (TileSprites)");
+        }
+
+        @Override
+        public void setUp() {
+            super.setUp();
+            sprites = TileSprites.getInstance(SIDE);
+        }
+
+        @Override
+        protected void drawEmptyCell(int row, int column) {
+            sprites.draw(graphics, TileSprites.TileType.EMPTY, column * SIDE, row * SIDE);
+        }
+
+        @Override
+        protected void drawFilledCell(int row, int column, boolean active) {
+            TileSprites.TileType type = active ? TileSprites.TileType.ACTIVE : TileSprites.TileType.LOCKED;
+            sprites.draw(graphics, type, column * SIDE, row * SIDE);
+        }
+
+        @Override
+        protected void drawHardDropPreviewCell(int row, int column) {
+            sprites.draw(graphics, TileSprites.TileType.HARD_DROP_PREVIEW, column * SIDE, row * SIDE);
+        }
+    }
+}
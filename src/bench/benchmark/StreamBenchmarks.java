@@ -0,0 +1,205 @@
+package benchmark;
+
+import ai.AiPlayer;
+import model.Game;
+import model.board.BitBoard;
+import model.board.Board;
+import model.randomizer.RandomizerKind;
+import server.BoardDeltaDecoder;
+import server.BoardDeltaEncoder;
+import simulation.GameEngine;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+// Benchmarks for streaming a board to viewers, as the tournament server does. The board is recorded after every
+// tick of games played by the computer player, and the recording is encoded or decoded one tick at a time.
+//
+// Before the table of throughputs, the mean number of bytes sent per tick is printed for each way of sending the
+// board: the lists from Game.getBoard at one byte per cell, the packed board every tick (a keyframe every tick),
+// and BoardDeltaEncoder frames with and without periodic keyframes.
+//
+// Usage: StreamBenchmarks [warmup milliseconds] [measurement milliseconds]
+public class StreamBenchmarks {
+    private static final long DEFAULT_WARMUP_MILLIS = 1000;
+    private static final long DEFAULT_MEASUREMENT_MILLIS = 2000;
+
+    // Number of ticks recorded on each board size
+    private static final int NUM_TICKS = 4096;
+
+    // Width and height of the large board. The computer player cannot play on boards wider than 64 tiles.
+    private static final int LARGE_WIDTH = 64;
+    private static final int LARGE_HEIGHT = 400;
+
+    public static void main(String[] args) {
+        long warmupMillis = args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_WARMUP_MILLIS;
+        long measurementMillis = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_MEASUREMENT_MILLIS;
+        BenchmarkRunner runner = new BenchmarkRunner(warmupMillis, measurementMillis);
+
+        List<Benchmark> benchmarks = new ArrayList<Benchmark>();
+        benchmarks.addAll(getBenchmarks(Game.WIDTH, Game.HEIGHT));
+        benchmarks.addAll(getBenchmarks(LARGE_WIDTH, LARGE_HEIGHT));
+
+        List<BenchmarkResult> results = new ArrayList<BenchmarkResult>();
+        for (Benchmark benchmark : benchmarks) {
+            results.add(runner.run(benchmark));
+        }
+        System.out.print(BenchmarkRunner.toTable(results));
+    }
+
+    // EFFECTS: records games on a board of the given size, prints the mean bytes per tick of each way of sending
+    //          the recording, and returns the benchmarks for that board size
+    public static List<Benchmark> getBenchmarks(int width, int height) {
+        Board[] recording = record(width, height);
+        String size = width + "x" + height;
+        System.out.printf("%s board, mean bytes per tick over %d ticks:%n", size, recording.length);
+        System.out.printf("    Game.getBoard, one byte per cell:   %10.1f%n", (double) width * height);
+        System.out.printf("    Keyframe every tick:                %10.1f%n", getMeanEncodedBytes(recording, 1));
+        int interval = BoardDeltaEncoder.DEFAULT_KEYFRAME_INTERVAL;
+        System.out.printf("    Deltas, keyframe every %-4d ticks:  %10.1f%n", interval,
+                getMeanEncodedBytes(recording, interval));
+        System.out.printf("    Deltas, no scheduled keyframes:     %10.1f%n",
+                getMeanEncodedBytes(recording, Integer.MAX_VALUE));
+
+        List<Benchmark> benchmarks = new ArrayList<Benchmark>();
+        benchmarks.add(new GetBoardBenchmark(size, width, height));
+        benchmarks.add(new EncodeBenchmark(size, recording));
+        benchmarks.add(new DecodeBenchmark(size, recording));
+        return benchmarks;
+    }
+
+    // EFFECTS: returns the board after each of NUM_TICKS ticks of games on a board of the given size played by the
+    //          computer player. When a game ends, another starts with the next seed.
+    private static Board[] record(int width, int height) {
+        Board[] recording = new Board[NUM_TICKS];
+        long seed = 0;
+        GameEngine engine = null;
+        for (int t = 0; t < NUM_TICKS; t++) {
+            if (engine == null || engine.getGame().isGameOver()) {
+                Game game = new Game(seed, 0, RandomizerKind.BAG.create(seed), width, height);
+                game.setNotificationsEnabled(false);
+                engine = new GameEngine(game, new AiPlayer());
+                seed++;
+            }
+            engine.step();
+            recording[t] = copy(engine.getGame().getPlayfield());
+        }
+        return recording;
+    }
+
+    // EFFECTS: returns a copy of the given board
+    private static Board copy(Board board) {
+        Board copy = new BitBoard(board.getWidth(), board.getHeight());
+        for (int r = 0; r < board.getHeight(); r++) {
+            for (int c = 0; c < board.getWidth(); c++) {
+                if (board.isCellOccupied(c, r)) {
+                    copy.placeTileAt(c, r);
+                }
+            }
+        }
+        return copy;
+    }
+
+    // EFFECTS: returns the mean number of bytes taken by a frame when the recording is encoded with the given
+    //          keyframe interval
+    private static double getMeanEncodedBytes(Board[] recording, int keyframeInterval) {
+        Board first = recording[0];
+        BoardDeltaEncoder encoder = new BoardDeltaEncoder(first.getWidth(), first.getHeight(), keyframeInterval);
+        ByteBuffer buffer = ByteBuffer.allocate(encoder.getKeyframeBytes());
+        long totalBytes = 0;
+        for (Board board : recording) {
+            buffer.clear();
+            totalBytes += encoder.encode(board, buffer);
+        }
+        return (double) totalBytes / recording.length;
+    }
+
+    // Copies the board of a game into lists of booleans, which is what sending the whole board each tick costs
+    // before it is even serialized
+    private static class GetBoardBenchmark extends Benchmark {
+        private final int width;
+        private final int height;
+        private Game game;
+
+        GetBoardBenchmark(String size, int width, int height) {
+            super("Game.getBoard (" + size + ")");
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public void setUp() {
+            game = new Game(0, 0, RandomizerKind.BAG.create(0), width, height);
+        }
+
+        @Override
+        public long runOperation() {
+            return game.getBoard().size();
+        }
+    }
+
+    // Encodes the board after the next tick of the recording
+    private static class EncodeBenchmark extends Benchmark {
+        private final Board[] recording;
+        private BoardDeltaEncoder encoder;
+        private ByteBuffer buffer;
+        private int next;
+
+        EncodeBenchmark(String size, Board[] recording) {
+            super("BoardDeltaEncoder.encode (" + size + ")");
+            this.recording = recording;
+        }
+
+        @Override
+        public void setUp() {
+            encoder = new BoardDeltaEncoder(recording[0].getWidth(), recording[0].getHeight(),
+                    BoardDeltaEncoder.DEFAULT_KEYFRAME_INTERVAL);
+            buffer = ByteBuffer.allocate(encoder.getKeyframeBytes());
+        }
+
+        @Override
+        public long runOperation() {
+            buffer.clear();
+            int bytes = encoder.encode(recording[next], buffer);
+            next = (next + 1) % recording.length;
+            return bytes;
+        }
+    }
+
+    // Decodes the frame of the next tick of the recording, encoded beforehand
+    private static class DecodeBenchmark extends Benchmark {
+        private final Board[] recording;
+        private BoardDeltaDecoder decoder;
+        private ByteBuffer frames;
+        private int[] frameStarts;
+        private int next;
+
+        DecodeBenchmark(String size, Board[] recording) {
+            super("BoardDeltaDecoder.decode (" + size + ")");
+            this.recording = recording;
+        }
+
+        @Override
+        public void setUp() {
+            int width = recording[0].getWidth();
+            int height = recording[0].getHeight();
+            BoardDeltaEncoder encoder = new BoardDeltaEncoder(width, height,
+                    BoardDeltaEncoder.DEFAULT_KEYFRAME_INTERVAL);
+            frames = ByteBuffer.allocate(recording.length * encoder.getKeyframeBytes());
+            frameStarts = new int[recording.length];
+            for (int i = 0; i < recording.length; i++) {
+                frameStarts[i] = frames.position();
+                encoder.encode(recording[i], frames);
+            }
+            decoder = new BoardDeltaDecoder(width, height);
+        }
+
+        @Override
+        public long runOperation() {
+            frames.position(frameStarts[next]);
+            next = (next + 1) % recording.length;
+            return decoder.decode(frames) ? frames.position() : 0;
+        }
+    }
+}
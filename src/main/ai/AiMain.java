@@ -0,0 +1,73 @@
+package ai;
+
+import model.Game;
+import simulation.GameEngine;
+
+import java.util.concurrent.ForkJoinPool;
+
+// Lets the computer player play headless games from the command line, and prints how well it played and how
+// quickly it made its decisions. At level 29 the game is updated every 20 ms, so the player keeps up as long as
+// it decides where a piece goes in less time than that.
+//
+// Given a number of lookahead threads, the player also looks at the next piece (see LookaheadSearch), splitting
+// each search across that many threads. Otherwise it looks at the active piece alone (see GreedySearch). Given a
+// number of table entries as well, the lookahead caches board scores in a TranspositionTable of that size, and
+// the table's hit rate and memory footprint are printed at the end.
+//
+// Usage: AiMain <number of games> <first seed> <starting level> [maximum pieces per game] [lookahead threads]
+//               [transposition table entries]
+public class AiMain {
+    // Milliseconds between updates at the fastest level
+    private static final int FASTEST_MILLISECONDS_PER_UPDATE = 20;
+
+    // Stripes of the transposition table for each lookahead thread, so that threads rarely wait for a lock
+    private static final int TABLE_STRIPES_PER_THREAD = 16;
+
+    public static void main(String[] args) {
+        if (args.length < 3) {
+            System.err.println("Usage: AiMain <number of games> <first seed> <starting level> "
+                    + "[maximum pieces per game] [lookahead threads] [transposition table entries]");
+            System.exit(1);
+        }
+
+        int numGames = Integer.parseInt(args[0]);
+        long firstSeed = Long.parseLong(args[1]);
+        int startingLevel = Integer.parseInt(args[2]);
+        long maxPieces = args.length > 3 ? Long.parseLong(args[3]) : 10_000;
+        int lookaheadThreads = args.length > 4 ? Integer.parseInt(args[4]) : 0;
+        int tableEntries = args.length > 5 ? Integer.parseInt(args[5]) : 0;
+
+        ForkJoinPool pool = lookaheadThreads > 0 ? new ForkJoinPool(lookaheadThreads) : null;
+        TranspositionTable table = pool != null && tableEntries > 0
+                ? new TranspositionTable(tableEntries, TABLE_STRIPES_PER_THREAD * lookaheadThreads) : null;
+        AiPlayer player = pool == null ? new AiPlayer()
+                : new AiPlayer(new LookaheadSearch(HeuristicWeights.DEFAULT, pool, table));
+        for (int i = 0; i < numGames; i++) {
+            Game game = new Game(firstSeed + i, startingLevel);
+            game.setNotificationsEnabled(false);
+            GameEngine engine = new GameEngine(game, player);
+            long piecesBefore = player.getNumDecisions();
+            while (!game.isGameOver() && player.getNumDecisions() - piecesBefore < maxPieces) {
+                engine.step();
+            }
+            System.out.printf("Seed %d: %d pieces, %d lines, score %d, level %d%s%n", firstSeed + i,
+                    player.getNumDecisions() - piecesBefore, game.getLinesCleared(), game.getScore(),
+                    game.getLevel(), game.isGameOver() ? ", topped out" : "");
+        }
+
+        System.out.printf("%d placements evaluated, %.0f per second%n", player.getNumPlacementsEvaluated(),
+                player.getPlacementsEvaluatedPerSecond());
+        System.out.printf("Decision time: mean %.1f us (%.0fx headroom at %d ms per update), max %.1f us%n",
+                player.getMeanDecisionMicroseconds(),
+                FASTEST_MILLISECONDS_PER_UPDATE * 1e3 / Math.max(1, player.getMeanDecisionMicroseconds()),
+                FASTEST_MILLISECONDS_PER_UPDATE, player.getMaximumDecisionMicroseconds());
+        if (table != null) {
+            System.out.printf("Transposition table: %.1f%% hit rate, %d evictions, %d of %d entries used, %d KiB%n",
+                    100 * table.getHitRate(), table.getNumEvictions(), table.getSize(), table.getCapacity(),
+                    table.getMemoryFootprintBytes() / 1024);
+        }
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package ai;
+
+import model.Game;
+import model.InputCommand;
+import model.pieces.Piece;
+import simulation.InputScript;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+// A computer player. Whenever a new piece becomes active, the player searches for the best place to put it
+// (see GreedySearch and LookaheadSearch) and then gives the game the commands that put it there, all in one
+// tick, so gravity never moves the piece while the player is steering it. Only one piece is placed per tick,
+// which keeps each tick's commands well under GameEngine.MAXIMUM_COMMANDS_PER_TICK.
+//
+// The player times its searches, so it can report how many placements it evaluates per second and how long it
+// takes to decide where a piece goes compared with the time between ticks.
+public class AiPlayer implements InputScript {
+    private final PlacementSearch search;
+
+    // Commands that have been planned for the active piece but not given yet
+    private final Queue<InputCommand> pendingCommands = new ArrayDeque<>();
+
+    // The piece the pending commands were planned for, and the tick the last piece was placed in
+    private Piece plannedPiece;
+    private long lastPlacementTick = -1;
+
+    // Statistics about the searches
+    private long numDecisions;
+    private long totalDecisionNanoseconds;
+    private long maximumDecisionNanoseconds;
+
+    // EFFECTS: creates a player that judges boards with the default weights, looking only at the active piece
+    public AiPlayer() {
+        this(HeuristicWeights.DEFAULT);
+    }
+
+    // EFFECTS: creates a player that judges boards with the given weights, looking only at the active piece
+    public AiPlayer(HeuristicWeights weights) {
+        this(new GreedySearch(weights));
+    }
+
+    // EFFECTS: creates a player that decides where pieces go with the given search
+    public AiPlayer(PlacementSearch search) {
+        this.search = search;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the next command for the active piece. When a new piece becomes active, searches for the
+    //          best place to put it first. Returns InputCommand.NONE once a piece has been placed during the given
+    //          tick, and when the game is over or the piece cannot be placed anywhere.
+    @Override
+    public InputCommand nextCommand(Game game, long tick) {
+        if (game.isGameOver() || tick == lastPlacementTick) {
+            return InputCommand.NONE;
+        }
+        if (game.getActivePiece() != plannedPiece) {
+            plan(game);
+        }
+
+        InputCommand command = pendingCommands.poll();
+        if (command == null) {
+            return InputCommand.NONE;
+        }
+        if (command == InputCommand.HARD_DROP) {
+            lastPlacementTick = tick;
+        }
+        return command;
+    }
+
+    // EFFECTS: returns the number of placements evaluated so far
+    public long getNumPlacementsEvaluated() {
+        return search.getNumPlacementsEvaluated();
+    }
+
+    // EFFECTS: returns the number of pieces the player has decided where to put
+    public long getNumDecisions() {
+        return numDecisions;
+    }
+
+    // EFFECTS: returns the average number of placements evaluated per second of searching, or 0 if searching
+    //          has not taken any measurable time yet
+    public double getPlacementsEvaluatedPerSecond() {
+        if (totalDecisionNanoseconds == 0) {
+            return 0;
+        }
+        return search.getNumPlacementsEvaluated() * 1e9 / totalDecisionNanoseconds;
+    }
+
+    // EFFECTS: returns the average time taken to decide where to put a piece, in microseconds, or 0 if no
+    //          decisions have been made
+    public double getMeanDecisionMicroseconds() {
+        if (numDecisions == 0) {
+            return 0;
+        }
+        return totalDecisionNanoseconds / 1e3 / numDecisions;
+    }
+
+    // EFFECTS: returns the longest time taken to decide where to put a piece, in microseconds
+    public double getMaximumDecisionMicroseconds() {
+        return maximumDecisionNanoseconds / 1e3;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: searches for the best placement of the game's active piece and plans the commands that put it there
+    private void plan(Game game) {
+        long start = System.nanoTime();
+        Placement placement = search.findBestPlacement(game);
+        long elapsedNanoseconds = System.nanoTime() - start;
+
+        numDecisions++;
+        totalDecisionNanoseconds += elapsedNanoseconds;
+        maximumDecisionNanoseconds = Math.max(maximumDecisionNanoseconds, elapsedNanoseconds);
+
+        plannedPiece = game.getActivePiece();
+        pendingCommands.clear();
+        if (placement != null) {
+            pendingCommands.addAll(placement.getCommands());
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package ai;
+
+import model.Game;
+import model.pieces.Piece;
+import model.pieces.PieceShape;
+
+// Finds the best place to put a game's active piece by looking at that piece alone. Every reachable placement
+// is tried (see PlacementList), the board each placement leaves behind is scored with a weighted heuristic (see
+// HeuristicWeights), and the placement with the highest score wins.
+//
+// A search reuses the same scratch board and placement list every time, so it only allocates the placement it
+// returns, but it must only be used by one thread at a time.
+public class GreedySearch implements PlacementSearch {
+    private final HeuristicWeights weights;
+
+    // The game's board without the active piece, and a board to try placements on. Both are replaced when a game
+    // with a different board size is searched.
+    private SearchBoard root;
+    private SearchBoard scratch;
+    private final PlacementList placements = new PlacementList();
+
+    private long numPlacementsEvaluated;
+
+    // EFFECTS: creates a search that scores boards with the given weights
+    public GreedySearch(HeuristicWeights weights) {
+        this.weights = weights;
+        this.root = new SearchBoard(Game.WIDTH, Game.HEIGHT);
+        this.scratch = new SearchBoard(Game.WIDTH, Game.HEIGHT);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the best placement of the given game's active piece, starting from where the piece is now,
+    //          or null if the game is over or the piece cannot be placed anywhere.
+    //          Throws IllegalArgumentException if the game's board is wider than SearchBoard.MAXIMUM_WIDTH.
+    @Override
+    public Placement findBestPlacement(Game game) {
+        if (game.isGameOver()) {
+            return null;
+        }
+        if (root.getWidth() != game.getWidth() || root.getHeight() != game.getHeight()) {
+            root = new SearchBoard(game.getWidth(), game.getHeight());
+            scratch = new SearchBoard(game.getWidth(), game.getHeight());
+        }
+        root.copyFrom(game);
+        Piece piece = game.getActivePiece();
+        return findBestPlacement(root, piece.getShape(), piece.getReferenceX(), piece.getReferenceY(),
+                piece.getOrientation());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the best placement on the given board of a piece with the given shape, which starts in the
+    //          given orientation with its rotation reference point at (startX, startY), or null if the piece
+    //          cannot be placed anywhere. The board is not changed.
+    public Placement findBestPlacement(SearchBoard board, PieceShape shape, int startX, int startY,
+                                       int startOrientation) {
+        placements.generate(board, shape, startX, startY, startOrientation);
+        int best = -1;
+        int bestLinesCleared = 0;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < placements.size(); i++) {
+            scratch.copyFrom(board);
+            int linesCleared = scratch.placeAndClear(shape, placements.getOrientation(i),
+                    placements.getReferenceX(i), placements.getLandingY(i));
+            double score = scratch.evaluate(weights, linesCleared);
+            if (best < 0 || score > bestScore) {
+                best = i;
+                bestScore = score;
+                bestLinesCleared = linesCleared;
+            }
+        }
+        numPlacementsEvaluated += placements.size();
+        return best < 0 ? null : placements.toPlacement(best, bestLinesCleared, bestScore);
+    }
+
+    // EFFECTS: returns the number of placements this search has evaluated
+    @Override
+    public long getNumPlacementsEvaluated() {
+        return numPlacementsEvaluated;
+    }
+
+    // EFFECTS: returns the weights this search scores boards with
+    @Override
+    public HeuristicWeights getWeights() {
+        return weights;
+    }
+}
@@ -0,0 +1,98 @@
+package ai;
+
+import java.util.Arrays;
+
+// The weights of the features a computer player uses to judge a board. A board's score is the weighted sum of
+// its features, and the player chooses the placement whose board has the highest score, so features that make
+// a board worse (such as holes) have negative weights.
+//
+// The default weights come from https://codemyroad.wordpress.com/2013/04/14/tetris-ai-the-near-perfect-player/
+public final class HeuristicWeights {
+    // The number of features that have weights
+    public static final int NUM_FEATURES = 4;
+
+    public static final HeuristicWeights DEFAULT = new HeuristicWeights(-0.510066, -0.35663, -0.184483, 0.760666);
+
+    private final double aggregateHeight;
+    private final double holes;
+    private final double bumpiness;
+    private final double linesCleared;
+
+    // EFFECTS: creates weights for the given features:
+    //           - aggregateHeight is the weight of the sum of the heights of every column
+    //           - holes is the weight of the number of empty cells that have a tile somewhere above them
+    //           - bumpiness is the weight of the sum of the differences in height between adjacent columns
+    //           - linesCleared is the weight of the number of lines the placement cleared
+    public HeuristicWeights(double aggregateHeight, double holes, double bumpiness, double linesCleared) {
+        this.aggregateHeight = aggregateHeight;
+        this.holes = holes;
+        this.bumpiness = bumpiness;
+        this.linesCleared = linesCleared;
+    }
+
+    // EFFECTS: returns weights taken from the given array, in the order they are given to the constructor.
+    //          Throws IllegalArgumentException if the array does not have NUM_FEATURES elements.
+    public static HeuristicWeights fromArray(double[] weights) {
+        if (weights.length != NUM_FEATURES) {
+            throw new IllegalArgumentException("Expected " + NUM_FEATURES + " weights, got " + weights.length);
+        }
+        return new HeuristicWeights(weights[0], weights[1], weights[2], weights[3]);
+    }
+
+    // EFFECTS: returns a new array of the weights, in the order they are given to the constructor
+    public double[] toArray() {
+        return new double[] {aggregateHeight, holes, bumpiness, linesCleared};
+    }
+
+    // EFFECTS: returns the weight of the aggregate height
+    public double getAggregateHeight() {
+        return aggregateHeight;
+    }
+
+    // EFFECTS: returns the weight of the number of holes
+    public double getHoles() {
+        return holes;
+    }
+
+    // EFFECTS: returns the weight of the bumpiness
+    public double getBumpiness() {
+        return bumpiness;
+    }
+
+    // EFFECTS: returns the weight of the number of lines cleared
+    public double getLinesCleared() {
+        return linesCleared;
+    }
+
+    // EFFECTS: returns the weighted sum of the given features
+    public double score(int aggregateHeight, int holes, int bumpiness, int linesCleared) {
+        return this.aggregateHeight * aggregateHeight + this.holes * holes + this.bumpiness * bumpiness
+                + this.linesCleared * linesCleared;
+    }
+
+    // EFFECTS: returns true if obj's actual type is HeuristicWeights and it has the same weights as this
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || this.getClass() != obj.getClass()) {
+            return false;
+        }
+        HeuristicWeights other = (HeuristicWeights) obj;
+        return Arrays.equals(toArray(), other.toArray());
+    }
+
+    // EFFECTS: returns the hash code for these weights
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(toArray());
+    }
+
+    // EFFECTS: returns the weights as a string, in the order they are given to the constructor
+    @Override
+    public String toString() {
+        return "HeuristicWeights[aggregateHeight=" + aggregateHeight + ", holes=" + holes + ", bumpiness="
+                + bumpiness + ", linesCleared=" + linesCleared + "]";
+    }
+}
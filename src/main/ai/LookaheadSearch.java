@@ -0,0 +1,285 @@
+package ai;
+
+import model.Game;
+import model.pieces.Piece;
+import model.pieces.PieceShape;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Finds the best place to put a game's active piece by also looking at the next piece. Every reachable placement
+// of the active piece (the first ply) is combined with every placement of the next piece from where it will
+// spawn (the second ply), and each first-ply placement is scored by the best board the second ply can leave,
+// counting the lines both pieces clear. That is roughly 34 x 34 boards per decision.
+//
+// The first-ply placements are split across the threads of a ForkJoinPool. Each thread has its own scratch
+// boards and placement list, which it reuses for every decision, so the threads share nothing while they search
+// and do not allocate boards. Only the task objects that split the work are created per decision.
+//
+// The search can share a TranspositionTable between its threads. Boards are then looked up by their Zobrist hash
+// before they are scored, so a board reached by more than one pair of placements (such as two pieces of the same
+// type placed in either order) is scored once. The best score the second ply can reach from each board after the
+// first ply is cached too, keyed by the board, the next piece and the lines the first ply cleared.
+public class LookaheadSearch implements PlacementSearch {
+    // First-ply placements are split into tasks of at most this many placements
+    private static final int PLACEMENTS_PER_TASK = 2;
+
+    // XORed into the keys of second-ply results so they are not mistaken for the scores of single boards
+    private static final long SECOND_PLY_SALT = 0x2B992DDFA23249D6L;
+
+    private final HeuristicWeights weights;
+    private final ForkJoinPool pool;
+    private final TranspositionTable table;
+    private ZobristKeys keys;
+
+    // The game's board without the active piece, and the placements of the active piece on it. These are only
+    // written by the thread that calls findBestPlacement, before the tasks that read them are started. root is
+    // replaced when a game with a different board size is searched.
+    private SearchBoard root;
+    private final PlacementList firstPly = new PlacementList();
+
+    // The part of the keys of second-ply results that depends on the next piece, written with root
+    private long secondPlyKey;
+
+    // Scratch space for each thread that evaluates placements
+    private final ThreadLocal<Scratch> scratch = new ThreadLocal<Scratch>() {
+        @Override
+        protected Scratch initialValue() {
+            return new Scratch(root.getWidth(), root.getHeight());
+        }
+    };
+
+    private long numPlacementsEvaluated;
+
+    // EFFECTS: creates a search that scores boards with the given weights and splits its work across the threads
+    //          of the given pool, without a transposition table
+    public LookaheadSearch(HeuristicWeights weights, ForkJoinPool pool) {
+        this(weights, pool, null);
+    }
+
+    // EFFECTS: creates a search that scores boards with the given weights, splits its work across the threads
+    //          of the given pool, and caches scores in the given table, or caches nothing if table is null
+    public LookaheadSearch(HeuristicWeights weights, ForkJoinPool pool, TranspositionTable table) {
+        this.weights = weights;
+        this.pool = pool;
+        this.table = table;
+        this.keys = ZobristKeys.getInstance(Game.WIDTH, Game.HEIGHT);
+        this.root = new SearchBoard(Game.WIDTH, Game.HEIGHT);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the placement of the given game's active piece, starting from where the piece is now, that
+    //          lets the next piece leave the best board, or null if the game is over or the active piece cannot
+    //          be placed anywhere. If the next piece cannot be placed after any placement of the active piece,
+    //          returns the first placement found.
+    //          Throws IllegalArgumentException if the game's board is wider than SearchBoard.MAXIMUM_WIDTH.
+    @Override
+    public Placement findBestPlacement(Game game) {
+        if (game.isGameOver()) {
+            return null;
+        }
+        resizeFor(game);
+        root.copyFrom(game);
+        Piece piece = game.getActivePiece();
+        firstPly.generate(root, piece.getShape(), piece.getReferenceX(), piece.getReferenceY(),
+                piece.getOrientation());
+        if (firstPly.size() == 0) {
+            return null;
+        }
+
+        Piece next = game.getNextPiece();
+        if (table != null) {
+            // The next piece always spawns in the same place, so its shape is enough to tell its results apart
+            secondPlyKey = ZobristKeys.getShapeKey(next.getShape()) ^ SECOND_PLY_SALT;
+            table.nextGeneration();
+        }
+        FirstPlyTask task = new FirstPlyTask(piece.getShape(), next.getShape(), next.getReferenceX(),
+                next.getReferenceY(), 0, firstPly.size());
+        pool.invoke(task);
+        numPlacementsEvaluated += task.numEvaluated;
+        int best = Math.max(task.best, 0);
+        return firstPly.toPlacement(best, task.bestLinesCleared, task.bestScore);
+    }
+
+    // EFFECTS: returns the number of boards this search has scored, not counting boards whose scores were found
+    //          in the transposition table
+    @Override
+    public long getNumPlacementsEvaluated() {
+        return numPlacementsEvaluated;
+    }
+
+    // EFFECTS: returns the weights this search scores boards with
+    @Override
+    public HeuristicWeights getWeights() {
+        return weights;
+    }
+
+    // EFFECTS: returns the pool this search splits its work across
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    // EFFECTS: returns the table this search caches scores in, or null if it caches nothing
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: replaces root and the Zobrist keys with ones for the given game's board size, if they are for a
+    //          different size. Each thread's scratch space is replaced the next time that thread uses it.
+    private void resizeFor(Game game) {
+        if (root.getWidth() != game.getWidth() || root.getHeight() != game.getHeight()) {
+            keys = ZobristKeys.getInstance(game.getWidth(), game.getHeight());
+            root = new SearchBoard(game.getWidth(), game.getHeight());
+        }
+    }
+
+    // The boards and placement list one thread uses while it evaluates placements
+    private static class Scratch {
+        private final SearchBoard afterFirstPly;
+        private final SearchBoard afterSecondPly;
+        private final PlacementList secondPly = new PlacementList();
+
+        // EFFECTS: creates scratch space for searching boards of the given width and height
+        private Scratch(int width, int height) {
+            afterFirstPly = new SearchBoard(width, height);
+            afterSecondPly = new SearchBoard(width, height);
+        }
+    }
+
+    // A task that finds the best of the first-ply placements at indices [start, end), splitting itself in half
+    // until there are few enough placements to evaluate them directly. The result is left in the task's fields.
+    private class FirstPlyTask extends RecursiveTask<Void> {
+        private final PieceShape shape;
+        private final PieceShape nextShape;
+        private final int nextX;
+        private final int nextY;
+        private final int start;
+        private final int end;
+
+        // The index of the best placement (or -1 if no placement lets the next piece be placed), its score and
+        // the lines it clears, and the number of boards scored
+        private int best = -1;
+        private double bestScore = Double.NEGATIVE_INFINITY;
+        private int bestLinesCleared;
+        private long numEvaluated;
+
+        // EFFECTS: creates a task that evaluates the first-ply placements at indices [start, end) of a piece with
+        //          the given shape, followed by a next piece with the given shape that spawns in its default
+        //          orientation with its rotation reference point at (nextX, nextY)
+        FirstPlyTask(PieceShape shape, PieceShape nextShape, int nextX, int nextY, int start, int end) {
+            this.shape = shape;
+            this.nextShape = nextShape;
+            this.nextX = nextX;
+            this.nextY = nextY;
+            this.start = start;
+            this.end = end;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: finds the best placement of this task
+        @Override
+        protected Void compute() {
+            if (end - start <= PLACEMENTS_PER_TASK) {
+                Scratch threadScratch = scratch.get();
+                if (threadScratch.afterFirstPly.getWidth() != root.getWidth()
+                        || threadScratch.afterFirstPly.getHeight() != root.getHeight()) {
+                    threadScratch = new Scratch(root.getWidth(), root.getHeight());
+                    scratch.set(threadScratch);
+                }
+                for (int i = start; i < end; i++) {
+                    evaluateFirstPly(threadScratch, i);
+                }
+            } else {
+                int middle = (start + end) >>> 1;
+                FirstPlyTask left = new FirstPlyTask(shape, nextShape, nextX, nextY, start, middle);
+                FirstPlyTask right = new FirstPlyTask(shape, nextShape, nextX, nextY, middle, end);
+                invokeAll(left, right);
+                combine(left);
+                combine(right);
+            }
+            return null;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: scores the i'th first-ply placement by the best board any second-ply placement leaves after it
+        private void evaluateFirstPly(Scratch threadScratch, int i) {
+            SearchBoard afterFirstPly = threadScratch.afterFirstPly;
+            afterFirstPly.copyFrom(root);
+            int firstLines = afterFirstPly.placeAndClear(shape, firstPly.getOrientation(i), firstPly.getReferenceX(i),
+                    firstPly.getLandingY(i));
+            double score = table == null
+                    ? searchSecondPly(threadScratch, firstLines) : lookUpSecondPly(threadScratch, firstLines);
+            if (score > bestScore) {
+                best = i;
+                bestScore = score;
+                bestLinesCleared = firstLines;
+            }
+        }
+
+        // MODIFIES: this
+        // EFFECTS: returns the best score the second ply can reach from the board in threadScratch.afterFirstPly,
+        //          which the first ply left after clearing firstLines lines, looking it up in the transposition
+        //          table and storing it there if it is not found
+        private double lookUpSecondPly(Scratch threadScratch, int firstLines) {
+            long key = threadScratch.afterFirstPly.getHash() ^ secondPlyKey ^ keys.getLinesKey(firstLines);
+            double score = table.get(key);
+            if (Double.isNaN(score)) {
+                score = searchSecondPly(threadScratch, firstLines);
+                table.put(key, score);
+            }
+            return score;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: returns the best score of the boards left by the second-ply placements from the board in
+        //          threadScratch.afterFirstPly, which the first ply left after clearing firstLines lines, or
+        //          negative infinity if the next piece cannot be placed
+        private double searchSecondPly(Scratch threadScratch, int firstLines) {
+            SearchBoard afterFirstPly = threadScratch.afterFirstPly;
+            SearchBoard afterSecondPly = threadScratch.afterSecondPly;
+            PlacementList secondPly = threadScratch.secondPly;
+            secondPly.generate(afterFirstPly, nextShape, nextX, nextY, 0);
+            double bestSecondPly = Double.NEGATIVE_INFINITY;
+            for (int j = 0; j < secondPly.size(); j++) {
+                afterSecondPly.copyFrom(afterFirstPly);
+                int secondLines = afterSecondPly.placeAndClear(nextShape, secondPly.getOrientation(j),
+                        secondPly.getReferenceX(j), secondPly.getLandingY(j));
+                bestSecondPly = Math.max(bestSecondPly, score(afterSecondPly, firstLines + secondLines));
+            }
+            return bestSecondPly;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: returns the score of the given board, counting the given number of lines as cleared, looking it
+        //          up in the transposition table if there is one and storing it there if it is not found
+        private double score(SearchBoard board, int linesCleared) {
+            long key = 0;
+            if (table != null) {
+                key = board.getHash() ^ keys.getLinesKey(linesCleared);
+                double score = table.get(key);
+                if (!Double.isNaN(score)) {
+                    return score;
+                }
+            }
+            double score = board.evaluate(weights, linesCleared);
+            numEvaluated++;
+            if (table != null) {
+                table.put(key, score);
+            }
+            return score;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: makes the result of the given task the result of this task if it is better, and adds its
+        //          number of boards scored to this task's
+        private void combine(FirstPlyTask other) {
+            if (other.best >= 0 && (best < 0 || other.bestScore > bestScore)) {
+                best = other.best;
+                bestScore = other.bestScore;
+                bestLinesCleared = other.bestLinesCleared;
+            }
+            numEvaluated += other.numEvaluated;
+        }
+    }
+}
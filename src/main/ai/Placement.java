@@ -0,0 +1,78 @@
+package ai;
+
+import model.InputCommand;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// A place a computer player has chosen to put the active piece, and the commands that get the piece there from
+// where it was when the search started: move down a few rows if there is no room to rotate, rotate into the
+// chosen orientation, move sideways to the chosen column, then hard drop.
+public final class Placement {
+    private final int orientation;
+    private final int referenceX;
+    private final int landingY;
+    private final int numMovesDown;
+    private final int numRotations;
+    private final int shift;
+    private final int linesCleared;
+    private final double score;
+
+    // EFFECTS: creates a placement of a piece in the given orientation with its rotation reference point at
+    //          (referenceX, landingY), reached by moving down numMovesDown rows, rotating numRotations times and
+    //          moving shift columns to the right (or to the left, if shift is negative). Placing the piece clears
+    //          linesCleared lines and leaves a board with the given score.
+    public Placement(int orientation, int referenceX, int landingY, int numMovesDown, int numRotations, int shift,
+                     int linesCleared, double score) {
+        this.orientation = orientation;
+        this.referenceX = referenceX;
+        this.landingY = landingY;
+        this.numMovesDown = numMovesDown;
+        this.numRotations = numRotations;
+        this.shift = shift;
+        this.linesCleared = linesCleared;
+        this.score = score;
+    }
+
+    // EFFECTS: returns the orientation the piece is placed in
+    public int getOrientation() {
+        return orientation;
+    }
+
+    // EFFECTS: returns the x-coordinate of the piece's rotation reference point once it is placed
+    public int getReferenceX() {
+        return referenceX;
+    }
+
+    // EFFECTS: returns the y-coordinate of the piece's rotation reference point once it is placed
+    public int getLandingY() {
+        return landingY;
+    }
+
+    // EFFECTS: returns the number of lines placing the piece clears
+    public int getLinesCleared() {
+        return linesCleared;
+    }
+
+    // EFFECTS: returns the score of the board after the piece is placed
+    public double getScore() {
+        return score;
+    }
+
+    // EFFECTS: returns the commands that move the piece from where it was when the search started into this
+    //          placement, ending with InputCommand.HARD_DROP
+    public List<InputCommand> getCommands() {
+        List<InputCommand> commands = new ArrayList<>();
+        for (int i = 0; i < numMovesDown; i++) {
+            commands.add(InputCommand.MOVE_DOWN);
+        }
+        for (int i = 0; i < numRotations; i++) {
+            commands.add(InputCommand.ROTATE);
+        }
+        for (int i = 0; i < Math.abs(shift); i++) {
+            commands.add(shift < 0 ? InputCommand.MOVE_LEFT : InputCommand.MOVE_RIGHT);
+        }
+        commands.add(InputCommand.HARD_DROP);
+        return commands;
+    }
+}
@@ -0,0 +1,132 @@
+package ai;
+
+import model.pieces.PieceShape;
+
+import java.util.Arrays;
+
+// The placements a piece can reach on a board, stored in parallel arrays of ints so that a search can refill
+// the same list for every piece without allocating. For each distinct orientation the piece can rotate into,
+// the piece is moved as far left and as far right as it can go, and hard dropped from every column on the way.
+//
+// Each placement records where the piece lands and how it gets there from where it started: it moves down a
+// few rows if there is no room to rotate, rotates into the orientation, then moves sideways to the column.
+public class PlacementList {
+    // A piece that cannot rotate where it is (for example, because it has just spawned at the top of the board)
+    // is moved down at most this many rows to make room
+    private static final int MAXIMUM_MOVES_DOWN_TO_ROTATE = 2;
+
+    private int size;
+    private int startX;
+    private int[] orientations = new int[64];
+    private int[] referenceXs = new int[64];
+    private int[] landingYs = new int[64];
+    private int[] movesDown = new int[64];
+    private int[] rotations = new int[64];
+
+    // MODIFIES: this
+    // EFFECTS: replaces the contents of this list with every reachable placement on the given board of a piece
+    //          with the given shape, which starts in the given orientation with its rotation reference point at
+    //          (startX, startY). The board is not changed.
+    public void generate(SearchBoard board, PieceShape shape, int startX, int startY, int startOrientation) {
+        size = 0;
+        this.startX = startX;
+        for (int r = 0; r < PieceShape.NUM_ORIENTATIONS; r++) {
+            int orientation = (startOrientation + r) % PieceShape.NUM_ORIENTATIONS;
+            int down = findMovesDownToRotate(board, shape, startX, startY, startOrientation, r);
+            if (isRepeatedOrientation(shape, startOrientation, r) || down < 0) {
+                continue;
+            }
+
+            int y = startY + down;
+            for (int x = startX; board.fits(shape, orientation, x, y); x--) {
+                add(orientation, x, board.getDropY(shape, orientation, x, y), down, r);
+            }
+            for (int x = startX + 1; board.fits(shape, orientation, x, y); x++) {
+                add(orientation, x, board.getDropY(shape, orientation, x, y), down, r);
+            }
+        }
+    }
+
+    // EFFECTS: returns the number of placements in this list
+    public int size() {
+        return size;
+    }
+
+    // EFFECTS: returns the orientation of the i'th placement
+    public int getOrientation(int i) {
+        return orientations[i];
+    }
+
+    // EFFECTS: returns the x-coordinate of the rotation reference point of the i'th placement
+    public int getReferenceX(int i) {
+        return referenceXs[i];
+    }
+
+    // EFFECTS: returns the y-coordinate the rotation reference point of the i'th placement lands at
+    public int getLandingY(int i) {
+        return landingYs[i];
+    }
+
+    // EFFECTS: returns a Placement holding the i'th placement, which clears the given number of lines and leaves
+    //          a board with the given score
+    public Placement toPlacement(int i, int linesCleared, double score) {
+        return new Placement(orientations[i], referenceXs[i], landingYs[i], movesDown[i], rotations[i],
+                referenceXs[i] - startX, linesCleared, score);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds a placement to the end of this list
+    private void add(int orientation, int referenceX, int landingY, int down, int numRotations) {
+        if (size == orientations.length) {
+            orientations = Arrays.copyOf(orientations, 2 * size);
+            referenceXs = Arrays.copyOf(referenceXs, 2 * size);
+            landingYs = Arrays.copyOf(landingYs, 2 * size);
+            movesDown = Arrays.copyOf(movesDown, 2 * size);
+            rotations = Arrays.copyOf(rotations, 2 * size);
+        }
+        orientations[size] = orientation;
+        referenceXs[size] = referenceX;
+        landingYs[size] = landingY;
+        movesDown[size] = down;
+        rotations[size] = numRotations;
+        size++;
+    }
+
+    // EFFECTS: returns the smallest number of rows (at most MAXIMUM_MOVES_DOWN_TO_ROTATE) a piece with the given
+    //          shape must move down from (x, y) before it can be rotated the given number of times from
+    //          startOrientation, or -1 if it cannot be rotated that many times
+    private static int findMovesDownToRotate(SearchBoard board, PieceShape shape, int x, int y,
+                                             int startOrientation, int numRotations) {
+        for (int down = 0; down <= MAXIMUM_MOVES_DOWN_TO_ROTATE; down++) {
+            if (!board.fits(shape, startOrientation, x, y + down)) {
+                return -1;
+            }
+            boolean canRotate = true;
+            for (int r = 1; r <= numRotations && canRotate; r++) {
+                canRotate = board.fits(shape, (startOrientation + r) % PieceShape.NUM_ORIENTATIONS, x, y + down);
+            }
+            if (canRotate) {
+                return down;
+            }
+        }
+        return -1;
+    }
+
+    // EFFECTS: returns true if rotating a piece with the given shape the given number of times from
+    //          startOrientation puts its tiles in the same places as fewer rotations would
+    private static boolean isRepeatedOrientation(PieceShape shape, int startOrientation, int numRotations) {
+        int orientation = (startOrientation + numRotations) % PieceShape.NUM_ORIENTATIONS;
+        for (int r = 0; r < numRotations; r++) {
+            int earlier = (startOrientation + r) % PieceShape.NUM_ORIENTATIONS;
+            boolean same = true;
+            for (int i = 0; i < PieceShape.NUM_TILES && same; i++) {
+                same = shape.getTileX(orientation, i) == shape.getTileX(earlier, i)
+                        && shape.getTileY(orientation, i) == shape.getTileY(earlier, i);
+            }
+            if (same) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,17 @@
+package ai;
+
+import model.Game;
+
+// Represents a way for a computer player to decide where to put a game's active piece
+public interface PlacementSearch {
+    // MODIFIES: this
+    // EFFECTS: returns the best placement of the given game's active piece, starting from where the piece is now,
+    //          or null if the game is over or the piece cannot be placed anywhere
+    Placement findBestPlacement(Game game);
+
+    // EFFECTS: returns the number of boards this search has scored
+    long getNumPlacementsEvaluated();
+
+    // EFFECTS: returns the weights this search scores boards with
+    HeuristicWeights getWeights();
+}
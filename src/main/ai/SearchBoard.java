@@ -0,0 +1,242 @@
+package ai;
+
+import model.Game;
+import model.board.Board;
+import model.pieces.Piece;
+import model.pieces.PieceShape;
+
+import java.util.Arrays;
+
+// A scratch copy of a game board that a computer player can place pieces on while it searches for a move. Like
+// BitBoard, it packs each row into the bits of a long, but it keeps no other bookkeeping, so copying one board
+// into another is a single array copy. A search keeps a few of these and reuses them, so it never allocates.
+//
+// Pieces are described by a shape, an orientation and the location of the rotation reference point, in the same
+// way as model.pieces.Piece.
+//
+// The board keeps its Zobrist hash (see ZobristKeys) up to date as tiles are placed and removed, so a search can
+// recognise a board it has already seen without comparing the rows.
+public class SearchBoard {
+    // The widest board that can be packed into a single long per row
+    public static final int MAXIMUM_WIDTH = Long.SIZE;
+
+    private final int width;
+    private final int height;
+
+    // Bit c of rows[r] is set if the cell at coordinates (c, r) is occupied
+    private final long[] rows;
+
+    // A row with every cell occupied
+    private final long filledRow;
+
+    // Scratch space for the column heights found by evaluate
+    private final int[] columnHeights;
+
+    private final ZobristKeys keys;
+
+    // The XOR of the Zobrist keys of the occupied cells
+    private long hash;
+
+    // EFFECTS: creates an empty board with the given width and height.
+    //          Throws IllegalArgumentException if width is not between 1 and MAXIMUM_WIDTH,
+    //          or if height < 1.
+    public SearchBoard(int width, int height) {
+        if (width < 1 || width > MAXIMUM_WIDTH || height < 1) {
+            throw new IllegalArgumentException("Unsupported board size: " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+        this.rows = new long[height];
+        this.filledRow = width == MAXIMUM_WIDTH ? -1L : (1L << width) - 1;
+        this.columnHeights = new int[width];
+        this.keys = ZobristKeys.getInstance(width, height);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: copies the tiles of the given game's board into this board, leaving out the tiles of the active
+    //          piece, which the game keeps on its board while the piece falls.
+    //          Throws IllegalArgumentException if the boards are not the same size.
+    public void copyFrom(Game game) {
+        Board board = game.getPlayfield();
+        if (board.getWidth() != width || board.getHeight() != height) {
+            throw new IllegalArgumentException("Boards are not the same size");
+        }
+        for (int r = 0; r < height; r++) {
+            rows[r] = board.getRowWord(r, 0);
+        }
+        hash = keys.hashRows(rows);
+        if (!game.isGameOver()) {
+            Piece piece = game.getActivePiece();
+            for (int i = 0; i < PieceShape.NUM_TILES; i++) {
+                removeTileAt(piece.getTileX(i), piece.getTileY(i));
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: copies the tiles of the given board into this board.
+    //          Throws IllegalArgumentException if the boards are not the same size.
+    public void copyFrom(SearchBoard board) {
+        if (board.width != width || board.height != height) {
+            throw new IllegalArgumentException("Boards are not the same size");
+        }
+        System.arraycopy(board.rows, 0, rows, 0, height);
+        hash = board.hash;
+    }
+
+    // EFFECTS: returns the width of the board
+    public int getWidth() {
+        return width;
+    }
+
+    // EFFECTS: returns the height of the board
+    public int getHeight() {
+        return height;
+    }
+
+    // EFFECTS: returns the Zobrist hash of the tiles on the board, which is the same for any two boards of the same
+    //          size with the same tiles
+    public long getHash() {
+        return hash;
+    }
+
+    // EFFECTS: returns true if the cell at coordinates (x, y) is occupied by a tile.
+    //          Throws IndexOutOfBoundsException if y is not the index of a row or x is not the index of a column.
+    public boolean isCellOccupied(int x, int y) {
+        checkColumn(x);
+        return (rows[y] & (1L << x)) != 0;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: fills the cell at coordinates (x, y) with a tile.
+    //          Throws IndexOutOfBoundsException if y is not the index of a row or x is not the index of a column.
+    public void placeTileAt(int x, int y) {
+        checkColumn(x);
+        if ((rows[y] & (1L << x)) == 0) {
+            rows[y] |= 1L << x;
+            hash ^= keys.getCellKey(x, y);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes the tile at coordinates (x, y), if there is one.
+    //          Throws IndexOutOfBoundsException if y is not the index of a row or x is not the index of a column.
+    public void removeTileAt(int x, int y) {
+        checkColumn(x);
+        if ((rows[y] & (1L << x)) != 0) {
+            rows[y] &= ~(1L << x);
+            hash ^= keys.getCellKey(x, y);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes every tile from the board
+    public void clear() {
+        Arrays.fill(rows, 0);
+        hash = 0;
+    }
+
+    // EFFECTS: returns true if a piece with the given shape and orientation, with its rotation reference point
+    //          at (x, y), would be entirely on the board without covering any tile
+    public boolean fits(PieceShape shape, int orientation, int x, int y) {
+        for (int i = 0; i < PieceShape.NUM_TILES; i++) {
+            int tileX = x + shape.getTileX(orientation, i);
+            int tileY = y + shape.getTileY(orientation, i);
+            if (tileX < 0 || tileX >= width || tileY < 0 || tileY >= height) {
+                return false;
+            } else if ((rows[tileY] & (1L << tileX)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // EFFECTS: returns the y-coordinate the rotation reference point of a piece with the given shape and
+    //          orientation would have if it were hard dropped from (x, y), where it must fit
+    public int getDropY(PieceShape shape, int orientation, int x, int y) {
+        int dropY = y;
+        while (fits(shape, orientation, x, dropY + 1)) {
+            dropY++;
+        }
+        return dropY;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: places the tiles of a piece with the given shape and orientation, with its rotation reference point
+    //          at (x, y), then clears the filled rows among the rows the piece covers and moves the rows above
+    //          them down. Returns the number of rows cleared. The piece must fit at (x, y).
+    //          The hash is updated with one XOR per tile, unless rows are cleared, which moves every tile above
+    //          them, so the hash is computed again from the rows.
+    public int placeAndClear(PieceShape shape, int orientation, int x, int y) {
+        int top = height;
+        int bottom = -1;
+        for (int i = 0; i < PieceShape.NUM_TILES; i++) {
+            int tileX = x + shape.getTileX(orientation, i);
+            int tileY = y + shape.getTileY(orientation, i);
+            rows[tileY] |= 1L << tileX;
+            hash ^= keys.getCellKey(tileX, tileY);
+            top = Math.min(top, tileY);
+            bottom = Math.max(bottom, tileY);
+        }
+
+        int numRowsCleared = 0;
+        for (int r = top; r <= bottom; r++) {
+            if (rows[r] == filledRow) {
+                System.arraycopy(rows, 0, rows, 1, r);
+                rows[0] = 0;
+                numRowsCleared++;
+            }
+        }
+        if (numRowsCleared > 0) {
+            hash = keys.hashRows(rows);
+        }
+        return numRowsCleared;
+    }
+
+    // EFFECTS: returns the weighted score of this board (see HeuristicWeights), counting the given number of
+    //          lines as cleared. The features are found in a single pass down the rows: a cell is a hole if it
+    //          is empty and some row above it has a tile in the same column, and a column's height is set by the
+    //          first row that has a tile in it.
+    public double evaluate(HeuristicWeights weights, int linesCleared) {
+        Arrays.fill(columnHeights, 0);
+        long covered = 0;
+        int holes = 0;
+        int aggregateHeight = 0;
+        for (int r = 0; r < height; r++) {
+            long row = rows[r];
+            holes += Long.bitCount(covered & ~row);
+            for (long newColumns = row & ~covered; newColumns != 0; newColumns &= newColumns - 1) {
+                columnHeights[Long.numberOfTrailingZeros(newColumns)] = height - r;
+                aggregateHeight += height - r;
+            }
+            covered |= row;
+        }
+
+        int bumpiness = 0;
+        for (int c = 1; c < width; c++) {
+            bumpiness += Math.abs(columnHeights[c] - columnHeights[c - 1]);
+        }
+        return weights.score(aggregateHeight, holes, bumpiness, linesCleared);
+    }
+
+    // EFFECTS: returns the number of rows between the bottom of the board and the top of the highest tile in
+    //          column x, or 0 if column x is empty.
+    //          Throws IndexOutOfBoundsException if x is not the index of a column.
+    public int getColumnHeight(int x) {
+        checkColumn(x);
+        long bit = 1L << x;
+        for (int r = 0; r < height; r++) {
+            if ((rows[r] & bit) != 0) {
+                return height - r;
+            }
+        }
+        return 0;
+    }
+
+    // EFFECTS: throws IndexOutOfBoundsException if x is not the index of a column
+    private void checkColumn(int x) {
+        if (x < 0 || x >= width) {
+            throw new IndexOutOfBoundsException("Column " + x + " is not on the board");
+        }
+    }
+}
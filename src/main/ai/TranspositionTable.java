@@ -0,0 +1,188 @@
+package ai;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+// A fixed-size cache of board scores, keyed by Zobrist hash (see ZobristKeys), that the threads of a search share
+// so that a board reached by more than one sequence of placements is only scored once.
+//
+// Entries are kept in buckets of BUCKET_SIZE slots in parallel primitive arrays, so the table allocates nothing
+// after it is created. A key can only be stored in the bucket its bits select. When that bucket is full, the entry
+// that was stored or last used in the oldest generation is evicted; a search starts a new generation for each
+// decision with nextGeneration, so entries from earlier decisions are evicted before entries from the current one.
+//
+// The buckets are split into stripes, each guarded by its own lock, so threads only wait for each other when they
+// use buckets in the same stripe.
+public class TranspositionTable {
+    // The number of slots in each bucket
+    public static final int BUCKET_SIZE = 4;
+
+    // The approximate number of bytes the JVM uses for an object header and for an array header
+    private static final int OBJECT_OVERHEAD_BYTES = 16;
+
+    private final long[] keys;
+
+    // The bits of the double stored in each slot
+    private final long[] values;
+
+    // The generation each slot was last stored or used in, or 0 if the slot is empty
+    private final int[] stamps;
+
+    private final int bucketMask;
+    private final Object[] locks;
+    private final int stripeMask;
+
+    private volatile int generation = 1;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    // EFFECTS: creates an empty table with room for at least the given number of entries, rounded up so that the
+    //          number of buckets is a power of two, whose buckets are split into numStripes stripes, rounded up to
+    //          a power of two and at most the number of buckets.
+    //          Throws IllegalArgumentException if capacity < 1 or numStripes < 1.
+    public TranspositionTable(int capacity, int numStripes) {
+        if (capacity < 1 || numStripes < 1) {
+            throw new IllegalArgumentException("Capacity and number of stripes must be positive");
+        }
+        int numBuckets = roundUpToPowerOfTwo((capacity + BUCKET_SIZE - 1) / BUCKET_SIZE);
+        keys = new long[numBuckets * BUCKET_SIZE];
+        values = new long[numBuckets * BUCKET_SIZE];
+        stamps = new int[numBuckets * BUCKET_SIZE];
+        bucketMask = numBuckets - 1;
+
+        locks = new Object[Math.min(roundUpToPowerOfTwo(numStripes), numBuckets)];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+        stripeMask = locks.length - 1;
+    }
+
+    // EFFECTS: returns the value stored with the given key, or Double.NaN if there is none
+    public double get(long key) {
+        int bucket = getBucket(key);
+        synchronized (locks[bucket & stripeMask]) {
+            int start = bucket * BUCKET_SIZE;
+            for (int i = start; i < start + BUCKET_SIZE; i++) {
+                if (stamps[i] != 0 && keys[i] == key) {
+                    stamps[i] = generation;
+                    hits.increment();
+                    return Double.longBitsToDouble(values[i]);
+                }
+            }
+        }
+        misses.increment();
+        return Double.NaN;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stores the given value with the given key, replacing the value already stored with the key if there
+    //          is one, or else taking an empty slot in the key's bucket, or else evicting the entry in the bucket
+    //          that was used least recently
+    public void put(long key, double value) {
+        int bucket = getBucket(key);
+        synchronized (locks[bucket & stripeMask]) {
+            int start = bucket * BUCKET_SIZE;
+            int slot = start;
+            for (int i = start; i < start + BUCKET_SIZE; i++) {
+                if (stamps[i] != 0 && keys[i] == key) {
+                    slot = i;
+                    break;
+                } else if (stamps[i] < stamps[slot]) {
+                    slot = i;
+                }
+            }
+            if (stamps[slot] != 0 && keys[slot] != key) {
+                evictions.increment();
+            }
+            keys[slot] = key;
+            values[slot] = Double.doubleToRawLongBits(value);
+            stamps[slot] = generation;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: starts a new generation, so that the entries stored or used before now are evicted before the
+    //          entries stored or used after
+    public void nextGeneration() {
+        generation = generation == Integer.MAX_VALUE ? 1 : generation + 1;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes every entry from the table and resets its counters
+    public void clear() {
+        for (int stripe = 0; stripe < locks.length; stripe++) {
+            synchronized (locks[stripe]) {
+                for (int bucket = stripe; bucket <= bucketMask; bucket += locks.length) {
+                    Arrays.fill(stamps, bucket * BUCKET_SIZE, (bucket + 1) * BUCKET_SIZE, 0);
+                }
+            }
+        }
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    // EFFECTS: returns the number of entries the table can hold
+    public int getCapacity() {
+        return keys.length;
+    }
+
+    // EFFECTS: returns the number of stripes the buckets are split into
+    public int getNumStripes() {
+        return locks.length;
+    }
+
+    // EFFECTS: returns the number of entries in the table. If other threads are using the table, the count may be
+    //          out of date by the time it is returned.
+    public int getSize() {
+        int size = 0;
+        for (int stamp : stamps) {
+            if (stamp != 0) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    // EFFECTS: returns the number of lookups that found an entry
+    public long getNumHits() {
+        return hits.sum();
+    }
+
+    // EFFECTS: returns the number of lookups that found no entry
+    public long getNumMisses() {
+        return misses.sum();
+    }
+
+    // EFFECTS: returns the number of entries evicted to make room for others
+    public long getNumEvictions() {
+        return evictions.sum();
+    }
+
+    // EFFECTS: returns the fraction of lookups that found an entry, or 0 if there have been no lookups
+    public double getHitRate() {
+        long numHits = hits.sum();
+        long numLookups = numHits + misses.sum();
+        return numLookups == 0 ? 0 : (double) numHits / numLookups;
+    }
+
+    // EFFECTS: returns an estimate of the number of bytes of memory the table uses: its arrays of keys, values and
+    //          stamps, and its locks
+    public long getMemoryFootprintBytes() {
+        long arrays = (long) keys.length * (Long.BYTES + Long.BYTES + Integer.BYTES) + 3 * OBJECT_OVERHEAD_BYTES;
+        long stripes = (long) locks.length * (OBJECT_OVERHEAD_BYTES + Integer.BYTES) + OBJECT_OVERHEAD_BYTES;
+        return OBJECT_OVERHEAD_BYTES + arrays + stripes;
+    }
+
+    // EFFECTS: returns the index of the bucket the given key is stored in
+    private int getBucket(long key) {
+        return (int) (key ^ (key >>> 32)) & bucketMask;
+    }
+
+    // EFFECTS: returns the smallest power of two that is at least n, where 1 <= n <= 2^30
+    private static int roundUpToPowerOfTwo(int n) {
+        return n == 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+    }
+}
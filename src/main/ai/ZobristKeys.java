@@ -0,0 +1,102 @@
+package ai;
+
+import model.pieces.PieceShape;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// Random 64-bit keys for Zobrist hashing of search boards: the hash of a board is the XOR of the keys of its
+// occupied cells, so placing or removing a tile changes the hash with a single XOR. Keys for the number of lines
+// a placement cleared and for piece shapes can be XORed in to tell apart positions on the same board that a
+// search scores differently.
+//
+// The keys are generated from a fixed seed, so every board of the same size hashes the same way.
+public final class ZobristKeys {
+    // The largest number of lines that has a key: two pieces can clear at most 4 lines each
+    public static final int MAXIMUM_LINES = 8;
+
+    private static final long SEED = 0x5EEDL;
+    private static final Map<Long, ZobristKeys> INSTANCES = new HashMap<Long, ZobristKeys>();
+
+    private final int width;
+
+    // cellKeys[y * width + x] is the key of the cell at coordinates (x, y)
+    private final long[] cellKeys;
+    private final long[] linesKeys;
+
+    // EFFECTS: creates the keys for boards with the given width and height
+    private ZobristKeys(int width, int height) {
+        this.width = width;
+        SplittableRandom random = new SplittableRandom(SEED);
+        cellKeys = new long[width * height];
+        for (int i = 0; i < cellKeys.length; i++) {
+            cellKeys[i] = random.nextLong();
+        }
+        linesKeys = new long[MAXIMUM_LINES + 1];
+        for (int i = 0; i < linesKeys.length; i++) {
+            linesKeys[i] = random.nextLong();
+        }
+    }
+
+    // EFFECTS: returns the keys for boards with the given width and height, generating them the first time they
+    //          are asked for.
+    //          Throws IllegalArgumentException if width < 1 or height < 1.
+    public static synchronized ZobristKeys getInstance(int width, int height) {
+        if (width < 1 || height < 1) {
+            throw new IllegalArgumentException("Unsupported board size: " + width + "x" + height);
+        }
+        long size = ((long) width << 32) | height;
+        ZobristKeys instance = INSTANCES.get(size);
+        if (instance == null) {
+            instance = new ZobristKeys(width, height);
+            INSTANCES.put(size, instance);
+        }
+        return instance;
+    }
+
+    // EFFECTS: returns the key of the cell at coordinates (x, y), which must be on the board
+    public long getCellKey(int x, int y) {
+        return cellKeys[y * width + x];
+    }
+
+    // EFFECTS: returns the hash of a board whose rows are given packed into longs, with bit c of rows[r] set if
+    //          the cell at coordinates (c, r) is occupied
+    public long hashRows(long[] rows) {
+        long hash = 0;
+        for (int r = 0; r < rows.length; r++) {
+            for (long row = rows[r]; row != 0; row &= row - 1) {
+                hash ^= cellKeys[r * width + Long.numberOfTrailingZeros(row)];
+            }
+        }
+        return hash;
+    }
+
+    // EFFECTS: returns the key for the given number of lines cleared.
+    //          Throws IllegalArgumentException if linesCleared is not between 0 and MAXIMUM_LINES.
+    public long getLinesKey(int linesCleared) {
+        if (linesCleared < 0 || linesCleared > MAXIMUM_LINES) {
+            throw new IllegalArgumentException("No key for " + linesCleared + " lines");
+        }
+        return linesKeys[linesCleared];
+    }
+
+    // EFFECTS: returns a key for the given piece shape, computed from the locations of its tiles, so that shapes
+    //          with the same tiles have the same key and different shapes almost certainly do not
+    public static long getShapeKey(PieceShape shape) {
+        long key = SEED;
+        for (int o = 0; o < PieceShape.NUM_ORIENTATIONS; o++) {
+            for (int i = 0; i < PieceShape.NUM_TILES; i++) {
+                key = mix(key ^ (shape.getTileX(o, i) & 0xFF) ^ ((long) (shape.getTileY(o, i) & 0xFF) << 8));
+            }
+        }
+        return key;
+    }
+
+    // EFFECTS: returns the given value with its bits thoroughly mixed (the finalizer of the SplitMix64 generator)
+    private static long mix(long value) {
+        long z = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,9 @@
+package exceptions;
+
+// Thrown when playing back a replay does not reproduce the game that was recorded.
+public class ReplayMismatchException extends RuntimeException {
+    // EFFECTS: constructs a ReplayMismatchException with given message
+    public ReplayMismatchException(String message) {
+        super(message);
+    }
+}
@@ -3,22 +3,30 @@ package model;
 import exceptions.IllegalStartingLevelException;
 import exceptions.IncorrectBoardSizeException;
 import exceptions.NegativeLinesException;
+import model.board.BitBoard;
+import model.board.Board;
+import model.event.GameEventBus;
+import model.event.GameListener;
 import model.pieces.*;
+import model.randomizer.PieceRandomizer;
+import model.randomizer.UniformRandomizer;
 
-import java.awt.*;
 import java.util.*;
-import java.util.List;
 
-// Represents a Tetris game. This class is a "subject" in the observer design pattern.
-// Observers are notified whenever a piece cannot move down.
-public class Game extends Observable {
+// Represents a Tetris game. Listeners are told when a piece locks into place, when lines are cleared, when
+// the level changes, and when the game is over.
+public class Game {
     // Number of types of Tetris pieces
     public static final int NUM_TETRIS_PIECES = 7;
 
-    // Width and height of the board (measured in number of tiles)
+    // Width and height of a standard board (measured in number of tiles)
     public static final int WIDTH = 10;
     public static final int HEIGHT = 20;
 
+    // Width and height of the smallest board a game can be played on: every piece must fit inside it
+    public static final int MINIMUM_WIDTH = 4;
+    public static final int MINIMUM_HEIGHT = 4;
+
     // Points awarded for line clears
     // The values come from the table in the "Original BPS scoring system" section of https://tetris.wiki/Scoring
     public static final int SINGLE_POINTS = 40;
@@ -29,31 +37,29 @@ public class Game extends Observable {
     // The maximum starting level a player can start a game with.
     public static final int MAXIMUM_STARTING_LEVEL = 19;
 
-    // A mapping from the random integers generated by the random number generator to PieceTypes.
-    private static final Map<Integer, PieceType> RANDOM_INT_TO_PIECE_TYPE;
-
-    private Random random;
+    private final int width;
+    private final int height;
+    private long seed;
+    private PieceRandomizer randomizer;
     private Piece activePiece;
     private Piece nextPiece;
-    private List<ArrayList<Boolean>> board;
+    private Board playfield;
     private int score;
     private int linesCleared;
     private int startingLevel;
     private boolean gameOver;
 
-    // Initializes the RANDOM_INT_TO_PIECE_TYPE map
-    static {
-        RANDOM_INT_TO_PIECE_TYPE = new HashMap<Integer, PieceType>();
-        RANDOM_INT_TO_PIECE_TYPE.put(0, PieceType.IPIECE);
-        RANDOM_INT_TO_PIECE_TYPE.put(1, PieceType.JPIECE);
-        RANDOM_INT_TO_PIECE_TYPE.put(2, PieceType.LPIECE);
-        RANDOM_INT_TO_PIECE_TYPE.put(3, PieceType.OPIECE);
-        RANDOM_INT_TO_PIECE_TYPE.put(4, PieceType.SPIECE);
-        RANDOM_INT_TO_PIECE_TYPE.put(5, PieceType.TPIECE);
-        RANDOM_INT_TO_PIECE_TYPE.put(6, PieceType.ZPIECE);
-    }
+    // Delivers this game's events to its listeners
+    private final GameEventBus listeners = new GameEventBus();
 
-    // Used with the random number generator that chooses which type of piece to make next.
+    // True if listeners are notified of this game's events. Headless simulations can turn notifications off
+    // so that a game they step through does not update a UI that is listening to it.
+    private boolean notificationsEnabled = true;
+
+    // Every PieceType, indexed by ordinal, which is also the piece type number a PieceRandomizer returns
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+
+    // Used with the randomizer that chooses which type of piece to make next.
     // Credit to https://docs.oracle.com/javase/tutorial/java/javaOO/enum.html for the tutorial
     // on how to make enums.
     private enum PieceType {
@@ -70,13 +76,38 @@ public class Game extends Observable {
         // Note: this method has a "seed" argument just so we can test the Game class while controlling
         // the randomness of the tetromino generator. I got this idea from the following answer
         // on StackOverflow by the user Parappa: https://stackoverflow.com/a/88110/3335320
+        this(seed, startingLevel, new UniformRandomizer(seed));
+    }
 
+    // EFFECTS: creates a new Tetris game, where the pieces are chosen by the given randomizer, which the game
+    //          takes over. The seed is only recorded (see getSeed). The player starts at the given startingLevel.
+    //          Deals an active piece and a next piece, then spawns the active piece at the top of the board.
+    //          Throws IllegalStartingLevelException if startingLevel < 0 or
+    //          if startingLevel > MAXIMUM_STARTING_LEVEL.
+    public Game(long seed, int startingLevel, PieceRandomizer randomizer) throws IllegalStartingLevelException {
+        this(seed, startingLevel, randomizer, WIDTH, HEIGHT);
+    }
+
+    // EFFECTS: creates a new Tetris game on a board of the given width and height, where the pieces are chosen by
+    //          the given randomizer, which the game takes over. The seed is only recorded (see getSeed). The player
+    //          starts at the given startingLevel. Deals an active piece and a next piece, then spawns the active
+    //          piece at the top of the board.
+    //          Throws IllegalStartingLevelException if startingLevel < 0 or
+    //          if startingLevel > MAXIMUM_STARTING_LEVEL.
+    //          Throws IncorrectBoardSizeException if width < MINIMUM_WIDTH or height < MINIMUM_HEIGHT.
+    public Game(long seed, int startingLevel, PieceRandomizer randomizer, int width, int height)
+            throws IllegalStartingLevelException, IncorrectBoardSizeException {
         if (startingLevel < 0 || startingLevel > MAXIMUM_STARTING_LEVEL) {
             throw new IllegalStartingLevelException();
         }
+        if (width < MINIMUM_WIDTH || height < MINIMUM_HEIGHT) {
+            throw new IncorrectBoardSizeException();
+        }
 
+        this.width = width;
+        this.height = height;
         this.startingLevel = startingLevel;
-        startNewGame(seed);
+        startNewGame(seed, randomizer);
     }
 
     // MODIFIES: this
@@ -85,56 +116,166 @@ public class Game extends Observable {
     //          Otherwise, if the game is not over, clears any filled rows and modifies points earned, lines
     //          cleared, and level accordingly. Then, begins dropping a new piece from the top of the board.
     //          If the game is over (because the player topped out), ends the game.
-    //          Notifies observers if the active piece could not move down one row.
+    //          If the active piece could not move down one row, notifies listeners that it locked into place,
+    //          and of any lines cleared, level change, or game over that resulted, unless notifications have
+    //          been turned off.
     //
     //          Note: if the game is already over, calling this method does nothing.
     public void update() {
         if (!gameOver) {
             boolean pieceMovedDown = activePiece.moveDown();
             if (!pieceMovedDown) {
-                clearLines();
+                Piece lockedPiece = activePiece;
+                int oldScore = score;
+                int oldLevel = getLevel();
+                int numRowsCleared = clearLines();
                 activePiece = nextPiece;
                 if (!addPieceToBoard(activePiece)) {
                     gameOver = true;
                 }
-                PieceType nextPieceType = RANDOM_INT_TO_PIECE_TYPE.get(random.nextInt(NUM_TETRIS_PIECES));
-                nextPiece = makePiece(nextPieceType);
+                nextPiece = makePiece(PIECE_TYPES[randomizer.nextPieceType()]);
 
-                super.setChanged();
-                super.notifyObservers();
+                if (notificationsEnabled) {
+                    notifyListeners(lockedPiece, numRowsCleared, score - oldScore, oldLevel);
+                }
             }
         }
     }
 
+    // MODIFIES: this
+    // EFFECTS: executes the given command:
+    //           - MOVE_LEFT, MOVE_RIGHT and MOVE_DOWN move the active piece one tile in that direction if there
+    //             is space
+    //           - ROTATE rotates the active piece 90 degrees clockwise if there is space
+    //           - HARD_DROP drops the active piece straight down as far as it can go, then updates the game
+    //             so that the piece locks into place immediately
+    //           - NONE does nothing
+    //          Note: if the game is already over, calling this method does nothing.
+    public void execute(InputCommand command) {
+        if (gameOver) {
+            return;
+        }
+
+        if (command == InputCommand.ROTATE) {
+            activePiece.rotate();
+        } else if (command == InputCommand.MOVE_DOWN) {
+            activePiece.moveDown();
+        } else if (command == InputCommand.MOVE_LEFT) {
+            activePiece.moveLeft();
+        } else if (command == InputCommand.MOVE_RIGHT) {
+            activePiece.moveRight();
+        } else if (command == InputCommand.HARD_DROP) {
+            activePiece.hardDrop();
+            update();
+        }
+    }
+
     // MODIFIES: this
     // EFFECTS: sets the board of this game. Throws an IncorrectBoardSizeException if the
-    //          board does not contain Game.HEIGHT arraylists, each of which contains Game.WIDTH booleans.
+    //          board does not contain getHeight() arraylists, each of which contains getWidth() booleans.
+    //          The given board is copied into this game, so changing it afterwards does not change this game.
     public void setBoard(List<ArrayList<Boolean>> board) throws IncorrectBoardSizeException {
-        if (board.size() != Game.HEIGHT) {
+        if (board.size() != height) {
             throw new IncorrectBoardSizeException();
         }
         for (ArrayList<Boolean> row : board) {
-            if (row.size() != Game.WIDTH) {
+            if (row.size() != width) {
                 throw new IncorrectBoardSizeException();
             }
         }
-        this.board = board;
+
+        playfield.clear();
+        for (int r = 0; r < height; r++) {
+            for (int c = 0; c < width; c++) {
+                if (board.get(r).get(c)) {
+                    playfield.placeTileAt(c, r);
+                }
+            }
+        }
+    }
+
+    // EFFECTS: returns a snapshot of this game's current state, from which restoreSnapshot can later continue it
+    public GameSnapshot takeSnapshot() {
+        int wordsPerRow = playfield.getNumRowWords();
+        long[] rows = new long[height * wordsPerRow];
+        for (int r = 0; r < height; r++) {
+            for (int w = 0; w < wordsPerRow; w++) {
+                rows[r * wordsPerRow + w] = playfield.getRowWord(r, w);
+            }
+        }
+        return new GameSnapshot(rows, wordsPerRow, getPieceType(activePiece).ordinal(), activePiece.getOrientation(),
+                activePiece.getReferenceX(), activePiece.getReferenceY(), getPieceType(nextPiece).ordinal(),
+                score, linesCleared, randomizer.getState(), gameOver);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: puts this game back into the state held by the given snapshot, so that it continues exactly as the
+    //          game the snapshot was taken from would have, as long as both games have the same kind of piece
+    //          randomizer. The seed, starting level, randomizer and listeners of this game do not change, and
+    //          listeners are not notified.
+    //          Throws IncorrectBoardSizeException, and does not change this game, if the snapshot's board is not
+    //          getHeight() rows of getWidth() cells.
+    public void restoreSnapshot(GameSnapshot snapshot) throws IncorrectBoardSizeException {
+        checkSnapshotBoardSize(snapshot);
+        playfield.clear();
+        for (int r = 0; r < height; r++) {
+            for (int w = 0; w < snapshot.getWordsPerRow(); w++) {
+                long word = snapshot.getRowWord(r, w);
+                while (word != 0) {
+                    playfield.placeTileAt(w * Long.SIZE + Long.numberOfTrailingZeros(word), r);
+                    word &= word - 1;
+                }
+            }
+        }
+
+        activePiece = makePiece(PIECE_TYPES[snapshot.getActivePieceType()]);
+        activePiece.setPosition(snapshot.getActivePieceX(), snapshot.getActivePieceY(),
+                snapshot.getActivePieceOrientation());
+        nextPiece = makePiece(PIECE_TYPES[snapshot.getNextPieceType()]);
+        score = snapshot.getScore();
+        linesCleared = snapshot.getLinesCleared();
+        randomizer.setState(snapshot.getRandomState());
+        gameOver = snapshot.isGameOver();
     }
 
-    // EFFECTS: returns the board, represented as a list of arraylists of booleans
+    // EFFECTS: returns a copy of the board, represented as a list of arraylists of booleans
     //          The c'th element in the r'th arraylist is true if the cell at coordinates
     //          (c, r) is occupied by a tile, and false otherwise (where c and r are indexed
-    //          starting from 0).
+    //          starting from 0). Changing the returned list does not change this game.
     public List<ArrayList<Boolean>> getBoard() {
+        List<ArrayList<Boolean>> board = new ArrayList<ArrayList<Boolean>>();
+        for (int r = 0; r < height; r++) {
+            ArrayList<Boolean> row = new ArrayList<Boolean>();
+            for (int c = 0; c < width; c++) {
+                row.add(playfield.isCellOccupied(c, r));
+            }
+            board.add(row);
+        }
         return board;
     }
 
+    // EFFECTS: returns the width of this game's board (measured in number of tiles)
+    public int getWidth() {
+        return width;
+    }
+
+    // EFFECTS: returns the height of this game's board (measured in number of tiles)
+    public int getHeight() {
+        return height;
+    }
+
+    // EFFECTS: returns the playfield that stores the tiles on this game's board. Unlike getBoard, this does not
+    //          make a copy, so it is the preferred way to read the board in performance-sensitive code.
+    public Board getPlayfield() {
+        return playfield;
+    }
+
     // EFFECTS: returns true if the board cell at coordinates (x, y) is occupied by a tile. The cell in the upper-left
     //          corner has coordinates (0, 0), and the x-coordinate increases as one travels to the right, while the
     //          y-coordinate increases as one travels down.
     //          Throws IndexOutOfBoundsException if the coordinates (x, y) do not represent a cell on the board.
     public boolean isCellOccupied(int x, int y) {
-        return board.get(y).get(x);
+        return playfield.isCellOccupied(x, y);
     }
 
     // MODIFIES: this
@@ -143,7 +284,7 @@ public class Game extends Observable {
     //          increases as one travels down.
     //          Throws IndexOutOfBoundsException if the coordinates (x, y) do not represent a cell on the board.
     public void placeTileAt(int x, int y) {
-        board.get(y).set(x, true);
+        playfield.placeTileAt(x, y);
     }
 
     // MODIFIES: this
@@ -152,7 +293,37 @@ public class Game extends Observable {
     //          to the right, while the y-coordinate increases as one travels down.
     //          Throws IndexOutOfBoundsException if the coordinates (x, y) do not represent a cell on the board.
     public void removeTileAt(int x, int y) {
-        board.get(y).set(x, false);
+        playfield.removeTileAt(x, y);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds a listener that will be notified of this game's events
+    public void addGameListener(GameListener listener) {
+        listeners.addListener(listener);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes the given listener, if it was added. Otherwise, does nothing.
+    public void removeGameListener(GameListener listener) {
+        listeners.removeListener(listener);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: turns notifications to listeners on if enabled is true, and off otherwise.
+    //          Notifications are on when a game is created.
+    public void setNotificationsEnabled(boolean enabled) {
+        notificationsEnabled = enabled;
+    }
+
+    // EFFECTS: returns the seed this game was created with, which chooses its pieces unless it was given a
+    //          randomizer
+    public long getSeed() {
+        return seed;
+    }
+
+    // EFFECTS: returns the level this game started at
+    public int getStartingLevel() {
+        return startingLevel;
     }
 
     // EFFECTS: returns the active piece
@@ -198,18 +369,42 @@ public class Game extends Observable {
         }
     }
 
+    // EFFECTS: returns the number of milliseconds between consecutive game updates at the current level.
+    //          We will refer to this number as MSPU (milliseconds per update). Generally,
+    //          as the game level increases, the MSPU decreases in order to make pieces
+    //          fall faster. The MSPU decreases linearly from levels 0 to 18, is held constant
+    //          between levels 19 and 28, and reaches its lowest value at level 29.
+    //
+    //          The MSPU values are very loosely based on the "frames per gridcell" values given
+    //          in the Details section of the following webpage: https://tetris.wiki/Tetris_(NES,_Nintendo)
+    public int getMillisecondsPerUpdate() {
+        int level = getLevel();
+        if (0 <= level && level <= 18) {
+            return 1000 - 52 * level;
+        } else if (19 <= level && level <= 28) {
+            return 40;
+        } else {
+            return 20;
+        }
+    }
+
     // EFFECTS: returns true if the game is over, false otherwise
     public boolean isGameOver() {
         return gameOver;
     }
 
-    // EFFECTS: returns a blank game board
+    // EFFECTS: returns a blank game board of the standard size, Game.HEIGHT rows of Game.WIDTH cells
     public static List<ArrayList<Boolean>> getBlankBoard() {
+        return getBlankBoard(Game.WIDTH, Game.HEIGHT);
+    }
+
+    // EFFECTS: returns a blank game board of height rows of width cells
+    public static List<ArrayList<Boolean>> getBlankBoard(int width, int height) {
         List<ArrayList<Boolean>> blankBoard = new ArrayList<ArrayList<Boolean>>();
 
-        for (int i = 0; i < Game.HEIGHT; i++) {
+        for (int i = 0; i < height; i++) {
             ArrayList<Boolean> row = new ArrayList<Boolean>();
-            for (int j = 0; j < Game.WIDTH; j++) {
+            for (int j = 0; j < width; j++) {
                 row.add(false);
             }
             blankBoard.add(row);
@@ -218,17 +413,14 @@ public class Game extends Observable {
     }
 
     // MODIFIES: this
-    // EFFECTS: Starts a new game. Pieces are randomly generated using the given seed.
-    //          Randomly generates an active piece and a next piece. The active piece
-    //          spawns at the top of the board.
-    private void startNewGame(long seed) {
-        random = new Random(seed);
-        PieceType pieceType1 = RANDOM_INT_TO_PIECE_TYPE.get(random.nextInt(NUM_TETRIS_PIECES));
-        activePiece = makePiece(pieceType1);
-
-        PieceType pieceType2 = RANDOM_INT_TO_PIECE_TYPE.get(random.nextInt(NUM_TETRIS_PIECES));
-        nextPiece = makePiece(pieceType2);
-        board = getBlankBoard();
+    // EFFECTS: Starts a new game with the given seed, whose pieces are chosen by the given randomizer.
+    //          Deals an active piece and a next piece. The active piece spawns at the top of the board.
+    private void startNewGame(long seed, PieceRandomizer randomizer) {
+        this.seed = seed;
+        this.randomizer = randomizer;
+        activePiece = makePiece(PIECE_TYPES[randomizer.nextPieceType()]);
+        nextPiece = makePiece(PIECE_TYPES[randomizer.nextPieceType()]);
+        playfield = new BitBoard(width, height);
         score = 0;
         linesCleared = 0;
         gameOver = false;
@@ -256,6 +448,42 @@ public class Game extends Observable {
         }
     }
 
+    // EFFECTS: throws IncorrectBoardSizeException if the given snapshot's board is not getHeight() rows of
+    //          getWidth() cells
+    private void checkSnapshotBoardSize(GameSnapshot snapshot) throws IncorrectBoardSizeException {
+        int wordsPerRow = playfield.getNumRowWords();
+        if (snapshot.getNumRows() != height || snapshot.getWordsPerRow() != wordsPerRow) {
+            throw new IncorrectBoardSizeException();
+        }
+        int lastWordColumns = width - (wordsPerRow - 1) * Long.SIZE;
+        for (int r = 0; r < height; r++) {
+            long lastWord = snapshot.getRowWord(r, wordsPerRow - 1);
+            if (lastWordColumns < Long.SIZE && (lastWord >>> lastWordColumns) != 0) {
+                throw new IncorrectBoardSizeException();
+            }
+        }
+    }
+
+    // EFFECTS: returns the PieceType that corresponds to the given piece's class
+    //          (for example, if piece is an IPiece, then returns PieceType.IPIECE).
+    private PieceType getPieceType(Piece piece) {
+        if (piece instanceof IPiece) {
+            return PieceType.IPIECE;
+        } else if (piece instanceof JPiece) {
+            return PieceType.JPIECE;
+        } else if (piece instanceof LPiece) {
+            return PieceType.LPIECE;
+        } else if (piece instanceof OPiece) {
+            return PieceType.OPIECE;
+        } else if (piece instanceof SPiece) {
+            return PieceType.SPIECE;
+        } else if (piece instanceof TPiece) {
+            return PieceType.TPIECE;
+        } else {
+            return PieceType.ZPIECE;
+        }
+    }
+
     // MODIFIES: this
     // EFFECTS: adds the given piece to the board. If the addition does not cause the piece to
     //          intersect with other tiles, returns true. If the piece intersects with other tiles on the
@@ -263,14 +491,16 @@ public class Game extends Observable {
     //          on the board (within the bounds of the board).
     private boolean addPieceToBoard(Piece piece) {
         boolean noIntersection = true;
-        for (Point p : piece.getTileLocations()) {
+        for (int i = 0; i < PieceShape.NUM_TILES; i++) {
+            int x = piece.getTileX(i);
+            int y = piece.getTileY(i);
             // The addPieceToBoard method is only called when spawning a new piece into the board.
             // The only reason a piece could fail to spawn is if it is forced to intersect
             // with a tile.
-            if (board.get(p.y).get(p.x)) {
+            if (playfield.isCellOccupied(x, y)) {
                 noIntersection = false;
             }
-            board.get(p.y).set(p.x, true);
+            playfield.placeTileAt(x, y);
         }
         return noIntersection;
     }
@@ -279,20 +509,18 @@ public class Game extends Observable {
     // EFFECTS: clears any filled rows and moves the tiles in above rows downward
     //          by the appropriate number of rows. In particular, if n rows below a particular
     //          row, R, are cleared, then R will be moved down n rows.
+    //          Only the rows covered by the active piece, which has just locked into place, are checked,
+    //          since no other row can have been filled by it.
     //          Changes the number of lines cleared and the player's score accordingly.
-    private void clearLines() {
-        List<Integer> rowsCleared = getFilledRowsIndices();
-
-        for (int i = 0; i < rowsCleared.size(); i++) {
-            ArrayList<Boolean> blankRow = new ArrayList<Boolean>();
-            for (int j = 0; j < Game.WIDTH; j++) {
-                blankRow.add(false);
-            }
-            board.remove((int) rowsCleared.get(i));
-            board.add(0, blankRow);
+    //          Returns the number of rows that were cleared.
+    private int clearLines() {
+        int fromY = playfield.getHeight() - 1;
+        int toY = 0;
+        for (int i = 0; i < PieceShape.NUM_TILES; i++) {
+            fromY = Math.min(fromY, activePiece.getTileY(i));
+            toY = Math.max(toY, activePiece.getTileY(i));
         }
-
-        int numRowsCleared = rowsCleared.size();
+        int numRowsCleared = playfield.clearFilledRows(Math.max(fromY, 0), Math.min(toY, playfield.getHeight() - 1));
         linesCleared += numRowsCleared;
         if (numRowsCleared == 1) {
             score += SINGLE_POINTS;
@@ -303,27 +531,23 @@ public class Game extends Observable {
         } else if (numRowsCleared == 4) {
             score += TETRIS_POINTS;
         }
+        return numRowsCleared;
     }
 
-    // EFFECTS: returns a list of indices of rows that are currently completely
-    //          filled with tiles
-    private List<Integer> getFilledRowsIndices() {
-        List<Integer> rowsCleared = new ArrayList<Integer>();
-
-        for (int i = 0; i < Game.HEIGHT; i++) {
-            List<Boolean> row = board.get(i);
-            boolean rowCompletelyFilled = true;
-            for (Boolean cellOccupied : row) {
-                if (!cellOccupied) {
-                    rowCompletelyFilled = false;
-                    break;
-                }
-            }
-            if (rowCompletelyFilled) {
-                rowsCleared.add(i);
-            }
+    // EFFECTS: notifies listeners that lockedPiece locked into place, clearing numRowsCleared rows and earning
+    //          pointsEarned points. Also notifies listeners if the level is no longer oldLevel, and if the game
+    //          is over.
+    private void notifyListeners(Piece lockedPiece, int numRowsCleared, int pointsEarned, int oldLevel) {
+        listeners.pieceLocked(this, lockedPiece);
+        if (numRowsCleared > 0) {
+            listeners.linesCleared(this, numRowsCleared, pointsEarned);
+        }
+        int newLevel = getLevel();
+        if (newLevel != oldLevel) {
+            listeners.levelChanged(this, oldLevel, newLevel);
+        }
+        if (gameOver) {
+            listeners.gameOver(this);
         }
-
-        return rowsCleared;
     }
 }
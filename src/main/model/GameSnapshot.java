@@ -0,0 +1,171 @@
+package model;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+// An immutable copy of everything needed to continue a game from a particular moment: the tiles on the board,
+// the type, orientation and position of the active and next pieces, the score, the number of lines cleared,
+// and the state of the random number generator that chooses pieces. See Game.takeSnapshot and
+// Game.restoreSnapshot.
+//
+// The board is stored a row at a time, each row packed into one or more longs in the same way as
+// model.board.Board.getRowWord, so a snapshot of a board wider than 64 columns holds several longs per row.
+//
+// Piece types are numbered in the order I, J, L, O, S, T, Z, which is the order Game numbers them in when it
+// chooses pieces at random.
+public final class GameSnapshot {
+    // Bit (c % 64) of rows[r * wordsPerRow + c / 64] is set if the cell at coordinates (c, r) is occupied. The
+    // active piece's tiles are included.
+    private final long[] rows;
+
+    // Number of longs that hold each row
+    private final int wordsPerRow;
+
+    private final int activePieceType;
+    private final int activePieceOrientation;
+    private final int activePieceX;
+    private final int activePieceY;
+    private final int nextPieceType;
+
+    private final int score;
+    private final int linesCleared;
+    private final long randomState;
+    private final boolean gameOver;
+
+    // EFFECTS: creates a snapshot holding the given state of a board that is at most 64 columns wide, so each
+    //          element of rows holds one row. The active piece's rotation reference point is at
+    //          (activePieceX, activePieceY). rows is copied, so changing it afterwards does not change the snapshot.
+    //          Throws IllegalArgumentException if a piece type is not between 0 and Game.NUM_TETRIS_PIECES - 1.
+    public GameSnapshot(long[] rows, int activePieceType, int activePieceOrientation, int activePieceX,
+                        int activePieceY, int nextPieceType, int score, int linesCleared, long randomState,
+                        boolean gameOver) {
+        this(rows, 1, activePieceType, activePieceOrientation, activePieceX, activePieceY, nextPieceType, score,
+                linesCleared, randomState, gameOver);
+    }
+
+    // EFFECTS: creates a snapshot holding the given state, where each row of the board is held by wordsPerRow
+    //          consecutive elements of rows. The active piece's rotation reference point is at
+    //          (activePieceX, activePieceY). rows is copied, so changing it afterwards does not change the snapshot.
+    //          Throws IllegalArgumentException if a piece type is not between 0 and Game.NUM_TETRIS_PIECES - 1,
+    //          if wordsPerRow < 1, or if the length of rows is not a multiple of wordsPerRow.
+    public GameSnapshot(long[] rows, int wordsPerRow, int activePieceType, int activePieceOrientation,
+                        int activePieceX, int activePieceY, int nextPieceType, int score, int linesCleared,
+                        long randomState, boolean gameOver) {
+        if (activePieceType < 0 || activePieceType >= Game.NUM_TETRIS_PIECES
+                || nextPieceType < 0 || nextPieceType >= Game.NUM_TETRIS_PIECES) {
+            throw new IllegalArgumentException("Invalid piece type");
+        }
+        if (wordsPerRow < 1 || rows.length % wordsPerRow != 0) {
+            throw new IllegalArgumentException("Rows do not hold " + wordsPerRow + " longs each");
+        }
+        this.rows = rows.clone();
+        this.wordsPerRow = wordsPerRow;
+        this.activePieceType = activePieceType;
+        this.activePieceOrientation = activePieceOrientation;
+        this.activePieceX = activePieceX;
+        this.activePieceY = activePieceY;
+        this.nextPieceType = nextPieceType;
+        this.score = score;
+        this.linesCleared = linesCleared;
+        this.randomState = randomState;
+        this.gameOver = gameOver;
+    }
+
+    // EFFECTS: returns the number of rows on the board
+    public int getNumRows() {
+        return rows.length / wordsPerRow;
+    }
+
+    // EFFECTS: returns the number of longs that hold each row
+    public int getWordsPerRow() {
+        return wordsPerRow;
+    }
+
+    // EFFECTS: returns the tiles in the first 64 columns of row y packed into a long, where bit c is set if the cell
+    //          in column c is occupied. This is the whole row if getWordsPerRow() is 1.
+    //          Throws IndexOutOfBoundsException if y is not between 0 and getNumRows() - 1.
+    public long getRow(int y) {
+        return getRowWord(y, 0);
+    }
+
+    // EFFECTS: returns the tiles in columns [64 * word, 64 * word + 63] of row y packed into a long, where bit
+    //          (c % 64) is set if the cell in column c is occupied.
+    //          Throws IndexOutOfBoundsException if y is not between 0 and getNumRows() - 1, or if word is not between
+    //          0 and getWordsPerRow() - 1.
+    public long getRowWord(int y, int word) {
+        if (y < 0 || y >= getNumRows() || word < 0 || word >= wordsPerRow) {
+            throw new IndexOutOfBoundsException("Word " + word + " of row " + y + " is not in the snapshot");
+        }
+        return rows[y * wordsPerRow + word];
+    }
+
+    // EFFECTS: returns the type of the active piece
+    public int getActivePieceType() {
+        return activePieceType;
+    }
+
+    // EFFECTS: returns the orientation of the active piece
+    public int getActivePieceOrientation() {
+        return activePieceOrientation;
+    }
+
+    // EFFECTS: returns the x-coordinate of the active piece's rotation reference point
+    public int getActivePieceX() {
+        return activePieceX;
+    }
+
+    // EFFECTS: returns the y-coordinate of the active piece's rotation reference point
+    public int getActivePieceY() {
+        return activePieceY;
+    }
+
+    // EFFECTS: returns the type of the next piece
+    public int getNextPieceType() {
+        return nextPieceType;
+    }
+
+    // EFFECTS: returns the player's score
+    public int getScore() {
+        return score;
+    }
+
+    // EFFECTS: returns the number of lines cleared
+    public int getLinesCleared() {
+        return linesCleared;
+    }
+
+    // EFFECTS: returns the state of the game's piece randomizer (see model.randomizer.PieceRandomizer)
+    public long getRandomState() {
+        return randomState;
+    }
+
+    // EFFECTS: returns true if the game was over
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    // EFFECTS: returns true if obj's actual type is GameSnapshot and it holds the same state as this snapshot
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || this.getClass() != obj.getClass()) {
+            return false;
+        }
+        GameSnapshot other = (GameSnapshot) obj;
+        return Arrays.equals(rows, other.rows) && wordsPerRow == other.wordsPerRow
+                && activePieceType == other.activePieceType
+                && activePieceOrientation == other.activePieceOrientation && activePieceX == other.activePieceX
+                && activePieceY == other.activePieceY && nextPieceType == other.nextPieceType
+                && score == other.score && linesCleared == other.linesCleared
+                && randomState == other.randomState && gameOver == other.gameOver;
+    }
+
+    // EFFECTS: returns the hash code for this snapshot
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(rows) + Objects.hash(wordsPerRow, activePieceType, activePieceOrientation,
+                activePieceX, activePieceY, nextPieceType, score, linesCleared, randomState, gameOver);
+    }
+}
@@ -0,0 +1,6 @@
+package model;
+
+// Represents a command that a player (or a program) can give to a Tetris game.
+public enum InputCommand {
+    NONE, MOVE_LEFT, MOVE_RIGHT, MOVE_DOWN, ROTATE, HARD_DROP;
+}
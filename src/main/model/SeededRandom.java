@@ -0,0 +1,63 @@
+package model;
+
+// A random number generator that produces exactly the same numbers as java.util.Random given the same seed, but
+// whose internal state can be read and restored. Games use it to choose pieces, so that a snapshot of a game can
+// record where the piece sequence is up to and continue it later.
+//
+// The algorithm is the 48-bit linear congruential generator documented in java.util.Random.
+public class SeededRandom {
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    private long state;
+
+    // EFFECTS: creates a generator that produces the same numbers as new java.util.Random(seed)
+    public SeededRandom(long seed) {
+        state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns a random int between 0 (inclusive) and bound (exclusive), as java.util.Random.nextInt does.
+    //          Throws IllegalArgumentException if bound <= 0.
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+
+        int r = next(31);
+        int m = bound - 1;
+        if ((bound & m) == 0) {
+            return (int) ((bound * (long) r) >> 31);
+        }
+        for (int u = r; u - (r = u % bound) + m < 0; u = next(31)) {
+            // Values from the top of the range that would make the result uneven are rejected
+        }
+        return r;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns a random double between 0 (inclusive) and 1 (exclusive), as java.util.Random.nextDouble does
+    public double nextDouble() {
+        return (((long) next(26) << 27) + next(27)) * 0x1.0p-53;
+    }
+
+    // EFFECTS: returns the internal state of this generator, from which setState can later continue the sequence
+    public long getState() {
+        return state;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sets the internal state of this generator to one returned by getState.
+    //          Only the low 48 bits of the given state are used.
+    public void setState(long state) {
+        this.state = state & MASK;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: advances the generator and returns its top bits random bits
+    private int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+}
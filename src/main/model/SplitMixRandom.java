@@ -0,0 +1,76 @@
+package model;
+
+// A fast random number generator based on SplitMix64: the state is a counter that advances by a fixed odd
+// constant, and each number is the counter with its bits thoroughly mixed. Since every number depends only on the
+// counter, the generator can be split into an independent one, and its whole state is a single number that can be
+// read and restored.
+//
+// The counter is kept to STATE_BITS bits rather than 64, so that a piece randomizer can pack a few bits of its own
+// state next to the counter in one long (see model.randomizer). That still leaves a period of 2^61.
+public class SplitMixRandom {
+    // The number of bits in the state
+    public static final int STATE_BITS = 61;
+
+    private static final long STATE_MASK = (1L << STATE_BITS) - 1;
+    private static final long GAMMA = 0x9E3779B97F4A7C15L & STATE_MASK;
+
+    private long state;
+
+    // EFFECTS: creates a generator whose numbers are determined by the given seed
+    public SplitMixRandom(long seed) {
+        state = mix(seed) & STATE_MASK;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns 64 random bits
+    public long nextLong() {
+        state = (state + GAMMA) & STATE_MASK;
+        return mix(state);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns a random int between 0 (inclusive) and bound (exclusive), with every value equally likely.
+    //          Throws IllegalArgumentException if bound <= 0.
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+
+        // Multiplying 32 random bits by bound puts the result in the top 32 bits of the product. Products whose
+        // bottom 32 bits fall below 2^32 mod bound are rejected, since they would make small results more likely.
+        long product = (nextLong() >>> 32) * bound;
+        if ((product & 0xFFFFFFFFL) < bound) {
+            long threshold = (1L << 32) % bound;
+            while ((product & 0xFFFFFFFFL) < threshold) {
+                product = (nextLong() >>> 32) * bound;
+            }
+        }
+        return (int) (product >>> 32);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns a new generator, seeded from this one, whose numbers are independent of this one's
+    public SplitMixRandom split() {
+        return new SplitMixRandom(nextLong());
+    }
+
+    // EFFECTS: returns the internal state of this generator, which is less than 2^STATE_BITS and from which
+    //          setState can later continue the sequence
+    public long getState() {
+        return state;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sets the internal state of this generator to one returned by getState.
+    //          Only the low STATE_BITS bits of the given state are used.
+    public void setState(long state) {
+        this.state = state & STATE_MASK;
+    }
+
+    // EFFECTS: returns the given value with its bits thoroughly mixed (the finalizer of SplitMix64)
+    private static long mix(long value) {
+        long z = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
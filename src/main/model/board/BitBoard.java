@@ -0,0 +1,356 @@
+package model.board;
+
+import java.util.Arrays;
+
+// A board that packs each row into the bits of longs: a row is ROW_WORD_BITS columns per long, using as many
+// longs as the width needs, and bit (c % 64) of long (c / 64) of a row is set if the cell in column c of that
+// row is occupied. This makes collision checks a single bitwise operation on boards of any width, and the board
+// stores no boxed values. The board also keeps a transposed copy of its tiles, one bitset per
+// column, so that it can find the next occupied cell below any cell without scanning.
+//
+// The rows are stored in a ring buffer: logical row y lives in physical slot (firstRow + y) % height. Clearing
+// lines near the bottom of the board then only moves the few rows below the cleared ones, and everything above
+// falls by rotating firstRow instead of being copied. Each row also keeps a count of its tiles and each column
+// keeps the index of its highest tile, both updated as tiles are placed and removed.
+public class BitBoard implements Board {
+    // The number of columns packed into each long of a row
+    public static final int ROW_WORD_BITS = Long.SIZE;
+
+    private final int width;
+    private final int height;
+
+    // Number of longs needed to hold the tiles of one row
+    private final int rowWords;
+
+    // Elements [slot * rowWords, (slot + 1) * rowWords), where slot = (firstRow + r) % height, hold the tiles
+    // of row r
+    private final long[] rows;
+
+    // Element (firstRow + r) % height holds the number of tiles in row r
+    private final int[] rowCounts;
+
+    // Physical slot of row 0
+    private int firstRow;
+
+    // Number of longs needed to hold the tiles of one column
+    private final int columnWords;
+
+    // Bit (r % 64) of element (c * columnWords + r / 64) is set if the cell at coordinates (c, r) is occupied
+    private final long[] columns;
+
+    // The c'th element holds the row index of the highest tile in column c, or height if column c is empty
+    private final int[] columnTops;
+
+    // Incremented every time the board is modified
+    private long modificationCount;
+
+    // EFFECTS: creates an empty board with the given width and height.
+    //          Throws IllegalArgumentException if width < 1 or height < 1.
+    public BitBoard(int width, int height) {
+        if (width < 1 || height < 1) {
+            throw new IllegalArgumentException("Unsupported board size: " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+        this.rowWords = (width + ROW_WORD_BITS - 1) / ROW_WORD_BITS;
+        this.rows = new long[height * rowWords];
+        this.rowCounts = new int[height];
+        this.columnWords = (height + Long.SIZE - 1) / Long.SIZE;
+        this.columns = new long[width * columnWords];
+        this.columnTops = new int[width];
+        Arrays.fill(columnTops, height);
+    }
+
+    // EFFECTS: returns the width of the board (measured in number of tiles)
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    // EFFECTS: returns the height of the board (measured in number of tiles)
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    // EFFECTS: returns true if the cell at coordinates (x, y) is occupied by a tile.
+    //          Throws IndexOutOfBoundsException if the coordinates (x, y) do not represent a cell on the board.
+    @Override
+    public boolean isCellOccupied(int x, int y) {
+        checkCell(x, y);
+        return (rows[slot(y) * rowWords + (x >>> 6)] & (1L << x)) != 0;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: fills the cell at coordinates (x, y) with a tile.
+    //          Throws IndexOutOfBoundsException if the coordinates (x, y) do not represent a cell on the board.
+    @Override
+    public void placeTileAt(int x, int y) {
+        checkCell(x, y);
+        int slot = slot(y);
+        int word = slot * rowWords + (x >>> 6);
+        long bit = 1L << x;
+        if ((rows[word] & bit) == 0) {
+            rows[word] |= bit;
+            rowCounts[slot]++;
+            columns[x * columnWords + (y >>> 6)] |= 1L << y;
+            if (y < columnTops[x]) {
+                columnTops[x] = y;
+            }
+            modificationCount++;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes the tile at coordinates (x, y), if there is a tile there. Otherwise, does nothing.
+    //          Throws IndexOutOfBoundsException if the coordinates (x, y) do not represent a cell on the board.
+    @Override
+    public void removeTileAt(int x, int y) {
+        checkCell(x, y);
+        int slot = slot(y);
+        int word = slot * rowWords + (x >>> 6);
+        long bit = 1L << x;
+        if ((rows[word] & bit) != 0) {
+            rows[word] &= ~bit;
+            rowCounts[slot]--;
+            columns[x * columnWords + (y >>> 6)] &= ~(1L << y);
+            if (y == columnTops[x]) {
+                columnTops[x] = findFirstOccupiedRow(x, y + 1);
+            }
+            modificationCount++;
+        }
+    }
+
+    // EFFECTS: returns true if every cell in row y is occupied by a tile.
+    //          Throws IndexOutOfBoundsException if y is not the index of a row on the board.
+    @Override
+    public boolean isRowFilled(int y) {
+        checkRow(y);
+        return rowCounts[slot(y)] == width;
+    }
+
+    // EFFECTS: returns the number of tiles in row y.
+    //          Throws IndexOutOfBoundsException if y is not the index of a row on the board.
+    @Override
+    public int getNumTilesInRow(int y) {
+        checkRow(y);
+        return rowCounts[slot(y)];
+    }
+
+    // EFFECTS: returns the tiles in columns [64 * word, 64 * word + 63] of row y, with bit (c % 64) set if the cell
+    //          in column c is occupied.
+    //          Throws IndexOutOfBoundsException if y is not the index of a row on the board or word is not between
+    //          0 and getNumRowWords() - 1.
+    @Override
+    public long getRowWord(int y, int word) {
+        checkRow(y);
+        if (word < 0 || word >= rowWords) {
+            throw new IndexOutOfBoundsException("Word " + word + " is not part of a row");
+        }
+        return rows[slot(y) * rowWords + word];
+    }
+
+    // EFFECTS: returns the number of longs that hold the tiles of each row
+    @Override
+    public int getNumRowWords() {
+        return rowWords;
+    }
+
+    // EFFECTS: returns the number of rows between the bottom of the board and the top of the highest tile in
+    //          column x, or 0 if column x is empty.
+    //          Throws IndexOutOfBoundsException if x is not the index of a column on the board.
+    @Override
+    public int getColumnHeight(int x) {
+        checkCell(x, 0);
+        return height - columnTops[x];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: clears any filled rows and moves the tiles in above rows downward by the appropriate
+    //          number of rows. Returns the number of rows that were cleared.
+    @Override
+    public int clearFilledRows() {
+        return clearFilledRows(0, height - 1);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: clears any filled rows between rows fromY and toY (inclusive) and moves the tiles in above rows
+    //          downward by the appropriate number of rows. Rows outside that range are never cleared, even if
+    //          they are filled. Returns the number of rows that were cleared.
+    //          Either the rows below the highest cleared row or the rows above the lowest cleared row are moved,
+    //          whichever is fewer. In the first case, the rows above fall by rotating the ring buffer.
+    //          Throws IndexOutOfBoundsException if fromY or toY is not the index of a row on the board.
+    @Override
+    public int clearFilledRows(int fromY, int toY) {
+        checkRow(fromY);
+        checkRow(toY);
+        int numRowsCleared = 0;
+        int highest = height;
+        int lowest = -1;
+        for (int y = fromY; y <= toY; y++) {
+            if (rowCounts[slot(y)] == width) {
+                removeRowFromColumns(y);
+                highest = Math.min(highest, y);
+                lowest = y;
+                numRowsCleared++;
+            }
+        }
+
+        if (numRowsCleared > 0) {
+            if (height - highest < lowest + 1) {
+                compactRowsBelow(highest, toY, numRowsCleared);
+            } else {
+                compactRowsAbove(lowest, fromY, toY);
+            }
+            for (int c = 0; c < width; c++) {
+                columnTops[c] = findFirstOccupiedRow(c, 0);
+            }
+            modificationCount++;
+        }
+        return numRowsCleared;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes every tile from the board
+    @Override
+    public void clear() {
+        Arrays.fill(rows, 0);
+        Arrays.fill(rowCounts, 0);
+        Arrays.fill(columns, 0);
+        Arrays.fill(columnTops, height);
+        firstRow = 0;
+        modificationCount++;
+    }
+
+    // EFFECTS: returns the row index of the highest occupied cell in column x that is below row y, or getHeight()
+    //          if every cell in column x below row y is empty. Takes time proportional to the number of longs that
+    //          hold a column, rather than to the number of rows searched.
+    //          Throws IndexOutOfBoundsException if x is not the index of a column or y is not the index of a row.
+    @Override
+    public int getFirstOccupiedRowBelow(int x, int y) {
+        checkCell(x, y);
+        return findFirstOccupiedRow(x, y + 1);
+    }
+
+    // EFFECTS: returns the number of times this board has been modified
+    @Override
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
+    // EFFECTS: returns the physical slot that holds row y
+    private int slot(int y) {
+        int slot = firstRow + y;
+        return slot >= height ? slot - height : slot;
+    }
+
+    // EFFECTS: returns the row index of the highest occupied cell in column x at or below row start, or height
+    //          if there is none
+    private int findFirstOccupiedRow(int x, int start) {
+        if (start >= height) {
+            return height;
+        }
+
+        int base = x * columnWords;
+        int word = start >>> 6;
+        long bits = columns[base + word] & (-1L << start);
+        while (bits == 0) {
+            word++;
+            if (word == columnWords) {
+                return height;
+            }
+            bits = columns[base + word];
+        }
+        return word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes row r from every column bitset, moving the bits of the rows above it down by one row and
+    //          leaving row 0 empty
+    private void removeRowFromColumns(int r) {
+        int rowWord = r >>> 6;
+        long above = (1L << r) - 1;
+        long below = ~(above | (1L << r));
+        for (int c = 0; c < width; c++) {
+            int base = c * columnWords;
+            for (int w = rowWord; w >= 0; w--) {
+                long bits = columns[base + w];
+                long carry = w > 0 ? columns[base + w - 1] >>> (Long.SIZE - 1) : 0;
+                if (w == rowWord) {
+                    columns[base + w] = (bits & below) | ((bits & above) << 1) | carry;
+                } else {
+                    columns[base + w] = (bits << 1) | carry;
+                }
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes the filled rows between highest and toY by moving each remaining row at or below row highest
+    //          up to fill the gaps in a single top-down pass, then rotates the ring buffer down by numRowsCleared
+    //          rows so that every row falls into its final position
+    private void compactRowsBelow(int highest, int toY, int numRowsCleared) {
+        int destination = highest;
+        for (int source = highest; source < height; source++) {
+            int sourceSlot = slot(source);
+            if (source > toY || rowCounts[sourceSlot] != width) {
+                moveRow(sourceSlot, slot(destination));
+                destination++;
+            }
+        }
+        for (; destination < height; destination++) {
+            moveRow(-1, slot(destination));
+        }
+
+        firstRow -= numRowsCleared;
+        if (firstRow < 0) {
+            firstRow += height;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes the filled rows between fromY and toY by moving each remaining row at or above row lowest
+    //          down to its final position in a single bottom-up pass, then empties the rows left at the top
+    private void compactRowsAbove(int lowest, int fromY, int toY) {
+        int destination = lowest;
+        for (int source = lowest; source >= 0; source--) {
+            int sourceSlot = slot(source);
+            if (source < fromY || rowCounts[sourceSlot] != width) {
+                moveRow(sourceSlot, slot(destination));
+                destination--;
+            }
+        }
+        for (; destination >= 0; destination--) {
+            moveRow(-1, slot(destination));
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: copies the tiles in physical slot source to physical slot destination, or empties slot destination
+    //          if source is -1
+    private void moveRow(int source, int destination) {
+        if (source < 0) {
+            Arrays.fill(rows, destination * rowWords, (destination + 1) * rowWords, 0);
+        } else if (rowWords == 1) {
+            rows[destination] = rows[source];
+        } else {
+            System.arraycopy(rows, source * rowWords, rows, destination * rowWords, rowWords);
+        }
+        rowCounts[destination] = source < 0 ? 0 : rowCounts[source];
+    }
+
+    // EFFECTS: throws IndexOutOfBoundsException if the coordinates (x, y) do not represent a cell on the board
+    private void checkCell(int x, int y) {
+        if (x < 0 || x >= width) {
+            throw new IndexOutOfBoundsException("Column " + x + " is not on the board");
+        }
+        checkRow(y);
+    }
+
+    // EFFECTS: throws IndexOutOfBoundsException if y is not the index of a row on the board
+    private void checkRow(int y) {
+        if (y < 0 || y >= height) {
+            throw new IndexOutOfBoundsException("Row " + y + " is not on the board");
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package model.board;
+
+// Represents a Tetris playfield: a grid of cells, each of which is either empty or occupied by a tile.
+// The cell in the upper-left corner has coordinates (0, 0), and the x-coordinate increases as one travels to
+// the right, while the y-coordinate increases as one travels down.
+public interface Board {
+    // EFFECTS: returns the width of the board (measured in number of tiles)
+    int getWidth();
+
+    // EFFECTS: returns the height of the board (measured in number of tiles)
+    int getHeight();
+
+    // EFFECTS: returns true if the cell at coordinates (x, y) is occupied by a tile.
+    //          Throws IndexOutOfBoundsException if the coordinates (x, y) do not represent a cell on the board.
+    boolean isCellOccupied(int x, int y);
+
+    // MODIFIES: this
+    // EFFECTS: fills the cell at coordinates (x, y) with a tile.
+    //          Throws IndexOutOfBoundsException if the coordinates (x, y) do not represent a cell on the board.
+    void placeTileAt(int x, int y);
+
+    // MODIFIES: this
+    // EFFECTS: removes the tile at coordinates (x, y), if there is a tile there. Otherwise, does nothing.
+    //          Throws IndexOutOfBoundsException if the coordinates (x, y) do not represent a cell on the board.
+    void removeTileAt(int x, int y);
+
+    // EFFECTS: returns true if every cell in row y is occupied by a tile.
+    //          Throws IndexOutOfBoundsException if y is not the index of a row on the board.
+    boolean isRowFilled(int y);
+
+    // EFFECTS: returns the number of tiles in row y.
+    //          Throws IndexOutOfBoundsException if y is not the index of a row on the board.
+    int getNumTilesInRow(int y);
+
+    // EFFECTS: returns the tiles in columns [64 * word, 64 * word + 63] of row y, packed into a long with bit
+    //          (c % 64) set if the cell in column c is occupied. Reading a row a long at a time is much faster
+    //          than reading it a cell at a time on wide boards.
+    //          Throws IndexOutOfBoundsException if y is not the index of a row on the board or word is not between
+    //          0 and getNumRowWords() - 1.
+    long getRowWord(int y, int word);
+
+    // EFFECTS: returns the number of longs needed to hold a row, which is the width divided by 64, rounded up
+    int getNumRowWords();
+
+    // EFFECTS: returns the number of rows between the bottom of the board and the top of the highest tile in
+    //          column x, or 0 if column x is empty.
+    //          Throws IndexOutOfBoundsException if x is not the index of a column on the board.
+    int getColumnHeight(int x);
+
+    // EFFECTS: returns the row index of the highest occupied cell in column x that is below row y, or getHeight()
+    //          if every cell in column x below row y is empty.
+    //          Throws IndexOutOfBoundsException if x is not the index of a column or y is not the index of a row.
+    int getFirstOccupiedRowBelow(int x, int y);
+
+    // MODIFIES: this
+    // EFFECTS: clears any filled rows and moves the tiles in above rows downward by the appropriate
+    //          number of rows. Returns the number of rows that were cleared.
+    int clearFilledRows();
+
+    // MODIFIES: this
+    // EFFECTS: clears any filled rows between rows fromY and toY (inclusive) and moves the tiles in above rows
+    //          downward by the appropriate number of rows. Rows outside that range are never cleared, even if
+    //          they are filled. Returns the number of rows that were cleared.
+    //          Throws IndexOutOfBoundsException if fromY or toY is not the index of a row on the board.
+    int clearFilledRows(int fromY, int toY);
+
+    // MODIFIES: this
+    // EFFECTS: removes every tile from the board
+    void clear();
+
+    // EFFECTS: returns the number of times this board has been modified. Callers can cache values computed from
+    //          the board and reuse them for as long as this number stays the same.
+    long getModificationCount();
+}
@@ -0,0 +1,27 @@
+package model.event;
+
+import model.Game;
+import model.pieces.Piece;
+
+// A GameListener that ignores every event. Extend this class to listen for only the events you need.
+public abstract class GameAdapter implements GameListener {
+    // EFFECTS: does nothing
+    @Override
+    public void pieceLocked(Game game, Piece lockedPiece) {
+    }
+
+    // EFFECTS: does nothing
+    @Override
+    public void linesCleared(Game game, int numLines, int pointsEarned) {
+    }
+
+    // EFFECTS: does nothing
+    @Override
+    public void levelChanged(Game game, int oldLevel, int newLevel) {
+    }
+
+    // EFFECTS: does nothing
+    @Override
+    public void gameOver(Game game) {
+    }
+}
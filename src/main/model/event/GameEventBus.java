@@ -0,0 +1,75 @@
+package model.event;
+
+import model.Game;
+import model.pieces.Piece;
+
+// Delivers a game's events to its listeners, in the order that the listeners were added.
+// The listeners are kept in a copy-on-write array: adding or removing a listener replaces the array, so
+// delivering an event is a plain loop that takes no lock and allocates nothing. Listeners are expected to be
+// added rarely and notified often.
+public class GameEventBus implements GameListener {
+    private static final GameListener[] NO_LISTENERS = new GameListener[0];
+
+    private volatile GameListener[] listeners = NO_LISTENERS;
+
+    // MODIFIES: this
+    // EFFECTS: adds the given listener, which will receive every event delivered after this call.
+    //          Adding the same listener twice makes it receive every event twice.
+    public synchronized void addListener(GameListener listener) {
+        GameListener[] newListeners = new GameListener[listeners.length + 1];
+        System.arraycopy(listeners, 0, newListeners, 0, listeners.length);
+        newListeners[listeners.length] = listener;
+        listeners = newListeners;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes the first occurrence of the given listener, if it was added. Otherwise, does nothing.
+    public synchronized void removeListener(GameListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                GameListener[] newListeners = new GameListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, newListeners, 0, i);
+                System.arraycopy(listeners, i + 1, newListeners, i, listeners.length - i - 1);
+                listeners = newListeners;
+                return;
+            }
+        }
+    }
+
+    // EFFECTS: returns the number of listeners
+    public int getNumListeners() {
+        return listeners.length;
+    }
+
+    // EFFECTS: delivers a piece locked event to every listener
+    @Override
+    public void pieceLocked(Game game, Piece lockedPiece) {
+        for (GameListener listener : listeners) {
+            listener.pieceLocked(game, lockedPiece);
+        }
+    }
+
+    // EFFECTS: delivers a lines cleared event to every listener
+    @Override
+    public void linesCleared(Game game, int numLines, int pointsEarned) {
+        for (GameListener listener : listeners) {
+            listener.linesCleared(game, numLines, pointsEarned);
+        }
+    }
+
+    // EFFECTS: delivers a level changed event to every listener
+    @Override
+    public void levelChanged(Game game, int oldLevel, int newLevel) {
+        for (GameListener listener : listeners) {
+            listener.levelChanged(game, oldLevel, newLevel);
+        }
+    }
+
+    // EFFECTS: delivers a game over event to every listener
+    @Override
+    public void gameOver(Game game) {
+        for (GameListener listener : listeners) {
+            listener.gameOver(game);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package model.event;
+
+import model.Game;
+import model.pieces.Piece;
+
+// Receives events from a Tetris game. Each event carries what changed, so that a listener can update just
+// the parts of its state that depend on it instead of re-reading the whole game.
+public interface GameListener {
+    // EFFECTS: called after lockedPiece could not move down any further and locked into place. By the time
+    //          this is called, the game has already cleared any lines and spawned its next active piece.
+    void pieceLocked(Game game, Piece lockedPiece);
+
+    // EFFECTS: called after numLines (between 1 and 4) rows were cleared in a single move, earning the
+    //          player pointsEarned points
+    void linesCleared(Game game, int numLines, int pointsEarned);
+
+    // EFFECTS: called after a line clear raised the game's level from oldLevel to newLevel
+    void levelChanged(Game game, int oldLevel, int newLevel);
+
+    // EFFECTS: called once, after the player tops out
+    void gameOver(Game game);
+}
@@ -1,6 +1,7 @@
 package model.pieces;
 
 import model.Game;
+import model.board.Board;
 
 import java.awt.Point;
 import java.util.*;
@@ -13,26 +14,35 @@ import java.util.*;
 public abstract class Piece {
     protected Game game;
 
-    // Maps orientation to locations of tiles relative to rotationReferencePoint
-    protected Map<Integer, Set<Point>> orientationToTileRelativeLocation;
+    // Locations of tiles relative to the rotation reference point for each orientation.
+    // Shared by every piece of the same type.
+    protected final PieceShape shape;
 
     // Every piece rotates inside a box, as seen in these diagrams:
     // https://strategywiki.org/wiki/File:Tetris_rotation_Sega.png
-    // rotationReferencePoint is the top left corner of that box.
-    protected Point rotationReferencePoint;
+    // The rotation reference point, (referenceX, referenceY), is the top left corner of that box.
+    // It is stored as two ints rather than a Point so that moving the piece never allocates.
+    protected int referenceX;
+    protected int referenceY;
 
     // This is an integer from 0 to 3
     protected int orientation;
 
-    // EFFECTS: creates a piece in the given game with the given rotation reference point.
-    //          The piece is in its default orientation.
+    // The result of the last call to getHardDropTileLocations, or null if the piece has moved since then.
+    // It is only reused while the board's modification count is still hardDropModificationCount.
+    private Set<Point> hardDropTileLocations;
+    private long hardDropModificationCount;
+
+    // EFFECTS: creates a piece with the given shape in the given game, with its rotation reference point at
+    //          (referenceX, referenceY). The piece is in its default orientation.
     //          Note: the constructor does not put the piece on the game board.
-    public Piece(Game game, Point rotationReferencePoint) {
+    public Piece(Game game, int referenceX, int referenceY, PieceShape shape) {
         this.game = game;
-        initOrientationToRelativeLocation();
+        this.shape = shape;
 
         this.orientation = 0;
-        this.rotationReferencePoint = rotationReferencePoint;
+        this.referenceX = referenceX;
+        this.referenceY = referenceY;
     }
 
     // MODIFIES: this
@@ -42,181 +52,200 @@ public abstract class Piece {
     public boolean rotate() {
         // The rotation rules I used are found at https://strategywiki.org/wiki/Tetris/Rotation_systems
         // in the Sega rotation system section.
-        Set<Point> previousTileLocations = getTileLocations();
-        changeToNextOrientation();
-
-        if (cannotExecuteMove(previousTileLocations)) {
-            changeToPreviousOrientation();
-            return false;
-        }
-
-        updateBoard(previousTileLocations);
-        return true;
+        return executeMove(referenceX, referenceY, (orientation + 1) % PieceShape.NUM_ORIENTATIONS);
     }
 
     // MODIFIES: this
     // EFFECTS: moves this piece one column left if there is space. Returns true
     //          if the move is successful; otherwise, does nothing and returns false.
     public boolean moveLeft() {
-        Set<Point> previousTileLocations = getTileLocations();
-        rotationReferencePoint.x -= 1;
-
-        if (cannotExecuteMove(previousTileLocations)) {
-            rotationReferencePoint.x += 1;
-            return false;
-        }
-
-        updateBoard(previousTileLocations);
-        return true;
+        return executeMove(referenceX - 1, referenceY, orientation);
     }
 
     // MODIFIES: this
     // EFFECTS: moves this piece one column right if there is space. Returns true
     //          if the move is successful; otherwise, does nothing and returns false.
     public boolean moveRight() {
-        Set<Point> previousTileLocations = getTileLocations();
-        rotationReferencePoint.x += 1;
-
-        if (cannotExecuteMove(previousTileLocations)) {
-            rotationReferencePoint.x -= 1;
-            return false;
-        }
-
-        updateBoard(previousTileLocations);
-        return true;
+        return executeMove(referenceX + 1, referenceY, orientation);
     }
 
     // MODIFIES: this
     // EFFECTS: moves this piece one row down if there is space. Returns true
     //          if the move is successful; otherwise, does nothing and returns false.
     public boolean moveDown() {
-        Set<Point> previousTileLocations = getTileLocations();
-        rotationReferencePoint.y += 1;
+        return executeMove(referenceX, referenceY + 1, orientation);
+    }
 
-        if (cannotExecuteMove(previousTileLocations)) {
-            rotationReferencePoint.y -= 1;
-            return false;
-        }
+    // EFFECTS: returns the x-coordinate of the given tile of this piece on the board, where tile is
+    //          between 0 and PieceShape.NUM_TILES - 1. Unlike getTileLocations, this does not allocate.
+    public int getTileX(int tile) {
+        return referenceX + shape.getTileX(orientation, tile);
+    }
 
-        updateBoard(previousTileLocations);
-        return true;
+    // EFFECTS: returns the y-coordinate of the given tile of this piece on the board, where tile is
+    //          between 0 and PieceShape.NUM_TILES - 1. Unlike getTileLocations, this does not allocate.
+    public int getTileY(int tile) {
+        return referenceY + shape.getTileY(orientation, tile);
+    }
+
+    // EFFECTS: returns the shape of this piece, which is shared by every piece of its type
+    public PieceShape getShape() {
+        return shape;
+    }
+
+    // EFFECTS: returns the x-coordinate of this piece's rotation reference point
+    public int getReferenceX() {
+        return referenceX;
+    }
+
+    // EFFECTS: returns the y-coordinate of this piece's rotation reference point
+    public int getReferenceY() {
+        return referenceY;
+    }
+
+    // EFFECTS: returns the orientation of this piece, which is between 0 and PieceShape.NUM_ORIENTATIONS - 1
+    public int getOrientation() {
+        return orientation;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: puts this piece's rotation reference point at (referenceX, referenceY) and puts the piece in the
+    //          given orientation, without checking for walls or occupied cells.
+    //          Throws IllegalArgumentException if orientation is not between 0 and PieceShape.NUM_ORIENTATIONS - 1.
+    //          Note: like the constructor, this does not change the game board. It is meant for restoring a piece
+    //          whose tiles are already on the board, such as when a game is restored from a snapshot.
+    public void setPosition(int referenceX, int referenceY, int orientation) {
+        if (orientation < 0 || orientation >= PieceShape.NUM_ORIENTATIONS) {
+            throw new IllegalArgumentException("Invalid orientation " + orientation);
+        }
+        this.referenceX = referenceX;
+        this.referenceY = referenceY;
+        this.orientation = orientation;
+        hardDropTileLocations = null;
     }
 
     // EFFECTS: returns a set containing the locations (as points) of each of the piece's tiles.
     //          Changing this set does not change the location of the tiles.
     public Set<Point> getTileLocations() {
         Set<Point> tileAbsoluteLocations = new HashSet<>();
-        for (Point p : orientationToTileRelativeLocation.get(orientation)) {
-            tileAbsoluteLocations.add(new Point(p.x + rotationReferencePoint.x,
-                    p.y + rotationReferencePoint.y));
+        for (int i = 0; i < PieceShape.NUM_TILES; i++) {
+            tileAbsoluteLocations.add(new Point(getTileX(i), getTileY(i)));
         }
         return tileAbsoluteLocations;
     }
 
+    // MODIFIES: this
+    // EFFECTS: drops this piece straight down as far as it can go, in a single move.
+    //          In Tetris, we call this action a "hard drop". Returns the number of rows the piece moved.
+    public int hardDrop() {
+        int distance = getHardDropDistance();
+        if (distance > 0) {
+            executeMove(referenceX, referenceY + distance, orientation);
+        }
+        return distance;
+    }
+
+    // EFFECTS: returns the number of rows this piece would move down if it were hard dropped.
+    //          This is a pure query: neither the board nor this piece is modified. Only the lowest tile of each
+    //          column the piece covers is checked, and the board finds the next occupied cell below each of them
+    //          without scanning, so this takes time proportional to the width of the piece.
+    public int getHardDropDistance() {
+        Board board = game.getPlayfield();
+        int distance = board.getHeight();
+        for (int i = 0; i < PieceShape.NUM_TILES; i++) {
+            if (shape.isBottomTile(orientation, i)) {
+                int y = getTileY(i);
+                int tileDistance = board.getFirstOccupiedRowBelow(getTileX(i), y) - y - 1;
+                distance = Math.min(distance, tileDistance);
+            }
+        }
+        return distance;
+    }
+
     // EFFECTS: returns a set containing the locations (as points) of each of the piece's tiles
     //          if the piece were to be "hard-dropped" (i.e. if the piece were dropped straight
     //          down as far as it can go).
-    // NOTE: this method does not actually hard drop the piece. It is only meant to give a preview
-    //       of where the piece would land if it were hard dropped.
+    //          The returned set cannot be modified. It is computed once and then reused until this piece moves
+    //          or the board changes, so it is cheap to call on every repaint.
+    // NOTE: this method does not actually hard drop the piece, and does not modify the board. It is only
+    //       meant to give a preview of where the piece would land if it were hard dropped.
     public Set<Point> getHardDropTileLocations() {
-        Point rotationReferencePointCopy = new Point(rotationReferencePoint);
-
-        // Move the piece as far down as possible.
-        boolean canMoveDown;
-        do {
-            canMoveDown = this.moveDown();
-        } while (canMoveDown);
-
-        Set<Point> hardDropTileLocations = this.getTileLocations();
-
-        // Reset rotationReferencePoint to what it was before (thus resetting the piece's position).
-        this.rotationReferencePoint = rotationReferencePointCopy;
-
-        // We now make sure the game board is reset to how it was before this method was called, since the
-        // moveDown() method modifies the board. We have reset this piece's tile locations to where they were before,
-        // but the piece tiles still appear at the hardDropTileLocations on the game's board. We update the board
-        // to reflect this piece's current tile locations.
-        updateBoard(hardDropTileLocations);
-
+        Board board = game.getPlayfield();
+        if (hardDropTileLocations == null || hardDropModificationCount != board.getModificationCount()) {
+            int distance = getHardDropDistance();
+            Set<Point> droppedTileLocations = new HashSet<>();
+            for (int i = 0; i < PieceShape.NUM_TILES; i++) {
+                droppedTileLocations.add(new Point(getTileX(i), getTileY(i) + distance));
+            }
+            hardDropTileLocations = Collections.unmodifiableSet(droppedTileLocations);
+            hardDropModificationCount = board.getModificationCount();
+        }
         return hardDropTileLocations;
     }
 
-    // EFFECTS: returns a set of the tile locations of this piece relative to rotationReferencePoint
-    //          for orientation 0
-    protected abstract Set<Point> getOrientation0RelativeLocations();
-
-    // EFFECTS: returns a set of the tile locations of this piece relative to rotationReferencePoint
-    //          for orientation 1
-    protected abstract Set<Point> getOrientation1RelativeLocations();
-
-    // EFFECTS: returns a set of the tile locations of this piece relative to rotationReferencePoint
-    //          for orientation 2
-    protected abstract Set<Point> getOrientation2RelativeLocations();
-
-    // EFFECTS: returns a set of the tile locations of this piece relative to rotationReferencePoint
-    //          for orientation 3
-    protected abstract Set<Point> getOrientation3RelativeLocations();
-
     // MODIFIES: this
-    // EFFECTS: initializes Map object that maps orientation to tile location relative to rotationReferencePoint
-    private void initOrientationToRelativeLocation() {
-        orientationToTileRelativeLocation = new HashMap<Integer, Set<Point>>();
+    // EFFECTS: moves this piece so that its rotation reference point is at (newX, newY) and it is in the given
+    //          orientation, then returns true. If the piece would intersect a wall or an occupied cell there,
+    //          does nothing and returns false.
+    private boolean executeMove(int newX, int newY, int newOrientation) {
+        if (cannotExecuteMove(newX, newY, newOrientation)) {
+            return false;
+        }
 
-        orientationToTileRelativeLocation.put(0, getOrientation0RelativeLocations());
-        orientationToTileRelativeLocation.put(1, getOrientation1RelativeLocations());
-        orientationToTileRelativeLocation.put(2, getOrientation2RelativeLocations());
-        orientationToTileRelativeLocation.put(3, getOrientation3RelativeLocations());
-    }
+        int previousX = referenceX;
+        int previousY = referenceY;
+        int previousOrientation = orientation;
+        referenceX = newX;
+        referenceY = newY;
+        orientation = newOrientation;
+        hardDropTileLocations = null;
 
-    // MODIFIES: this
-    // EFFECTS: changes orientation to next orientation
-    private void changeToNextOrientation() {
-        if (orientation == 3) {
-            orientation = 0;
-        } else {
-            orientation++;
-        }
+        updateBoard(previousX, previousY, previousOrientation);
+        return true;
     }
 
-    // MODIFIES: this
-    // EFFECTS: changes orientation to previous orientation
-    private void changeToPreviousOrientation() {
-        if (orientation == 0) {
-            orientation = 3;
-        } else {
-            orientation--;
+    // EFFECTS: returns true if this piece's tiles cannot move to the location they would have with the rotation
+    //          reference point at (newX, newY) and the given orientation. Cells currently covered by this piece
+    //          do not obstruct the move. Returns false otherwise.
+    private boolean cannotExecuteMove(int newX, int newY, int newOrientation) {
+        Board board = game.getPlayfield();
+        for (int i = 0; i < PieceShape.NUM_TILES; i++) {
+            int x = newX + shape.getTileX(newOrientation, i);
+            int y = newY + shape.getTileY(newOrientation, i);
+            if (!coversCell(x, y)) {
+                if (x < 0 || x >= board.getWidth()) {
+                    return true;
+                } else if (y < 0 || y >= board.getHeight()) {
+                    return true;
+                } else if (board.isCellOccupied(x, y)) {
+                    return true;
+                }
+            }
         }
+        return false;
     }
 
-    // EFFECTS: returns true if the tiles at the given previous tile locations
-    //          cannot move to this piece's tile locations. Returns false otherwise.
-    private boolean cannotExecuteMove(Set<Point> previousTileLocations) {
-        boolean obstructed = false;
-        for (Point p : this.getTileLocations()) {
-            if (!previousTileLocations.contains(p)) {
-                if (p.x < 0 || p.x >= Game.WIDTH) {
-                    obstructed = true;
-                    break;
-                } else if (p.y < 0 || p.y >= Game.HEIGHT) {
-                    obstructed = true;
-                    break;
-                } else if (game.isCellOccupied(p.x, p.y)) {
-                    obstructed = true;
-                    break;
-                }
+    // EFFECTS: returns true if one of this piece's tiles is currently at (x, y)
+    private boolean coversCell(int x, int y) {
+        for (int i = 0; i < PieceShape.NUM_TILES; i++) {
+            if (getTileX(i) == x && getTileY(i) == y) {
+                return true;
             }
         }
-        return obstructed;
+        return false;
     }
 
     // MODIFIES: this
-    // EFFECTS: removes the tiles at the given locations from the board, and adds this piece's tiles to the board.
-    private void updateBoard(Set<Point> tilesToRemove) {
-        for (Point p : tilesToRemove) {
-            game.removeTileAt(p.x, p.y);
+    // EFFECTS: removes the tiles this piece had with its rotation reference point at (previousX, previousY) and in
+    //          the given previous orientation from the board, and adds this piece's current tiles to the board.
+    private void updateBoard(int previousX, int previousY, int previousOrientation) {
+        Board board = game.getPlayfield();
+        for (int i = 0; i < PieceShape.NUM_TILES; i++) {
+            board.removeTileAt(previousX + shape.getTileX(previousOrientation, i),
+                    previousY + shape.getTileY(previousOrientation, i));
         }
-        for (Point p : getTileLocations()) {
-            game.placeTileAt(p.x, p.y);
+        for (int i = 0; i < PieceShape.NUM_TILES; i++) {
+            board.placeTileAt(getTileX(i), getTileY(i));
         }
     }
 }
@@ -0,0 +1,79 @@
+package model.pieces;
+
+// Represents the shape of a type of piece: the locations of its tiles relative to the rotation
+// reference point, for each of its four orientations. A shape is immutable, so every piece of a
+// given type shares the same PieceShape, which is built once when the piece class is loaded.
+public final class PieceShape {
+    // Number of tiles in every piece
+    public static final int NUM_TILES = 4;
+
+    // Number of orientations every piece can be in
+    public static final int NUM_ORIENTATIONS = 4;
+
+    // tileXs[o][i] and tileYs[o][i] are the coordinates of tile i relative to the rotation
+    // reference point when the piece is in orientation o
+    private final int[][] tileXs;
+    private final int[][] tileYs;
+
+    // bottomTiles[o][i] is true if no other tile is directly below tile i in orientation o.
+    // These are the only tiles that can land on something when the piece falls.
+    private final boolean[][] bottomTiles;
+
+    // EFFECTS: creates a shape from the given relative tile locations, where offsets[o][i] is the
+    //          {x, y} location of tile i relative to the rotation reference point in orientation o.
+    //          Throws IllegalArgumentException if offsets does not hold NUM_TILES locations for each of
+    //          the NUM_ORIENTATIONS orientations.
+    PieceShape(int[][][] offsets) {
+        if (offsets.length != NUM_ORIENTATIONS) {
+            throw new IllegalArgumentException("A piece shape needs " + NUM_ORIENTATIONS + " orientations");
+        }
+
+        tileXs = new int[NUM_ORIENTATIONS][NUM_TILES];
+        tileYs = new int[NUM_ORIENTATIONS][NUM_TILES];
+        for (int o = 0; o < NUM_ORIENTATIONS; o++) {
+            if (offsets[o].length != NUM_TILES) {
+                throw new IllegalArgumentException("A piece shape needs " + NUM_TILES + " tiles");
+            }
+            for (int i = 0; i < NUM_TILES; i++) {
+                tileXs[o][i] = offsets[o][i][0];
+                tileYs[o][i] = offsets[o][i][1];
+            }
+        }
+
+        bottomTiles = new boolean[NUM_ORIENTATIONS][NUM_TILES];
+        for (int o = 0; o < NUM_ORIENTATIONS; o++) {
+            for (int i = 0; i < NUM_TILES; i++) {
+                bottomTiles[o][i] = !hasTileAt(o, tileXs[o][i], tileYs[o][i] + 1);
+            }
+        }
+    }
+
+    // EFFECTS: returns the x-coordinate of the given tile relative to the rotation reference point
+    //          when the piece is in the given orientation
+    public int getTileX(int orientation, int tile) {
+        return tileXs[orientation][tile];
+    }
+
+    // EFFECTS: returns the y-coordinate of the given tile relative to the rotation reference point
+    //          when the piece is in the given orientation
+    public int getTileY(int orientation, int tile) {
+        return tileYs[orientation][tile];
+    }
+
+    // EFFECTS: returns true if no other tile is directly below the given tile when the piece is in the
+    //          given orientation
+    public boolean isBottomTile(int orientation, int tile) {
+        return bottomTiles[orientation][tile];
+    }
+
+    // EFFECTS: returns true if a tile is at (x, y) relative to the rotation reference point when the piece
+    //          is in the given orientation
+    private boolean hasTileAt(int orientation, int x, int y) {
+        for (int i = 0; i < NUM_TILES; i++) {
+            if (tileXs[orientation][i] == x && tileYs[orientation][i] == y) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,73 @@
+package model.randomizer;
+
+import model.Game;
+import model.SplitMixRandom;
+
+// Deals pieces from a "bag" holding one piece of each type, shuffled, refilling and reshuffling the bag whenever
+// it is empty (the "7-bag" of modern Tetris games). Every type is dealt exactly once in each group of
+// Game.NUM_TETRIS_PIECES pieces, so there are never long droughts of any piece.
+//
+// The state packs the generator's state from when the current bag was shuffled, next to the number of pieces
+// dealt from it. Restoring the state shuffles that bag again with the same random numbers.
+public class BagRandomizer implements PieceRandomizer {
+    // Bits of the state that hold the number of pieces dealt from the current bag
+    private static final int POSITION_BITS = 64 - SplitMixRandom.STATE_BITS;
+    private static final long POSITION_MASK = (1L << POSITION_BITS) - 1;
+
+    private final SplitMixRandom random;
+    private final int[] bag = new int[Game.NUM_TETRIS_PIECES];
+
+    // The generator's state before the current bag was shuffled, and the number of pieces dealt from the bag
+    private long bagState;
+    private int position;
+
+    // EFFECTS: creates a randomizer whose pieces are determined by the given seed
+    public BagRandomizer(long seed) {
+        random = new SplitMixRandom(seed);
+        bagState = random.getState();
+        shuffle();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the type of the next piece in the bag, first refilling and shuffling the bag if it is empty
+    @Override
+    public int nextPieceType() {
+        if (position == Game.NUM_TETRIS_PIECES) {
+            bagState = random.getState();
+            shuffle();
+            position = 0;
+        }
+        return bag[position++];
+    }
+
+    // EFFECTS: returns the generator's state from when the current bag was shuffled, with the number of pieces
+    //          dealt from the bag in the low bits
+    @Override
+    public long getState() {
+        return (bagState << POSITION_BITS) | position;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: shuffles the bag the given state was taken during again, and deals from where that bag was up to
+    @Override
+    public void setState(long state) {
+        bagState = state >>> POSITION_BITS;
+        position = (int) Math.min(state & POSITION_MASK, Game.NUM_TETRIS_PIECES);
+        random.setState(bagState);
+        shuffle();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: fills the bag with one piece of each type, in a random order (a Fisher-Yates shuffle)
+    private void shuffle() {
+        for (int i = 0; i < bag.length; i++) {
+            bag[i] = i;
+        }
+        for (int i = bag.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = bag[i];
+            bag[i] = bag[j];
+            bag[j] = swap;
+        }
+    }
+}
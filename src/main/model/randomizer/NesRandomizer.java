@@ -0,0 +1,54 @@
+package model.randomizer;
+
+import model.Game;
+import model.SplitMixRandom;
+
+// Deals pieces the way the NES version of Tetris does: it rolls one more number than there are piece types, and
+// if the roll is that extra number or the same type as the previous piece, it rolls once more among the piece
+// types alone and takes whatever comes up. Repeats are therefore rarer than with the uniform randomizer, but
+// still possible, and droughts can be as long as ever.
+//
+// The state packs the generator's state next to the type of the previous piece.
+public class NesRandomizer implements PieceRandomizer {
+    // Bits of the state that hold the type of the previous piece
+    private static final int PREVIOUS_BITS = 64 - SplitMixRandom.STATE_BITS;
+    private static final long PREVIOUS_MASK = (1L << PREVIOUS_BITS) - 1;
+
+    // Stands for the previous piece before the first piece is dealt
+    private static final int NO_PREVIOUS = Game.NUM_TETRIS_PIECES;
+
+    private final SplitMixRandom random;
+    private int previous = NO_PREVIOUS;
+
+    // EFFECTS: creates a randomizer whose pieces are determined by the given seed
+    public NesRandomizer(long seed) {
+        random = new SplitMixRandom(seed);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the type of the next piece, rerolling once if the first roll repeats the previous piece
+    //          or is the extra number
+    @Override
+    public int nextPieceType() {
+        int type = random.nextInt(Game.NUM_TETRIS_PIECES + 1);
+        if (type == NO_PREVIOUS || type == previous) {
+            type = random.nextInt(Game.NUM_TETRIS_PIECES);
+        }
+        previous = type;
+        return type;
+    }
+
+    // EFFECTS: returns the generator's state, with the type of the previous piece in the low bits
+    @Override
+    public long getState() {
+        return (random.getState() << PREVIOUS_BITS) | previous;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sets the generator's state and the type of the previous piece from the given state
+    @Override
+    public void setState(long state) {
+        random.setState(state >>> PREVIOUS_BITS);
+        previous = (int) Math.min(state & PREVIOUS_MASK, NO_PREVIOUS);
+    }
+}
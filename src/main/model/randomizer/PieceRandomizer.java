@@ -0,0 +1,20 @@
+package model.randomizer;
+
+// Chooses the types of the pieces a game deals, in order. Piece types are numbered from 0 to
+// Game.NUM_TETRIS_PIECES - 1 in the order I, J, L, O, S, T, Z.
+//
+// A randomizer's whole state fits in a long, so that a game snapshot (see model.GameSnapshot) can record where
+// the piece sequence is up to, and a randomizer of the same kind can later continue it from there.
+public interface PieceRandomizer {
+    // MODIFIES: this
+    // EFFECTS: returns the type of the next piece
+    int nextPieceType();
+
+    // EFFECTS: returns the internal state of this randomizer, from which setState can later continue the sequence
+    long getState();
+
+    // MODIFIES: this
+    // EFFECTS: sets the internal state of this randomizer to one returned by getState of a randomizer of the same
+    //          kind, so that it deals the same pieces that randomizer would have
+    void setState(long state);
+}
@@ -0,0 +1,27 @@
+package model.randomizer;
+
+// The kinds of piece randomizer that can be made from a seed alone, so that batch simulations and command-line
+// tools can choose one by name.
+public enum RandomizerKind {
+    UNIFORM {
+        @Override
+        public PieceRandomizer create(long seed) {
+            return new UniformRandomizer(seed);
+        }
+    },
+    BAG {
+        @Override
+        public PieceRandomizer create(long seed) {
+            return new BagRandomizer(seed);
+        }
+    },
+    NES {
+        @Override
+        public PieceRandomizer create(long seed) {
+            return new NesRandomizer(seed);
+        }
+    };
+
+    // EFFECTS: returns a new randomizer of this kind whose pieces are determined by the given seed
+    public abstract PieceRandomizer create(long seed);
+}
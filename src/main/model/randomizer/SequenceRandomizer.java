@@ -0,0 +1,75 @@
+package model.randomizer;
+
+import model.Game;
+
+// Deals the pieces of a sequence generated in advance, starting again from the beginning when it runs out.
+// Batch simulations can generate one long sequence and give every game a randomizer that shares it, so that
+// every game is dealt exactly the same pieces without generating them again.
+//
+// The sequence is stored as one byte per piece and is never changed once created, so randomizers made with the
+// copy constructor can share it between threads. The state is the index of the next piece.
+public class SequenceRandomizer implements PieceRandomizer {
+    private final byte[] pieceTypes;
+    private int index;
+
+    // EFFECTS: creates a randomizer that deals the given piece types in order.
+    //          Throws IllegalArgumentException if there are none, or if any is not a piece type.
+    public SequenceRandomizer(int[] pieceTypes) {
+        if (pieceTypes.length == 0) {
+            throw new IllegalArgumentException("A sequence needs at least one piece");
+        }
+        this.pieceTypes = new byte[pieceTypes.length];
+        for (int i = 0; i < pieceTypes.length; i++) {
+            if (pieceTypes[i] < 0 || pieceTypes[i] >= Game.NUM_TETRIS_PIECES) {
+                throw new IllegalArgumentException("Not a piece type: " + pieceTypes[i]);
+            }
+            this.pieceTypes[i] = (byte) pieceTypes[i];
+        }
+    }
+
+    // EFFECTS: creates a randomizer that deals the same sequence as the given one, sharing it, from the start
+    public SequenceRandomizer(SequenceRandomizer other) {
+        this.pieceTypes = other.pieceTypes;
+    }
+
+    // MODIFIES: source
+    // EFFECTS: returns a randomizer that deals the next length pieces the given randomizer deals.
+    //          Throws IllegalArgumentException if length < 1.
+    public static SequenceRandomizer generate(PieceRandomizer source, int length) {
+        if (length < 1) {
+            throw new IllegalArgumentException("A sequence needs at least one piece");
+        }
+        int[] pieceTypes = new int[length];
+        for (int i = 0; i < length; i++) {
+            pieceTypes[i] = source.nextPieceType();
+        }
+        return new SequenceRandomizer(pieceTypes);
+    }
+
+    // EFFECTS: returns the number of pieces in the sequence
+    public int getLength() {
+        return pieceTypes.length;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the next piece type in the sequence, starting again from the beginning after the last one
+    @Override
+    public int nextPieceType() {
+        int type = pieceTypes[index];
+        index = index + 1 == pieceTypes.length ? 0 : index + 1;
+        return type;
+    }
+
+    // EFFECTS: returns the index of the next piece in the sequence
+    @Override
+    public long getState() {
+        return index;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sets the index of the next piece in the sequence, wrapping around if it is past the end
+    @Override
+    public void setState(long state) {
+        index = (int) Math.floorMod(state, (long) pieceTypes.length);
+    }
+}
@@ -0,0 +1,36 @@
+package model.randomizer;
+
+import model.Game;
+import model.SeededRandom;
+
+// Deals every piece type with equal probability, independently of the pieces before it. This is the randomizer
+// games have always used: given the same seed, it deals the same pieces as every earlier version of the game, so
+// old replays still play back.
+public class UniformRandomizer implements PieceRandomizer {
+    private final SeededRandom random;
+
+    // EFFECTS: creates a randomizer whose pieces are determined by the given seed
+    public UniformRandomizer(long seed) {
+        random = new SeededRandom(seed);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the type of the next piece, chosen uniformly at random
+    @Override
+    public int nextPieceType() {
+        return random.nextInt(Game.NUM_TETRIS_PIECES);
+    }
+
+    // EFFECTS: returns the state of the random number generator (see SeededRandom.getState)
+    @Override
+    public long getState() {
+        return random.getState();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sets the state of the random number generator (see SeededRandom.setState)
+    @Override
+    public void setState(long state) {
+        random.setState(state);
+    }
+}
@@ -0,0 +1,297 @@
+package persistence;
+
+import exceptions.CorruptedFileException;
+import model.Scoreboard;
+import model.ScoreboardEntry;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32;
+
+// Reads and writes scoreboard entries in an append-only binary file:
+//
+//     int     MAGIC
+//     byte    VERSION
+//             for each entry, a record:
+//     int       length of the payload in bytes
+//     int       CRC-32 of the payload
+//               payload:
+//     int         score
+//     int         lines cleared
+//                 the player's name in UTF-8, which takes the rest of the payload
+//
+// Saving entries only checks the header and writes their records to the end of the file, so it takes time
+// proportional to the number of entries being saved rather than to the number already in the file. An empty file
+// holds no entries, and the header is written along with the first records.
+// A save that is cut short can only damage the last record, so a last record that runs past the end of the file,
+// whose checksum does not match its payload, or that is followed only by zeros, marks the end of the log. It is cut
+// off by repair, which is run once when the game starts, so the records saved after it are not lost. A damaged
+// record followed by anything else means the file is corrupted.
+public class ScoreboardLog {
+    // "TSBL"
+    public static final int MAGIC = 0x5453424C;
+    public static final int VERSION = 1;
+
+    // Bytes taken by the magic number and version at the start of the file
+    public static final int HEADER_BYTES = Integer.BYTES + 1;
+
+    // Bytes taken by the length and checksum at the start of every record
+    public static final int RECORD_HEADER_BYTES = 2 * Integer.BYTES;
+
+    // The longest payload a record may have, so that a corrupted length cannot make the reader allocate a huge
+    // buffer. Names are typed in by the player, so they are never nearly this long.
+    public static final int MAXIMUM_PAYLOAD_BYTES = 1 << 16;
+
+    // Bytes taken by the score and lines cleared at the start of every payload
+    private static final int PAYLOAD_FIELD_BYTES = 2 * Integer.BYTES;
+
+    private ScoreboardLog() {
+    }
+
+    // MODIFIES: file
+    // EFFECTS: appends the given entries to the end of the given file, creating the file if it does not exist, and
+    //          forces them to the disk if syncPolicy says to. Only the header and the new entries are touched; the
+    //          records already in the file are not checked. If writing fails part way, the file is cut back to
+    //          the length it had before.
+    //          Throws CorruptedFileException, without writing anything, if the file is not empty and does not
+    //          start with the header of a scoreboard log.
+    //          Throws IOException if an I/O error occurs, or if a player's name is too long to fit in a record.
+    public static void append(File file, List<ScoreboardEntry> entries, SyncPolicy syncPolicy)
+            throws CorruptedFileException, IOException {
+        Path path = file.toPath();
+        boolean empty = !Files.exists(path) || Files.size(path) == 0;
+        if (!empty) {
+            checkHeader(path);
+        }
+        ByteBuffer records = encode(entries, empty);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            long size = channel.size();
+            try {
+                writeFully(channel, records, syncPolicy);
+            } catch (IOException e) {
+                channel.truncate(size);
+                throw e;
+            }
+        }
+    }
+
+    // MODIFIES: file
+    // EFFECTS: cuts the given file back to the end of its last valid record if a save was cut short, so that later
+    //          saves are not written after a damaged record, and forces the change to the disk. Reads the whole
+    //          file, so it is meant to be run once before the log is first saved to, not before every save.
+    //          Does nothing to an empty file.
+    //          Throws CorruptedFileException, without changing the file, if the file is not a scoreboard log or a
+    //          damaged record is followed by anything but zeros.
+    //          Throws IOException if an I/O error occurs (for example, if the given file does not exist).
+    public static void repair(File file) throws CorruptedFileException, IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+        if (!buffer.hasRemaining()) {
+            return;
+        }
+        checkHeader(buffer);
+        int end = readRecords(buffer, new Scoreboard());
+        if (end < buffer.limit()) {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+                channel.truncate(end);
+                channel.force(true);
+            }
+        }
+    }
+
+    // MODIFIES: file
+    // EFFECTS: replaces the contents of the given file with a log that holds exactly the given entries, creating the
+    //          file if it does not exist, and forces it to the disk if syncPolicy says to. The new log is written
+    //          next to the file and then moved over it, so the file holds either the old or the new entries even
+    //          if writing fails part way. This is used when entries are removed, and takes time proportional to
+    //          the number of entries kept.
+    //          Throws IOException if an I/O error occurs, or if a player's name is too long to fit in a record.
+    public static void write(File file, List<ScoreboardEntry> entries, SyncPolicy syncPolicy) throws IOException {
+        Path path = file.toPath().toAbsolutePath();
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, encode(entries, true), syncPolicy);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // EFFECTS: returns a scoreboard containing every entry in the given file, in the order they were saved.
+    //          An empty file holds no entries, and a damaged last record marks the end of the log.
+    //          Throws CorruptedFileException if the file is not a scoreboard log, or if a damaged record is followed
+    //          by anything but zeros.
+    //          Throws IOException if an I/O error occurs (for example, if the given file does not exist).
+    public static Scoreboard read(File file) throws CorruptedFileException, IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+        Scoreboard scoreboard = new Scoreboard();
+        if (!buffer.hasRemaining()) {
+            return scoreboard;
+        }
+        checkHeader(buffer);
+        readRecords(buffer, scoreboard);
+        return scoreboard;
+    }
+
+    // EFFECTS: returns the records of the given entries, preceded by the file's header if withHeader is true, in
+    //          a buffer ready to be written.
+    //          Throws IOException if a player's name is too long to fit in a record.
+    private static ByteBuffer encode(List<ScoreboardEntry> entries, boolean withHeader) throws IOException {
+        byte[][] names = new byte[entries.size()][];
+        int bytes = withHeader ? HEADER_BYTES : 0;
+        for (int i = 0; i < names.length; i++) {
+            names[i] = entries.get(i).getPlayerName().getBytes(StandardCharsets.UTF_8);
+            if (PAYLOAD_FIELD_BYTES + names[i].length > MAXIMUM_PAYLOAD_BYTES) {
+                throw new IOException("Player name is too long to save");
+            }
+            bytes += RECORD_HEADER_BYTES + PAYLOAD_FIELD_BYTES + names[i].length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(bytes);
+        if (withHeader) {
+            buffer.putInt(MAGIC);
+            buffer.put((byte) VERSION);
+        }
+        for (int i = 0; i < names.length; i++) {
+            putRecord(buffer, entries.get(i), names[i]);
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    // MODIFIES: buffer
+    // EFFECTS: writes the record of the given entry, whose player's name is encoded as the given bytes, into buffer
+    private static void putRecord(ByteBuffer buffer, ScoreboardEntry entry, byte[] name) {
+        int lengthPosition = buffer.position();
+        int payloadPosition = lengthPosition + RECORD_HEADER_BYTES;
+        buffer.position(payloadPosition);
+        buffer.putInt(entry.getScore());
+        buffer.putInt(entry.getLinesCleared());
+        buffer.put(name);
+
+        int payloadBytes = buffer.position() - payloadPosition;
+        buffer.putInt(lengthPosition, payloadBytes);
+        buffer.putInt(lengthPosition + Integer.BYTES, checksum(buffer, payloadPosition, payloadBytes));
+    }
+
+    // MODIFIES: buffer
+    // EFFECTS: reads the record at the position of buffer, moves the position past it, and returns its entry.
+    //          Throws CorruptedFileException if the record's length is invalid, it runs past the end of the
+    //          buffer, or its checksum does not match.
+    private static ScoreboardEntry readRecord(ByteBuffer buffer) throws CorruptedFileException {
+        int recordPosition = buffer.position();
+        if (buffer.remaining() < RECORD_HEADER_BYTES) {
+            throw new CorruptedFileException("Record at byte " + recordPosition + " is truncated.");
+        }
+        int payloadBytes = buffer.getInt();
+        int expectedChecksum = buffer.getInt();
+        if (payloadBytes < PAYLOAD_FIELD_BYTES || payloadBytes > MAXIMUM_PAYLOAD_BYTES) {
+            throw new CorruptedFileException("Record at byte " + recordPosition + " has an invalid length.");
+        } else if (buffer.remaining() < payloadBytes) {
+            throw new CorruptedFileException("Record at byte " + recordPosition + " is truncated.");
+        } else if (checksum(buffer, buffer.position(), payloadBytes) != expectedChecksum) {
+            throw new CorruptedFileException("Record at byte " + recordPosition + " has an invalid checksum.");
+        }
+
+        int score = buffer.getInt();
+        int linesCleared = buffer.getInt();
+        byte[] name = new byte[payloadBytes - PAYLOAD_FIELD_BYTES];
+        buffer.get(name);
+        return new ScoreboardEntry(score, new String(name, StandardCharsets.UTF_8), linesCleared);
+    }
+
+    // MODIFIES: buffer, scoreboard
+    // EFFECTS: adds the entries of the records from the position of buffer to its limit to scoreboard, in order,
+    //          stopping at a damaged last record, and returns the position where the valid records end.
+    //          Throws CorruptedFileException if a damaged record is followed by anything but zeros.
+    private static int readRecords(ByteBuffer buffer, Scoreboard scoreboard) throws CorruptedFileException {
+        while (buffer.hasRemaining()) {
+            int recordPosition = buffer.position();
+            try {
+                scoreboard.add(readRecord(buffer));
+            } catch (CorruptedFileException e) {
+                buffer.position(recordPosition);
+                if (!isTornTail(buffer)) {
+                    throw e;
+                }
+                return recordPosition;
+            }
+        }
+        return buffer.position();
+    }
+
+    // EFFECTS: returns true if the damaged record at the position of buffer is what a save that was cut short
+    //          leaves behind: its header is cut short, its length reaches the limit of the buffer, or every byte
+    //          from it to the limit is zero. Reads nothing.
+    private static boolean isTornTail(ByteBuffer buffer) {
+        if (buffer.remaining() < RECORD_HEADER_BYTES) {
+            return true;
+        }
+        int payloadBytes = buffer.getInt(buffer.position());
+        if (payloadBytes >= PAYLOAD_FIELD_BYTES && payloadBytes <= MAXIMUM_PAYLOAD_BYTES
+                && buffer.remaining() <= RECORD_HEADER_BYTES + payloadBytes) {
+            return true;
+        }
+        for (int i = buffer.position(); i < buffer.limit(); i++) {
+            if (buffer.get(i) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // EFFECTS: returns the CRC-32 of the given number of bytes of buffer starting at the given index
+    private static int checksum(ByteBuffer buffer, int index, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), buffer.arrayOffset() + index, length);
+        return (int) crc.getValue();
+    }
+
+    // MODIFIES: buffer
+    // EFFECTS: reads the header at the position of buffer and moves the position past it.
+    //          Throws CorruptedFileException if it is not the header of a scoreboard log this class can read.
+    private static void checkHeader(ByteBuffer buffer) throws CorruptedFileException {
+        if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC) {
+            throw new CorruptedFileException("File is not a scoreboard log.");
+        }
+        int version = buffer.get() & 0xFF;
+        if (version != VERSION) {
+            throw new CorruptedFileException("Unsupported scoreboard log version " + version + ".");
+        }
+    }
+
+    // EFFECTS: reads the header at the start of the file at the given path, without reading the rest of the file.
+    //          Throws CorruptedFileException if it is not the header of a scoreboard log this class can read.
+    //          Throws IOException if an I/O error occurs.
+    private static void checkHeader(Path path) throws CorruptedFileException, IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // keep reading
+            }
+        }
+        header.flip();
+        checkHeader(header);
+    }
+
+    // MODIFIES: channel
+    // EFFECTS: writes every remaining byte of buffer to channel, then forces the channel's contents and size to
+    //          the disk if syncPolicy says to.
+    //          Throws IOException if an I/O error occurs.
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, SyncPolicy syncPolicy)
+            throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        if (syncPolicy == SyncPolicy.ALWAYS) {
+            channel.force(true);
+        }
+    }
+}
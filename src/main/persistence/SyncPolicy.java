@@ -0,0 +1,10 @@
+package persistence;
+
+// When a ScoreboardLog forces the entries it writes out of the operating system's cache and onto the disk.
+public enum SyncPolicy {
+    // Never force writes. Saving is fastest, but entries saved just before the computer loses power can be lost.
+    NEVER,
+
+    // Force every write, along with the file's new size, before the save returns. A save that returns is not lost.
+    ALWAYS
+}
@@ -0,0 +1,66 @@
+package persistence;
+
+import ai.HeuristicWeights;
+import exceptions.CorruptedFileException;
+import tuning.Candidate;
+import tuning.TuningCheckpoint;
+import tuning.TuningSettings;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+// This class is used for reading weight tuning checkpoints, written by TuningCheckpoint.saveTo, from file.
+public class TuningCheckpointFileReader {
+    // EFFECTS: returns the checkpoint in the given file.
+    //          Throws CorruptedFileException if the file is not a checkpoint (for example, if lines are missing,
+    //          have the wrong number of values, or have values that cannot be parsed).
+    //          Throws IOException if an I/O error occurs (for example, if the given file does not exist).
+    public static TuningCheckpoint readCheckpoint(File file) throws CorruptedFileException, IOException {
+        List<String> lines = Files.readAllLines(file.toPath());
+        if (lines.size() < 2) {
+            throw new CorruptedFileException("File is badly formatted.");
+        }
+
+        try {
+            String[] settingsValues = split(lines.get(0), 5, 1);
+            TuningSettings settings = new TuningSettings(Integer.parseInt(settingsValues[0]),
+                    Integer.parseInt(settingsValues[1]), Long.parseLong(settingsValues[2]),
+                    Integer.parseInt(settingsValues[3]), Long.parseLong(settingsValues[4]));
+            String[] progress = split(lines.get(1), 3, 2);
+
+            List<Candidate> population = new ArrayList<Candidate>();
+            for (int i = 2; i < lines.size(); i++) {
+                population.add(parseCandidate(lines.get(i), i + 1));
+            }
+            return new TuningCheckpoint(settings, Integer.parseInt(progress[0]), Long.parseLong(progress[1]),
+                    Long.parseLong(progress[2]), population);
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException is an IllegalArgumentException too
+            throw new CorruptedFileException("Checkpoint is invalid: " + e.getMessage());
+        }
+    }
+
+    // EFFECTS: returns the candidate described on the given line, which is line lineNumber of the file.
+    //          Throws CorruptedFileException if the line does not have one value per weight plus a fitness.
+    private static Candidate parseCandidate(String line, int lineNumber) throws CorruptedFileException {
+        String[] values = split(line, HeuristicWeights.NUM_FEATURES + 1, lineNumber);
+        double[] weights = new double[HeuristicWeights.NUM_FEATURES];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = Double.parseDouble(values[i]);
+        }
+        return new Candidate(HeuristicWeights.fromArray(weights), Double.parseDouble(values[weights.length]));
+    }
+
+    // EFFECTS: returns the comma-separated values on the given line, which is line lineNumber of the file.
+    //          Throws CorruptedFileException if there are not numValues of them.
+    private static String[] split(String line, int numValues, int lineNumber) throws CorruptedFileException {
+        String[] values = line.split(",", -1);
+        if (values.length != numValues) {
+            throw new CorruptedFileException("Line " + lineNumber + " should have " + numValues + " values.");
+        }
+        return values;
+    }
+}
@@ -0,0 +1,43 @@
+package replay;
+
+import model.GameSnapshot;
+
+// A snapshot of a recorded game taken at the start of a tick, before that tick's commands were executed. Playback
+// can start from a keyframe instead of from the beginning of the game, so seeking only has to simulate the ticks
+// between the nearest keyframe and the target.
+public final class Keyframe {
+    private final long tick;
+    private final int commandIndex;
+    private final int numPiecesLocked;
+    private final GameSnapshot snapshot;
+
+    // EFFECTS: creates a keyframe holding the given snapshot of a game taken at the start of the given tick.
+    //          commandIndex is the index in the replay of the first command given during or after that tick, and
+    //          numPiecesLocked is the number of pieces that had locked into place before it.
+    public Keyframe(long tick, int commandIndex, int numPiecesLocked, GameSnapshot snapshot) {
+        this.tick = tick;
+        this.commandIndex = commandIndex;
+        this.numPiecesLocked = numPiecesLocked;
+        this.snapshot = snapshot;
+    }
+
+    // EFFECTS: returns the tick this keyframe was taken at
+    public long getTick() {
+        return tick;
+    }
+
+    // EFFECTS: returns the index of the first command given during or after this keyframe's tick
+    public int getCommandIndex() {
+        return commandIndex;
+    }
+
+    // EFFECTS: returns the number of pieces that had locked into place before this keyframe was taken
+    public int getNumPiecesLocked() {
+        return numPiecesLocked;
+    }
+
+    // EFFECTS: returns the snapshot of the game
+    public GameSnapshot getSnapshot() {
+        return snapshot;
+    }
+}
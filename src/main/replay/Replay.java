@@ -0,0 +1,183 @@
+package replay;
+
+import model.InputCommand;
+import model.randomizer.RandomizerKind;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// A recording of a Tetris game: everything needed to play the game again exactly as it happened. A game is
+// determined by its seed, its starting level, the kind of randomizer that deals its pieces and the commands the
+// player gave it, so those are all a replay stores, along with the result of the game so that playback can be
+// checked against it.
+//
+// Each command is stored with the tick it was given in, which is the number of times the game had been
+// updated by its timer when the command was executed.
+//
+// A replay can also hold keyframes: snapshots of the game taken every so often while it was recorded, which let
+// playback seek to any tick without simulating the game from the beginning.
+public class Replay {
+    private static final InputCommand[] COMMANDS = InputCommand.values();
+
+    private final long seed;
+    private final int startingLevel;
+    private final RandomizerKind randomizerKind;
+
+    // The i'th command was given in tick commandTicks[i]. Ticks never decrease.
+    private long[] commandTicks = new long[64];
+    private byte[] commands = new byte[64];
+    private int numCommands;
+
+    // Keyframes in order of increasing tick
+    private final List<Keyframe> keyframes = new ArrayList<>();
+
+    // The result of the game
+    private long numTicks;
+    private int finalScore;
+    private int finalLinesCleared;
+
+    // EFFECTS: creates a replay of a game with the given seed and starting level whose pieces are dealt by the
+    //          uniform randomizer, with no commands yet
+    public Replay(long seed, int startingLevel) {
+        this(seed, startingLevel, RandomizerKind.UNIFORM);
+    }
+
+    // EFFECTS: creates a replay of a game with the given seed and starting level whose pieces are dealt by a
+    //          randomizer of the given kind made from the seed, with no commands yet
+    public Replay(long seed, int startingLevel, RandomizerKind randomizerKind) {
+        this.seed = seed;
+        this.startingLevel = startingLevel;
+        this.randomizerKind = randomizerKind;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds a command given in the given tick.
+    //          Throws IllegalArgumentException if the tick is before the tick of the previous command.
+    public void addCommand(long tick, InputCommand command) {
+        if (numCommands > 0 && tick < commandTicks[numCommands - 1]) {
+            throw new IllegalArgumentException("Commands must be added in order: tick " + tick + " is before tick "
+                    + commandTicks[numCommands - 1]);
+        }
+        if (numCommands == commands.length) {
+            commandTicks = Arrays.copyOf(commandTicks, 2 * numCommands);
+            commands = Arrays.copyOf(commands, 2 * numCommands);
+        }
+        commandTicks[numCommands] = tick;
+        commands[numCommands] = (byte) command.ordinal();
+        numCommands++;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds a keyframe.
+    //          Throws IllegalArgumentException if the keyframe's tick is not after the tick of the previous keyframe,
+    //          or if its command index is before the previous keyframe's or after the last command added.
+    public void addKeyframe(Keyframe keyframe) {
+        if (!keyframes.isEmpty()) {
+            Keyframe previous = keyframes.get(keyframes.size() - 1);
+            if (keyframe.getTick() <= previous.getTick() || keyframe.getCommandIndex() < previous.getCommandIndex()) {
+                throw new IllegalArgumentException("Keyframes must be added in order of increasing tick");
+            }
+        }
+        if (keyframe.getCommandIndex() < 0 || keyframe.getCommandIndex() > numCommands) {
+            throw new IllegalArgumentException("Keyframe refers to command " + keyframe.getCommandIndex()
+                    + ", but the replay has " + numCommands + " commands");
+        }
+        keyframes.add(keyframe);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records the result of the game: the number of ticks it ran for, and the player's final score
+    //          and number of lines cleared
+    public void setResult(long numTicks, int finalScore, int finalLinesCleared) {
+        this.numTicks = numTicks;
+        this.finalScore = finalScore;
+        this.finalLinesCleared = finalLinesCleared;
+    }
+
+    // EFFECTS: returns the seed of the recorded game
+    public long getSeed() {
+        return seed;
+    }
+
+    // EFFECTS: returns the starting level of the recorded game
+    public int getStartingLevel() {
+        return startingLevel;
+    }
+
+    // EFFECTS: returns the kind of randomizer that dealt the recorded game's pieces from its seed
+    public RandomizerKind getRandomizerKind() {
+        return randomizerKind;
+    }
+
+    // EFFECTS: returns the number of commands in this replay
+    public int getNumCommands() {
+        return numCommands;
+    }
+
+    // EFFECTS: returns the tick that the i'th command was given in.
+    //          Throws IndexOutOfBoundsException if i is not between 0 and getNumCommands() - 1.
+    public long getCommandTick(int i) {
+        checkIndex(i);
+        return commandTicks[i];
+    }
+
+    // EFFECTS: returns the i'th command.
+    //          Throws IndexOutOfBoundsException if i is not between 0 and getNumCommands() - 1.
+    public InputCommand getCommand(int i) {
+        checkIndex(i);
+        return COMMANDS[commands[i]];
+    }
+
+    // EFFECTS: returns the number of keyframes in this replay
+    public int getNumKeyframes() {
+        return keyframes.size();
+    }
+
+    // EFFECTS: returns the i'th keyframe.
+    //          Throws IndexOutOfBoundsException if i is not between 0 and getNumKeyframes() - 1.
+    public Keyframe getKeyframe(int i) {
+        return keyframes.get(i);
+    }
+
+    // EFFECTS: returns the last keyframe taken at or before the given tick, or null if there is none.
+    //          Keyframes are found by binary search, so this takes time logarithmic in the number of keyframes.
+    public Keyframe getKeyframeAtOrBefore(long tick) {
+        int low = 0;
+        int high = keyframes.size() - 1;
+        Keyframe found = null;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            Keyframe keyframe = keyframes.get(mid);
+            if (keyframe.getTick() <= tick) {
+                found = keyframe;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    // EFFECTS: returns the number of ticks the recorded game ran for
+    public long getNumTicks() {
+        return numTicks;
+    }
+
+    // EFFECTS: returns the final score of the recorded game
+    public int getFinalScore() {
+        return finalScore;
+    }
+
+    // EFFECTS: returns the number of lines cleared in the recorded game
+    public int getFinalLinesCleared() {
+        return finalLinesCleared;
+    }
+
+    // EFFECTS: throws IndexOutOfBoundsException if i is not the index of a command
+    private void checkIndex(int i) {
+        if (i < 0 || i >= numCommands) {
+            throw new IndexOutOfBoundsException("Command " + i + " is not in the replay");
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package replay;
+
+import exceptions.CorruptedFileException;
+import model.Game;
+import model.GameSnapshot;
+import model.InputCommand;
+import model.pieces.PieceShape;
+import model.randomizer.RandomizerKind;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+// Reads and writes replays in a compact binary format:
+//
+//     int     MAGIC
+//     byte    VERSION
+//     long    seed
+//     varint  starting level
+//     byte    RandomizerKind ordinal of the randomizer that deals the game's pieces
+//     varint  number of commands
+//     varint  for each command: ((tick - previous command's tick) << COMMAND_BITS) | command ordinal
+//     varint  number of ticks - last command's tick
+//     varint  final score
+//     varint  final number of lines cleared
+//     varint  number of keyframes
+//             for each keyframe:
+//     varint    tick - previous keyframe's tick
+//     varint    command index - previous keyframe's command index
+//     varint    number of pieces locked - previous keyframe's number of pieces locked
+//     varint    for each of the Game.HEIGHT rows: the row's tiles, with bit c set if column c is occupied
+//     byte      active piece type
+//     byte      active piece orientation
+//     varint    active piece rotation reference point x and y, zigzag-encoded since they can be negative
+//     byte      next piece type
+//     varint    score
+//     varint    number of lines cleared
+//     varint    random number generator state
+//
+// Replays written before keyframes were added have version 1 and end after the final number of lines cleared;
+// they are read as replays without keyframes. Replays written before the randomizer kind was stored have version 1
+// or 2 and no randomizer kind byte; their pieces were always dealt by the uniform randomizer.
+//
+// A varint is an unsigned number stored 7 bits per byte, least significant bits first, with the high bit of each
+// byte set if more bytes follow. Most commands are given within a few ticks of the one before, so each one
+// usually takes a single byte, and a replay takes only a few bytes per piece.
+public class ReplayFormat {
+    // "TREP"
+    public static final int MAGIC = 0x54524550;
+    public static final int VERSION = 3;
+
+    // The first version that stores keyframes
+    private static final int KEYFRAMES_VERSION = 2;
+
+    // The first version that stores the randomizer kind
+    private static final int RANDOMIZER_KIND_VERSION = 3;
+
+    private static final RandomizerKind[] RANDOMIZER_KINDS = RandomizerKind.values();
+
+    // Number of bits used to store a command's ordinal
+    private static final int COMMAND_BITS = 3;
+
+    private static final InputCommand[] COMMANDS = InputCommand.values();
+
+    private ReplayFormat() {
+    }
+
+    // EFFECTS: returns the given replay encoded as bytes
+    public static byte[] toBytes(Replay replay) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            write(replay, bytes);
+        } catch (IOException e) {
+            // ByteArrayOutputStream never throws IOException
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    // EFFECTS: returns the replay encoded in the given bytes.
+    //          Throws CorruptedFileException if the bytes do not hold a valid replay.
+    public static Replay fromBytes(byte[] bytes) throws CorruptedFileException {
+        try {
+            return read(new ByteArrayInputStream(bytes));
+        } catch (IOException e) {
+            throw new CorruptedFileException("Replay is truncated");
+        }
+    }
+
+    // EFFECTS: writes the given replay to the given stream. Throws IOException if the stream cannot be written.
+    public static void write(Replay replay, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeByte(VERSION);
+        data.writeLong(replay.getSeed());
+        writeVarint(data, replay.getStartingLevel());
+        data.writeByte(replay.getRandomizerKind().ordinal());
+        writeVarint(data, replay.getNumCommands());
+
+        long previousTick = 0;
+        for (int i = 0; i < replay.getNumCommands(); i++) {
+            long tick = replay.getCommandTick(i);
+            writeVarint(data, ((tick - previousTick) << COMMAND_BITS) | replay.getCommand(i).ordinal());
+            previousTick = tick;
+        }
+
+        writeVarint(data, replay.getNumTicks() - previousTick);
+        writeVarint(data, replay.getFinalScore());
+        writeVarint(data, replay.getFinalLinesCleared());
+        writeKeyframes(data, replay);
+        data.flush();
+    }
+
+    // EFFECTS: reads a replay from the given stream.
+    //          Throws CorruptedFileException if the stream does not hold a valid replay, and IOException if the
+    //          stream cannot be read or ends early.
+    public static Replay read(InputStream in) throws IOException, CorruptedFileException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC) {
+            throw new CorruptedFileException("Not a replay");
+        }
+        int version = data.readUnsignedByte();
+        if (version < 1 || version > VERSION) {
+            throw new CorruptedFileException("Unsupported replay version " + version);
+        }
+
+        long seed = data.readLong();
+        int startingLevel = readInt(data);
+        if (startingLevel > Game.MAXIMUM_STARTING_LEVEL) {
+            throw new CorruptedFileException("Invalid starting level " + startingLevel);
+        }
+        Replay replay = new Replay(seed, startingLevel, readRandomizerKind(data, version));
+
+        long numCommands = readVarint(data);
+        long tick = 0;
+        for (long i = 0; i < numCommands; i++) {
+            long record = readVarint(data);
+            int ordinal = (int) (record & ((1 << COMMAND_BITS) - 1));
+            if (ordinal >= COMMANDS.length) {
+                throw new CorruptedFileException("Invalid command " + ordinal);
+            }
+            tick += record >>> COMMAND_BITS;
+            replay.addCommand(tick, COMMANDS[ordinal]);
+        }
+
+        long numTicks = tick + readVarint(data);
+        int finalScore = readInt(data);
+        int finalLinesCleared = readInt(data);
+        replay.setResult(numTicks, finalScore, finalLinesCleared);
+        if (version >= KEYFRAMES_VERSION) {
+            readKeyframes(data, replay);
+        }
+        return replay;
+    }
+
+    // EFFECTS: reads the randomizer kind of a replay with the given version, which is UNIFORM for versions that do
+    //          not store it.
+    //          Throws CorruptedFileException if it is not a valid kind, and IOException if the stream ends early.
+    private static RandomizerKind readRandomizerKind(DataInputStream data, int version)
+            throws IOException, CorruptedFileException {
+        if (version < RANDOMIZER_KIND_VERSION) {
+            return RandomizerKind.UNIFORM;
+        }
+        int ordinal = data.readUnsignedByte();
+        if (ordinal >= RANDOMIZER_KINDS.length) {
+            throw new CorruptedFileException("Invalid randomizer kind " + ordinal);
+        }
+        return RANDOMIZER_KINDS[ordinal];
+    }
+
+    // EFFECTS: writes the keyframes of the given replay
+    private static void writeKeyframes(DataOutputStream data, Replay replay) throws IOException {
+        writeVarint(data, replay.getNumKeyframes());
+        for (int i = 0; i < replay.getNumKeyframes(); i++) {
+            Keyframe keyframe = replay.getKeyframe(i);
+            Keyframe previous = i == 0 ? null : replay.getKeyframe(i - 1);
+            writeVarint(data, keyframe.getTick() - (previous == null ? 0 : previous.getTick()));
+            writeVarint(data, keyframe.getCommandIndex() - (previous == null ? 0 : previous.getCommandIndex()));
+            writeVarint(data, keyframe.getNumPiecesLocked() - (previous == null ? 0 : previous.getNumPiecesLocked()));
+            writeSnapshot(data, keyframe.getSnapshot());
+        }
+    }
+
+    // EFFECTS: writes the given snapshot of a game that is not over
+    private static void writeSnapshot(DataOutputStream data, GameSnapshot snapshot) throws IOException {
+        for (int r = 0; r < snapshot.getNumRows(); r++) {
+            writeVarint(data, snapshot.getRow(r));
+        }
+        data.writeByte(snapshot.getActivePieceType());
+        data.writeByte(snapshot.getActivePieceOrientation());
+        writeVarint(data, zigzag(snapshot.getActivePieceX()));
+        writeVarint(data, zigzag(snapshot.getActivePieceY()));
+        data.writeByte(snapshot.getNextPieceType());
+        writeVarint(data, snapshot.getScore());
+        writeVarint(data, snapshot.getLinesCleared());
+        writeVarint(data, snapshot.getRandomState());
+    }
+
+    // MODIFIES: replay
+    // EFFECTS: reads keyframes and adds them to the given replay.
+    //          Throws CorruptedFileException if they are not valid keyframes of the replay, and IOException if the
+    //          stream cannot be read or ends early.
+    private static void readKeyframes(DataInputStream data, Replay replay) throws IOException, CorruptedFileException {
+        long numKeyframes = readVarint(data);
+        long tick = 0;
+        long commandIndex = 0;
+        long numPiecesLocked = 0;
+        for (long i = 0; i < numKeyframes; i++) {
+            tick += readVarint(data);
+            commandIndex += readVarint(data);
+            numPiecesLocked += readVarint(data);
+            GameSnapshot snapshot = readSnapshot(data);
+            if (tick > replay.getNumTicks() || commandIndex > Integer.MAX_VALUE
+                    || numPiecesLocked > Integer.MAX_VALUE) {
+                throw new CorruptedFileException("Keyframe " + i + " is outside the replay");
+            }
+            try {
+                replay.addKeyframe(new Keyframe(tick, (int) commandIndex, (int) numPiecesLocked, snapshot));
+            } catch (IllegalArgumentException e) {
+                throw new CorruptedFileException("Invalid keyframe " + i + ": " + e.getMessage());
+            }
+        }
+    }
+
+    // EFFECTS: reads a snapshot of a game that is not over.
+    //          Throws CorruptedFileException if it is not a valid snapshot, and IOException if the stream cannot be
+    //          read or ends early.
+    private static GameSnapshot readSnapshot(DataInputStream data) throws IOException, CorruptedFileException {
+        long[] rows = new long[Game.HEIGHT];
+        for (int r = 0; r < Game.HEIGHT; r++) {
+            rows[r] = readVarint(data);
+            if ((rows[r] >>> Game.WIDTH) != 0) {
+                throw new CorruptedFileException("Invalid board row " + r);
+            }
+        }
+        int activePieceType = data.readUnsignedByte();
+        int orientation = data.readUnsignedByte();
+        if (orientation >= PieceShape.NUM_ORIENTATIONS) {
+            throw new CorruptedFileException("Invalid orientation " + orientation);
+        }
+        int x = unzigzag(readVarint(data));
+        int y = unzigzag(readVarint(data));
+        int nextPieceType = data.readUnsignedByte();
+        int score = readInt(data);
+        int linesCleared = readInt(data);
+        long randomState = readVarint(data);
+        try {
+            return new GameSnapshot(rows, activePieceType, orientation, x, y, nextPieceType, score, linesCleared,
+                    randomState, false);
+        } catch (IllegalArgumentException e) {
+            throw new CorruptedFileException("Invalid snapshot: " + e.getMessage());
+        }
+    }
+
+    // EFFECTS: returns the given int zigzag-encoded, so that numbers close to 0 are small whatever their sign
+    private static long zigzag(int value) {
+        return ((long) value << 1) ^ (value >> 31);
+    }
+
+    // EFFECTS: returns the int that was zigzag-encoded as the given value
+    private static int unzigzag(long value) {
+        return (int) (value >>> 1) ^ -(int) (value & 1);
+    }
+
+    // EFFECTS: writes the given non-negative number as a varint
+    private static void writeVarint(DataOutputStream data, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            data.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data.writeByte((int) value);
+    }
+
+    // EFFECTS: reads a varint.
+    //          Throws CorruptedFileException if it is longer than a long, and IOException if the stream ends early.
+    private static long readVarint(DataInputStream data) throws IOException, CorruptedFileException {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            int b = data.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new CorruptedFileException("Varint is too long");
+    }
+
+    // EFFECTS: reads a varint that must fit in an int.
+    //          Throws CorruptedFileException if it does not, and IOException if the stream ends early.
+    private static int readInt(DataInputStream data) throws IOException, CorruptedFileException {
+        long value = readVarint(data);
+        if (value > Integer.MAX_VALUE) {
+            throw new CorruptedFileException("Value is too large: " + value);
+        }
+        return (int) value;
+    }
+}
@@ -0,0 +1,65 @@
+package replay;
+
+import exceptions.CorruptedFileException;
+import exceptions.ReplayMismatchException;
+import model.Game;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+// Plays back a replay file from the command line, checks that it reproduces the recorded game, and prints how
+// long playback took and how long seeking to points throughout the game takes.
+//
+// Usage: ReplayMain <replay file>
+public class ReplayMain {
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: ReplayMain <replay file>");
+            System.exit(1);
+        }
+
+        File file = new File(args[0]);
+        Replay replay;
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            replay = ReplayFormat.read(in);
+        } catch (CorruptedFileException e) {
+            System.err.println(file + " is not a valid replay: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        ReplayPlayer player = new ReplayPlayer(replay);
+        long start = System.nanoTime();
+        try {
+            Game game = player.playAndVerify();
+            long elapsedNanos = System.nanoTime() - start;
+            System.out.printf("Verified: score %d, %d lines, %d pieces in %d ticks%n", game.getScore(),
+                    game.getLinesCleared(), player.getNumPiecesLocked(), replay.getNumTicks());
+            System.out.printf("Played back in %.2f ms (%.0f ticks/s)%n", elapsedNanos / 1e6,
+                    replay.getNumTicks() * 1e9 / Math.max(1, elapsedNanos));
+            System.out.printf("%d bytes, %.2f bytes per piece%n", file.length(),
+                    (double) file.length() / Math.max(1, player.getNumPiecesLocked()));
+            printSeekTimes(replay);
+        } catch (ReplayMismatchException e) {
+            System.err.println("Playback does not match the recording: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    // EFFECTS: seeks to ten evenly spaced ticks of the given replay and prints how long each seek took
+    private static void printSeekTimes(Replay replay) {
+        ReplayPlayer player = new ReplayPlayer(replay);
+        System.out.printf("%d keyframes%n", replay.getNumKeyframes());
+        for (int i = 1; i <= 10; i++) {
+            long tick = replay.getNumTicks() * i / 10;
+            long start = System.nanoTime();
+            player.seek(tick);
+            long elapsedNanos = System.nanoTime() - start;
+            System.out.printf("Seek to tick %d: %.3f ms, %d ticks simulated%n", tick, elapsedNanos / 1e6,
+                    player.getNumTicksSimulated());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package replay;
+
+import exceptions.ReplayMismatchException;
+import model.Game;
+import model.event.GameAdapter;
+import model.pieces.Piece;
+
+// Plays a replay back on a new headless game, as fast as possible. Since a game is determined by its seed,
+// starting level, randomizer kind and commands, executing the recorded commands in the recorded ticks reproduces
+// the game.
+// The player can also seek to any tick of the game, starting from the replay's keyframes.
+public class ReplayPlayer {
+    private final Replay replay;
+    private int numPiecesLocked;
+    private long numTicksSimulated;
+
+    // EFFECTS: creates a player for the given replay
+    public ReplayPlayer(Replay replay) {
+        this.replay = replay;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: plays the whole replay on a new game, starting from the beginning rather than from a keyframe, and
+    //          returns the game
+    public Game play() {
+        Game game = newGame();
+        numPiecesLocked = 0;
+        simulate(game, 0, 0, replay.getNumTicks());
+        return game;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns a new game in the state the recorded game was in during the given tick, after that tick's
+    //          commands were executed. Ticks before 0 or after the end of the game are treated as the first or
+    //          last tick.
+    //          The game is restored from the last keyframe at or before the tick, and only the ticks after the
+    //          keyframe are simulated, so seeking takes about the same time anywhere in a long game.
+    public Game seek(long tick) {
+        long targetTick = Math.max(0, Math.min(tick, replay.getNumTicks()));
+        Game game = newGame();
+        Keyframe keyframe = replay.getKeyframeAtOrBefore(targetTick);
+        if (keyframe == null) {
+            numPiecesLocked = 0;
+            simulate(game, 0, 0, targetTick);
+        } else {
+            game.restoreSnapshot(keyframe.getSnapshot());
+            numPiecesLocked = keyframe.getNumPiecesLocked();
+            simulate(game, keyframe.getTick(), keyframe.getCommandIndex(), targetTick);
+        }
+        return game;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: plays the whole replay on a new game, and returns the game.
+    //          Throws ReplayMismatchException if the game does not end with the recorded score and number of
+    //          lines cleared.
+    public Game playAndVerify() {
+        Game game = play();
+        if (game.getScore() != replay.getFinalScore() || game.getLinesCleared() != replay.getFinalLinesCleared()) {
+            throw new ReplayMismatchException("Playback ended with score " + game.getScore() + " and "
+                    + game.getLinesCleared() + " lines, but the recorded game ended with score "
+                    + replay.getFinalScore() + " and " + replay.getFinalLinesCleared() + " lines");
+        }
+        return game;
+    }
+
+    // EFFECTS: returns the number of pieces that had locked into place when the last playback or seek finished
+    public int getNumPiecesLocked() {
+        return numPiecesLocked;
+    }
+
+    // EFFECTS: returns the number of ticks that were simulated during the last playback or seek
+    public long getNumTicksSimulated() {
+        return numTicksSimulated;
+    }
+
+    // EFFECTS: returns a new game with the replay's seed and starting level, whose pieces are dealt by a
+    //          randomizer of the replay's kind made from the seed
+    private Game newGame() {
+        return new Game(replay.getSeed(), replay.getStartingLevel(),
+                replay.getRandomizerKind().create(replay.getSeed()));
+    }
+
+    // MODIFIES: this, game
+    // EFFECTS: plays the replay on the given game, which is at the start of startTick with nextCommand being the
+    //          index of the first command given during or after that tick, until the commands of endTick have
+    //          been executed
+    private void simulate(Game game, long startTick, int nextCommand, long endTick) {
+        game.addGameListener(new GameAdapter() {
+            @Override
+            public void pieceLocked(Game game, Piece lockedPiece) {
+                numPiecesLocked++;
+            }
+        });
+
+        int commandIndex = nextCommand;
+        for (long tick = startTick; ; tick++) {
+            while (commandIndex < replay.getNumCommands() && replay.getCommandTick(commandIndex) == tick) {
+                game.execute(replay.getCommand(commandIndex));
+                commandIndex++;
+            }
+            if (tick >= endTick) {
+                numTicksSimulated = endTick - startTick;
+                return;
+            }
+            game.update();
+        }
+    }
+}
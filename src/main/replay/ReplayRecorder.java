@@ -0,0 +1,115 @@
+package replay;
+
+import model.Game;
+import model.GameSnapshot;
+import model.InputCommand;
+import model.event.GameAdapter;
+import model.pieces.Piece;
+import model.randomizer.RandomizerKind;
+
+// Records a game as it is played. Whatever drives the game (such as BoardPanel's key handler and timer) calls
+// execute and update on the recorder instead of on the game, and the recorder passes each call on to the game
+// after noting it in a Replay. Every keyframeInterval pieces, the recorder also adds a keyframe to the replay at
+// the start of the next tick.
+public class ReplayRecorder {
+    // Number of pieces between keyframes, unless another interval is given
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 50;
+
+    private final Game game;
+    private final Replay replay;
+    private final int keyframeInterval;
+
+    // The number of times the game has been updated through this recorder
+    private long tick;
+
+    // The number of pieces that have locked into place, and the number that had when the last keyframe was taken
+    private int numPiecesLocked;
+    private int numPiecesLockedAtKeyframe;
+
+    // EFFECTS: creates a recorder for the given game, which must not have been played yet. A keyframe is taken
+    //          every DEFAULT_KEYFRAME_INTERVAL pieces.
+    public ReplayRecorder(Game game) {
+        this(game, DEFAULT_KEYFRAME_INTERVAL);
+    }
+
+    // EFFECTS: creates a recorder for the given game, which must not have been played yet. A keyframe is taken
+    //          every keyframeInterval pieces. Throws IllegalArgumentException if keyframeInterval < 1, if the
+    //          game's board is not the standard Game.WIDTH by Game.HEIGHT, since replays are always played back
+    //          on a standard board, or if the game's pieces are not dealt by a RandomizerKind made from the
+    //          game's seed, since playback makes the randomizer again from the seed.
+    public ReplayRecorder(Game game, int keyframeInterval) {
+        if (keyframeInterval < 1) {
+            throw new IllegalArgumentException("keyframeInterval must be positive");
+        }
+        if (game.getWidth() != Game.WIDTH || game.getHeight() != Game.HEIGHT) {
+            throw new IllegalArgumentException("Only games on a standard board can be recorded");
+        }
+        RandomizerKind randomizerKind = findRandomizerKind(game);
+        if (randomizerKind == null) {
+            throw new IllegalArgumentException("Only games whose pieces are dealt from their seed can be recorded");
+        }
+        this.game = game;
+        this.replay = new Replay(game.getSeed(), game.getStartingLevel(), randomizerKind);
+        this.keyframeInterval = keyframeInterval;
+        game.addGameListener(new GameAdapter() {
+            @Override
+            public void pieceLocked(Game game, Piece lockedPiece) {
+                numPiecesLocked++;
+            }
+        });
+    }
+
+    // MODIFIES: this
+    // EFFECTS: executes the given command on the game (see Game.execute), and records it in the replay.
+    //          InputCommand.NONE, and commands given after the game is over, are not recorded.
+    public void execute(InputCommand command) {
+        if (command == InputCommand.NONE || game.isGameOver()) {
+            return;
+        }
+        replay.addCommand(tick, command);
+        game.execute(command);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: updates the game (see Game.update), and counts the update as one tick of the replay. If at least
+    //          keyframeInterval pieces have locked into place since the last keyframe and the game is not over,
+    //          adds a keyframe for the start of the next tick.
+    //          Updates after the game is over are not counted.
+    public void update() {
+        if (game.isGameOver()) {
+            return;
+        }
+        game.update();
+        tick++;
+        if (numPiecesLocked - numPiecesLockedAtKeyframe >= keyframeInterval && !game.isGameOver()) {
+            replay.addKeyframe(new Keyframe(tick, replay.getNumCommands(), numPiecesLocked, game.takeSnapshot()));
+            numPiecesLockedAtKeyframe = numPiecesLocked;
+        }
+    }
+
+    // EFFECTS: returns the game being recorded
+    public Game getGame() {
+        return game;
+    }
+
+    // EFFECTS: returns the kind of randomizer that, made from the given unplayed game's seed, deals the same pieces
+    //          as the game's randomizer, or null if there is none. A kind matches if a new game with the same seed
+    //          and a randomizer of that kind starts in exactly the same state, including the randomizer's state.
+    private static RandomizerKind findRandomizerKind(Game game) {
+        GameSnapshot snapshot = game.takeSnapshot();
+        for (RandomizerKind kind : RandomizerKind.values()) {
+            Game fresh = new Game(game.getSeed(), game.getStartingLevel(), kind.create(game.getSeed()));
+            if (fresh.takeSnapshot().equals(snapshot)) {
+                return kind;
+            }
+        }
+        return null;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the replay of the game so far, with its result set to the game's current state
+    public Replay getReplay() {
+        replay.setResult(tick, game.getScore(), game.getLinesCleared());
+        return replay;
+    }
+}
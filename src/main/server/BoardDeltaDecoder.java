@@ -0,0 +1,141 @@
+package server;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+// Rebuilds a board from the frames a BoardDeltaEncoder encodes (see there for their layout). A decoder can start
+// reading frames at any point in the stream: deltas are skipped until the first keyframe arrives.
+public class BoardDeltaDecoder {
+    private final int width;
+    private final int height;
+    private final int wordsPerRow;
+    private final int bytesPerRow;
+
+    // The tiles of the board as of the last frame decoded, laid out as Board.getRowWord returns them
+    private final long[] rows;
+
+    // Mask of the rows that changed in the last delta decoded, with bit (r % 64) of long (r / 64) set if row r
+    // changed
+    private final long[] changedRows;
+
+    // True if a keyframe has been decoded, so the board is known
+    private boolean synced;
+
+    // EFFECTS: creates a decoder for boards of the given size, which does not know the board until it decodes a
+    //          keyframe.
+    //          Throws IllegalArgumentException if width or height is less than 1.
+    public BoardDeltaDecoder(int width, int height) {
+        if (width < 1 || height < 1) {
+            throw new IllegalArgumentException("The board size must be positive");
+        }
+        this.width = width;
+        this.height = height;
+        this.wordsPerRow = BoardDeltaEncoder.getNumWords(width);
+        this.bytesPerRow = BoardDeltaEncoder.getNumBytes(width);
+        this.changedRows = new long[BoardDeltaEncoder.getNumWords(height)];
+        this.rows = new long[height * wordsPerRow];
+    }
+
+    // MODIFIES: this, buffer
+    // EFFECTS: reads the frame at the position of buffer, moves the position past it, and applies it to the board.
+    //          Returns false if no keyframe has been decoded yet, in which case the board is not known and the
+    //          cells that no delta has changed are left empty.
+    //          Throws IllegalArgumentException if the frame is neither a keyframe nor a delta or it fills a cell
+    //          outside the board, and BufferUnderflowException if the frame is cut short.
+    public boolean decode(ByteBuffer buffer) {
+        byte type = buffer.get();
+        if (type == BoardDeltaEncoder.KEYFRAME) {
+            for (int r = 0; r < height; r++) {
+                getRow(buffer, r);
+            }
+            synced = true;
+        } else if (type == BoardDeltaEncoder.DELTA) {
+            decodeDelta(buffer);
+        } else {
+            throw new IllegalArgumentException("Invalid frame of type " + type);
+        }
+        return synced;
+    }
+
+    // EFFECTS: returns true if a keyframe has been decoded, so the board is known
+    public boolean isSynced() {
+        return synced;
+    }
+
+    // EFFECTS: returns the width of the board (measured in number of tiles)
+    public int getWidth() {
+        return width;
+    }
+
+    // EFFECTS: returns the height of the board (measured in number of tiles)
+    public int getHeight() {
+        return height;
+    }
+
+    // EFFECTS: returns true if the cell at coordinates (x, y) was occupied as of the last frame decoded.
+    //          Throws IndexOutOfBoundsException if the coordinates (x, y) do not represent a cell on the board.
+    public boolean isCellOccupied(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            throw new IndexOutOfBoundsException();
+        }
+        return (rows[y * wordsPerRow + (x >>> 6)] & (1L << x)) != 0;
+    }
+
+    // EFFECTS: returns the tiles of row y as of the last frame decoded, packed in the same way as
+    //          Board.getRowWord.
+    //          Throws IndexOutOfBoundsException if y is not the index of a row on the board or word is not between
+    //          0 and the number of longs per row - 1.
+    public long getRowWord(int y, int word) {
+        if (y < 0 || y >= height || word < 0 || word >= wordsPerRow) {
+            throw new IndexOutOfBoundsException();
+        }
+        return rows[y * wordsPerRow + word];
+    }
+
+    // EFFECTS: returns a copy of the board as of the last frame decoded, represented in the same way as
+    //          Game.getBoard
+    public List<ArrayList<Boolean>> getBoard() {
+        List<ArrayList<Boolean>> board = new ArrayList<ArrayList<Boolean>>();
+        for (int r = 0; r < height; r++) {
+            ArrayList<Boolean> row = new ArrayList<Boolean>();
+            for (int c = 0; c < width; c++) {
+                row.add(isCellOccupied(c, r));
+            }
+            board.add(row);
+        }
+        return board;
+    }
+
+    // MODIFIES: this, buffer
+    // EFFECTS: reads the delta after the type at the position of buffer, moves the position past it, and applies it
+    //          to the board
+    //          Throws IllegalArgumentException if the delta fills a cell outside the board.
+    private void decodeDelta(ByteBuffer buffer) {
+        BoardDeltaEncoder.getBits(buffer, changedRows, 0, BoardDeltaEncoder.getNumBytes(height));
+        checkNoBitsPast(changedRows, 0, height);
+        for (int r = 0; r < height; r++) {
+            if ((changedRows[r >>> 6] & (1L << r)) != 0) {
+                getRow(buffer, r);
+            }
+        }
+    }
+
+    // MODIFIES: this, buffer
+    // EFFECTS: reads row r of the board at the position of buffer and moves the position past it.
+    //          Throws IllegalArgumentException if the row fills a cell outside the board.
+    private void getRow(ByteBuffer buffer, int r) {
+        BoardDeltaEncoder.getBits(buffer, rows, r * wordsPerRow, bytesPerRow);
+        checkNoBitsPast(rows, r * wordsPerRow, width);
+    }
+
+    // EFFECTS: throws IllegalArgumentException if any bit from numBits on is set in the longs of words that hold
+    //          numBits bits starting at index offset
+    private static void checkNoBitsPast(long[] words, int offset, int numBits) {
+        int bitsInLastWord = numBits - (BoardDeltaEncoder.getNumWords(numBits) - 1) * Long.SIZE;
+        long lastWord = words[offset + BoardDeltaEncoder.getNumWords(numBits) - 1];
+        if (bitsInLastWord < Long.SIZE && lastWord >>> bitsInLastWord != 0) {
+            throw new IllegalArgumentException("Frame fills a cell outside the board");
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package server;
+
+import exceptions.IncorrectBoardSizeException;
+import model.board.Board;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// Encodes successive states of a board so that a viewer who has decoded every earlier frame can rebuild the board
+// from only the rows that changed since the previous frame. Every so often, and whenever sending the changed rows
+// would take more bytes, a keyframe holding the whole board is encoded instead, so that a viewer who started
+// watching late, or lost track of the board, can rebuild it from the next keyframe. A BoardDeltaDecoder rebuilds
+// the board from the frames.
+//
+// Bits are packed into bytes, so a row of a standard board takes 2 bytes. Every frame is:
+//
+//     byte    KEYFRAME or DELTA
+//     KEYFRAME: every row of the board, from the top, packed into (width + 7) / 8 bytes with bit (c % 8) of
+//               byte (c / 8) set if the cell in column c is occupied
+//     DELTA:    a mask of the rows that changed, packed into (height + 7) / 8 bytes with bit (r % 8) of byte (r / 8)
+//               set if row r changed, then every changed row, from the top, packed as in a keyframe
+public class BoardDeltaEncoder {
+    public static final byte KEYFRAME = 0;
+    public static final byte DELTA = 1;
+
+    // Default number of frames from one scheduled keyframe to the next
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 64;
+
+    private final int width;
+    private final int height;
+    private final int wordsPerRow;
+    private final int bytesPerRow;
+    private final int keyframeInterval;
+
+    // The tiles of the board as of the last frame encoded, laid out as getRowWord returns them
+    private final long[] sentRows;
+
+    // Mask of the rows that differ from sentRows, with bit (r % 64) of long (r / 64) set if row r differs
+    private final long[] changedRows;
+
+    // Number of frames to encode before the next scheduled keyframe; the next frame is a keyframe when it is 0
+    private int framesUntilKeyframe;
+
+    // EFFECTS: creates an encoder for boards of the given size that encodes a keyframe first and then after every
+    //          keyframeInterval - 1 deltas.
+    //          Throws IllegalArgumentException if width, height or keyframeInterval is less than 1.
+    public BoardDeltaEncoder(int width, int height, int keyframeInterval) {
+        if (width < 1 || height < 1 || keyframeInterval < 1) {
+            throw new IllegalArgumentException("The board size and keyframe interval must be positive");
+        }
+        this.width = width;
+        this.height = height;
+        this.wordsPerRow = getNumWords(width);
+        this.bytesPerRow = getNumBytes(width);
+        this.keyframeInterval = keyframeInterval;
+        this.sentRows = new long[height * wordsPerRow];
+        this.changedRows = new long[getNumWords(height)];
+    }
+
+    // EFFECTS: returns the number of bytes the frame encoding board would take if it were encoded now.
+    //          Throws IncorrectBoardSizeException if board is not the size this encoder was created for.
+    public int getEncodedBytes(Board board) {
+        int numChangedRows = markChangedRows(board);
+        return isKeyframe(numChangedRows) ? getKeyframeBytes() : getDeltaBytes(numChangedRows);
+    }
+
+    // MODIFIES: this, buffer
+    // EFFECTS: writes the frame encoding board into buffer, and returns the number of bytes written, which is
+    //          what getEncodedBytes returned for the same board.
+    //          Throws IncorrectBoardSizeException if board is not the size this encoder was created for, and
+    //          BufferOverflowException, without writing anything, if buffer does not have room for the frame.
+    public int encode(Board board, ByteBuffer buffer) {
+        int numChangedRows = markChangedRows(board);
+        boolean keyframe = isKeyframe(numChangedRows);
+        int bytes = keyframe ? getKeyframeBytes() : getDeltaBytes(numChangedRows);
+        if (buffer.remaining() < bytes) {
+            throw new BufferOverflowException();
+        }
+
+        if (keyframe) {
+            buffer.put(KEYFRAME);
+            framesUntilKeyframe = keyframeInterval;
+        } else {
+            buffer.put(DELTA);
+            putBits(buffer, changedRows, 0, getNumBytes(height));
+        }
+        for (int r = 0; r < height; r++) {
+            if (keyframe || (changedRows[r >>> 6] & (1L << r)) != 0) {
+                putRow(board, r, buffer);
+            }
+        }
+        framesUntilKeyframe--;
+        return bytes;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: makes the next frame encoded a keyframe, such as when a new viewer starts watching
+    public void requestKeyframe() {
+        framesUntilKeyframe = 0;
+    }
+
+    // EFFECTS: returns the number of bytes taken by a keyframe, which is the most any frame takes
+    public int getKeyframeBytes() {
+        return 1 + height * bytesPerRow;
+    }
+
+    // EFFECTS: returns the number of longs needed to hold the given number of bits
+    static int getNumWords(int numBits) {
+        return (numBits + Long.SIZE - 1) / Long.SIZE;
+    }
+
+    // EFFECTS: returns the number of bytes needed to hold the given number of bits
+    static int getNumBytes(int numBits) {
+        return (numBits + Byte.SIZE - 1) / Byte.SIZE;
+    }
+
+    // MODIFIES: buffer
+    // EFFECTS: writes the first numBytes bytes of the bits held by the longs of words starting at index offset into
+    //          buffer, with bit (i % 8) of byte (i / 8) being bit (i % 64) of long (i / 64)
+    static void putBits(ByteBuffer buffer, long[] words, int offset, int numBytes) {
+        for (int i = 0; i < numBytes; i++) {
+            buffer.put((byte) (words[offset + (i >>> 3)] >>> ((i & 7) << 3)));
+        }
+    }
+
+    // MODIFIES: buffer, words
+    // EFFECTS: reads numBytes bytes written by putBits from buffer into the longs of words starting at index
+    //          offset, clearing the bits of those longs that the bytes do not hold
+    static void getBits(ByteBuffer buffer, long[] words, int offset, int numBytes) {
+        Arrays.fill(words, offset, offset + getNumWords(numBytes * Byte.SIZE), 0);
+        for (int i = 0; i < numBytes; i++) {
+            words[offset + (i >>> 3)] |= (buffer.get() & 0xFFL) << ((i & 7) << 3);
+        }
+    }
+
+    // EFFECTS: returns true if the next frame is to be a keyframe, given the number of rows that changed
+    private boolean isKeyframe(int numChangedRows) {
+        return framesUntilKeyframe <= 0 || getDeltaBytes(numChangedRows) >= getKeyframeBytes();
+    }
+
+    // EFFECTS: returns the number of bytes taken by a delta holding the given number of changed rows
+    private int getDeltaBytes(int numChangedRows) {
+        return 1 + getNumBytes(height) + numChangedRows * bytesPerRow;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sets the bits of the changed rows mask for the rows of board that differ from the last frame
+    //          encoded, clears the others, and returns the number of rows that differ.
+    //          Throws IncorrectBoardSizeException if board is not the size this encoder was created for.
+    private int markChangedRows(Board board) {
+        if (board.getWidth() != width || board.getHeight() != height) {
+            throw new IncorrectBoardSizeException();
+        }
+        int numChangedRows = 0;
+        Arrays.fill(changedRows, 0);
+        for (int r = 0; r < height; r++) {
+            for (int w = 0; w < wordsPerRow; w++) {
+                if (board.getRowWord(r, w) != sentRows[r * wordsPerRow + w]) {
+                    changedRows[r >>> 6] |= 1L << r;
+                    numChangedRows++;
+                    break;
+                }
+            }
+        }
+        return numChangedRows;
+    }
+
+    // MODIFIES: this, buffer
+    // EFFECTS: writes the tiles of row r of board into buffer, and remembers them as sent
+    private void putRow(Board board, int r, ByteBuffer buffer) {
+        for (int w = 0; w < wordsPerRow; w++) {
+            sentRows[r * wordsPerRow + w] = board.getRowWord(r, w);
+        }
+        putBits(buffer, sentRows, r * wordsPerRow, bytesPerRow);
+    }
+}
@@ -0,0 +1,264 @@
+package server;
+
+import model.Game;
+import model.InputCommand;
+import model.SplitMixRandom;
+import model.randomizer.RandomizerKind;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// Stands in for many clients of a TournamentServer so that the server can be measured under load. Each client
+// joins a standard game and sends a random input command at a fixed rate, and when its game ends it joins another
+// with a new seed. Like the server, the generator runs every client on one thread with a NIO Selector.
+//
+// Each client rebuilds its board from the BOARD messages it receives with a BoardDeltaDecoder, as a viewer would.
+// The generator counts the messages and bytes it receives, the commands it sends, and the games that end.
+public class LoadGenerator {
+    // Initial size of each client's incoming buffer. Buffers grow to fit the largest frame received.
+    private static final int INCOMING_BYTES = 4096;
+
+    private static final InputCommand[] COMMANDS = InputCommand.values();
+
+    private final InetSocketAddress address;
+    private final int numClients;
+    private final long nanosPerCommand;
+    private final long firstSeed;
+    private final int startingLevel;
+
+    // The connected clients, and the same clients ordered by the time their next command is due
+    private final List<Client> clients = new ArrayList<Client>();
+    private final PriorityQueue<Client> schedule = new PriorityQueue<Client>(new Comparator<Client>() {
+        @Override
+        public int compare(Client c1, Client c2) {
+            return Long.compare(c1.nextCommandNanos, c2.nextCommandNanos);
+        }
+    });
+
+    private long numBoardMessages;
+    private long numBoardsNotDecoded;
+    private long numGamesFinished;
+    private long numErrors;
+    private long numCommandsSent;
+    private long numBytesReceived;
+
+    // EFFECTS: creates a generator for numClients clients of the server at the given address, each of which
+    //          sends commandsPerSecond commands per second to games at the given starting level. Client i plays
+    //          seeds firstSeed + i, firstSeed + i + numClients, and so on.
+    //          Throws IllegalArgumentException if numClients < 1 or commandsPerSecond < 1.
+    public LoadGenerator(InetSocketAddress address, int numClients, int commandsPerSecond, long firstSeed,
+                         int startingLevel) {
+        if (numClients < 1 || commandsPerSecond < 1) {
+            throw new IllegalArgumentException("There must be at least one client sending commands");
+        }
+        this.address = address;
+        this.numClients = numClients;
+        this.nanosPerCommand = 1000000000L / commandsPerSecond;
+        this.firstSeed = firstSeed;
+        this.startingLevel = startingLevel;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: connects every client, plays for the given number of milliseconds after the last one has connected,
+    //          then disconnects every client.
+    //          Throws IOException if a client cannot connect or its connection fails.
+    public void run(long durationMillis) throws IOException {
+        try (Selector selector = Selector.open()) {
+            try {
+                connect(selector);
+                long endNanos = System.nanoTime() + durationMillis * 1000000L;
+                for (long now = System.nanoTime(); now < endNanos; now = System.nanoTime()) {
+                    long nextNanos = schedule.isEmpty() ? endNanos : schedule.peek().nextCommandNanos;
+                    selector.select(Math.max(1, (Math.min(endNanos, nextNanos) - now) / 1000000L));
+                    for (SelectionKey key : selector.selectedKeys()) {
+                        read((Client) key.attachment(), key);
+                    }
+                    selector.selectedKeys().clear();
+                    sendDueCommands(System.nanoTime());
+                }
+            } finally {
+                for (Client client : clients) {
+                    client.channel.close();
+                }
+                clients.clear();
+                schedule.clear();
+            }
+        }
+    }
+
+    // EFFECTS: returns the number of BOARD messages received
+    public long getNumBoardMessages() {
+        return numBoardMessages;
+    }
+
+    // EFFECTS: returns the number of BOARD messages that could not be decoded because they were received before
+    //          the first keyframe of the game
+    public long getNumBoardsNotDecoded() {
+        return numBoardsNotDecoded;
+    }
+
+    // EFFECTS: returns the number of games that ended
+    public long getNumGamesFinished() {
+        return numGamesFinished;
+    }
+
+    // EFFECTS: returns the number of ERROR messages received
+    public long getNumErrors() {
+        return numErrors;
+    }
+
+    // EFFECTS: returns the number of input commands sent
+    public long getNumCommandsSent() {
+        return numCommandsSent;
+    }
+
+    // EFFECTS: returns the number of bytes received from the server
+    public long getNumBytesReceived() {
+        return numBytesReceived;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: connects every client to the server, joins a game for each, and schedules its first command
+    private void connect(Selector selector) throws IOException {
+        long now = System.nanoTime();
+        for (int i = 0; i < numClients; i++) {
+            SocketChannel channel = SocketChannel.open(address);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            Client client = new Client(channel, firstSeed + i);
+            clients.add(client);
+            join(client);
+            channel.configureBlocking(false);
+            channel.register(selector, SelectionKey.OP_READ, client);
+
+            // Spread the clients' commands evenly over the first interval
+            client.nextCommandNanos = now + nanosPerCommand * i / numClients;
+            schedule.add(client);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sends a random command from every client whose next command is due at or before nowNanos, and
+    //          schedules its next command
+    private void sendDueCommands(long nowNanos) throws IOException {
+        while (!schedule.isEmpty() && schedule.peek().nextCommandNanos <= nowNanos) {
+            Client client = schedule.poll();
+            if (!client.channel.isOpen()) {
+                continue;
+            }
+            // A client whose earlier commands have not been written yet skips this one
+            if (client.outgoing.remaining() >= ServerProtocol.INPUT_FRAME_BYTES) {
+                InputCommand command = COMMANDS[1 + client.random.nextInt(COMMANDS.length - 1)];
+                ServerProtocol.putInput(client.outgoing, command);
+                numCommandsSent++;
+            }
+            flush(client);
+            client.nextCommandNanos = Math.max(client.nextCommandNanos + nanosPerCommand, nowNanos);
+            schedule.add(client);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads what the server has sent the client and handles every whole frame received
+    private void read(Client client, SelectionKey key) throws IOException {
+        int numRead = client.channel.read(client.incoming);
+        if (numRead < 0) {
+            key.cancel();
+            client.channel.close();
+            return;
+        }
+        numBytesReceived += numRead;
+
+        client.incoming.flip();
+        int frameBytes = ServerProtocol.getCompleteFrameBytes(client.incoming);
+        while (frameBytes > 0) {
+            handleFrame(client, frameBytes);
+            frameBytes = ServerProtocol.getCompleteFrameBytes(client.incoming);
+        }
+        client.incoming.compact();
+        client.growIncomingIfNeeded();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: handles the frame of the given length at the position of the client's incoming buffer, and moves
+    //          the position past it. When the client's game ends, it joins another.
+    private void handleFrame(Client client, int frameBytes) throws IOException {
+        ByteBuffer incoming = client.incoming;
+        int start = incoming.position();
+        byte type = incoming.get(start + Integer.BYTES);
+        if (type == ServerProtocol.WELCOME) {
+            int sizeStart = start + ServerProtocol.HEADER_BYTES + Integer.BYTES;
+            client.decoder = new BoardDeltaDecoder(incoming.getShort(sizeStart),
+                    incoming.getShort(sizeStart + Short.BYTES));
+        } else if (type == ServerProtocol.BOARD) {
+            numBoardMessages++;
+            incoming.position(start + ServerProtocol.HEADER_BYTES + ServerProtocol.BOARD_FIELD_BYTES);
+            if (!client.decoder.decode(incoming)) {
+                numBoardsNotDecoded++;
+            }
+        } else if (type == ServerProtocol.GAME_OVER) {
+            numGamesFinished++;
+            client.seed += numClients;
+            join(client);
+        } else if (type == ServerProtocol.ERROR) {
+            numErrors++;
+        }
+        incoming.position(start + frameBytes);
+    }
+
+    // MODIFIES: client
+    // EFFECTS: asks the server to start a standard game for the client with the client's current seed
+    private void join(Client client) throws IOException {
+        ServerProtocol.putJoin(client.outgoing, client.seed, startingLevel, RandomizerKind.UNIFORM.ordinal(),
+                Game.WIDTH, Game.HEIGHT);
+        flush(client);
+    }
+
+    // MODIFIES: client
+    // EFFECTS: writes as much of the client's queued messages as its channel will take. Whatever is left is
+    //          written the next time the client sends something.
+    private void flush(Client client) throws IOException {
+        client.outgoing.flip();
+        client.channel.write(client.outgoing);
+        client.outgoing.compact();
+    }
+
+    // One connection to the server
+    private static class Client {
+        private final SocketChannel channel;
+        private final SplitMixRandom random;
+        private final ByteBuffer outgoing = ByteBuffer.allocate(16 * ServerProtocol.MAXIMUM_CLIENT_FRAME_BYTES);
+        private ByteBuffer incoming = ByteBuffer.allocate(INCOMING_BYTES);
+        private BoardDeltaDecoder decoder;
+        private long seed;
+        private long nextCommandNanos;
+
+        // EFFECTS: creates a client on the given channel that starts by playing the given seed
+        private Client(SocketChannel channel, long seed) {
+            this.channel = channel;
+            this.seed = seed;
+            this.random = new SplitMixRandom(seed);
+        }
+
+        // MODIFIES: this
+        // EFFECTS: replaces the incoming buffer, which is ready to be written to, with a larger one if it is full
+        //          and the frame at its start does not fit in it
+        private void growIncomingIfNeeded() {
+            if (incoming.position() >= Integer.BYTES
+                    && Integer.BYTES + incoming.getInt(0) > incoming.capacity()) {
+                ByteBuffer larger = ByteBuffer.allocate(Integer.BYTES + incoming.getInt(0));
+                incoming.flip();
+                larger.put(incoming);
+                incoming = larger;
+            }
+        }
+    }
+}
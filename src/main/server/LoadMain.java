@@ -0,0 +1,55 @@
+package server;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+
+// Puts a TournamentServer under load from the command line with a LoadGenerator, and prints what the clients
+// received. Without a port, a server is started in this process on a free port, and how closely it kept to each
+// game's update schedule is printed too.
+//
+// Usage: LoadMain <clients> <commands per second per client> <seconds> [starting level] [port]
+public class LoadMain {
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 3) {
+            System.err.println("Usage: LoadMain <clients> <commands per second per client> <seconds> "
+                    + "[starting level] [port]");
+            System.exit(1);
+        }
+
+        int numClients = Integer.parseInt(args[0]);
+        int commandsPerSecond = Integer.parseInt(args[1]);
+        long seconds = Long.parseLong(args[2]);
+        int startingLevel = args.length > 3 ? Integer.parseInt(args[3]) : 0;
+        TournamentServer server = args.length > 4 ? null : new TournamentServer(0);
+        int port = server == null ? Integer.parseInt(args[4]) : server.getPort();
+        Thread serverThread = server == null ? null : new Thread(server, "Tournament server");
+        if (serverThread != null) {
+            serverThread.start();
+        }
+
+        LoadGenerator generator = new LoadGenerator(new InetSocketAddress(InetAddress.getLoopbackAddress(), port),
+                numClients, commandsPerSecond, 0, startingLevel);
+        generator.run(seconds * 1000);
+        printClientStats(generator, numClients, seconds);
+
+        if (server != null) {
+            server.stop();
+            serverThread.join();
+            System.out.printf("Server: %d ticks (%.0f/s), tick lateness mean %.2f ms, max %.2f ms%n",
+                    server.getNumTicks(), server.getNumTicks() / (double) seconds,
+                    server.getMeanTickLatenessMicros() / 1e3, server.getMaximumTickLatenessMicros() / 1e3);
+        }
+    }
+
+    // EFFECTS: prints what the generator's clients sent and received over the given number of seconds
+    private static void printClientStats(LoadGenerator generator, int numClients, long seconds) {
+        System.out.printf("%d clients: %d commands sent, %d games finished, %d errors%n", numClients,
+                generator.getNumCommandsSent(), generator.getNumGamesFinished(), generator.getNumErrors());
+        System.out.printf("%d board messages (%.0f/s, %d not decoded), %.1f KiB/s received, %.1f bytes per message%n",
+                generator.getNumBoardMessages(), generator.getNumBoardMessages() / (double) seconds,
+                generator.getNumBoardsNotDecoded(),
+                generator.getNumBytesReceived() / 1024.0 / seconds,
+                generator.getNumBytesReceived() / (double) Math.max(1, generator.getNumBoardMessages()));
+    }
+}
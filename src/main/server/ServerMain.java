@@ -0,0 +1,32 @@
+package server;
+
+import java.io.IOException;
+
+// Runs a TournamentServer from the command line, and prints how many sessions it is serving and how closely it
+// keeps to each game's update schedule every few seconds until it is killed.
+//
+// Usage: ServerMain [port]
+public class ServerMain {
+    // Milliseconds between printed statistics
+    private static final long REPORT_INTERVAL_MILLIS = 5000;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : ServerProtocol.DEFAULT_PORT;
+        TournamentServer server = new TournamentServer(port);
+        Thread serverThread = new Thread(server, "Tournament server");
+        serverThread.start();
+        System.out.printf("Listening on port %d%n", server.getPort());
+
+        long previousTicks = 0;
+        while (serverThread.isAlive()) {
+            Thread.sleep(REPORT_INTERVAL_MILLIS);
+            long ticks = server.getNumTicks();
+            System.out.printf("%d sessions, %d games started, %d finished, %.0f ticks/s, "
+                            + "tick lateness mean %.2f ms, max %.2f ms%n", server.getNumSessions(),
+                    server.getNumGamesStarted(), server.getNumGamesFinished(),
+                    (ticks - previousTicks) * 1000.0 / REPORT_INTERVAL_MILLIS,
+                    server.getMeanTickLatenessMicros() / 1e3, server.getMaximumTickLatenessMicros() / 1e3);
+            previousTicks = ticks;
+        }
+    }
+}
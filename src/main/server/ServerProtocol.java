@@ -0,0 +1,171 @@
+package server;
+
+import model.InputCommand;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// The binary protocol that clients of a TournamentServer speak over TCP. Every message is a frame:
+//
+//     int     length of the rest of the frame, in bytes (1 + the length of the payload)
+//     byte    message type
+//             payload
+//
+// All numbers are big-endian. Messages from a client to the server:
+//
+//     JOIN    long seed, byte starting level, byte RandomizerKind ordinal, short board width, short board height.
+//             Starts a new game for this connection, replacing any game it was playing.
+//     INPUT   byte InputCommand ordinal. Executed on the connection's game as soon as it is received.
+//
+// Messages from the server to a client:
+//
+//     WELCOME    int session id, short board width, short board height. Sent when a game starts.
+//     BOARD      long tick, int score, int lines cleared, byte level, then a frame of the board encoded by the
+//                session's BoardDeltaEncoder. Sent at most once per pass of the server's loop, after a tick or
+//                input changed the game. The first BOARD message of a game holds a keyframe, and most later ones
+//                only hold the rows that changed since the previous one. The tiles of the active piece are part
+//                of the board.
+//     GAME_OVER  long tick, int score, int lines cleared. Sent after the final BOARD message of a game.
+//     ERROR      short length, then that many bytes of a UTF-8 message. The server closes the connection after
+//                sending it.
+public final class ServerProtocol {
+    public static final int DEFAULT_PORT = 7210;
+
+    // Bytes taken by the length and type at the start of every frame
+    public static final int HEADER_BYTES = Integer.BYTES + 1;
+
+    // Types of message sent by clients
+    public static final byte JOIN = 1;
+    public static final byte INPUT = 2;
+
+    // Types of message sent by the server
+    public static final byte WELCOME = 1;
+    public static final byte BOARD = 2;
+    public static final byte GAME_OVER = 3;
+    public static final byte ERROR = 4;
+
+    // The longest frame a client may send, including its header
+    public static final int MAXIMUM_CLIENT_FRAME_BYTES = 64;
+
+    // The largest board a client may ask for
+    public static final int MAXIMUM_WIDTH = 512;
+    public static final int MAXIMUM_HEIGHT = 1024;
+
+    // Bytes taken by a JOIN frame and an INPUT frame, including their headers
+    public static final int JOIN_FRAME_BYTES = HEADER_BYTES + Long.BYTES + 2 + 2 * Short.BYTES;
+    public static final int INPUT_FRAME_BYTES = HEADER_BYTES + 1;
+
+    // Bytes taken by a GAME_OVER frame, including its header
+    public static final int GAME_OVER_FRAME_BYTES = HEADER_BYTES + Long.BYTES + 2 * Integer.BYTES;
+
+    // Bytes taken by the fixed fields of a BOARD message, after its header and before the encoded board
+    public static final int BOARD_FIELD_BYTES = Long.BYTES + 2 * Integer.BYTES + 1;
+
+    private ServerProtocol() {
+    }
+
+    // MODIFIES: buffer
+    // EFFECTS: writes a JOIN frame with the given fields into buffer
+    public static void putJoin(ByteBuffer buffer, long seed, int startingLevel, int randomizerKind, int width,
+                               int height) {
+        putHeader(buffer, JOIN, JOIN_FRAME_BYTES - HEADER_BYTES);
+        buffer.putLong(seed);
+        buffer.put((byte) startingLevel);
+        buffer.put((byte) randomizerKind);
+        buffer.putShort((short) width);
+        buffer.putShort((short) height);
+    }
+
+    // MODIFIES: buffer
+    // EFFECTS: writes an INPUT frame holding the given command into buffer
+    public static void putInput(ByteBuffer buffer, InputCommand command) {
+        putHeader(buffer, INPUT, INPUT_FRAME_BYTES - HEADER_BYTES);
+        buffer.put((byte) command.ordinal());
+    }
+
+    // MODIFIES: buffer
+    // EFFECTS: writes a WELCOME frame with the given fields into buffer
+    public static void putWelcome(ByteBuffer buffer, int sessionId, int width, int height) {
+        putHeader(buffer, WELCOME, Integer.BYTES + 2 * Short.BYTES);
+        buffer.putInt(sessionId);
+        buffer.putShort((short) width);
+        buffer.putShort((short) height);
+    }
+
+    // MODIFIES: buffer
+    // EFFECTS: writes a GAME_OVER frame with the given fields into buffer
+    public static void putGameOver(ByteBuffer buffer, long tick, int score, int linesCleared) {
+        putHeader(buffer, GAME_OVER, GAME_OVER_FRAME_BYTES - HEADER_BYTES);
+        buffer.putLong(tick);
+        buffer.putInt(score);
+        buffer.putInt(linesCleared);
+    }
+
+    // MODIFIES: buffer
+    // EFFECTS: writes an ERROR frame holding the given message into buffer
+    public static void putError(ByteBuffer buffer, String message) {
+        byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        putHeader(buffer, ERROR, Short.BYTES + bytes.length);
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    // EFFECTS: returns the number of bytes taken by an ERROR frame holding the given message, including its header
+    public static int getErrorFrameBytes(String message) {
+        return HEADER_BYTES + Short.BYTES + message.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    // EFFECTS: returns the message held by the ERROR frame that starts at the position of buffer
+    public static String getErrorMessage(ByteBuffer buffer) {
+        int start = buffer.position() + HEADER_BYTES;
+        byte[] bytes = new byte[buffer.getShort(start)];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(start + Short.BYTES + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // MODIFIES: buffer
+    // EFFECTS: writes the header of a BOARD frame holding a board encoded in encodedBytes bytes, followed by the
+    //          given fixed fields, into buffer. The caller writes the encoded board.
+    public static void putBoardHeader(ByteBuffer buffer, int encodedBytes, long tick, int score, int linesCleared,
+                                      int level) {
+        putHeader(buffer, BOARD, BOARD_FIELD_BYTES + encodedBytes);
+        buffer.putLong(tick);
+        buffer.putInt(score);
+        buffer.putInt(linesCleared);
+        buffer.put((byte) level);
+    }
+
+    // EFFECTS: returns the number of bytes taken by a BOARD frame, including its header, that holds a board
+    //          encoded in encodedBytes bytes
+    public static int getBoardFrameBytes(int encodedBytes) {
+        return HEADER_BYTES + BOARD_FIELD_BYTES + encodedBytes;
+    }
+
+    // EFFECTS: returns the total length of the frame that starts at the position of buffer, including its header,
+    //          if the whole frame is between the buffer's position and limit, or -1 if it is not. Reads nothing.
+    //          The frame's declared length is not checked; the server checks frames from clients with
+    //          isValidClientFrameLength first.
+    public static int getCompleteFrameBytes(ByteBuffer buffer) {
+        if (buffer.remaining() < Integer.BYTES) {
+            return -1;
+        }
+        int frameBytes = Integer.BYTES + buffer.getInt(buffer.position());
+        return buffer.remaining() >= frameBytes ? frameBytes : -1;
+    }
+
+    // EFFECTS: returns true if a client frame may declare the given length, which counts the type byte and payload
+    //          but not the length itself. Every frame has a type, and no frame is longer than
+    //          MAXIMUM_CLIENT_FRAME_BYTES in all.
+    public static boolean isValidClientFrameLength(int length) {
+        return length >= 1 && length <= MAXIMUM_CLIENT_FRAME_BYTES - Integer.BYTES;
+    }
+
+    // MODIFIES: buffer
+    // EFFECTS: writes the header of a frame of the given type with a payload of the given length into buffer
+    private static void putHeader(ByteBuffer buffer, byte type, int payloadBytes) {
+        buffer.putInt(1 + payloadBytes);
+        buffer.put(type);
+    }
+}
@@ -0,0 +1,196 @@
+package server;
+
+import model.Game;
+import model.InputCommand;
+import model.board.Board;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+// One client connection to a TournamentServer, and the game it is playing. A session is only used by the
+// server's selector thread.
+//
+// The board is sent to the client through a BoardDeltaEncoder, so most BOARD messages only hold the rows that
+// changed since the previous one (see ServerProtocol). Messages are queued in an outgoing buffer that is written to the
+// channel whenever the channel can take more bytes.
+public class Session {
+    // Smallest size of the outgoing buffer, and the number of full boards it can hold on larger boards
+    private static final int MINIMUM_OUTGOING_BYTES = 4096;
+    private static final int OUTGOING_BOARDS = 4;
+
+    private static final InputCommand[] COMMANDS = InputCommand.values();
+
+    private final int id;
+    private final SocketChannel channel;
+
+    // Bytes received from the client that do not yet make a whole frame, ready to be written to
+    private final ByteBuffer incoming = ByteBuffer.allocate(ServerProtocol.MAXIMUM_CLIENT_FRAME_BYTES);
+
+    // Bytes waiting to be written to the client, ready to be written to
+    private ByteBuffer outgoing = ByteBuffer.allocate(MINIMUM_OUTGOING_BYTES);
+
+    // The game being played, or null if the client has not joined one yet
+    private Game game;
+
+    // Encodes the game's board for BOARD messages, or null if the client has not joined a game yet
+    private BoardDeltaEncoder encoder;
+
+    // The number of times the game has been updated, and the time its next update is due
+    private long tick;
+    private long nextTickNanos;
+
+    // True if the game changed since the last BOARD message was queued
+    private boolean dirty;
+
+    // True if the connection is to be closed as soon as the outgoing buffer has been written
+    private boolean closing;
+
+    // EFFECTS: creates a session with the given id for the client on the given channel
+    public Session(int id, SocketChannel channel) {
+        this.id = id;
+        this.channel = channel;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: starts the given game, whose first update is due at the given time, and queues a WELCOME message.
+    //          The first BOARD message of the game will hold a keyframe.
+    public void startGame(Game game, long nowNanos) {
+        this.game = game;
+        encoder = new BoardDeltaEncoder(game.getWidth(), game.getHeight(), BoardDeltaEncoder.DEFAULT_KEYFRAME_INTERVAL);
+        tick = 0;
+        nextTickNanos = nowNanos + game.getMillisecondsPerUpdate() * 1000000L;
+        dirty = true;
+
+        int capacity = Math.max(MINIMUM_OUTGOING_BYTES,
+                OUTGOING_BOARDS * ServerProtocol.getBoardFrameBytes(encoder.getKeyframeBytes()));
+        if (outgoing.capacity() < capacity) {
+            ByteBuffer larger = ByteBuffer.allocate(capacity);
+            outgoing.flip();
+            larger.put(outgoing);
+            outgoing = larger;
+        }
+        ServerProtocol.putWelcome(outgoing, id, game.getWidth(), game.getHeight());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: updates the game once, marks the session dirty and schedules the next update, unless the game is
+    //          over. If the session has fallen more than maxCatchUpTicks updates behind, the next update is due
+    //          now instead of catching up on the missed ones.
+    public void tick(long nowNanos, int maxCatchUpTicks) {
+        if (game.isGameOver()) {
+            return;
+        }
+        game.update();
+        tick++;
+        dirty = true;
+        long nanosPerUpdate = game.getMillisecondsPerUpdate() * 1000000L;
+        nextTickNanos += nanosPerUpdate;
+        if (nowNanos - nextTickNanos > maxCatchUpTicks * nanosPerUpdate) {
+            nextTickNanos = nowNanos;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: executes the command with the given ordinal on the game and marks the session dirty. Does nothing
+    //          if there is no game or it is over. Returns false if the ordinal is not that of an InputCommand.
+    public boolean execute(int ordinal) {
+        if (ordinal < 0 || ordinal >= COMMANDS.length) {
+            return false;
+        }
+        if (game != null && !game.isGameOver()) {
+            game.execute(COMMANDS[ordinal]);
+            dirty = true;
+        }
+        return true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: queues a BOARD message holding the next frame of the board, and a GAME_OVER message if the game is
+    //          over, then marks the session clean.
+    //          Returns false, and queues nothing, if the outgoing buffer does not have room for the messages.
+    public boolean queueBoard() {
+        Board board = game.getPlayfield();
+        int encodedBytes = encoder.getEncodedBytes(board);
+        int bytes = ServerProtocol.getBoardFrameBytes(encodedBytes) + ServerProtocol.GAME_OVER_FRAME_BYTES;
+        if (outgoing.remaining() < bytes) {
+            return false;
+        }
+
+        ServerProtocol.putBoardHeader(outgoing, encodedBytes, tick, game.getScore(), game.getLinesCleared(),
+                game.getLevel());
+        encoder.encode(board, outgoing);
+        if (game.isGameOver()) {
+            ServerProtocol.putGameOver(outgoing, tick, game.getScore(), game.getLinesCleared());
+        }
+        dirty = false;
+        return true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: queues an ERROR message holding the given message, if there is room for it, and marks the session
+    //          to be closed once its outgoing messages have been written
+    public void queueErrorAndClose(String message) {
+        if (outgoing.remaining() >= ServerProtocol.getErrorFrameBytes(message)) {
+            ServerProtocol.putError(outgoing, message);
+        }
+        closing = true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes as many queued bytes to the channel as it will take, and returns the number written.
+    //          Throws IOException if the channel cannot be written.
+    public int flush() throws IOException {
+        outgoing.flip();
+        try {
+            return channel.write(outgoing);
+        } finally {
+            outgoing.compact();
+        }
+    }
+
+    // EFFECTS: returns true if there are queued bytes that have not been written to the channel yet
+    public boolean hasQueuedBytes() {
+        return outgoing.position() > 0;
+    }
+
+    // EFFECTS: returns the buffer that bytes read from the client are put in
+    public ByteBuffer getIncoming() {
+        return incoming;
+    }
+
+    // EFFECTS: returns this session's id
+    public int getId() {
+        return id;
+    }
+
+    // EFFECTS: returns the channel connected to the client
+    public SocketChannel getChannel() {
+        return channel;
+    }
+
+    // EFFECTS: returns the game being played, or null if the client has not joined one
+    public Game getGame() {
+        return game;
+    }
+
+    // EFFECTS: returns the number of times the game has been updated by tick
+    public long getTick() {
+        return tick;
+    }
+
+    // EFFECTS: returns the time, in the terms of System.nanoTime, that the game's next update is due
+    public long getNextTickNanos() {
+        return nextTickNanos;
+    }
+
+    // EFFECTS: returns true if the game changed since the last BOARD message was queued
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    // EFFECTS: returns true if the connection is to be closed once its outgoing messages have been written
+    public boolean isClosing() {
+        return closing;
+    }
+}
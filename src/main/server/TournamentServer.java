@@ -0,0 +1,379 @@
+package server;
+
+import exceptions.IllegalStartingLevelException;
+import exceptions.IncorrectBoardSizeException;
+import model.Game;
+import model.randomizer.RandomizerKind;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// Hosts many games at once for clients that connect over TCP on the loopback interface and speak ServerProtocol.
+// A single thread runs the whole server with a NIO Selector: it accepts connections, reads and executes input
+// commands, updates each game when its next update is due, and writes the changes to each board back to its
+// client. No thread is used per client, so thousands of sessions fit on one machine.
+//
+// Each game is updated on its own schedule, every getMillisecondsPerUpdate milliseconds like the GUI's timer, so
+// games at higher levels are updated more often. Sessions wait in a priority queue ordered by the time their next
+// update is due, and the selector sleeps until the earliest of those times or until a client sends something. The
+// server records how late each update runs compared with its schedule.
+//
+// Clients that join with the same seed, starting level and randomizer are dealt the same pieces, so bots can be
+// ranked against each other in a ladder by playing the same seeds.
+public class TournamentServer implements Runnable {
+    // If a session falls this many updates behind, it skips ahead rather than trying to catch up
+    public static final int MAXIMUM_CATCH_UP_TICKS = 5;
+
+    private static final long NANOS_PER_MILLI = 1000000L;
+
+    // Number of connections that may wait to be accepted, so that many clients can connect at once
+    private static final int BACKLOG = 1024;
+
+    private static final RandomizerKind[] RANDOMIZER_KINDS = RandomizerKind.values();
+
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+
+    // Sessions playing a game, ordered by the time their next update is due. A session whose game ends is left in
+    // the queue until it is polled.
+    private final PriorityQueue<Session> schedule = new PriorityQueue<Session>(new Comparator<Session>() {
+        @Override
+        public int compare(Session s1, Session s2) {
+            return Long.compare(s1.getNextTickNanos(), s2.getNextTickNanos());
+        }
+    });
+
+    // Sessions whose games changed during the current pass of the loop. A session may appear more than once.
+    private final List<Session> changedSessions = new ArrayList<Session>();
+
+    private int nextSessionId;
+    private volatile boolean running = true;
+
+    // Statistics, only written by the server's thread
+    private volatile int numSessions;
+    private volatile long numGamesStarted;
+    private volatile long numGamesFinished;
+    private volatile long numTicks;
+    private volatile long totalLatenessNanos;
+    private volatile long maximumLatenessNanos;
+    private volatile long numBytesSent;
+
+    // EFFECTS: creates a server that listens on the given port of the loopback interface, or on any free port if
+    //          port is 0. The server does not accept connections until run is called.
+    //          Throws IOException if the port cannot be listened on.
+    public TournamentServer(int port) throws IOException {
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: serves clients until stop is called, then closes every connection.
+    //          Throws UncheckedIOException if the selector or the listening socket fails.
+    @Override
+    public void run() {
+        try {
+            while (running) {
+                select();
+                for (SelectionKey key : selector.selectedKeys()) {
+                    handleKey(key);
+                }
+                selector.selectedKeys().clear();
+                runDueTicks(System.nanoTime());
+                sendChangedBoards();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            closeAll();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: makes run return after its current pass of the loop. May be called from any thread.
+    public void stop() {
+        running = false;
+        selector.wakeup();
+    }
+
+    // EFFECTS: returns the port the server listens on
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    // EFFECTS: returns the number of clients connected
+    public int getNumSessions() {
+        return numSessions;
+    }
+
+    // EFFECTS: returns the number of games clients have started
+    public long getNumGamesStarted() {
+        return numGamesStarted;
+    }
+
+    // EFFECTS: returns the number of games that have ended
+    public long getNumGamesFinished() {
+        return numGamesFinished;
+    }
+
+    // EFFECTS: returns the number of scheduled game updates the server has run
+    public long getNumTicks() {
+        return numTicks;
+    }
+
+    // EFFECTS: returns the mean time, in microseconds, between when an update was due and when it ran, or 0 if no
+    //          update has run
+    public double getMeanTickLatenessMicros() {
+        long ticks = numTicks;
+        return ticks == 0 ? 0 : totalLatenessNanos / 1e3 / ticks;
+    }
+
+    // EFFECTS: returns the longest time, in microseconds, between when an update was due and when it ran
+    public double getMaximumTickLatenessMicros() {
+        return maximumLatenessNanos / 1e3;
+    }
+
+    // EFFECTS: returns the number of bytes written to clients
+    public long getNumBytesSent() {
+        return numBytesSent;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: waits until a channel is ready or the earliest update is due
+    private void select() throws IOException {
+        Session next = schedule.peek();
+        if (next == null) {
+            selector.select();
+            return;
+        }
+        long waitNanos = next.getNextTickNanos() - System.nanoTime();
+        if (waitNanos <= 0) {
+            selector.selectNow();
+        } else {
+            selector.select((waitNanos + NANOS_PER_MILLI - 1) / NANOS_PER_MILLI);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: accepts a connection, or reads from and writes to the session of the given key, as it is ready to.
+    //          A session whose channel fails, or whose messages cannot be handled, is closed.
+    private void handleKey(SelectionKey key) throws IOException {
+        if (!key.isValid()) {
+            return;
+        }
+        if (key.isAcceptable()) {
+            accept();
+            return;
+        }
+
+        Session session = (Session) key.attachment();
+        try {
+            if (key.isReadable()) {
+                read(session, key);
+            }
+            if (key.isValid() && key.isWritable()) {
+                flush(session, key);
+                if (session.isDirty()) {
+                    changedSessions.add(session);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // a client that breaks the protocol in a way the checks miss only loses its own session
+            close(session, key);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: accepts every waiting connection and starts a session for each, so that clients connecting at the
+    //          same time do not overflow the listening socket's backlog
+    private void accept() throws IOException {
+        for (SocketChannel channel = serverChannel.accept(); channel != null; channel = serverChannel.accept()) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            channel.register(selector, SelectionKey.OP_READ, new Session(nextSessionId++, channel));
+            numSessions++;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads what the client has sent and handles every whole frame received. Closes the session if the
+    //          client has closed the connection, and sends an error and closes it if a frame is invalid.
+    private void read(Session session, SelectionKey key) throws IOException {
+        ByteBuffer incoming = session.getIncoming();
+        if (session.getChannel().read(incoming) < 0) {
+            close(session, key);
+            return;
+        }
+
+        incoming.flip();
+        while (!session.isClosing() && incoming.remaining() >= Integer.BYTES) {
+            int length = incoming.getInt(incoming.position());
+            if (!ServerProtocol.isValidClientFrameLength(length)) {
+                session.queueErrorAndClose("Invalid frame length " + length);
+            } else if (incoming.remaining() < Integer.BYTES + length) {
+                break;
+            } else {
+                handleFrame(session, incoming, Integer.BYTES + length);
+            }
+        }
+        incoming.compact();
+        if (session.isClosing()) {
+            flush(session, key);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: handles the frame of the given length at the position of buffer, and moves the position past it
+    private void handleFrame(Session session, ByteBuffer buffer, int frameBytes) {
+        int start = buffer.position();
+        byte type = buffer.get(start + Integer.BYTES);
+        buffer.position(start + ServerProtocol.HEADER_BYTES);
+        if (type == ServerProtocol.JOIN && frameBytes == ServerProtocol.JOIN_FRAME_BYTES) {
+            join(session, buffer);
+        } else if (type == ServerProtocol.INPUT && frameBytes == ServerProtocol.INPUT_FRAME_BYTES) {
+            if (session.execute(buffer.get())) {
+                changedSessions.add(session);
+            } else {
+                session.queueErrorAndClose("Invalid input command");
+            }
+        } else {
+            session.queueErrorAndClose("Invalid message of type " + type);
+        }
+        buffer.position(start + frameBytes);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: starts the game described by the JOIN message whose payload is at the position of buffer, or sends
+    //          an error and closes the session if the message does not describe a valid game
+    private void join(Session session, ByteBuffer buffer) {
+        long seed = buffer.getLong();
+        int startingLevel = buffer.get();
+        int kind = buffer.get();
+        int width = buffer.getShort();
+        int height = buffer.getShort();
+        if (kind < 0 || kind >= RANDOMIZER_KINDS.length || width > ServerProtocol.MAXIMUM_WIDTH
+                || height > ServerProtocol.MAXIMUM_HEIGHT) {
+            session.queueErrorAndClose("Invalid randomizer or board size");
+            return;
+        }
+
+        Game game;
+        try {
+            game = new Game(seed, startingLevel, RANDOMIZER_KINDS[kind].create(seed), width, height);
+        } catch (IllegalStartingLevelException | IncorrectBoardSizeException e) {
+            session.queueErrorAndClose("Invalid starting level or board size");
+            return;
+        }
+        game.setNotificationsEnabled(false);
+        schedule.remove(session);
+        session.startGame(game, System.nanoTime());
+        schedule.add(session);
+        changedSessions.add(session);
+        numGamesStarted++;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: updates every game whose next update is due at or before nowNanos
+    private void runDueTicks(long nowNanos) {
+        while (!schedule.isEmpty() && schedule.peek().getNextTickNanos() <= nowNanos) {
+            Session session = schedule.poll();
+            if (session.getGame().isGameOver() || !session.getChannel().isOpen()) {
+                continue;
+            }
+
+            long latenessNanos = nowNanos - session.getNextTickNanos();
+            session.tick(nowNanos, MAXIMUM_CATCH_UP_TICKS);
+            numTicks++;
+            totalLatenessNanos += latenessNanos;
+            maximumLatenessNanos = Math.max(maximumLatenessNanos, latenessNanos);
+            changedSessions.add(session);
+            if (!session.getGame().isGameOver()) {
+                schedule.add(session);
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: queues and writes a BOARD message for every session whose game changed during this pass of the
+    //          loop. A session whose outgoing buffer is full stays dirty until its client has read enough.
+    private void sendChangedBoards() {
+        for (Session session : changedSessions) {
+            SelectionKey key = session.getChannel().keyFor(selector);
+            if (session.isDirty() && key != null && key.isValid() && session.queueBoard()) {
+                if (session.getGame().isGameOver()) {
+                    numGamesFinished++;
+                }
+                flush(session, key);
+            }
+        }
+        changedSessions.clear();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes as much of the session's queued messages as the channel will take. Waits for the channel to
+    //          become writable if some are left, and closes the session if it is closing and nothing is left or if
+    //          the channel fails.
+    private void flush(Session session, SelectionKey key) {
+        try {
+            numBytesSent += session.flush();
+        } catch (IOException e) {
+            close(session, key);
+            return;
+        }
+        if (session.hasQueuedBytes()) {
+            key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        } else if (session.isClosing()) {
+            close(session, key);
+        } else {
+            key.interestOps(SelectionKey.OP_READ);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: closes the session's connection and stops updating its game
+    private void close(Session session, SelectionKey key) {
+        if (!session.getChannel().isOpen()) {
+            return;
+        }
+        key.cancel();
+        try {
+            session.getChannel().close();
+        } catch (IOException e) {
+            // the connection is being dropped anyway
+        }
+        schedule.remove(session);
+        numSessions--;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: closes every connection, the listening socket and the selector
+    private void closeAll() {
+        for (SelectionKey key : selector.keys()) {
+            try {
+                key.channel().close();
+            } catch (IOException e) {
+                // the server is shutting down anyway
+            }
+        }
+        try {
+            selector.close();
+        } catch (IOException e) {
+            // the server is shutting down anyway
+        }
+        numSessions = 0;
+    }
+}
@@ -0,0 +1,46 @@
+package simulation;
+
+import model.randomizer.RandomizerKind;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+// Plays a batch of headless games from the command line, prints a summary table, and saves the result of
+// every game to a CSV file.
+//
+// Pieces are dealt by the uniform randomizer unless another kind is given (see model.randomizer.RandomizerKind).
+//
+// Usage: BatchMain <number of games> <first seed> <starting level> <CSV file> [threads] [randomizer]
+public class BatchMain {
+    // Games that last longer than this are stopped
+    private static final long MAX_TICKS_PER_GAME = 1_000_000;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 4) {
+            System.err.println("Usage: BatchMain <number of games> <first seed> <starting level> <CSV file> "
+                    + "[threads] [uniform|bag|nes]");
+            System.exit(1);
+        }
+
+        int numGames = Integer.parseInt(args[0]);
+        long firstSeed = Long.parseLong(args[1]);
+        int startingLevel = Integer.parseInt(args[2]);
+        File csvFile = new File(args[3]);
+        int threads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+        RandomizerKind kind = args.length > 5 ? RandomizerKind.valueOf(args[5].toUpperCase()) : RandomizerKind.UNIFORM;
+
+        InputPolicy policy = new InputPolicy() {
+            @Override
+            public InputScript createScript(long seed) {
+                return new RandomInputScript(seed);
+            }
+        };
+        BatchSummary summary = new BatchRunner(policy, startingLevel, MAX_TICKS_PER_GAME, threads, kind)
+                .run(firstSeed, numGames);
+
+        System.out.print(summary.toTable());
+        summary.writeCsv(new PrintWriter(csvFile, "UTF-8"));
+        System.out.println("Saved the result of every game to " + csvFile.getAbsolutePath());
+    }
+}
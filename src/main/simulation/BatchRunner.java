@@ -0,0 +1,107 @@
+package simulation;
+
+import model.Game;
+import model.randomizer.RandomizerKind;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Plays batches of independent headless games in parallel. The games in a batch use consecutive seeds,
+// and are split across the threads of a ForkJoinPool. Games do not share any state and have listener
+// notifications turned off, so the batch scales with the number of cores.
+public class BatchRunner {
+    // Batches are split into tasks of at most this many games
+    private static final int GAMES_PER_TASK = 4;
+
+    private InputPolicy policy;
+    private int startingLevel;
+    private long maxTicksPerGame;
+    private int threads;
+    private RandomizerKind randomizerKind;
+
+    // EFFECTS: creates a runner that plays games with the given policy and starting level on the given number
+    //          of threads. A game that has not ended after maxTicksPerGame ticks is stopped.
+    //          Throws IllegalArgumentException if threads < 1.
+    public BatchRunner(InputPolicy policy, int startingLevel, long maxTicksPerGame, int threads) {
+        this(policy, startingLevel, maxTicksPerGame, threads, RandomizerKind.UNIFORM);
+    }
+
+    // EFFECTS: creates a runner that plays games with the given policy and starting level on the given number
+    //          of threads, dealing each game's pieces with a randomizer of the given kind made from its seed.
+    //          A game that has not ended after maxTicksPerGame ticks is stopped.
+    //          Throws IllegalArgumentException if threads < 1.
+    public BatchRunner(InputPolicy policy, int startingLevel, long maxTicksPerGame, int threads,
+                       RandomizerKind randomizerKind) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("A batch needs at least one thread");
+        }
+        this.policy = policy;
+        this.startingLevel = startingLevel;
+        this.maxTicksPerGame = maxTicksPerGame;
+        this.threads = threads;
+        this.randomizerKind = randomizerKind;
+    }
+
+    // EFFECTS: plays numGames games, using the seeds firstSeed, firstSeed + 1, ..., and returns a summary of
+    //          them. The results in the summary are ordered by seed.
+    public BatchSummary run(long firstSeed, int numGames) {
+        GameResult[] results = new GameResult[numGames];
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long start = System.nanoTime();
+        try {
+            pool.invoke(new PlayTask(results, firstSeed, 0, numGames));
+        } finally {
+            pool.shutdown();
+        }
+        long elapsedNanoseconds = System.nanoTime() - start;
+
+        List<GameResult> resultList = Arrays.asList(results);
+        return new BatchSummary(resultList, elapsedNanoseconds, threads);
+    }
+
+    // EFFECTS: plays a single game with the given seed and returns its result
+    public GameResult play(long seed) {
+        Game game = new Game(seed, startingLevel, randomizerKind.create(seed));
+        game.setNotificationsEnabled(false);
+
+        GameEngine engine = new GameEngine(game, policy.createScript(seed));
+        engine.run(maxTicksPerGame);
+        return new GameResult(seed, game.getScore(), game.getLinesCleared(), game.getLevel(),
+                engine.getTicks(), game.isGameOver());
+    }
+
+    // A task that plays the games at indices [start, end) of a batch, splitting itself in half until
+    // there are few enough games to play them directly.
+    private class PlayTask extends RecursiveAction {
+        private GameResult[] results;
+        private long firstSeed;
+        private int start;
+        private int end;
+
+        // EFFECTS: creates a task that stores the result of the game at index i in results[i], where the game
+        //          at index i is played with the seed firstSeed + i
+        PlayTask(GameResult[] results, long firstSeed, int start, int end) {
+            this.results = results;
+            this.firstSeed = firstSeed;
+            this.start = start;
+            this.end = end;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: plays the games of this task
+        @Override
+        protected void compute() {
+            if (end - start <= GAMES_PER_TASK) {
+                for (int i = start; i < end; i++) {
+                    results[i] = play(firstSeed + i);
+                }
+            } else {
+                int middle = (start + end) >>> 1;
+                invokeAll(new PlayTask(results, firstSeed, start, middle),
+                        new PlayTask(results, firstSeed, middle, end));
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package simulation;
+
+import persistence.Writer;
+
+import java.io.PrintWriter;
+import java.util.List;
+
+// Aggregate statistics of a batch of headless games: the mean, minimum and maximum of the score, lines
+// cleared and final level, along with how quickly the batch was played. The result of every game is kept
+// so that it can be saved as CSV.
+public class BatchSummary {
+    private List<GameResult> results;
+    private int numGames;
+    private int numToppedOut;
+    private long totalTicks;
+    private long elapsedNanoseconds;
+    private int threads;
+
+    // Statistics are stored in the order score, lines cleared, level
+    private long[] totals = new long[3];
+    private int[] minimums = {Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE};
+    private int[] maximums = {Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE};
+
+    // EFFECTS: creates a summary of the given results, which were played by the given number of threads in the
+    //          given amount of time
+    public BatchSummary(List<GameResult> results, long elapsedNanoseconds, int threads) {
+        this.results = results;
+        this.elapsedNanoseconds = elapsedNanoseconds;
+        this.threads = threads;
+        for (GameResult result : results) {
+            add(result);
+        }
+    }
+
+    // EFFECTS: returns the results of the games in the batch, in the order they were given to this summary
+    public List<GameResult> getResults() {
+        return results;
+    }
+
+    // EFFECTS: returns the number of games in the batch
+    public int getNumGames() {
+        return numGames;
+    }
+
+    // EFFECTS: returns the number of games in the batch that ended because the player topped out
+    public int getNumToppedOut() {
+        return numToppedOut;
+    }
+
+    // EFFECTS: returns the mean score of the games in the batch, or 0 if the batch is empty
+    public double getMeanScore() {
+        return mean(0);
+    }
+
+    // EFFECTS: returns the mean number of lines cleared in the games in the batch, or 0 if the batch is empty
+    public double getMeanLinesCleared() {
+        return mean(1);
+    }
+
+    // EFFECTS: returns the mean final level of the games in the batch, or 0 if the batch is empty
+    public double getMeanLevel() {
+        return mean(2);
+    }
+
+    // EFFECTS: returns the number of games played per second, or 0 if no time was measured
+    public double getGamesPerSecond() {
+        return elapsedNanoseconds == 0 ? 0 : numGames * 1e9 / elapsedNanoseconds;
+    }
+
+    // EFFECTS: returns the number of ticks simulated per second, or 0 if no time was measured
+    public double getTicksPerSecond() {
+        return elapsedNanoseconds == 0 ? 0 : totalTicks * 1e9 / elapsedNanoseconds;
+    }
+
+    // EFFECTS: returns this summary as a table that can be printed to the console
+    public String toTable() {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("%-14s %12s %12s %12s%n", "", "mean", "min", "max"));
+        appendRow(table, "Score", 0);
+        appendRow(table, "Lines cleared", 1);
+        appendRow(table, "Level", 2);
+        table.append(String.format("%nGames: %d (%d topped out)%n", numGames, numToppedOut));
+        table.append(String.format("Threads: %d%n", threads));
+        table.append(String.format("Games per second: %.1f%n", getGamesPerSecond()));
+        table.append(String.format("Ticks per second: %.0f%n", getTicksPerSecond()));
+        return table.toString();
+    }
+
+    // MODIFIES: printWriter
+    // EFFECTS: writes the result of every game in the batch to printWriter as CSV, with a header line first.
+    //          Closes printWriter afterwards.
+    public void writeCsv(PrintWriter printWriter) {
+        printWriter.println(GameResult.CSV_HEADER);
+        Writer writer = new Writer(printWriter);
+        for (GameResult result : results) {
+            writer.write(result);
+        }
+        writer.close();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds the given result to the statistics
+    private void add(GameResult result) {
+        numGames++;
+        if (result.isToppedOut()) {
+            numToppedOut++;
+        }
+        totalTicks += result.getTicks();
+        addValue(0, result.getScore());
+        addValue(1, result.getLinesCleared());
+        addValue(2, result.getLevel());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds the given value to the statistic with the given index
+    private void addValue(int statistic, int value) {
+        totals[statistic] += value;
+        minimums[statistic] = Math.min(minimums[statistic], value);
+        maximums[statistic] = Math.max(maximums[statistic], value);
+    }
+
+    // EFFECTS: returns the mean of the statistic with the given index, or 0 if the batch is empty
+    private double mean(int statistic) {
+        return numGames == 0 ? 0 : (double) totals[statistic] / numGames;
+    }
+
+    // MODIFIES: table
+    // EFFECTS: appends a row with the mean, minimum and maximum of the statistic with the given index to table
+    private void appendRow(StringBuilder table, String name, int statistic) {
+        if (numGames == 0) {
+            table.append(String.format("%-14s %12s %12s %12s%n", name, "-", "-", "-"));
+        } else {
+            table.append(String.format("%-14s %12.1f %12d %12d%n", name, mean(statistic),
+                    minimums[statistic], maximums[statistic]));
+        }
+    }
+}
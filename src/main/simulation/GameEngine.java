@@ -0,0 +1,81 @@
+package simulation;
+
+import model.Game;
+import model.InputCommand;
+
+// Advances a Tetris game as fast as possible, without Swing. Each tick, the engine executes the commands
+// that its input script gives it, then updates the game once (just like one tick of the timer in the GUI).
+// The engine measures how many ticks it runs per second.
+public class GameEngine {
+    // The maximum number of commands executed in a single tick. This stops a script that never returns
+    // InputCommand.NONE from stalling the engine.
+    public static final int MAXIMUM_COMMANDS_PER_TICK = 64;
+
+    private Game game;
+    private InputScript script;
+    private long ticks;
+
+    // The number of ticks run by calls to run, and the time those calls took
+    private long timedTicks;
+    private long elapsedNanoseconds;
+
+    // EFFECTS: creates an engine that plays the given game using commands from the given script
+    public GameEngine(Game game, InputScript script) {
+        this.game = game;
+        this.script = script;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: runs a single tick: executes the script's commands for this tick, then updates the game.
+    //          Returns true if the game is still running afterwards, and false if it is over.
+    //          Note: if the game is already over, calling this method does nothing.
+    public boolean step() {
+        if (game.isGameOver()) {
+            return false;
+        }
+
+        for (int i = 0; i < MAXIMUM_COMMANDS_PER_TICK; i++) {
+            InputCommand command = script.nextCommand(game, ticks);
+            if (command == InputCommand.NONE) {
+                break;
+            }
+            game.execute(command);
+        }
+        game.update();
+        ticks++;
+        return !game.isGameOver();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: runs ticks until the game is over or maxTicks ticks have been run by this call,
+    //          and returns the number of ticks that were run.
+    public long run(long maxTicks) {
+        long start = System.nanoTime();
+        long startTicks = ticks;
+        while (ticks - startTicks < maxTicks && !game.isGameOver()) {
+            step();
+        }
+        elapsedNanoseconds += System.nanoTime() - start;
+        timedTicks += ticks - startTicks;
+        return ticks - startTicks;
+    }
+
+    // EFFECTS: returns the game that this engine is playing
+    public Game getGame() {
+        return game;
+    }
+
+    // EFFECTS: returns the total number of ticks this engine has run
+    public long getTicks() {
+        return ticks;
+    }
+
+    // EFFECTS: returns the average number of ticks per second during calls to run, or 0 if run has not
+    //          taken any measurable time yet
+    public double getTicksPerSecond() {
+        if (elapsedNanoseconds == 0) {
+            return 0;
+        }
+        return timedTicks * 1e9 / elapsedNanoseconds;
+    }
+}
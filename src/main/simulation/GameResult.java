@@ -0,0 +1,67 @@
+package simulation;
+
+import persistence.Saveable;
+
+import java.io.PrintWriter;
+
+// Represents the outcome of one headless game: the seed it was played with, and the score, lines cleared,
+// level and number of ticks it ended with.
+public class GameResult implements Saveable {
+    // Header of the CSV file that results are saved to
+    public static final String CSV_HEADER = "seed,score,lines,level,ticks,topped_out";
+
+    private long seed;
+    private int score;
+    private int linesCleared;
+    private int level;
+    private long ticks;
+    private boolean toppedOut;
+
+    // EFFECTS: creates a result for the game played with the given seed
+    public GameResult(long seed, int score, int linesCleared, int level, long ticks, boolean toppedOut) {
+        this.seed = seed;
+        this.score = score;
+        this.linesCleared = linesCleared;
+        this.level = level;
+        this.ticks = ticks;
+        this.toppedOut = toppedOut;
+    }
+
+    // EFFECTS: returns the seed the game was played with
+    public long getSeed() {
+        return seed;
+    }
+
+    // EFFECTS: returns the final score of the game
+    public int getScore() {
+        return score;
+    }
+
+    // EFFECTS: returns the number of lines cleared in the game
+    public int getLinesCleared() {
+        return linesCleared;
+    }
+
+    // EFFECTS: returns the level the game ended on
+    public int getLevel() {
+        return level;
+    }
+
+    // EFFECTS: returns the number of ticks the game ran for
+    public long getTicks() {
+        return ticks;
+    }
+
+    // EFFECTS: returns true if the game ended because the player topped out, and false if it was stopped
+    //          because it reached the tick limit
+    public boolean isToppedOut() {
+        return toppedOut;
+    }
+
+    // MODIFIES: printWriter
+    // EFFECTS: writes this result to printWriter as one line of CSV, with the columns given by CSV_HEADER
+    @Override
+    public void saveTo(PrintWriter printWriter) {
+        printWriter.println(seed + "," + score + "," + linesCleared + "," + level + "," + ticks + "," + toppedOut);
+    }
+}
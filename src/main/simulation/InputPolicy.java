@@ -0,0 +1,8 @@
+package simulation;
+
+// Represents a way of playing Tetris games. A policy creates a fresh input script for every game it plays,
+// so that games played in parallel never share a script.
+public interface InputPolicy {
+    // EFFECTS: returns a new input script for playing the game generated with the given seed
+    InputScript createScript(long seed);
+}
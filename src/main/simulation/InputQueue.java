@@ -0,0 +1,122 @@
+package simulation;
+
+import model.Game;
+import model.InputCommand;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// A bounded, lock-free queue of input commands that is filled by exactly one thread (the producer, usually the
+// event dispatching thread handling key presses) and emptied by exactly one other thread (the consumer, the
+// thread that runs the game). Each command is stored as a single byte in a ring buffer, next to the time it was
+// offered, so adding and removing commands allocates nothing and takes no lock.
+//
+// The producer only writes the tail index and the consumer only writes the head index. Each index is published
+// with an ordered write after the slot it covers has been written or read, and each side keeps a cached copy of
+// the other side's index, so most operations do not read memory written by the other thread at all.
+//
+// As an InputScript, the queue gives a GameEngine the commands offered since its previous tick, in order.
+public class InputQueue implements InputScript {
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final InputCommand[] COMMANDS = InputCommand.values();
+
+    private final byte[] commands;
+    private final long[] timestamps;
+    private final int mask;
+
+    // Index of the next command to remove; written only by the consumer
+    private final AtomicLong head = new AtomicLong();
+
+    // Index of the next free slot; written only by the producer
+    private final AtomicLong tail = new AtomicLong();
+
+    // The producer's last view of head, and the consumer's last view of tail
+    private long cachedHead;
+    private long cachedTail;
+
+    // The time that the command most recently returned by poll was offered
+    private long polledTimestamp;
+
+    // EFFECTS: creates an empty queue that can hold DEFAULT_CAPACITY commands
+    public InputQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    // EFFECTS: creates an empty queue that can hold the given number of commands.
+    //          Throws IllegalArgumentException if capacity is not a positive power of two.
+    public InputQueue(int capacity) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a positive power of two: " + capacity);
+        }
+        commands = new byte[capacity];
+        timestamps = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    // EFFECTS: returns the number of commands this queue can hold
+    public int getCapacity() {
+        return commands.length;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds the given command to the back of the queue, along with the time it was given (for example,
+    //          from System.nanoTime). Returns true if the command was added, and false if the queue is full, in
+    //          which case nothing is added; a producer that must not lose commands offers again once the
+    //          consumer has made room. Must only be called by the producer thread.
+    public boolean offer(InputCommand command, long timestamp) {
+        long currentTail = tail.get();
+        if (currentTail - cachedHead == commands.length) {
+            cachedHead = head.get();
+            if (currentTail - cachedHead == commands.length) {
+                return false;
+            }
+        }
+
+        int slot = (int) currentTail & mask;
+        commands[slot] = (byte) command.ordinal();
+        timestamps[slot] = timestamp;
+        tail.lazySet(currentTail + 1);
+        return true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes and returns the command at the front of the queue, or returns null if the queue is empty.
+    //          Must only be called by the consumer thread.
+    public InputCommand poll() {
+        long currentHead = head.get();
+        if (currentHead == cachedTail) {
+            cachedTail = tail.get();
+            if (currentHead == cachedTail) {
+                return null;
+            }
+        }
+
+        int slot = (int) currentHead & mask;
+        InputCommand command = COMMANDS[commands[slot]];
+        polledTimestamp = timestamps[slot];
+        head.lazySet(currentHead + 1);
+        return command;
+    }
+
+    // EFFECTS: returns the time that the command most recently returned by poll was offered.
+    //          Must only be called by the consumer thread.
+    public long getPolledTimestamp() {
+        return polledTimestamp;
+    }
+
+    // EFFECTS: returns the number of commands in the queue. The answer may already be out of date if the other
+    //          thread is using the queue.
+    public int size() {
+        long currentHead = head.get();
+        return (int) (tail.get() - currentHead);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes and returns the command at the front of the queue, or returns InputCommand.NONE if the
+    //          queue is empty. Must only be called by the consumer thread.
+    @Override
+    public InputCommand nextCommand(Game game, long tick) {
+        InputCommand command = poll();
+        return command == null ? InputCommand.NONE : command;
+    }
+}
@@ -0,0 +1,12 @@
+package simulation;
+
+import model.Game;
+import model.InputCommand;
+
+// Represents a program that plays a Tetris game by giving it commands, in the same way a player would
+// by pressing keys.
+public interface InputScript {
+    // EFFECTS: returns the next command to execute on the given game during the given tick. Returning
+    //          InputCommand.NONE ends the tick's input, after which the game is updated once.
+    InputCommand nextCommand(Game game, long tick);
+}
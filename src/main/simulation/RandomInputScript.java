@@ -0,0 +1,35 @@
+package simulation;
+
+import model.Game;
+import model.InputCommand;
+
+import java.util.Random;
+
+// An input script that gives a Tetris game one randomly chosen command per tick. The commands are
+// generated with the given seed, so a game played with this script can be reproduced.
+public class RandomInputScript implements InputScript {
+    private static final InputCommand[] COMMANDS = InputCommand.values();
+
+    private Random random;
+
+    // The last tick a command was given on
+    private long lastTick;
+
+    // EFFECTS: creates a random input script whose commands are generated with the given seed
+    public RandomInputScript(long seed) {
+        random = new Random(seed);
+        lastTick = -1;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns a random command if no command has been given yet during the given tick,
+    //          and InputCommand.NONE otherwise
+    @Override
+    public InputCommand nextCommand(Game game, long tick) {
+        if (tick == lastTick) {
+            return InputCommand.NONE;
+        }
+        lastTick = tick;
+        return COMMANDS[random.nextInt(COMMANDS.length)];
+    }
+}
@@ -0,0 +1,53 @@
+package tuning;
+
+import ai.HeuristicWeights;
+
+import java.util.Objects;
+
+// A member of the weight tuner's population: a set of weights, and its fitness, which is the mean number of
+// lines the computer player cleared with those weights over the tuner's games.
+public final class Candidate {
+    private final HeuristicWeights weights;
+    private final double fitness;
+
+    // EFFECTS: creates a candidate with the given weights and fitness
+    public Candidate(HeuristicWeights weights, double fitness) {
+        this.weights = weights;
+        this.fitness = fitness;
+    }
+
+    // EFFECTS: returns the weights of this candidate
+    public HeuristicWeights getWeights() {
+        return weights;
+    }
+
+    // EFFECTS: returns the mean number of lines cleared with this candidate's weights
+    public double getFitness() {
+        return fitness;
+    }
+
+    // EFFECTS: returns true if obj's actual type is Candidate and it has the same weights and fitness as this
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || this.getClass() != obj.getClass()) {
+            return false;
+        }
+        Candidate other = (Candidate) obj;
+        return weights.equals(other.weights) && Double.compare(fitness, other.fitness) == 0;
+    }
+
+    // EFFECTS: returns the hash code for this candidate
+    @Override
+    public int hashCode() {
+        return Objects.hash(weights, fitness);
+    }
+
+    // EFFECTS: returns the weights and fitness of this candidate as a string
+    @Override
+    public String toString() {
+        return String.format("%.2f lines: %s", fitness, weights);
+    }
+}
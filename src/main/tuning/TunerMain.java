@@ -0,0 +1,72 @@
+package tuning;
+
+import exceptions.CorruptedFileException;
+import persistence.TuningCheckpointFileReader;
+import persistence.Writer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+// Tunes the computer player's weights from the command line (see WeightTuner), saving a checkpoint after every
+// generation. If the checkpoint file already exists, the run carries on from it, with the settings it was
+// started with, so a long run can be stopped at any time and resumed later. Each checkpoint is written to a
+// temporary file first and then moved over the old one, so stopping the run while it saves does not lose the
+// last checkpoint.
+//
+// Usage: TunerMain <checkpoint file> <generations> [threads] [population size] [games per candidate]
+//                  [maximum ticks per game] [first seed]
+public class TunerMain {
+    private static final int DEFAULT_POPULATION_SIZE = 100;
+    private static final int DEFAULT_GAMES_PER_CANDIDATE = 20;
+    private static final long DEFAULT_MAX_TICKS_PER_GAME = 2000;
+
+    public static void main(String[] args) throws IOException, CorruptedFileException {
+        if (args.length < 2) {
+            System.err.println("Usage: TunerMain <checkpoint file> <generations> [threads] [population size] "
+                    + "[games per candidate] [maximum ticks per game] [first seed]");
+            System.exit(1);
+        }
+
+        File checkpointFile = new File(args[0]);
+        int generations = Integer.parseInt(args[1]);
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        WeightTuner tuner;
+        if (checkpointFile.exists()) {
+            tuner = new WeightTuner(TuningCheckpointFileReader.readCheckpoint(checkpointFile), threads);
+            System.out.println("Resuming from generation " + tuner.getGeneration());
+        } else {
+            tuner = new WeightTuner(parseSettings(args), threads);
+        }
+
+        for (int i = 0; i < generations; i++) {
+            tuner.runGeneration();
+            saveCheckpoint(tuner.getCheckpoint(), checkpointFile);
+            System.out.printf("Generation %d: best %s, %d games played, %.2f games per second per thread%n",
+                    tuner.getGeneration(), tuner.getBest(), tuner.getNumGamesPlayed(),
+                    tuner.getGamesPerSecondPerThread());
+        }
+    }
+
+    // EFFECTS: returns the settings given by the optional arguments, using the defaults for any that are missing
+    private static TuningSettings parseSettings(String[] args) {
+        int populationSize = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_POPULATION_SIZE;
+        int gamesPerCandidate = args.length > 4 ? Integer.parseInt(args[4]) : DEFAULT_GAMES_PER_CANDIDATE;
+        long maxTicksPerGame = args.length > 5 ? Long.parseLong(args[5]) : DEFAULT_MAX_TICKS_PER_GAME;
+        long firstSeed = args.length > 6 ? Long.parseLong(args[6]) : 0;
+        return new TuningSettings(populationSize, gamesPerCandidate, firstSeed, 0, maxTicksPerGame);
+    }
+
+    // EFFECTS: saves the given checkpoint to the given file, replacing it in one step once the whole checkpoint
+    //          has been written
+    private static void saveCheckpoint(TuningCheckpoint checkpoint, File file) throws IOException {
+        File temporary = new File(file.getPath() + ".tmp");
+        Writer writer = new Writer(new PrintWriter(temporary, "UTF-8"));
+        writer.write(checkpoint);
+        writer.close();
+        Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,109 @@
+package tuning;
+
+import persistence.Saveable;
+
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+// Everything a weight tuner needs to carry on from where it stopped: its settings, the number of generations
+// it has run, the state of its random number generator, and its population. A tuner resumed from a checkpoint
+// makes exactly the same choices as the tuner the checkpoint was taken from would have.
+//
+// Checkpoints are saved as text (see saveTo) and read back with persistence.TuningCheckpointFileReader. Weights
+// and fitnesses are written with Double.toString, which reads back as exactly the same double.
+public final class TuningCheckpoint implements Saveable {
+    private final TuningSettings settings;
+    private final int generation;
+    private final long randomState;
+    private final long numGamesPlayed;
+    private final List<Candidate> population;
+
+    // EFFECTS: creates a checkpoint of a tuner with the given settings that has run the given number of
+    //          generations and played numGamesPlayed games, whose random number generator has the given state,
+    //          and whose population, ordered from fittest, is the given list of candidates.
+    //          Throws IllegalArgumentException if the population is not empty and does not have the size the
+    //          settings give, or if generation < 0.
+    public TuningCheckpoint(TuningSettings settings, int generation, long randomState, long numGamesPlayed,
+                            List<Candidate> population) {
+        if (!population.isEmpty() && population.size() != settings.getPopulationSize()) {
+            throw new IllegalArgumentException("Expected " + settings.getPopulationSize() + " candidates, got "
+                    + population.size());
+        } else if (generation < 0) {
+            throw new IllegalArgumentException("Negative generation: " + generation);
+        }
+        this.settings = settings;
+        this.generation = generation;
+        this.randomState = randomState;
+        this.numGamesPlayed = numGamesPlayed;
+        this.population = Collections.unmodifiableList(new ArrayList<Candidate>(population));
+    }
+
+    // EFFECTS: returns the settings of the tuner
+    public TuningSettings getSettings() {
+        return settings;
+    }
+
+    // EFFECTS: returns the number of generations the tuner has run
+    public int getGeneration() {
+        return generation;
+    }
+
+    // EFFECTS: returns the state of the tuner's random number generator (see model.SeededRandom)
+    public long getRandomState() {
+        return randomState;
+    }
+
+    // EFFECTS: returns the number of games the tuner has played
+    public long getNumGamesPlayed() {
+        return numGamesPlayed;
+    }
+
+    // EFFECTS: returns the tuner's population, ordered from fittest, which is empty if no generation has run
+    public List<Candidate> getPopulation() {
+        return population;
+    }
+
+    // MODIFIES: printWriter
+    // EFFECTS: writes this checkpoint to printWriter as lines of comma-separated values:
+    //           - population size, games per candidate, first seed, starting level and maximum ticks per game
+    //           - generation, random state and number of games played
+    //           - then one line per candidate, with its weights (in the order HeuristicWeights.toArray gives
+    //             them) followed by its fitness
+    @Override
+    public void saveTo(PrintWriter printWriter) {
+        printWriter.println(settings.getPopulationSize() + "," + settings.getGamesPerCandidate() + ","
+                + settings.getFirstSeed() + "," + settings.getStartingLevel() + "," + settings.getMaxTicksPerGame());
+        printWriter.println(generation + "," + randomState + "," + numGamesPlayed);
+        for (Candidate candidate : population) {
+            StringBuilder line = new StringBuilder();
+            for (double weight : candidate.getWeights().toArray()) {
+                line.append(weight).append(',');
+            }
+            printWriter.println(line.append(candidate.getFitness()));
+        }
+    }
+
+    // EFFECTS: returns true if obj's actual type is TuningCheckpoint and it holds the same state as this
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || this.getClass() != obj.getClass()) {
+            return false;
+        }
+        TuningCheckpoint other = (TuningCheckpoint) obj;
+        return settings.equals(other.settings) && generation == other.generation
+                && randomState == other.randomState && numGamesPlayed == other.numGamesPlayed
+                && population.equals(other.population);
+    }
+
+    // EFFECTS: returns the hash code for this checkpoint
+    @Override
+    public int hashCode() {
+        return Objects.hash(settings, generation, randomState, numGamesPlayed, population);
+    }
+}
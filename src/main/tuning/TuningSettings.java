@@ -0,0 +1,81 @@
+package tuning;
+
+import java.util.Objects;
+
+// The settings of a weight tuning run: how many candidates the population holds, and how each candidate's
+// weights are tested. Every candidate plays the same games, using the seeds firstSeed, firstSeed + 1, ..., so
+// their fitnesses can be compared. The settings are saved with every checkpoint, so a resumed run tests
+// candidates exactly as the run it continues did.
+public final class TuningSettings {
+    private final int populationSize;
+    private final int gamesPerCandidate;
+    private final long firstSeed;
+    private final int startingLevel;
+    private final long maxTicksPerGame;
+
+    // EFFECTS: creates settings for a population of populationSize candidates, each of which plays
+    //          gamesPerCandidate games starting at startingLevel, using consecutive seeds from firstSeed.
+    //          A game that has not ended after maxTicksPerGame ticks is stopped. The tuner's own random choices
+    //          are also seeded with firstSeed.
+    //          Throws IllegalArgumentException if populationSize < 2, gamesPerCandidate < 1 or
+    //          maxTicksPerGame < 1.
+    public TuningSettings(int populationSize, int gamesPerCandidate, long firstSeed, int startingLevel,
+                          long maxTicksPerGame) {
+        if (populationSize < 2) {
+            throw new IllegalArgumentException("A population needs at least two candidates");
+        } else if (gamesPerCandidate < 1 || maxTicksPerGame < 1) {
+            throw new IllegalArgumentException("Every candidate must play at least one tick of one game");
+        }
+        this.populationSize = populationSize;
+        this.gamesPerCandidate = gamesPerCandidate;
+        this.firstSeed = firstSeed;
+        this.startingLevel = startingLevel;
+        this.maxTicksPerGame = maxTicksPerGame;
+    }
+
+    // EFFECTS: returns the number of candidates in the population
+    public int getPopulationSize() {
+        return populationSize;
+    }
+
+    // EFFECTS: returns the number of games each candidate plays
+    public int getGamesPerCandidate() {
+        return gamesPerCandidate;
+    }
+
+    // EFFECTS: returns the seed of the first game each candidate plays
+    public long getFirstSeed() {
+        return firstSeed;
+    }
+
+    // EFFECTS: returns the level the games start at
+    public int getStartingLevel() {
+        return startingLevel;
+    }
+
+    // EFFECTS: returns the number of ticks after which a game is stopped
+    public long getMaxTicksPerGame() {
+        return maxTicksPerGame;
+    }
+
+    // EFFECTS: returns true if obj's actual type is TuningSettings and it has the same settings as this
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || this.getClass() != obj.getClass()) {
+            return false;
+        }
+        TuningSettings other = (TuningSettings) obj;
+        return populationSize == other.populationSize && gamesPerCandidate == other.gamesPerCandidate
+                && firstSeed == other.firstSeed && startingLevel == other.startingLevel
+                && maxTicksPerGame == other.maxTicksPerGame;
+    }
+
+    // EFFECTS: returns the hash code for these settings
+    @Override
+    public int hashCode() {
+        return Objects.hash(populationSize, gamesPerCandidate, firstSeed, startingLevel, maxTicksPerGame);
+    }
+}
@@ -0,0 +1,287 @@
+package tuning;
+
+import ai.AiPlayer;
+import ai.HeuristicWeights;
+import model.SeededRandom;
+import simulation.BatchRunner;
+import simulation.InputPolicy;
+import simulation.InputScript;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Tunes the weights the computer player judges boards with, using the genetic algorithm that the default weights
+// were found with (see HeuristicWeights). Weights are kept as unit vectors, since scaling every weight by the same
+// amount does not change which placement the player chooses.
+//
+// The first generation is a population of random weights. Each later generation breeds OFFSPRING_FRACTION of the
+// population as many children, which replace the least fit candidates. Each child's parents are the two fittest
+// of a random TOURNAMENT_FRACTION of the population, and the child is their average, weighted by fitness, with a
+// small chance of a random change to one weight.
+//
+// A candidate's fitness is the mean number of lines the greedy computer player clears with its weights over the
+// games the settings give. The games of a generation are split across the threads of a ForkJoinPool; every game
+// is independent and headless, so the games scale with the number of cores.
+public class WeightTuner {
+    // The fraction of the population replaced by children in each generation
+    public static final double OFFSPRING_FRACTION = 0.3;
+
+    // The fraction of the population that each pair of parents is chosen from
+    public static final double TOURNAMENT_FRACTION = 0.1;
+
+    // The chance that a child has one of its weights changed, and the largest change
+    public static final double MUTATION_PROBABILITY = 0.05;
+    public static final double MUTATION_AMOUNT = 0.2;
+
+    // Games are split into tasks of at most this many games
+    private static final int GAMES_PER_TASK = 2;
+
+    private final TuningSettings settings;
+    private final int threads;
+    private final SeededRandom random;
+    private final List<Candidate> population;
+    private int generation;
+
+    // Statistics about the games played
+    private long numGamesPlayed;
+    private long totalGameNanoseconds;
+    private long gamesTimed;
+
+    // EFFECTS: creates a tuner with the given settings that has not run any generations, and plays its games on
+    //          the given number of threads.
+    //          Throws IllegalArgumentException if threads < 1.
+    public WeightTuner(TuningSettings settings, int threads) {
+        this(new TuningCheckpoint(settings, 0, new SeededRandom(settings.getFirstSeed()).getState(), 0,
+                new ArrayList<Candidate>()), threads);
+    }
+
+    // EFFECTS: creates a tuner that carries on from the given checkpoint, and plays its games on the given number
+    //          of threads.
+    //          Throws IllegalArgumentException if threads < 1.
+    public WeightTuner(TuningCheckpoint checkpoint, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("A tuner needs at least one thread");
+        }
+        this.settings = checkpoint.getSettings();
+        this.threads = threads;
+        this.random = new SeededRandom(0);
+        this.random.setState(checkpoint.getRandomState());
+        this.population = new ArrayList<Candidate>(checkpoint.getPopulation());
+        this.generation = checkpoint.getGeneration();
+        this.numGamesPlayed = checkpoint.getNumGamesPlayed();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: runs one generation: the first generation tests a population of random weights, and each later
+    //          generation replaces the least fit candidates with children of the fitter ones
+    public void runGeneration() {
+        List<HeuristicWeights> newWeights = new ArrayList<HeuristicWeights>();
+        if (population.isEmpty()) {
+            for (int i = 0; i < settings.getPopulationSize(); i++) {
+                newWeights.add(randomWeights());
+            }
+        } else {
+            int numOffspring = (int) Math.max(1, Math.round(OFFSPRING_FRACTION * population.size()));
+            for (int i = 0; i < numOffspring; i++) {
+                newWeights.add(breed());
+            }
+            population.subList(population.size() - numOffspring, population.size()).clear();
+        }
+
+        double[] fitnesses = evaluate(newWeights);
+        for (int i = 0; i < fitnesses.length; i++) {
+            population.add(new Candidate(newWeights.get(i), fitnesses[i]));
+        }
+        sortByFitness();
+        generation++;
+    }
+
+    // EFFECTS: returns the mean number of lines the greedy computer player clears with each of the given weights
+    //          over the games the settings give
+    public double[] evaluate(List<HeuristicWeights> weights) {
+        int gamesPerCandidate = settings.getGamesPerCandidate();
+        int[] linesCleared = new int[weights.size() * gamesPerCandidate];
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long start = System.nanoTime();
+        try {
+            pool.invoke(new PlayTask(makeRunners(weights), linesCleared, 0, linesCleared.length));
+        } finally {
+            pool.shutdown();
+        }
+        totalGameNanoseconds += System.nanoTime() - start;
+        gamesTimed += linesCleared.length;
+        numGamesPlayed += linesCleared.length;
+
+        double[] fitnesses = new double[weights.size()];
+        for (int i = 0; i < linesCleared.length; i++) {
+            fitnesses[i / gamesPerCandidate] += linesCleared[i];
+        }
+        for (int i = 0; i < fitnesses.length; i++) {
+            fitnesses[i] /= gamesPerCandidate;
+        }
+        return fitnesses;
+    }
+
+    // EFFECTS: returns a checkpoint from which a tuner can carry on exactly where this one is
+    public TuningCheckpoint getCheckpoint() {
+        return new TuningCheckpoint(settings, generation, random.getState(), numGamesPlayed, population);
+    }
+
+    // EFFECTS: returns the settings of this tuner
+    public TuningSettings getSettings() {
+        return settings;
+    }
+
+    // EFFECTS: returns the number of generations this tuner has run, including any before it was resumed
+    public int getGeneration() {
+        return generation;
+    }
+
+    // EFFECTS: returns the population, ordered from fittest, which is empty if no generation has run
+    public List<Candidate> getPopulation() {
+        return Collections.unmodifiableList(population);
+    }
+
+    // EFFECTS: returns the fittest candidate, or null if no generation has run
+    public Candidate getBest() {
+        return population.isEmpty() ? null : population.get(0);
+    }
+
+    // EFFECTS: returns the number of games this tuner has played, including any before it was resumed
+    public long getNumGamesPlayed() {
+        return numGamesPlayed;
+    }
+
+    // EFFECTS: returns the number of games played per second by each thread since this tuner was created, or 0
+    //          if no time has been measured
+    public double getGamesPerSecondPerThread() {
+        return totalGameNanoseconds == 0 ? 0 : gamesTimed * 1e9 / totalGameNanoseconds / threads;
+    }
+
+    // EFFECTS: returns a runner for each of the given weights that plays games the way the settings give, with
+    //          the greedy computer player using those weights
+    private List<BatchRunner> makeRunners(List<HeuristicWeights> weights) {
+        List<BatchRunner> runners = new ArrayList<BatchRunner>();
+        for (final HeuristicWeights w : weights) {
+            InputPolicy policy = new InputPolicy() {
+                @Override
+                public InputScript createScript(long seed) {
+                    return new AiPlayer(w);
+                }
+            };
+            runners.add(new BatchRunner(policy, settings.getStartingLevel(), settings.getMaxTicksPerGame(), 1));
+        }
+        return runners;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns a child of two parents chosen by tournament, possibly with one weight changed at random
+    private HeuristicWeights breed() {
+        List<Candidate> parents = chooseParents();
+        double[] child = new double[HeuristicWeights.NUM_FEATURES];
+        for (Candidate parent : parents) {
+            // The fitnesses are offset by one so that parents that cleared no lines still count
+            double[] weights = parent.getWeights().toArray();
+            for (int i = 0; i < child.length; i++) {
+                child[i] += weights[i] * (parent.getFitness() + 1);
+            }
+        }
+        if (random.nextDouble() < MUTATION_PROBABILITY) {
+            child[random.nextInt(child.length)] += (random.nextDouble() * 2 - 1) * MUTATION_AMOUNT;
+        }
+        return normalize(child);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the two fittest of a random TOURNAMENT_FRACTION of the population, or of two random
+    //          candidates if that is fewer than two
+    private List<Candidate> chooseParents() {
+        List<Candidate> tournament = new ArrayList<Candidate>(population);
+        int tournamentSize = (int) Math.max(2, Math.round(TOURNAMENT_FRACTION * population.size()));
+        for (int i = 0; i < tournamentSize; i++) {
+            Collections.swap(tournament, i, i + random.nextInt(tournament.size() - i));
+        }
+        tournament.subList(tournamentSize, tournament.size()).clear();
+        Collections.sort(tournament, new FitnessComparator());
+        return tournament.subList(0, 2);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns random weights with each weight chosen evenly between -0.5 and 0.5 before normalizing
+    private HeuristicWeights randomWeights() {
+        double[] weights = new double[HeuristicWeights.NUM_FEATURES];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = random.nextDouble() - 0.5;
+        }
+        return normalize(weights);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sorts the population from fittest, keeping the order of candidates that are equally fit
+    private void sortByFitness() {
+        Collections.sort(population, new FitnessComparator());
+    }
+
+    // EFFECTS: returns the given weights scaled to length 1, or unchanged if they are all 0
+    private static HeuristicWeights normalize(double[] weights) {
+        double sumOfSquares = 0;
+        for (double weight : weights) {
+            sumOfSquares += weight * weight;
+        }
+        double length = Math.sqrt(sumOfSquares);
+        for (int i = 0; i < weights.length && length > 0; i++) {
+            weights[i] /= length;
+        }
+        return HeuristicWeights.fromArray(weights);
+    }
+
+    // Orders candidates from fittest
+    private static class FitnessComparator implements Comparator<Candidate> {
+        // EFFECTS: returns a negative number if a is fitter than b, a positive number if b is fitter than a,
+        //          and 0 if they are equally fit
+        @Override
+        public int compare(Candidate a, Candidate b) {
+            return Double.compare(b.getFitness(), a.getFitness());
+        }
+    }
+
+    // A task that plays the games at indices [start, end) of a generation, splitting itself in half until there
+    // are few enough games to play them directly. Game i is played by runners[i / gamesPerCandidate] with the
+    // seed firstSeed + i % gamesPerCandidate.
+    private class PlayTask extends RecursiveAction {
+        private final List<BatchRunner> runners;
+        private final int[] linesCleared;
+        private final int start;
+        private final int end;
+
+        // EFFECTS: creates a task that stores the number of lines cleared in game i in linesCleared[i]
+        PlayTask(List<BatchRunner> runners, int[] linesCleared, int start, int end) {
+            this.runners = runners;
+            this.linesCleared = linesCleared;
+            this.start = start;
+            this.end = end;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: plays the games of this task
+        @Override
+        protected void compute() {
+            if (end - start <= GAMES_PER_TASK) {
+                int gamesPerCandidate = settings.getGamesPerCandidate();
+                for (int i = start; i < end; i++) {
+                    BatchRunner runner = runners.get(i / gamesPerCandidate);
+                    linesCleared[i] = runner.play(settings.getFirstSeed() + i % gamesPerCandidate)
+                            .getLinesCleared();
+                }
+            } else {
+                int middle = (start + end) >>> 1;
+                invokeAll(new PlayTask(runners, linesCleared, start, middle),
+                        new PlayTask(runners, linesCleared, middle, end));
+            }
+        }
+    }
+}
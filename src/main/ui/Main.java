@@ -29,6 +29,22 @@ public class Main {
             return;
         }
 
+        // Scores saved by versions of the game that stored them as text are carried over to the scoreboard log
+        try {
+            TemporaryScoreboardManager.importLegacyEntries();
+        } catch (Exception e) {
+            JOptionPane.showMessageDialog(null, "Could not import saved scores from "
+                    + TemporaryScoreboardManager.LEGACY_ENTRIES_FILE_PATH, "Error", JOptionPane.ERROR_MESSAGE);
+        }
+
+        // A save that was cut short, for example by a crash, can leave a damaged record at the end of the log
+        try {
+            TemporaryScoreboardManager.repairEntries();
+        } catch (Exception e) {
+            JOptionPane.showMessageDialog(null, "Saved scores in " + TemporaryScoreboardManager.ENTRIES_FILE_PATH
+                    + " are corrupted. Please clear your saved scores", "Error", JOptionPane.ERROR_MESSAGE);
+        }
+
         try {
             new File(TemporaryScoreboardManager.ENTRIES_FILE_PATH).createNewFile();
         } catch (Exception e) {
@@ -4,8 +4,7 @@ import exceptions.CorruptedFileException;
 import model.Game;
 import model.Scoreboard;
 import model.ScoreboardEntry;
-import persistence.ScoreboardEntryFileReader;
-import persistence.Writer;
+import persistence.ScoreboardLog;
 import ui.util.TemporaryScoreboardManager;
 import ui.graphics.TetrisGui;
 
@@ -15,10 +14,8 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.WindowEvent;
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.util.List;
+import java.util.ArrayList;
 
 // Represents the window that appears when the game ends.
 // According to the linked StackOverflow post below, having multiple JFrames in a program is considered bad practice.
@@ -187,6 +184,9 @@ public class GameOverDialog extends JDialog {
                 }
                 try {
                     tempScoreboardManager.saveTempScoreboard();
+                } catch (CorruptedFileException ex) {
+                    showErrorDialog(TemporaryScoreboardManager.ENTRIES_FILE_PATH + " is corrupted.\n"
+                            + "Please clear your saved scores to reset the file.");
                 } catch (IOException ioException) {
                     showErrorDialog("Could not save scoreboard entries to "
                             + TemporaryScoreboardManager.ENTRIES_FILE_PATH);
@@ -225,7 +225,7 @@ public class GameOverDialog extends JDialog {
             public void actionPerformed(ActionEvent e) {
                 File file = new File(TemporaryScoreboardManager.ENTRIES_FILE_PATH);
                 try {
-                    Scoreboard scoreboardFromFile = ScoreboardEntryFileReader.readInScoreboardEntries(file);
+                    Scoreboard scoreboardFromFile = ScoreboardLog.read(file);
                     if (scoreboardFromFile.getSize() == 0) {
                         JOptionPane.showMessageDialog(null, "You have no permanently-saved scores.");
                     } else {
@@ -257,7 +257,7 @@ public class GameOverDialog extends JDialog {
                     showErrorDialog(TemporaryScoreboardManager.ENTRIES_FILE_PATH + " is corrupted.\n"
                             + "Please clear your saved scores to reset the file.");
                 } catch (IOException ex) {
-                    showErrorDialog("Could not retrieve saved scores from "
+                    showErrorDialog("Could not read or update saved scores in "
                             + TemporaryScoreboardManager.ENTRIES_FILE_PATH);
                 }
             }
@@ -270,9 +270,9 @@ public class GameOverDialog extends JDialog {
     //          to remove entries from the file. Otherwise, shows a dialog window telling the user they have
     //          no saved scores in the file.
     //          Throws CorruptedFileException if given file is not a valid scoreboard entry file.
-    //          Throws IOException if an I/O error occurs when reading from the file.
+    //          Throws IOException if an I/O error occurs when reading from or writing to the file.
     private void helpUserRemoveScoresFrom(File file) throws CorruptedFileException, IOException {
-        Scoreboard scoreboard = ScoreboardEntryFileReader.readInScoreboardEntries(file);
+        Scoreboard scoreboard = ScoreboardLog.read(file);
         if (scoreboard.getSize() == 0) {
             JOptionPane.showMessageDialog(null, "You have no permanently-saved scores.");
             return;
@@ -280,20 +280,10 @@ public class GameOverDialog extends JDialog {
         int previousSize = scoreboard.getSize();
         new RemoveScoresDialog(scoreboard, "Remove Scores").display();
         if (scoreboard.getSize() < previousSize) {
-            try {
-                Writer writer = new Writer(new PrintWriter(file));
-                List<ScoreboardEntry> entries = scoreboard.getEntries();
-                for (ScoreboardEntry entry : entries) {
-                    writer.write(entry);
-                }
-                writer.close();
-                JOptionPane.showMessageDialog(null, "Successfully removed selected entries "
-                        + "from file " + TemporaryScoreboardManager.ENTRIES_FILE_PATH);
-            } catch (FileNotFoundException e) {
-                // This catch block shouldn't ever execute because the file is guaranteed to exist if
-                // ScoreboardEntryFileReader.readInScoreboardEntries(file) does not throw an exception.
-                showErrorDialog("The file at " + file.getAbsolutePath() + " does not exist.");
-            }
+            // Removing entries is the one case where the whole log is rewritten
+            ScoreboardLog.write(file, scoreboard.getEntries(), tempScoreboardManager.getSyncPolicy());
+            JOptionPane.showMessageDialog(null, "Successfully removed selected entries "
+                    + "from file " + TemporaryScoreboardManager.ENTRIES_FILE_PATH);
         }
     }
 
@@ -329,9 +319,8 @@ public class GameOverDialog extends JDialog {
                         "Are you sure you want to delete all of your saved scores? This operation cannot be undone.",
                         "Clear Saved Scores", JOptionPane.YES_NO_OPTION) == JOptionPane.YES_OPTION) {
                     try {
-                        file.createNewFile();
-                        PrintWriter printWriter = new PrintWriter(file);
-                        printWriter.close();
+                        ScoreboardLog.write(file, new ArrayList<ScoreboardEntry>(),
+                                tempScoreboardManager.getSyncPolicy());
                         JOptionPane.showMessageDialog(null, "All scores in "
                                 + TemporaryScoreboardManager.ENTRIES_FILE_PATH + " have been deleted.");
                     } catch (IOException ioException) {
@@ -0,0 +1,211 @@
+package ui.graphics;
+
+import model.Game;
+import model.InputCommand;
+import replay.ReplayRecorder;
+import simulation.InputQueue;
+
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+
+// Displays the Tetris board using active rendering. Instead of a Swing Timer and repaint requests, a dedicated
+// game loop thread owns the game: it applies queued key presses, advances the game on a fixed timestep whose
+// length comes from Game.getMillisecondsPerUpdate, and presents every frame itself through a BufferStrategy.
+// Frames are paced at FRAMES_PER_SECOND regardless of how busy the event dispatching thread is.
+//
+// The loop measures how long each frame takes to draw and present, and the input-to-photon latency of every key
+// press: the time from the key event reaching handleKeyPressed to the first frame showing its effect.
+public class ActiveBoardCanvas extends Canvas implements Runnable {
+    public static final int FRAMES_PER_SECOND = 60;
+
+    // Delay before the first game update, in milliseconds. Matches the initial delay of BoardPanel's timer.
+    private static final long INITIAL_DELAY_MILLIS = 2000;
+
+    // If the loop falls this many updates behind, it skips ahead rather than trying to catch up
+    private static final int MAXIMUM_UPDATES_PER_FRAME = 5;
+
+    private static final long NANOS_PER_MILLI = 1000000L;
+    private static final long NANOS_PER_FRAME = 1000000000L / FRAMES_PER_SECOND;
+
+    private final Game game;
+
+    // Records the game's inputs and ticks as they are passed on to the game. Only used by the game loop.
+    private final ReplayRecorder recorder;
+    private final BoardRenderer renderer = new BoardRenderer(BoardPanel.TILE_SIDE_LENGTH);
+    // The part of the board drawn each frame, which is the part that fits on the canvas
+    private final Rectangle boardArea = new Rectangle();
+
+    // Key presses waiting to be applied by the game loop, with the time they were received. The event
+    // dispatching thread is the only producer and the game loop is the only consumer.
+    private final InputQueue pendingInputs = new InputQueue();
+
+    // Times that the inputs applied during the current frame were received
+    private final long[] appliedInputTimes = new long[InputQueue.DEFAULT_CAPACITY];
+    private int numAppliedInputs;
+
+    private final FrameStatistics frameTimes = new FrameStatistics();
+    private final FrameStatistics inputLatencies = new FrameStatistics();
+
+    private volatile boolean running;
+    private Thread loopThread;
+
+    // EFFECTS: creates a canvas to display the game being recorded by the given recorder. Inputs and updates are
+    //          passed to the game through the recorder. The game does not advance until start is called.
+    public ActiveBoardCanvas(ReplayRecorder recorder) {
+        this.recorder = recorder;
+        this.game = recorder.getGame();
+        setPreferredSize(BoardPanel.getBoardSize(game));
+        setBackground(Color.WHITE);
+
+        // The frame's key listener handles key presses, so the canvas must not take the keyboard focus
+        setFocusable(false);
+
+        // Frames are drawn by the game loop, not in response to the window system
+        setIgnoreRepaint(true);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: starts the game loop. The canvas must already be displayed in a window.
+    public void start() {
+        createBufferStrategy(2);
+        running = true;
+        loopThread = new Thread(this, "Tetris game loop");
+        loopThread.setDaemon(true);
+        loopThread.start();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops the game loop and waits for it to finish its current frame
+    public void stop() {
+        running = false;
+        if (loopThread != null && loopThread != Thread.currentThread()) {
+            try {
+                loopThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: queues the command for the given key code (see BoardPanel.getCommand) to be applied by the game
+    //          loop at the start of its next frame. Keys that do not control the game are ignored. If the queue is
+    //          full, waits for the game loop to make room rather than losing the key press; once the loop has
+    //          finished, there is nothing left to apply key presses to, so they are ignored.
+    //          Must only be called on the event dispatching thread.
+    public void handleKeyPressed(int keyCode) {
+        InputCommand command = BoardPanel.getCommand(keyCode);
+        if (command == InputCommand.NONE) {
+            return;
+        }
+        long receivedNanos = System.nanoTime();
+        while (!pendingInputs.offer(command, receivedNanos)) {
+            if (loopThread == null || !loopThread.isAlive()) {
+                return;
+            }
+            Thread.yield();
+        }
+    }
+
+    // EFFECTS: returns the times taken by each frame to apply inputs, update the game, and draw and present
+    //          the board
+    public FrameStatistics getFrameTimes() {
+        return frameTimes;
+    }
+
+    // EFFECTS: returns the times from each key press being received to the first frame that shows its effect
+    public FrameStatistics getInputLatencies() {
+        return inputLatencies;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: runs the game loop until stop is called or the game is over, then presents one last frame
+    @Override
+    public void run() {
+        long previousNanos = System.nanoTime();
+        long lagNanos = -INITIAL_DELAY_MILLIS * NANOS_PER_MILLI;
+        while (running && !game.isGameOver()) {
+            long frameStartNanos = System.nanoTime();
+            lagNanos += frameStartNanos - previousNanos;
+            previousNanos = frameStartNanos;
+
+            applyPendingInputs();
+            lagNanos = updateGame(lagNanos);
+            presentFrame(frameStartNanos);
+            sleepUntil(frameStartNanos + NANOS_PER_FRAME);
+        }
+        presentFrame(System.nanoTime());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: applies every queued key press to the game, in the order they were received
+    private void applyPendingInputs() {
+        InputCommand command = pendingInputs.poll();
+        while (command != null) {
+            recorder.execute(command);
+            if (numAppliedInputs < appliedInputTimes.length) {
+                appliedInputTimes[numAppliedInputs] = pendingInputs.getPolledTimestamp();
+                numAppliedInputs++;
+            }
+            command = pendingInputs.poll();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: updates the game once for every whole timestep in lagNanos, and returns the time left over.
+    //          If the game is too far behind, the extra time is dropped.
+    private long updateGame(long lagNanos) {
+        int numUpdates = 0;
+        long stepNanos = game.getMillisecondsPerUpdate() * NANOS_PER_MILLI;
+        while (lagNanos >= stepNanos && !game.isGameOver()) {
+            if (numUpdates == MAXIMUM_UPDATES_PER_FRAME) {
+                return 0;
+            }
+            recorder.update();
+            numUpdates++;
+            lagNanos -= stepNanos;
+            stepNanos = game.getMillisecondsPerUpdate() * NANOS_PER_MILLI;
+        }
+        return lagNanos;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: draws the board into the back buffer and shows it, then records the frame time and the latency of
+    //          the inputs that were applied during this frame
+    private void presentFrame(long frameStartNanos) {
+        // The loop that redraws lost buffers comes from the BufferStrategy documentation:
+        // https://docs.oracle.com/javase/8/docs/api/java/awt/image/BufferStrategy.html
+        BufferStrategy strategy = getBufferStrategy();
+        do {
+            do {
+                Graphics g = strategy.getDrawGraphics();
+                g.setColor(getBackground());
+                g.fillRect(0, 0, getWidth(), getHeight());
+                boardArea.setSize(getWidth(), getHeight());
+                renderer.paint(g, game, boardArea);
+                g.dispose();
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+        Toolkit.getDefaultToolkit().sync();
+
+        long presentedNanos = System.nanoTime();
+        frameTimes.record(presentedNanos - frameStartNanos);
+        for (int i = 0; i < numAppliedInputs; i++) {
+            inputLatencies.record(presentedNanos - appliedInputTimes[i]);
+        }
+        numAppliedInputs = 0;
+    }
+
+    // EFFECTS: sleeps until System.nanoTime() reaches the given time, or until the thread is interrupted
+    private void sleepUntil(long wakeNanos) {
+        long remainingNanos = wakeNanos - System.nanoTime();
+        if (remainingNanos > 0) {
+            try {
+                Thread.sleep(remainingNanos / NANOS_PER_MILLI, (int) (remainingNanos % NANOS_PER_MILLI));
+            } catch (InterruptedException e) {
+                running = false;
+            }
+        }
+    }
+}
@@ -1,36 +1,81 @@
 package ui.graphics;
 
 import model.Game;
+import model.InputCommand;
+import model.event.GameAdapter;
 import model.pieces.Piece;
+import model.pieces.PieceShape;
+import replay.ReplayRecorder;
+import simulation.InputQueue;
 
 import javax.swing.*;
 import javax.swing.Timer;
 import java.awt.*;
 import java.awt.event.*;
 import java.util.*;
-import java.util.List;
 
 // Represents the panel that displays the Tetris board.
-public class BoardPanel extends JPanel implements Observer {
+// Rather than repainting the whole board after every key press and tick, the panel remembers where it last
+// drew the active piece and its hard drop preview, and only repaints the cells that either of them left or
+// entered, along with any rows that moved because of a line clear. Boards of any size can be shown: when the
+// panel is in a scroll pane, only the part of those cells that is scrolled into view is repainted.
+//
+// Key presses do not change the game directly. They are queued, and the queue is emptied at the start of every
+// tick, so inputs and updates reach the game in one deterministic order. Besides the gravity ticks, a short input
+// tick empties the queue so that key presses are not held back until the next gravity tick.
+public class BoardPanel extends JPanel {
     // Side length of a tetromino tile, in pixels
     public static final int TILE_SIDE_LENGTH = 30;
 
-    public static final int WIDTH = Game.WIDTH * TILE_SIDE_LENGTH;
-    public static final int HEIGHT = Game.HEIGHT * TILE_SIDE_LENGTH;
+    // Time between input ticks, in milliseconds. Matches the frame rate of ActiveBoardCanvas.
+    public static final int INPUT_TICK_MILLIS = 1000 / ActiveBoardCanvas.FRAMES_PER_SECOND;
 
     private Game game;
 
+    // Records the game's key presses and ticks as they are passed on to the game
+    private ReplayRecorder recorder;
+
+    // Draws the board's cells
+    private BoardRenderer renderer = new BoardRenderer(TILE_SIDE_LENGTH);
+
     // The timer that advances the game forward at set intervals
     private Timer timer;
 
-    // EFFECTS: creates a new BoardPanel to display the given game
-    public BoardPanel(Game game) {
-        this.game = game;
-        game.addObserver(this);
+    // The timer that applies queued key presses between the game's updates
+    private Timer inputTimer;
+
+    // Key presses waiting to be applied at the start of the next tick. The key listener and both timers run on the
+    // event dispatching thread, so it is both the producer and the consumer.
+    private final InputQueue pendingInputs = new InputQueue();
+
+    // The cells covered by the active piece when it was last repainted
+    private int[] paintedTileXs = new int[PieceShape.NUM_TILES];
+    private int[] paintedTileYs = new int[PieceShape.NUM_TILES];
+
+    // The cells covered by the hard drop preview when it was last repainted
+    private Set<Point> paintedHardDropTileLocations;
+
+    // The rows and columns of the cells that need to be repainted. The region is empty if dirtyMinRow > dirtyMaxRow.
+    private int dirtyMinRow;
+    private int dirtyMaxRow;
+    private int dirtyMinColumn;
+    private int dirtyMaxColumn;
+
+    // The lowest row covered by the piece that most recently locked into place
+    private int lockedPieceBottomRow;
+
+    // EFFECTS: creates a new BoardPanel to display the game being recorded by the given recorder.
+    //          Queued key presses and timer ticks are passed to the game through the recorder.
+    public BoardPanel(ReplayRecorder recorder) {
+        this.recorder = recorder;
+        this.game = recorder.getGame();
+        game.addGameListener(new BoardUpdater());
+        clearDirtyRegion();
+        rememberPaintedCells();
 
         // I learned about the difference between setSize and setPreferredSize from StackOverflow.
         // https://stackoverflow.com/questions/1783793/java-difference-between-the-setpreferredsize-and-setsize-methods-in-compone
-        setPreferredSize(new Dimension(WIDTH, HEIGHT));
+        setPreferredSize(getBoardSize(game));
 
         initTimer();
 
@@ -38,146 +83,206 @@ public class BoardPanel extends JPanel implements Observer {
     }
 
     // MODIFIES: this
-    // EFFECTS: handles a key press given the key code.
+    // EFFECTS: handles a key press given the key code by queueing its command to be applied at the start of the
+    //          next input or gravity tick.
     //          If the up arrow key is pressed, rotates the active piece 90 degrees clockwise.
     //          If the down arrow key is pressed, moves the active piece down one tile.
     //          If the left arrow key is pressed, moves the active piece left.
     //          If the right arrow key is pressed, moves the active piece right.
     //          If the space key is pressed, hard drops the active piece.
+    //          If the queue is full, the key presses already in it are applied first, so none are lost.
     public void handleKeyPressed(int keyCode) {
         // Adapted from the keyPressed method in the SIGame class in the SpaceInvaders repository
         // https://github.students.cs.ubc.ca/CPSC210/B02-SpaceInvadersBase/blob/master/src/main/ca/ubc/cpsc210/spaceinvaders/model/SIGame.java
-        Piece activePiece = game.getActivePiece();
+        InputCommand command = getCommand(keyCode);
+        if (command == InputCommand.NONE) {
+            return;
+        }
+        // The timers that empty the queue run on this thread, so waiting for them to make room would never end
+        if (!pendingInputs.offer(command, System.nanoTime())) {
+            applyPendingInputs();
+            pendingInputs.offer(command, System.nanoTime());
+        }
+    }
 
+    // EFFECTS: returns the command that corresponds to the given key code, or InputCommand.NONE if the key
+    //          does not control the game.
+    public static InputCommand getCommand(int keyCode) {
         if (keyCode == KeyEvent.VK_UP || keyCode == KeyEvent.VK_KP_UP) {
-            activePiece.rotate();
+            return InputCommand.ROTATE;
         } else if (keyCode == KeyEvent.VK_DOWN || keyCode == KeyEvent.VK_KP_DOWN) {
-            activePiece.moveDown();
+            return InputCommand.MOVE_DOWN;
         } else if (keyCode == KeyEvent.VK_LEFT || keyCode == KeyEvent.VK_KP_LEFT) {
-            activePiece.moveLeft();
+            return InputCommand.MOVE_LEFT;
         } else if (keyCode == KeyEvent.VK_RIGHT || keyCode == KeyEvent.VK_KP_RIGHT) {
-            activePiece.moveRight();
+            return InputCommand.MOVE_RIGHT;
         } else if (keyCode == KeyEvent.VK_SPACE) {
-            hardDropActivePiece();
+            return InputCommand.HARD_DROP;
+        } else {
+            return InputCommand.NONE;
         }
+    }
 
-        repaint();
+    // EFFECTS: returns the size, in pixels, of the area that the given game's board takes up on screen
+    public static Dimension getBoardSize(Game game) {
+        return new Dimension(game.getWidth() * TILE_SIDE_LENGTH, game.getHeight() * TILE_SIDE_LENGTH);
     }
 
     // EFFECTS: paints the board panel. The board appears as a grid, with the occupied
     //          cells filled in. An occupied cell is coloured red if it holds a tile of
     //          the active piece. Otherwise, an occupied cell is coloured black.
+    //          The cells where the active piece would land if it were hard dropped are
+    //          filled in with a translucent red.
+    //          Only the cells that overlap the graphics context's clip are painted.
     @Override
     public void paintComponent(Graphics g) {
         super.paintComponent(g);
-        List<ArrayList<Boolean>> board = game.getBoard();
-
-        // https://stackoverflow.com/questions/34036216/drawing-java-grid-using-swing taught me how
-        // to draw a grid of rectangles.
-        for (int r = 0; r < board.size(); r++) {
-            ArrayList<Boolean> row = board.get(r);
-            for (int c = 0; c < row.size(); c++) {
-                if (cellShouldBeFilledWithColour(r, c)) {
-                    drawColouredCell(g, r, c);
-                } else {
-                    g.setColor(Color.BLACK);
-                    g.drawRect(c * TILE_SIDE_LENGTH, r * TILE_SIDE_LENGTH, TILE_SIDE_LENGTH, TILE_SIDE_LENGTH);
-                }
-            }
-        }
-    }
-
-    // MODIFIES: this
-    // EFFECTS: if observable is an instance of Game, then updates the timer's delay between ticks
-    //          to reflect changes in the game's level. The arg parameter is ignored.
-    @Override
-    public void update(Observable observable, Object arg) {
-        if (observable instanceof Game) {
-            timer.setDelay(getMillisecondsPerUpdate());
-        }
+        renderer.paint(g, game, g.getClipBounds());
     }
 
     // MODIFIES: this
-    // EFFECTS: immediately drops the active piece in the game straight down as far as it can go.
-    //          In Tetris, we call this action a "hard drop".
-    private void hardDropActivePiece() {
-        Piece activePiece = game.getActivePiece();
-        boolean movedDown = activePiece.moveDown();
-        while (movedDown) {
-            movedDown = activePiece.moveDown();
-        }
-        game.update();
-    }
-
-    // MODIFIES: this
-    // EFFECTS: initializes the timer that advances the game at set intervals.
+    // EFFECTS: initializes the timer that advances the game at set intervals, and the timer that applies queued
+    //          key presses between the game's updates. Each tick applies the queued key presses first.
     private void initTimer() {
         // The following webpage taught me how to make a Timer:
         // https://docs.oracle.com/javase/7/docs/api/javax/swing/Timer.html
         ActionListener gameUpdater = new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                game.update();
-                repaint();
+                applyPendingInputs();
+                recorder.update();
+                repaintChangedCells();
+            }
+        };
+        ActionListener inputApplier = new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                if (applyPendingInputs()) {
+                    repaintChangedCells();
+                }
             }
         };
 
-        timer = new Timer(getMillisecondsPerUpdate(), gameUpdater);
+        timer = new Timer(game.getMillisecondsPerUpdate(), gameUpdater);
         timer.setInitialDelay(2000);
         timer.start();
+        inputTimer = new Timer(INPUT_TICK_MILLIS, inputApplier);
+        inputTimer.start();
     }
 
-    // EFFECTS: returns true if the cell at the given row and column is occupied by a tile, or is the
-    //          location of a point in game.getActivePiece().getHardDropTileLocations(). Returns false otherwise.
-    private boolean cellShouldBeFilledWithColour(int row, int column) {
-        return game.isCellOccupied(column, row)
-                || game.getActivePiece().getHardDropTileLocations().contains(new Point(column, row));
+    // MODIFIES: this
+    // EFFECTS: applies every queued key press to the game, in the order they were received, and returns true if
+    //          there were any
+    private boolean applyPendingInputs() {
+        boolean applied = false;
+        InputCommand command = pendingInputs.poll();
+        while (command != null) {
+            recorder.execute(command);
+            applied = true;
+            command = pendingInputs.poll();
+        }
+        return applied;
     }
 
-    // EFFECTS: draws the cell at the given row and column, assuming that the cell should be filled with colour.
-    //          This method has no effect otherwise.
-    private void drawColouredCell(Graphics g, int row, int column) {
-        if (!cellShouldBeFilledWithColour(row, column)) {
-            return;
+    // MODIFIES: this
+    // EFFECTS: repaints the cells that the active piece and its hard drop preview covered when they were last
+    //          repainted and the cells that they cover now, along with any other cells marked as dirty since the
+    //          last repaint. Cells that nothing changed, or that are scrolled out of view, are not repainted.
+    private void repaintChangedCells() {
+        for (int i = 0; i < PieceShape.NUM_TILES; i++) {
+            markCellDirty(paintedTileYs[i], paintedTileXs[i]);
+        }
+        for (Point p : paintedHardDropTileLocations) {
+            markCellDirty(p.y, p.x);
+        }
+        rememberPaintedCells();
+        for (int i = 0; i < PieceShape.NUM_TILES; i++) {
+            markCellDirty(paintedTileYs[i], paintedTileXs[i]);
+        }
+        for (Point p : paintedHardDropTileLocations) {
+            markCellDirty(p.y, p.x);
         }
 
-        Set<Point> activeTileLocations = game.getActivePiece().getTileLocations();
-        Set<Point> hardDropTileLocations = game.getActivePiece().getHardDropTileLocations();
+        if (dirtyMinRow <= dirtyMaxRow) {
+            // Cell outlines extend one pixel past the bottom and right edges of the cell
+            Rectangle dirty = new Rectangle(dirtyMinColumn * TILE_SIDE_LENGTH, dirtyMinRow * TILE_SIDE_LENGTH,
+                    (dirtyMaxColumn - dirtyMinColumn + 1) * TILE_SIDE_LENGTH + 1,
+                    (dirtyMaxRow - dirtyMinRow + 1) * TILE_SIDE_LENGTH + 1);
+            Rectangle visibleDirty = dirty.intersection(getVisibleRect());
+            if (!visibleDirty.isEmpty()) {
+                repaint(visibleDirty);
+            }
+            clearDirtyRegion();
+        }
+    }
 
-        if (activeTileLocations.contains(new Point(column, row))) {
-            g.setColor(Color.RED);
-        } else if (hardDropTileLocations.contains(new Point(column, row))) {
-            // https://stackoverflow.com/a/8111007/3335320 taught me how to decrease a colour's opacity.
-            g.setColor(new Color(Color.RED.getRed(), Color.RED.getBlue(), Color.RED.getGreen(), 127));
-        } else {
-            g.setColor(Color.BLACK);
+    // MODIFIES: this
+    // EFFECTS: remembers the cells that the active piece and its hard drop preview currently cover
+    private void rememberPaintedCells() {
+        Piece activePiece = game.getActivePiece();
+        for (int i = 0; i < PieceShape.NUM_TILES; i++) {
+            paintedTileXs[i] = activePiece.getTileX(i);
+            paintedTileYs[i] = activePiece.getTileY(i);
         }
+        paintedHardDropTileLocations = activePiece.getHardDropTileLocations();
+    }
 
-        g.fillRect(column * TILE_SIDE_LENGTH, row * TILE_SIDE_LENGTH, TILE_SIDE_LENGTH, TILE_SIDE_LENGTH);
-        if (g.getColor() == Color.BLACK) {
-            g.setColor(Color.WHITE);
-        } else {
-            g.setColor(Color.BLACK);
+    // MODIFIES: this
+    // EFFECTS: adds the cell at the given row and column to the region that will be repainted next.
+    //          Cells that are not on the board are ignored.
+    private void markCellDirty(int row, int column) {
+        if (row < 0 || row >= game.getHeight() || column < 0 || column >= game.getWidth()) {
+            return;
         }
-        g.drawRect(column * TILE_SIDE_LENGTH, row * TILE_SIDE_LENGTH, TILE_SIDE_LENGTH, TILE_SIDE_LENGTH);
+        dirtyMinRow = Math.min(dirtyMinRow, row);
+        dirtyMaxRow = Math.max(dirtyMaxRow, row);
+        dirtyMinColumn = Math.min(dirtyMinColumn, column);
+        dirtyMaxColumn = Math.max(dirtyMaxColumn, column);
     }
 
-    // EFFECTS: returns the number of milliseconds between consecutive game updates.
-    //          We will refer to this number as MSPU (milliseconds per update). Generally,
-    //          as the game level increases, the MSPU decreases in order to make pieces
-    //          fall faster. The MSPU decreases linearly from levels 0 to 18, is held constant
-    //          between levels 19 and 28, and reaches its lowest value at level 29.
-    //
-    //          The MSPU values are very loosely based on the "frames per gridcell" values given
-    //          in the Details section of the following webpage: https://tetris.wiki/Tetris_(NES,_Nintendo)
-    private int getMillisecondsPerUpdate() {
-        int level = game.getLevel();
-        if (0 <= level && level <= 18) {
-            return 1000 - 52 * level;
-        } else if (19 <= level && level <= 28) {
-            return 40;
-        } else {
-            return 20;
+    // MODIFIES: this
+    // EFFECTS: empties the region that will be repainted next
+    private void clearDirtyRegion() {
+        dirtyMinRow = game.getHeight();
+        dirtyMaxRow = -1;
+        dirtyMinColumn = game.getWidth();
+        dirtyMaxColumn = -1;
+    }
+
+    // Marks the cells that changed because a piece locked into place
+    private class BoardUpdater extends GameAdapter {
+        // MODIFIES: BoardPanel.this
+        // EFFECTS: marks the locked piece's cells as dirty, since they are no longer part of the active piece
+        @Override
+        public void pieceLocked(Game game, Piece lockedPiece) {
+            lockedPieceBottomRow = 0;
+            for (int i = 0; i < PieceShape.NUM_TILES; i++) {
+                markCellDirty(lockedPiece.getTileY(i), lockedPiece.getTileX(i));
+                lockedPieceBottomRow = Math.max(lockedPieceBottomRow, lockedPiece.getTileY(i));
+            }
+        }
+
+        // MODIFIES: BoardPanel.this
+        // EFFECTS: marks every row at or above the lowest cleared row as dirty, since those rows have moved
+        @Override
+        public void linesCleared(Game game, int numLines, int pointsEarned) {
+            markCellDirty(0, 0);
+            markCellDirty(Math.min(lockedPieceBottomRow, game.getHeight() - 1), game.getWidth() - 1);
+        }
+
+        // MODIFIES: BoardPanel.this
+        // EFFECTS: updates the timer's delay between ticks to match the new level
+        @Override
+        public void levelChanged(Game game, int oldLevel, int newLevel) {
+            timer.setDelay(game.getMillisecondsPerUpdate());
+        }
+
+        // MODIFIES: BoardPanel.this
+        // EFFECTS: stops both timers, since the game can no longer change
+        @Override
+        public void gameOver(Game game) {
+            timer.stop();
+            inputTimer.stop();
         }
     }
 }
@@ -0,0 +1,74 @@
+package ui.graphics;
+
+import model.Game;
+import model.board.Board;
+import model.pieces.Piece;
+import model.pieces.PieceShape;
+
+import java.awt.*;
+
+// Draws the cells of a game's board with TileSprites. The board appears as a grid, with the occupied
+// cells filled in. An occupied cell is coloured red if it holds a tile of the active piece. Otherwise,
+// an occupied cell is coloured black. The cells where the active piece would land if it were hard dropped
+// are filled in with a translucent red.
+public class BoardRenderer {
+    private final int tileSideLength;
+    private final TileSprites sprites;
+
+    // EFFECTS: creates a renderer that draws cells with the given side length, in pixels
+    public BoardRenderer(int tileSideLength) {
+        this.tileSideLength = tileSideLength;
+        this.sprites = TileSprites.getInstance(tileSideLength);
+    }
+
+    // EFFECTS: draws the cells of the given game's board that overlap the given area, in pixels.
+    //          The cell in the upper-left corner of the board is drawn at (0, 0).
+    public void paint(Graphics g, Game game, Rectangle area) {
+        Board board = game.getPlayfield();
+        Piece activePiece = game.getActivePiece();
+
+        // Each cell's outline is drawn one pixel past its bottom and right edges, so include the cells above and
+        // to the left of the area
+        int firstRow = Math.max(0, (area.y - 1) / tileSideLength);
+        int lastRow = Math.min(board.getHeight() - 1, (area.y + area.height) / tileSideLength);
+        int firstColumn = Math.max(0, (area.x - 1) / tileSideLength);
+        int lastColumn = Math.min(board.getWidth() - 1, (area.x + area.width) / tileSideLength);
+
+        // https://stackoverflow.com/questions/34036216/drawing-java-grid-using-swing taught me how
+        // to draw a grid of rectangles.
+        for (int r = firstRow; r <= lastRow; r++) {
+            for (int c = firstColumn; c <= lastColumn; c++) {
+                if (!board.isCellOccupied(c, r)) {
+                    drawCell(g, r, c, TileSprites.TileType.EMPTY);
+                } else if (isActiveTile(activePiece, r, c)) {
+                    drawCell(g, r, c, TileSprites.TileType.ACTIVE);
+                } else {
+                    drawCell(g, r, c, TileSprites.TileType.LOCKED);
+                }
+            }
+        }
+
+        // The hard drop preview is cached by the active piece, so it is only recomputed after the piece
+        // moves or the board changes, rather than once per cell.
+        for (Point p : activePiece.getHardDropTileLocations()) {
+            if (!board.isCellOccupied(p.x, p.y)) {
+                drawCell(g, p.y, p.x, TileSprites.TileType.HARD_DROP_PREVIEW);
+            }
+        }
+    }
+
+    // EFFECTS: returns true if the cell at the given row and column holds a tile of the given active piece
+    private boolean isActiveTile(Piece activePiece, int row, int column) {
+        for (int i = 0; i < PieceShape.NUM_TILES; i++) {
+            if (activePiece.getTileX(i) == column && activePiece.getTileY(i) == row) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // EFFECTS: draws the sprite for the given type of cell at the given row and column
+    private void drawCell(Graphics g, int row, int column, TileSprites.TileType type) {
+        sprites.draw(g, type, column * tileSideLength, row * tileSideLength);
+    }
+}
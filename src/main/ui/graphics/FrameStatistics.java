@@ -0,0 +1,47 @@
+package ui.graphics;
+
+// Summarizes a series of durations measured by the game loop, such as frame times or input latencies.
+// Durations are recorded by the game loop's thread and may be read from any other thread.
+public class FrameStatistics {
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    private long count;
+    private long totalNanos;
+    private long maxNanos;
+    private long lastNanos;
+
+    // MODIFIES: this
+    // EFFECTS: records a duration of the given number of nanoseconds
+    public synchronized void record(long nanos) {
+        count++;
+        totalNanos += nanos;
+        maxNanos = Math.max(maxNanos, nanos);
+        lastNanos = nanos;
+    }
+
+    // EFFECTS: returns the number of durations recorded
+    public synchronized long getCount() {
+        return count;
+    }
+
+    // EFFECTS: returns the mean of the recorded durations in milliseconds, or 0 if none have been recorded
+    public synchronized double getMeanMillis() {
+        return count == 0 ? 0 : totalNanos / NANOS_PER_MILLI / count;
+    }
+
+    // EFFECTS: returns the longest recorded duration in milliseconds, or 0 if none have been recorded
+    public synchronized double getMaxMillis() {
+        return maxNanos / NANOS_PER_MILLI;
+    }
+
+    // EFFECTS: returns the most recently recorded duration in milliseconds, or 0 if none have been recorded
+    public synchronized double getLastMillis() {
+        return lastNanos / NANOS_PER_MILLI;
+    }
+
+    // EFFECTS: returns a one-line summary of the recorded durations
+    @Override
+    public synchronized String toString() {
+        return String.format("%d samples, mean %.2f ms, max %.2f ms", count, getMeanMillis(), getMaxMillis());
+    }
+}
@@ -2,16 +2,22 @@ package ui.graphics;
 
 
 import model.Game;
+import model.event.GameAdapter;
+import model.pieces.Piece;
 
 import javax.swing.*;
 import java.awt.*;
-import java.util.Observable;
-import java.util.Observer;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
 
 // Represents the panel that tells the user information about a Tetris game. The
 // panel tells the user their current score, level, and lines cleared, as well as
-// what the next piece is.
-public class GameInfoPanel extends JPanel implements Observer {
+// what the next piece is. With active rendering, it can also show the measured
+// frame time and input-to-photon latency.
+public class GameInfoPanel extends JPanel {
+    // Time between refreshes of the rendering statistics, in milliseconds
+    public static final int STATISTICS_REFRESH_MILLIS = 500;
+
     private Game game;
 
     private JLabel scoreLabel;
@@ -20,6 +26,13 @@ public class GameInfoPanel extends JPanel implements Observer {
     private JLabel nextPieceLabel;
     private NextPiecePanel nextPiecePanel;
 
+    // Only used once showRenderingStatistics has been called
+    private FrameStatistics frameTimes;
+    private FrameStatistics inputLatencies;
+    private JLabel frameTimeLabel;
+    private JLabel inputLatencyLabel;
+    private Timer statisticsTimer;
+
     // EFFECTS: constructs a new GameInfoPanel for the given game
     public GameInfoPanel(Game game) {
         super();
@@ -27,7 +40,7 @@ public class GameInfoPanel extends JPanel implements Observer {
         setLayout(new BoxLayout(this, BoxLayout.Y_AXIS));
 
         this.game = game;
-        game.addObserver(this);
+        game.addGameListener(new GameInfoUpdater());
 
         scoreLabel = new JLabel("Score: " + game.getScore());
         scoreLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
@@ -56,19 +69,111 @@ public class GameInfoPanel extends JPanel implements Observer {
     }
 
     // MODIFIES: this
-    // EFFECTS: if observable is an instance of Game, then updates the game information shown by this panel
-    //          to reflect the changes in the Observable. The arg parameter is ignored.
-    @Override
-    public void update(Observable observable, Object arg) {
-        if (observable instanceof Game) {
-            Game observedGame = (Game) observable;
-            scoreLabel.setText("Score: " + observedGame.getScore());
-            linesClearedLabel.setText("Lines cleared: " + observedGame.getLinesCleared());
-            levelLabel.setText("Level: " + observedGame.getLevel());
-            nextPieceLabel.setText("Next piece: ");
-            nextPiecePanel.setNextPiece(observedGame.getNextPiece());
+    // EFFECTS: adds labels that show the mean and longest of the given frame times and input latencies, which are
+    //          refreshed every STATISTICS_REFRESH_MILLIS until the game is over.
+    //          Must only be called once, on the event dispatching thread.
+    public void showRenderingStatistics(FrameStatistics frameTimes, FrameStatistics inputLatencies) {
+        this.frameTimes = frameTimes;
+        this.inputLatencies = inputLatencies;
+
+        frameTimeLabel = new JLabel();
+        frameTimeLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
+        inputLatencyLabel = new JLabel();
+        inputLatencyLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
+        refreshRenderingStatistics();
+
+        add(Box.createRigidArea(new Dimension(0, 20)));
+        add(frameTimeLabel);
+        add(Box.createRigidArea(new Dimension(0, 20)));
+        add(inputLatencyLabel);
+
+        statisticsTimer = new Timer(STATISTICS_REFRESH_MILLIS, new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                refreshRenderingStatistics();
+            }
+        });
+        statisticsTimer.start();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: shows the current frame time and input latency statistics
+    private void refreshRenderingStatistics() {
+        frameTimeLabel.setText(String.format("Frame time: %.1f ms (max %.1f ms)",
+                frameTimes.getMeanMillis(), frameTimes.getMaxMillis()));
+        inputLatencyLabel.setText(String.format("Input latency: %.1f ms (max %.1f ms)",
+                inputLatencies.getMeanMillis(), inputLatencies.getMaxMillis()));
+    }
+
+    // EFFECTS: runs the given task on the event dispatching thread. The task runs immediately if this is called
+    //          from that thread, and later otherwise.
+    private static void runOnEventDispatchThread(Runnable task) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            task.run();
+        } else {
+            SwingUtilities.invokeLater(task);
         }
+    }
 
-        repaint();
+    // Updates only the parts of the panel that an event changed. Labels repaint themselves when their text
+    // is set, so the panel as a whole is never repainted.
+    // Events may come from a game loop thread (see ActiveBoardCanvas), so the values to show are read from the
+    // game when the event arrives and the components are updated on the event dispatching thread.
+    private class GameInfoUpdater extends GameAdapter {
+        // MODIFIES: GameInfoPanel.this
+        // EFFECTS: shows the game's new next piece
+        @Override
+        public void pieceLocked(Game game, Piece lockedPiece) {
+            final Piece nextPiece = game.getNextPiece();
+            runOnEventDispatchThread(new Runnable() {
+                @Override
+                public void run() {
+                    nextPiecePanel.setNextPiece(nextPiece);
+                    nextPiecePanel.repaint();
+                }
+            });
+        }
+
+        // MODIFIES: GameInfoPanel.this
+        // EFFECTS: shows the game's new score and number of lines cleared
+        @Override
+        public void linesCleared(Game game, int numLines, int pointsEarned) {
+            final int score = game.getScore();
+            final int linesCleared = game.getLinesCleared();
+            runOnEventDispatchThread(new Runnable() {
+                @Override
+                public void run() {
+                    scoreLabel.setText("Score: " + score);
+                    linesClearedLabel.setText("Lines cleared: " + linesCleared);
+                }
+            });
+        }
+
+        // MODIFIES: GameInfoPanel.this
+        // EFFECTS: shows the game's new level
+        @Override
+        public void levelChanged(Game game, int oldLevel, final int newLevel) {
+            runOnEventDispatchThread(new Runnable() {
+                @Override
+                public void run() {
+                    levelLabel.setText("Level: " + newLevel);
+                }
+            });
+        }
+
+        // MODIFIES: GameInfoPanel.this
+        // EFFECTS: shows the final rendering statistics, if they are shown, and stops refreshing them
+        @Override
+        public void gameOver(Game game) {
+            runOnEventDispatchThread(new Runnable() {
+                @Override
+                public void run() {
+                    if (statisticsTimer != null) {
+                        refreshRenderingStatistics();
+                        statisticsTimer.stop();
+                    }
+                }
+            });
+        }
     }
 }
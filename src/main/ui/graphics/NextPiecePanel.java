@@ -1,6 +1,5 @@
 package ui.graphics;
 
-import model.Game;
 import model.pieces.Piece;
 
 import javax.swing.*;
@@ -11,6 +10,9 @@ import java.util.Set;
 public class NextPiecePanel extends JPanel {
     private Piece nextPiece;
 
+    // Pre-rendered images of the piece's tiles
+    private TileSprites sprites = TileSprites.getInstance(BoardPanel.TILE_SIDE_LENGTH);
+
     // EFFECTS: constructs a NextPiecePanel to display the given next piece
     public NextPiecePanel(Piece nextPiece) {
         this.nextPiece = nextPiece;
@@ -22,12 +24,14 @@ public class NextPiecePanel extends JPanel {
         this.nextPiece = nextPiece;
     }
 
-    // EFFECTS: draws the next piece
+    // EFFECTS: draws the next piece. Clears the panel first, since it can be repainted on its own when the
+    //          next piece changes.
     @Override
     public void paintComponent(Graphics g) {
+        super.paintComponent(g);
         Set<Point> tileLocations = nextPiece.getTileLocations();
 
-        int lowestXPosition = Game.WIDTH;
+        int lowestXPosition = Integer.MAX_VALUE;
         for (Point point : tileLocations) {
             if (point.x < lowestXPosition) {
                 lowestXPosition = point.x;
@@ -35,16 +39,9 @@ public class NextPiecePanel extends JPanel {
         }
 
         for (Point point : tileLocations) {
-            g.setColor(Color.RED);
-            g.fillRect((point.x - lowestXPosition) * BoardPanel.TILE_SIDE_LENGTH,
-                    point.y * BoardPanel.TILE_SIDE_LENGTH,
-                    BoardPanel.TILE_SIDE_LENGTH,
-                    BoardPanel.TILE_SIDE_LENGTH);
-            g.setColor(Color.BLACK);
-            g.drawRect((point.x - lowestXPosition) * BoardPanel.TILE_SIDE_LENGTH,
-                    point.y * BoardPanel.TILE_SIDE_LENGTH,
-                    BoardPanel.TILE_SIDE_LENGTH,
-                    BoardPanel.TILE_SIDE_LENGTH);
+            sprites.draw(g, TileSprites.TileType.ACTIVE,
+                    (point.x - lowestXPosition) * BoardPanel.TILE_SIDE_LENGTH,
+                    point.y * BoardPanel.TILE_SIDE_LENGTH);
         }
     }
 }
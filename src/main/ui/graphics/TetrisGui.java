@@ -1,6 +1,11 @@
 package ui.graphics;
 
+import exceptions.CorruptedFileException;
 import model.Game;
+import model.event.GameAdapter;
+import replay.ReplayFormat;
+import replay.ReplayRecorder;
+import ui.Main;
 import ui.dialog.GameOverDialog;
 import ui.dialog.PreGameDialog;
 import ui.util.TemporaryScoreboardManager;
@@ -14,19 +19,32 @@ import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
-import java.util.Observable;
-import java.util.Observer;
+import java.io.OutputStream;
 import java.util.Random;
 
 // Represents the main GUI window.
-public class TetrisGui extends JFrame implements Observer {
+public class TetrisGui extends JFrame {
     /* Code adapted from SimpleDrawingPlayer-Complete's DrawingEditor class.
      * https://github.students.cs.ubc.ca/CPSC210/SimpleDrawingPlayer-Complete/blob/master/src/ui/DrawingEditor.java
      */
 
+    // Set this system property to true to display the board with active rendering (see ActiveBoardCanvas)
+    public static final String ACTIVE_RENDERING_PROPERTY = "tetris.activeRendering";
+
+    // Replays of finished games are saved to this directory
+    public static final String REPLAY_DIRECTORY_PATH = Main.TETRIS_DIRECTORY + "\\data\\replays";
+
     private Game game;
+    private ReplayRecorder recorder;
+
+    // Exactly one of these displays the board, depending on whether active rendering is on
     private BoardPanel boardPanel;
+    private ActiveBoardCanvas boardCanvas;
+
     private GameInfoPanel gameInfoPanel;
     private TemporaryScoreboardManager tempScoreboardManager = TemporaryScoreboardManager.getInstance();
     private ThemeSongPlayer player = ThemeSongPlayer.getInstance();
@@ -50,7 +68,11 @@ public class TetrisGui extends JFrame implements Observer {
         addKeyListener(new KeyAdapter() {
             @Override
             public void keyPressed(KeyEvent e) {
-                boardPanel.handleKeyPressed(e.getKeyCode());
+                if (boardCanvas != null) {
+                    boardCanvas.handleKeyPressed(e.getKeyCode());
+                } else {
+                    boardPanel.handleKeyPressed(e.getKeyCode());
+                }
             }
         });
 
@@ -71,6 +93,9 @@ public class TetrisGui extends JFrame implements Observer {
     public void startNewGame(int startingLevel) {
         // https://stackoverflow.com/questions/9347076/how-to-remove-all-components-from-a-jframe-in-java taught me
         // how to remove all components from the window
+        if (boardCanvas != null) {
+            boardCanvas.stop();
+        }
         this.getContentPane().removeAll();
         initFields(startingLevel);
         initGraphics();
@@ -95,23 +120,31 @@ public class TetrisGui extends JFrame implements Observer {
     }
 
     // MODIFIES: this
-    // EFFECTS: if observable is an instance of Game, checks to see if the game is over.
-    //          If the game is over, then stops playing the Tetris theme, and creates and shows a dialog that:
+    // EFFECTS: handles the end of the given game. Stops playing the Tetris theme, and creates and shows a
+    //          dialog that:
     //           - tells the user that the game is over
     //           - shows the user their final score and number of lines cleared
     //           - displays buttons that the user can press to indicate their next action
-    //          The arg parameter is ignored.
-    @Override
-    public void update(Observable observable, Object arg) {
-        if (observable instanceof Game) {
-            Game observedGame = (Game) observable;
-
-            if (observedGame.isGameOver()) {
-                // Repaints all components of the JFrame, according to https://stackoverflow.com/a/11708728/3335320
-                repaint();
-                player.stop();
-                new GameOverDialog(observedGame, this);
-            }
+    private void handleGameOver(Game endedGame) {
+        saveReplay();
+
+        // Repaints all components of the JFrame, according to https://stackoverflow.com/a/11708728/3335320
+        repaint();
+        player.stop();
+        new GameOverDialog(endedGame, this);
+    }
+
+    // EFFECTS: saves the replay of the current game to a new file in REPLAY_DIRECTORY_PATH, named after the
+    //          current time. Tells the user if the replay could not be saved.
+    private void saveReplay() {
+        File replayDirectory = new File(REPLAY_DIRECTORY_PATH);
+        File replayFile = new File(replayDirectory, System.currentTimeMillis() + ".replay");
+        replayDirectory.mkdirs();
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(replayFile))) {
+            ReplayFormat.write(recorder.getReplay(), out);
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(null, "Could not save the replay of this game to " + replayFile,
+                    "An Error Occurred", JOptionPane.ERROR_MESSAGE);
         }
     }
 
@@ -134,7 +167,7 @@ public class TetrisGui extends JFrame implements Observer {
                             "Save Scoreboard", JOptionPane.YES_NO_OPTION) == JOptionPane.YES_OPTION) {
                         try {
                             tempScoreboardManager.saveTempScoreboard();
-                        } catch (IOException ioException) {
+                        } catch (CorruptedFileException | IOException ioException) {
                             JOptionPane.showMessageDialog(null, "Could not save scoreboard entries to "
                                     + TemporaryScoreboardManager.ENTRIES_FILE_PATH,
                                     "An Error Occurred", JOptionPane.ERROR_MESSAGE);
@@ -152,21 +185,50 @@ public class TetrisGui extends JFrame implements Observer {
     //          is initialized to have the specified starting level.
     private void initFields(int gameStartingLevel) {
         game = new Game(new Random().nextInt(), gameStartingLevel);
-        boardPanel = new BoardPanel(game);
+        recorder = new ReplayRecorder(game);
         gameInfoPanel = new GameInfoPanel(game);
-        game.addObserver(this);
+        if (Boolean.getBoolean(ACTIVE_RENDERING_PROPERTY)) {
+            boardPanel = null;
+            boardCanvas = new ActiveBoardCanvas(recorder);
+            gameInfoPanel.showRenderingStatistics(boardCanvas.getFrameTimes(), boardCanvas.getInputLatencies());
+        } else {
+            boardPanel = new BoardPanel(recorder);
+            boardCanvas = null;
+        }
+        game.addGameListener(new GameAdapter() {
+            // MODIFIES: TetrisGui.this
+            // EFFECTS: shows the game over dialog on the event dispatching thread
+            @Override
+            public void gameOver(final Game endedGame) {
+                SwingUtilities.invokeLater(new Runnable() {
+                    @Override
+                    public void run() {
+                        handleGameOver(endedGame);
+                    }
+                });
+            }
+        });
     }
 
     // MODIFIES: this
     // EFFECTS: initializes graphics-related properties of the GUI window.
     private void initGraphics() {
         setLayout(new FlowLayout());
-        add(boardPanel);
+        if (boardCanvas != null) {
+            add(boardCanvas);
+        } else {
+            add(boardPanel);
+        }
         add(gameInfoPanel);
         setResizable(false);
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         pack();
         setLocationRelativeTo(null);
         setVisible(true);
+
+        // A buffer strategy can only be created once the canvas is displayed
+        if (boardCanvas != null) {
+            boardCanvas.start();
+        }
     }
 }
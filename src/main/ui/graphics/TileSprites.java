@@ -0,0 +1,101 @@
+package ui.graphics;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+
+// Pre-rendered images of the cells of a board, one for each type of cell. Each image is drawn once, when the
+// sprites for a tile side length are created, and is then copied onto the screen with drawImage, instead of
+// every cell being filled and outlined again each time a board is painted. Every sprite except the hard drop
+// preview is opaque, so drawing it is a plain copy of its pixels with no blending.
+public class TileSprites {
+    // Colour of the cells where the active piece would land if it were hard dropped.
+    // https://stackoverflow.com/a/8111007/3335320 taught me how to decrease a colour's opacity.
+    private static final Color HARD_DROP_PREVIEW_COLOUR =
+            new Color(Color.RED.getRed(), Color.RED.getBlue(), Color.RED.getGreen(), 127);
+
+    // We are using the singleton design pattern for this class, with one instance per tile side length.
+    private static final Map<Integer, TileSprites> INSTANCES = new HashMap<Integer, TileSprites>();
+
+    private final int tileSideLength;
+
+    // The i'th element holds the image of a cell of the i'th tile type
+    private final BufferedImage[] sprites;
+
+    // The types of cells that can appear on a board
+    public enum TileType {
+        // An empty cell, drawn as a black outline around a white interior
+        EMPTY,
+        // A cell holding a tile that has locked into place
+        LOCKED,
+        // A cell holding a tile of the active piece
+        ACTIVE,
+        // An empty cell where the active piece would land if it were hard dropped. This sprite is translucent,
+        // so it should be drawn over an empty cell.
+        HARD_DROP_PREVIEW;
+    }
+
+    // EFFECTS: renders the sprites for cells with the given side length, in pixels
+    private TileSprites(int tileSideLength) {
+        this.tileSideLength = tileSideLength;
+        sprites = new BufferedImage[TileType.values().length];
+        sprites[TileType.EMPTY.ordinal()] = renderSprite(Color.WHITE, Color.BLACK, Transparency.OPAQUE);
+        sprites[TileType.LOCKED.ordinal()] = renderSprite(Color.BLACK, Color.WHITE, Transparency.OPAQUE);
+        sprites[TileType.ACTIVE.ordinal()] = renderSprite(Color.RED, Color.BLACK, Transparency.OPAQUE);
+        sprites[TileType.HARD_DROP_PREVIEW.ordinal()] =
+                renderSprite(HARD_DROP_PREVIEW_COLOUR, Color.BLACK, Transparency.TRANSLUCENT);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the sprites for cells with the given side length, in pixels, rendering them the first
+    //          time they are asked for.
+    //          Throws IllegalArgumentException if tileSideLength < 1.
+    public static synchronized TileSprites getInstance(int tileSideLength) {
+        if (tileSideLength < 1) {
+            throw new IllegalArgumentException("Tile side length must be positive: " + tileSideLength);
+        }
+        TileSprites instance = INSTANCES.get(tileSideLength);
+        if (instance == null) {
+            instance = new TileSprites(tileSideLength);
+            INSTANCES.put(tileSideLength, instance);
+        }
+        return instance;
+    }
+
+    // EFFECTS: returns the side length of a cell, in pixels
+    public int getTileSideLength() {
+        return tileSideLength;
+    }
+
+    // EFFECTS: draws a cell of the given type with its upper-left corner at (x, y). Like a rectangle drawn with
+    //          Graphics.drawRect, the cell's outline is one pixel past its bottom and right edges.
+    public void draw(Graphics g, TileType type, int x, int y) {
+        g.drawImage(sprites[type.ordinal()], x, y, null);
+    }
+
+    // EFFECTS: returns an image of a cell that is filled with fillColour and outlined with outlineColour.
+    //          The image has the given transparency (one of the constants in java.awt.Transparency).
+    private BufferedImage renderSprite(Color fillColour, Color outlineColour, int transparency) {
+        BufferedImage sprite = createImage(tileSideLength + 1, transparency);
+        Graphics2D g = sprite.createGraphics();
+        g.setColor(fillColour);
+        g.fillRect(0, 0, tileSideLength, tileSideLength);
+        g.setColor(outlineColour);
+        g.drawRect(0, 0, tileSideLength, tileSideLength);
+        g.dispose();
+        return sprite;
+    }
+
+    // EFFECTS: returns a blank square image with the given side length and transparency. The image uses the
+    //          screen's pixel format, so that drawing it needs no conversion, unless there is no screen.
+    private static BufferedImage createImage(int sideLength, int transparency) {
+        if (GraphicsEnvironment.isHeadless()) {
+            int type = transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+            return new BufferedImage(sideLength, sideLength, type);
+        }
+        GraphicsConfiguration configuration = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice().getDefaultConfiguration();
+        return configuration.createCompatibleImage(sideLength, sideLength, transparency);
+    }
+}
@@ -1,29 +1,37 @@
 package ui.util;
 
+import exceptions.CorruptedFileException;
 import model.Scoreboard;
 import model.ScoreboardEntry;
+import persistence.ScoreboardEntryFileReader;
+import persistence.ScoreboardLog;
+import persistence.SyncPolicy;
 import ui.Main;
 
 import javax.swing.*;
 import java.io.File;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.nio.file.Files;
 import java.util.List;
 
 // This class stores the temporary scoreboard (a scoreboard that the user can add their
 // scores to before permanently saving them to file).
 public class TemporaryScoreboardManager {
-    public static final String ENTRIES_FILE_PATH = Main.TETRIS_DIRECTORY + "\\data\\scoreboardEntries.txt";
+    public static final String ENTRIES_FILE_PATH = Main.TETRIS_DIRECTORY + "\\data\\scoreboardEntries.dat";
+
+    // Versions of the game before the scoreboard log saved entries as text in this file
+    public static final String LEGACY_ENTRIES_FILE_PATH = Main.TETRIS_DIRECTORY + "\\data\\scoreboardEntries.txt";
 
     // We are using the singleton design pattern for this class.
     private static TemporaryScoreboardManager instance;
 
     private Scoreboard tempScoreboard;
+    private SyncPolicy syncPolicy;
 
-    // EFFECTS: constructs a TemporaryScoreboardManager with an empty temporary scoreboard
+    // EFFECTS: constructs a TemporaryScoreboardManager with an empty temporary scoreboard that forces saved
+    //          entries to the disk
     private TemporaryScoreboardManager() {
         tempScoreboard = new Scoreboard();
+        syncPolicy = SyncPolicy.ALWAYS;
     }
 
     // MODIFIES: this
@@ -46,28 +54,58 @@ public class TemporaryScoreboardManager {
         return tempScoreboard;
     }
 
+    // EFFECTS: returns the policy for forcing saved entries to the disk
+    public SyncPolicy getSyncPolicy() {
+        return syncPolicy;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sets the policy for forcing saved entries to the disk
+    public void setSyncPolicy(SyncPolicy syncPolicy) {
+        this.syncPolicy = syncPolicy;
+    }
+
     // MODIFIES: this
-    // EFFECTS: appends all the entries in the temporary scoreboard to file with path ENTRIES_FILE_PATH,
-    //          then clears the temporary scoreboard. The file is created if it does not already exist. If
-    //          the scoreboard was saved successfully, a dialog window is displayed telling the user that the
+    // EFFECTS: appends all the entries in the temporary scoreboard to the scoreboard log with path
+    //          ENTRIES_FILE_PATH, then clears the temporary scoreboard. The file is created if it does not already
+    //          exist. Only the new entries are written, and they are forced to the disk if the sync policy says to.
+    //          If the scoreboard was saved successfully, a dialog window is displayed telling the user that the
     //          save operation was successful.
+    //          Throws CorruptedFileException if the file is not a scoreboard log.
     //          Throws IOException if an I/O error occurs.
-    public void saveTempScoreboard() throws IOException {
-        File file = new File(ENTRIES_FILE_PATH);
-        file.createNewFile();
-        List<String> existingLines = Files.readAllLines(file.toPath());
-        PrintWriter printWriter = new PrintWriter(file);
-        for (String line : existingLines) {
-            printWriter.println(line);
-        }
-
+    public void saveTempScoreboard() throws CorruptedFileException, IOException {
         List<ScoreboardEntry> entries = tempScoreboard.getEntries();
-        for (ScoreboardEntry entry : entries) {
-            entry.saveTo(printWriter);
-        }
+        ScoreboardLog.append(new File(ENTRIES_FILE_PATH), entries, syncPolicy);
         entries.clear();
-        printWriter.close();
         JOptionPane.showMessageDialog(null, "Successfully saved scoreboard entries to "
                         + ENTRIES_FILE_PATH, "Success", JOptionPane.INFORMATION_MESSAGE);
     }
+
+    // MODIFIES: the file with path ENTRIES_FILE_PATH
+    // EFFECTS: if there is no file with path ENTRIES_FILE_PATH but there is one with path LEGACY_ENTRIES_FILE_PATH,
+    //          writes the entries in the legacy text file to a new scoreboard log with path ENTRIES_FILE_PATH.
+    //          The legacy file is left as it is. Otherwise, does nothing.
+    //          Throws CorruptedFileException if the legacy file is corrupted.
+    //          Throws IOException if an I/O error occurs.
+    public static void importLegacyEntries() throws CorruptedFileException, IOException {
+        File file = new File(ENTRIES_FILE_PATH);
+        File legacyFile = new File(LEGACY_ENTRIES_FILE_PATH);
+        if (!file.exists() && legacyFile.exists()) {
+            Scoreboard legacyScoreboard = ScoreboardEntryFileReader.readInScoreboardEntries(legacyFile);
+            ScoreboardLog.write(file, legacyScoreboard.getEntries(), SyncPolicy.ALWAYS);
+        }
+    }
+
+    // MODIFIES: the file with path ENTRIES_FILE_PATH
+    // EFFECTS: if there is a file with path ENTRIES_FILE_PATH, cuts off a damaged last record left by a save that
+    //          was cut short, so that the entries saved after it are kept. Otherwise, does nothing. This reads the
+    //          whole log, so it is done once when the game starts rather than on every save.
+    //          Throws CorruptedFileException if the file is corrupted in any other way.
+    //          Throws IOException if an I/O error occurs.
+    public static void repairEntries() throws CorruptedFileException, IOException {
+        File file = new File(ENTRIES_FILE_PATH);
+        if (file.exists()) {
+            ScoreboardLog.repair(file);
+        }
+    }
 }
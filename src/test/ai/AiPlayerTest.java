@@ -0,0 +1,66 @@
+package ai;
+
+import model.Game;
+import model.InputCommand;
+import org.junit.jupiter.api.Test;
+import simulation.GameEngine;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for the AiPlayer class
+public class AiPlayerTest {
+    @Test
+    public void testPlacesOnePiecePerTick() {
+        Game game = new Game(5000, 0);
+        AiPlayer player = new AiPlayer();
+
+        InputCommand command;
+        InputCommand last = InputCommand.NONE;
+        int numCommands = 0;
+        while ((command = player.nextCommand(game, 0)) != InputCommand.NONE) {
+            game.execute(command);
+            last = command;
+            numCommands++;
+        }
+        assertEquals(InputCommand.HARD_DROP, last);
+        assertTrue(numCommands <= GameEngine.MAXIMUM_COMMANDS_PER_TICK);
+        assertEquals(1, player.getNumDecisions());
+        assertEquals(InputCommand.NONE, player.nextCommand(game, 0));
+
+        // The next piece is planned in the next tick
+        game.update();
+        assertNotEquals(InputCommand.NONE, player.nextCommand(game, 1));
+        assertEquals(2, player.getNumDecisions());
+    }
+
+    @Test
+    public void testPlaysWell() {
+        Game game = new Game(101, 0);
+        game.setNotificationsEnabled(false);
+        AiPlayer player = new AiPlayer(HeuristicWeights.DEFAULT);
+        GameEngine engine = new GameEngine(game, player);
+        while (!game.isGameOver() && player.getNumDecisions() < 300) {
+            engine.step();
+        }
+
+        // Clearing a line takes 2.5 pieces, so a player that never left a gap would clear 120 lines
+        assertTrue(game.getLinesCleared() >= 100);
+        assertTrue(player.getNumPlacementsEvaluated() >= 300 * 9);
+        assertTrue(player.getPlacementsEvaluatedPerSecond() > 0);
+        assertTrue(player.getMeanDecisionMicroseconds() > 0);
+        assertTrue(player.getMaximumDecisionMicroseconds() >= player.getMeanDecisionMicroseconds());
+    }
+
+    @Test
+    public void testGameOver() {
+        Game game = new Game(7, 0);
+        while (!game.isGameOver()) {
+            game.execute(InputCommand.HARD_DROP);
+        }
+        AiPlayer player = new AiPlayer();
+        assertEquals(InputCommand.NONE, player.nextCommand(game, 0));
+        assertEquals(0, player.getNumDecisions());
+        assertEquals(0, player.getPlacementsEvaluatedPerSecond());
+        assertEquals(0, player.getMeanDecisionMicroseconds());
+    }
+}
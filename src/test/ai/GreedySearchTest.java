@@ -0,0 +1,128 @@
+package ai;
+
+import model.Game;
+import model.InputCommand;
+import model.pieces.IPiece;
+import model.pieces.Piece;
+import model.pieces.PieceShape;
+import model.randomizer.BagRandomizer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for the GreedySearch class
+public class GreedySearchTest {
+    private GreedySearch search;
+    private SearchBoard board;
+    private PieceShape iShape;
+
+    @BeforeEach
+    public void setUp() {
+        search = new GreedySearch(HeuristicWeights.DEFAULT);
+        board = new SearchBoard(Game.WIDTH, Game.HEIGHT);
+        iShape = new IPiece(new Game(0, 0)).getShape();
+    }
+
+    @Test
+    public void testEvaluatesEveryDistinctPlacement() {
+        // Starting below the ceiling, a horizontal I piece fits in 7 columns and a vertical one in 10.
+        // Orientations 2 and 3 are the same as 0 and 1, so they are skipped.
+        assertNotNull(search.findBestPlacement(board, iShape, 3, 2, 0));
+        assertEquals(7 + 10, search.getNumPlacementsEvaluated());
+        assertSame(HeuristicWeights.DEFAULT, search.getWeights());
+    }
+
+    @Test
+    public void testFindsTetris() {
+        // Fill the bottom four rows except for column 0
+        for (int y = Game.HEIGHT - 4; y < Game.HEIGHT; y++) {
+            for (int x = 1; x < Game.WIDTH; x++) {
+                board.placeTileAt(x, y);
+            }
+        }
+
+        Placement placement = search.findBestPlacement(board, iShape, 3, -1, 0);
+        assertEquals(4, placement.getLinesCleared());
+        assertEquals(1, placement.getOrientation() % 2);
+        assertEquals(-2, placement.getReferenceX());
+        assertEquals(Game.HEIGHT - 4, placement.getLandingY());
+
+        // The piece spawns against the ceiling, so it moves down before rotating
+        assertEquals(InputCommand.MOVE_DOWN, placement.getCommands().get(0));
+    }
+
+    @Test
+    public void testUnreachablePlacementsAreSkipped() {
+        // A wall in column 2 stops the piece from moving left of it
+        for (int y = 0; y < Game.HEIGHT; y++) {
+            board.placeTileAt(2, y);
+        }
+        Placement placement = search.findBestPlacement(board, iShape, 3, 2, 0);
+        assertTrue(placement.getReferenceX() >= 1);
+    }
+
+    @Test
+    public void testNoPlacement() {
+        // The piece overlaps a tile where it starts, as a piece does when the game tops out
+        board.placeTileAt(4, 2);
+        assertNull(search.findBestPlacement(board, iShape, 3, 1, 0));
+        assertEquals(0, search.getNumPlacementsEvaluated());
+    }
+
+    @Test
+    public void testFindBestPlacementMatchesGame() {
+        Game game = new Game(11, 0);
+        for (int i = 0; i < 100 && !game.isGameOver(); i++) {
+            Piece piece = game.getActivePiece();
+            Placement placement = search.findBestPlacement(game);
+            for (InputCommand command : placement.getCommands()) {
+                if (command != InputCommand.HARD_DROP) {
+                    game.execute(command);
+                }
+            }
+            piece.hardDrop();
+
+            assertEquals(placement.getOrientation(), piece.getOrientation());
+            assertEquals(placement.getReferenceX(), piece.getReferenceX());
+            assertEquals(placement.getLandingY(), piece.getReferenceY());
+            int linesBefore = game.getLinesCleared();
+            game.update();
+            assertEquals(placement.getLinesCleared(), game.getLinesCleared() - linesBefore);
+        }
+    }
+
+    @Test
+    public void testFindBestPlacementOnLargeBoard() {
+        Game game = new Game(11, 0, new BagRandomizer(11), SearchBoard.MAXIMUM_WIDTH, 400);
+        for (int i = 0; i < 50; i++) {
+            Piece piece = game.getActivePiece();
+            Placement placement = search.findBestPlacement(game);
+            for (InputCommand command : placement.getCommands()) {
+                game.execute(command);
+            }
+            assertEquals(placement.getReferenceX(), piece.getReferenceX());
+            assertEquals(placement.getLandingY(), piece.getReferenceY());
+        }
+        assertFalse(game.isGameOver());
+
+        // Going back to a standard game resizes the search's boards again
+        assertNotNull(search.findBestPlacement(new Game(11, 0)));
+
+        try {
+            search.findBestPlacement(new Game(11, 0, new BagRandomizer(11), SearchBoard.MAXIMUM_WIDTH + 1, 40));
+            fail("IllegalArgumentException should be thrown");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testFindBestPlacementGameOver() {
+        Game game = new Game(11, 0);
+        while (!game.isGameOver()) {
+            game.execute(InputCommand.HARD_DROP);
+        }
+        assertNull(search.findBestPlacement(game));
+    }
+}
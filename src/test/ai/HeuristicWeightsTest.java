@@ -0,0 +1,57 @@
+package ai;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for the HeuristicWeights class
+public class HeuristicWeightsTest {
+    @Test
+    public void testConstructor() {
+        HeuristicWeights weights = new HeuristicWeights(-1, -2, -3, 4);
+        assertEquals(-1, weights.getAggregateHeight());
+        assertEquals(-2, weights.getHoles());
+        assertEquals(-3, weights.getBumpiness());
+        assertEquals(4, weights.getLinesCleared());
+    }
+
+    @Test
+    public void testScore() {
+        HeuristicWeights weights = new HeuristicWeights(-1, -2, -3, 4);
+        assertEquals(0, weights.score(0, 0, 0, 0));
+        assertEquals(-10 - 2 * 3 - 3 * 5 + 4 * 2, weights.score(10, 3, 5, 2));
+    }
+
+    @Test
+    public void testDefaultWeightsPreferClearingLines() {
+        HeuristicWeights weights = HeuristicWeights.DEFAULT;
+        assertTrue(weights.score(0, 0, 0, 1) > weights.score(0, 0, 0, 0));
+        assertTrue(weights.score(0, 1, 0, 0) < weights.score(0, 0, 0, 0));
+        assertTrue(weights.score(1, 0, 0, 0) < weights.score(0, 0, 0, 0));
+        assertTrue(weights.score(0, 0, 1, 0) < weights.score(0, 0, 0, 0));
+    }
+
+    @Test
+    public void testToAndFromArray() {
+        HeuristicWeights weights = new HeuristicWeights(-1, -2, -3, 4);
+        assertArrayEquals(new double[] {-1, -2, -3, 4}, weights.toArray());
+        assertEquals(weights, HeuristicWeights.fromArray(weights.toArray()));
+        try {
+            HeuristicWeights.fromArray(new double[] {1, 2, 3});
+            fail("IllegalArgumentException should be thrown");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testEqualsAndHashCode() {
+        HeuristicWeights weights = new HeuristicWeights(-1, -2, -3, 4);
+        HeuristicWeights same = new HeuristicWeights(-1, -2, -3, 4);
+        assertEquals(weights, same);
+        assertEquals(weights.hashCode(), same.hashCode());
+        assertNotEquals(weights, new HeuristicWeights(-1, -2, -3, 5));
+        assertNotEquals(weights, null);
+        assertNotEquals(weights, "weights");
+    }
+}
@@ -0,0 +1,156 @@
+package ai;
+
+import model.Game;
+import model.InputCommand;
+import model.pieces.Piece;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import simulation.GameEngine;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for the LookaheadSearch class
+public class LookaheadSearchTest {
+    private ForkJoinPool singleThreadPool;
+    private ForkJoinPool threePool;
+
+    @BeforeEach
+    public void setUp() {
+        singleThreadPool = new ForkJoinPool(1);
+        threePool = new ForkJoinPool(3);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        singleThreadPool.shutdown();
+        threePool.shutdown();
+    }
+
+    @Test
+    public void testMatchesSequentialSearch() {
+        LookaheadSearch search = new LookaheadSearch(HeuristicWeights.DEFAULT, threePool);
+        assertSame(HeuristicWeights.DEFAULT, search.getWeights());
+        assertSame(threePool, search.getPool());
+
+        Game game = new Game(42, 0);
+        long expectedEvaluated = 0;
+        for (int i = 0; i < 30 && !game.isGameOver(); i++) {
+            Placement placement = search.findBestPlacement(game);
+            double[] expected = new double[3];
+            expectedEvaluated += findBestSequentially(game, expected);
+            assertEquals(expected[0], placement.getScore());
+            assertEquals((int) expected[1], placement.getReferenceX());
+            assertEquals((int) expected[2], placement.getOrientation());
+            play(game, placement);
+        }
+        assertEquals(expectedEvaluated, search.getNumPlacementsEvaluated());
+    }
+
+    @Test
+    public void testSameResultWithAnyNumberOfThreads() {
+        LookaheadSearch oneThread = new LookaheadSearch(HeuristicWeights.DEFAULT, singleThreadPool);
+        LookaheadSearch threeThreads = new LookaheadSearch(HeuristicWeights.DEFAULT, threePool);
+        Game game = new Game(43, 0);
+        for (int i = 0; i < 30 && !game.isGameOver(); i++) {
+            Placement expected = oneThread.findBestPlacement(game);
+            Placement actual = threeThreads.findBestPlacement(game);
+            assertEquals(expected.getCommands(), actual.getCommands());
+            assertEquals(expected.getScore(), actual.getScore());
+            play(game, actual);
+        }
+        assertEquals(oneThread.getNumPlacementsEvaluated(), threeThreads.getNumPlacementsEvaluated());
+    }
+
+    @Test
+    public void testSameResultWithTranspositionTable() {
+        LookaheadSearch withoutTable = new LookaheadSearch(HeuristicWeights.DEFAULT, singleThreadPool);
+        TranspositionTable table = new TranspositionTable(1 << 14, 16);
+        LookaheadSearch withTable = new LookaheadSearch(HeuristicWeights.DEFAULT, threePool, table);
+        assertNull(withoutTable.getTable());
+        assertSame(table, withTable.getTable());
+
+        Game game = new Game(44, 0);
+        for (int i = 0; i < 40 && !game.isGameOver(); i++) {
+            Placement expected = withoutTable.findBestPlacement(game);
+            Placement actual = withTable.findBestPlacement(game);
+            assertEquals(expected.getCommands(), actual.getCommands());
+            assertEquals(expected.getScore(), actual.getScore());
+            play(game, actual);
+        }
+        assertTrue(table.getNumHits() > 0);
+        assertTrue(withTable.getNumPlacementsEvaluated() < withoutTable.getNumPlacementsEvaluated());
+    }
+
+    @Test
+    public void testPlaysBetterThanGreedySearch() {
+        Game game = new Game(107, 0);
+        game.setNotificationsEnabled(false);
+        AiPlayer player = new AiPlayer(new LookaheadSearch(HeuristicWeights.DEFAULT, threePool));
+        GameEngine engine = new GameEngine(game, player);
+        while (!game.isGameOver() && player.getNumDecisions() < 300) {
+            engine.step();
+        }
+
+        // The greedy player tops out after 124 pieces with this seed
+        assertFalse(game.isGameOver());
+        assertTrue(game.getLinesCleared() >= 110);
+    }
+
+    @Test
+    public void testFindBestPlacementGameOver() {
+        Game game = new Game(11, 0);
+        while (!game.isGameOver()) {
+            game.execute(InputCommand.HARD_DROP);
+        }
+        assertNull(new LookaheadSearch(HeuristicWeights.DEFAULT, singleThreadPool).findBestPlacement(game));
+    }
+
+    // EFFECTS: stores the best two-ply score of the game's active piece in result[0], and the reference x and
+    //          orientation of the first-ply placement that reaches it in result[1] and result[2]. Returns the number
+    //          of boards scored. Ties go to the first placement generated.
+    private static long findBestSequentially(Game game, double[] result) {
+        SearchBoard root = new SearchBoard(Game.WIDTH, Game.HEIGHT);
+        root.copyFrom(game);
+        Piece piece = game.getActivePiece();
+        Piece next = game.getNextPiece();
+        PlacementList first = new PlacementList();
+        first.generate(root, piece.getShape(), piece.getReferenceX(), piece.getReferenceY(), piece.getOrientation());
+
+        long numEvaluated = 0;
+        result[0] = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < first.size(); i++) {
+            SearchBoard afterFirst = new SearchBoard(Game.WIDTH, Game.HEIGHT);
+            afterFirst.copyFrom(root);
+            int firstLines = afterFirst.placeAndClear(piece.getShape(), first.getOrientation(i),
+                    first.getReferenceX(i), first.getLandingY(i));
+            PlacementList second = new PlacementList();
+            second.generate(afterFirst, next.getShape(), next.getReferenceX(), next.getReferenceY(), 0);
+            for (int j = 0; j < second.size(); j++) {
+                SearchBoard afterSecond = new SearchBoard(Game.WIDTH, Game.HEIGHT);
+                afterSecond.copyFrom(afterFirst);
+                int secondLines = afterSecond.placeAndClear(next.getShape(), second.getOrientation(j),
+                        second.getReferenceX(j), second.getLandingY(j));
+                double score = afterSecond.evaluate(HeuristicWeights.DEFAULT, firstLines + secondLines);
+                if (score > result[0]) {
+                    result[0] = score;
+                    result[1] = first.getReferenceX(i);
+                    result[2] = first.getOrientation(i);
+                }
+            }
+            numEvaluated += second.size();
+        }
+        return numEvaluated;
+    }
+
+    // MODIFIES: game
+    // EFFECTS: gives the game the commands of the given placement, then updates it once
+    private static void play(Game game, Placement placement) {
+        for (InputCommand command : placement.getCommands()) {
+            game.execute(command);
+        }
+        game.update();
+    }
+}
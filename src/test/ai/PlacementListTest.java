@@ -0,0 +1,81 @@
+package ai;
+
+import model.Game;
+import model.pieces.IPiece;
+import model.pieces.OPiece;
+import model.pieces.PieceShape;
+import model.pieces.TPiece;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for the PlacementList class
+public class PlacementListTest {
+    private PlacementList placements;
+    private SearchBoard board;
+    private Game game;
+
+    @BeforeEach
+    public void setUp() {
+        placements = new PlacementList();
+        board = new SearchBoard(Game.WIDTH, Game.HEIGHT);
+        game = new Game(0, 0);
+    }
+
+    @Test
+    public void testGenerateSkipsRepeatedOrientations() {
+        placements.generate(board, new IPiece(game).getShape(), 3, 2, 0);
+        assertEquals(7 + 10, placements.size());
+        placements.generate(board, new OPiece(game).getShape(), 3, 2, 0);
+        assertEquals(9, placements.size());
+        placements.generate(board, new TPiece(game).getShape(), 3, 2, 0);
+        assertEquals(8 + 9 + 8 + 9, placements.size());
+    }
+
+    @Test
+    public void testGenerateLandsOnStack() {
+        PieceShape shape = new OPiece(game).getShape();
+        board.placeTileAt(0, Game.HEIGHT - 1);
+        placements.generate(board, shape, 3, -1, 0);
+        for (int i = 0; i < placements.size(); i++) {
+            assertEquals(0, placements.getOrientation(i));
+            int x = placements.getReferenceX(i);
+            int expectedY = x == -1 ? Game.HEIGHT - 4 : Game.HEIGHT - 3;
+            assertEquals(expectedY, placements.getLandingY(i));
+            assertEquals(board.getDropY(shape, 0, x, -1), placements.getLandingY(i));
+        }
+    }
+
+    @Test
+    public void testGenerateRefillsList() {
+        PieceShape shape = new TPiece(game).getShape();
+        placements.generate(board, shape, 3, 2, 0);
+        int size = placements.size();
+        for (int i = 0; i < 5; i++) {
+            placements.generate(board, shape, 3, 2, 0);
+        }
+        assertEquals(size, placements.size());
+    }
+
+    @Test
+    public void testToPlacement() {
+        placements.generate(board, new IPiece(game).getShape(), 3, 2, 0);
+        for (int i = 0; i < placements.size(); i++) {
+            Placement placement = placements.toPlacement(i, 1, 2.5);
+            assertEquals(placements.getOrientation(i), placement.getOrientation());
+            assertEquals(placements.getReferenceX(i), placement.getReferenceX());
+            assertEquals(placements.getLandingY(i), placement.getLandingY());
+            assertEquals(1, placement.getLinesCleared());
+            assertEquals(2.5, placement.getScore());
+        }
+    }
+
+    @Test
+    public void testGenerateWideBoard() {
+        // Enough placements to grow the list
+        SearchBoard wideBoard = new SearchBoard(64, Game.HEIGHT);
+        placements.generate(wideBoard, new TPiece(game).getShape(), 30, 2, 0);
+        assertEquals(62 + 63 + 62 + 63, placements.size());
+    }
+}
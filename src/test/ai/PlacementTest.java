@@ -0,0 +1,41 @@
+package ai;
+
+import model.InputCommand;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for the Placement class
+public class PlacementTest {
+    @Test
+    public void testConstructor() {
+        Placement placement = new Placement(3, -1, 17, 1, 2, -4, 2, -12.5);
+        assertEquals(3, placement.getOrientation());
+        assertEquals(-1, placement.getReferenceX());
+        assertEquals(17, placement.getLandingY());
+        assertEquals(2, placement.getLinesCleared());
+        assertEquals(-12.5, placement.getScore());
+    }
+
+    @Test
+    public void testGetCommandsLeft() {
+        Placement placement = new Placement(3, -1, 17, 1, 2, -2, 2, 0);
+        assertEquals(Arrays.asList(InputCommand.MOVE_DOWN, InputCommand.ROTATE, InputCommand.ROTATE,
+                InputCommand.MOVE_LEFT, InputCommand.MOVE_LEFT, InputCommand.HARD_DROP), placement.getCommands());
+    }
+
+    @Test
+    public void testGetCommandsRight() {
+        Placement placement = new Placement(0, 6, 17, 0, 0, 3, 0, 0);
+        assertEquals(Arrays.asList(InputCommand.MOVE_RIGHT, InputCommand.MOVE_RIGHT, InputCommand.MOVE_RIGHT,
+                InputCommand.HARD_DROP), placement.getCommands());
+    }
+
+    @Test
+    public void testGetCommandsHardDropOnly() {
+        Placement placement = new Placement(0, 3, 17, 0, 0, 0, 0, 0);
+        assertEquals(Arrays.asList(InputCommand.HARD_DROP), placement.getCommands());
+    }
+}
@@ -0,0 +1,230 @@
+package ai;
+
+import model.Game;
+import model.pieces.IPiece;
+import model.pieces.OPiece;
+import model.pieces.PieceShape;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for the SearchBoard class
+public class SearchBoardTest {
+    private static final int WIDTH = 10;
+    private static final int HEIGHT = 20;
+
+    private SearchBoard board;
+    private PieceShape iShape;
+    private PieceShape oShape;
+
+    @BeforeEach
+    public void setUp() {
+        board = new SearchBoard(WIDTH, HEIGHT);
+        Game game = new Game(0, 0);
+        iShape = new IPiece(game).getShape();
+        oShape = new OPiece(game).getShape();
+    }
+
+    @Test
+    public void testConstructor() {
+        assertEquals(WIDTH, board.getWidth());
+        assertEquals(HEIGHT, board.getHeight());
+        for (int x = 0; x < WIDTH; x++) {
+            assertEquals(0, board.getColumnHeight(x));
+        }
+    }
+
+    @Test
+    public void testConstructorUnsupportedSize() {
+        int[][] sizes = {{0, HEIGHT}, {65, HEIGHT}, {WIDTH, 0}};
+        for (int[] size : sizes) {
+            try {
+                new SearchBoard(size[0], size[1]);
+                fail("IllegalArgumentException should be thrown");
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testPlaceAndRemoveTile() {
+        board.placeTileAt(3, 15);
+        assertTrue(board.isCellOccupied(3, 15));
+        assertEquals(HEIGHT - 15, board.getColumnHeight(3));
+        board.removeTileAt(3, 15);
+        assertFalse(board.isCellOccupied(3, 15));
+        board.placeTileAt(0, 0);
+        board.clear();
+        assertFalse(board.isCellOccupied(0, 0));
+
+        try {
+            board.placeTileAt(WIDTH, 0);
+            fail("IndexOutOfBoundsException should be thrown");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testCopyFromGameLeavesOutActivePiece() {
+        Game game = new Game(3, 0);
+        game.placeTileAt(0, HEIGHT - 1);
+        game.update();
+        board.copyFrom(game);
+
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                assertEquals(x == 0 && y == HEIGHT - 1, board.isCellOccupied(x, y));
+            }
+        }
+    }
+
+    @Test
+    public void testCopyFromBoard() {
+        SearchBoard other = new SearchBoard(WIDTH, HEIGHT);
+        other.placeTileAt(4, 7);
+        board.placeTileAt(1, 1);
+        board.copyFrom(other);
+        assertTrue(board.isCellOccupied(4, 7));
+        assertFalse(board.isCellOccupied(1, 1));
+
+        try {
+            board.copyFrom(new SearchBoard(WIDTH, HEIGHT + 1));
+            fail("IllegalArgumentException should be thrown");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testHashFollowsTiles() {
+        assertEquals(0, board.getHash());
+        board.placeTileAt(3, 15);
+        long oneTile = board.getHash();
+        assertNotEquals(0, oneTile);
+        board.placeTileAt(3, 15);
+        assertEquals(oneTile, board.getHash());
+        board.placeTileAt(4, 15);
+        board.removeTileAt(4, 15);
+        board.removeTileAt(5, 15);
+        assertEquals(oneTile, board.getHash());
+        board.removeTileAt(3, 15);
+        assertEquals(0, board.getHash());
+        board.placeTileAt(0, 0);
+        board.clear();
+        assertEquals(0, board.getHash());
+    }
+
+    @Test
+    public void testHashSameForSameTiles() {
+        SearchBoard other = new SearchBoard(WIDTH, HEIGHT);
+        board.placeTileAt(1, 19);
+        board.placeTileAt(2, 18);
+        other.placeTileAt(2, 18);
+        other.placeTileAt(1, 19);
+        assertEquals(board.getHash(), other.getHash());
+        other.removeTileAt(1, 19);
+        assertNotEquals(board.getHash(), other.getHash());
+        other.copyFrom(board);
+        assertEquals(board.getHash(), other.getHash());
+    }
+
+    @Test
+    public void testHashAfterPlaceAndClear() {
+        for (int x = 0; x < WIDTH - 2; x++) {
+            board.placeTileAt(x, HEIGHT - 1);
+        }
+        board.placeTileAt(0, HEIGHT - 2);
+        assertEquals(1, board.placeAndClear(oShape, 0, WIDTH - 3, board.getDropY(oShape, 0, WIDTH - 3, -1)));
+        assertEquals(rebuild(board).getHash(), board.getHash());
+
+        assertEquals(0, board.placeAndClear(iShape, 1, 5, board.getDropY(iShape, 1, 5, 0)));
+        assertEquals(rebuild(board).getHash(), board.getHash());
+    }
+
+    @Test
+    public void testHashCopyFromGame() {
+        Game game = new Game(0, 0);
+        board.copyFrom(game);
+        assertEquals(0, board.getHash());
+        game.placeTileAt(0, HEIGHT - 1);
+        game.placeTileAt(WIDTH - 1, HEIGHT - 2);
+        board.copyFrom(game);
+        assertEquals(rebuild(board).getHash(), board.getHash());
+        assertNotEquals(0, board.getHash());
+    }
+
+    @Test
+    public void testFits() {
+        // The I piece's tiles are in row 1 relative to the reference point in orientation 0
+        assertTrue(board.fits(iShape, 0, 0, -1));
+        assertFalse(board.fits(iShape, 0, -1, 0));
+        assertFalse(board.fits(iShape, 0, WIDTH - 3, 0));
+        assertFalse(board.fits(iShape, 0, 0, HEIGHT - 1));
+        board.placeTileAt(2, 5);
+        assertFalse(board.fits(iShape, 0, 0, 4));
+        assertTrue(board.fits(iShape, 0, 3, 4));
+    }
+
+    @Test
+    public void testGetDropY() {
+        assertEquals(HEIGHT - 2, board.getDropY(iShape, 0, 0, -1));
+        board.placeTileAt(3, 10);
+        assertEquals(8, board.getDropY(iShape, 0, 0, -1));
+        assertEquals(HEIGHT - 3, board.getDropY(oShape, 0, 6, -1));
+    }
+
+    @Test
+    public void testPlaceAndClear() {
+        for (int x = 0; x < WIDTH - 2; x++) {
+            board.placeTileAt(x, HEIGHT - 1);
+            board.placeTileAt(x, HEIGHT - 2);
+        }
+        board.placeTileAt(0, HEIGHT - 3);
+
+        // An O piece fills the last two columns of the bottom two rows
+        int y = board.getDropY(oShape, 0, WIDTH - 3, -1);
+        assertEquals(2, board.placeAndClear(oShape, 0, WIDTH - 3, y));
+        assertTrue(board.isCellOccupied(0, HEIGHT - 1));
+        for (int x = 1; x < WIDTH; x++) {
+            assertFalse(board.isCellOccupied(x, HEIGHT - 1));
+        }
+        assertEquals(1, board.getColumnHeight(0));
+
+        assertEquals(0, board.placeAndClear(oShape, 0, 3, board.getDropY(oShape, 0, 3, -1)));
+        assertEquals(2, board.getColumnHeight(4));
+    }
+
+    @Test
+    public void testEvaluate() {
+        HeuristicWeights heightOnly = new HeuristicWeights(1, 0, 0, 0);
+        HeuristicWeights holesOnly = new HeuristicWeights(0, 1, 0, 0);
+        HeuristicWeights bumpinessOnly = new HeuristicWeights(0, 0, 1, 0);
+        HeuristicWeights linesOnly = new HeuristicWeights(0, 0, 0, 1);
+
+        board.placeTileAt(0, HEIGHT - 3);
+        board.placeTileAt(1, HEIGHT - 1);
+        board.placeTileAt(WIDTH - 1, HEIGHT - 1);
+
+        // Column heights are 3, 1, 0, ..., 0, 1
+        assertEquals(5, board.evaluate(heightOnly, 0));
+        assertEquals(2, board.evaluate(holesOnly, 0));
+        assertEquals(2 + 1 + 1, board.evaluate(bumpinessOnly, 0));
+        assertEquals(3, board.evaluate(linesOnly, 3));
+    }
+
+    // EFFECTS: returns a new board with the same tiles as the given board, placed one at a time
+    private static SearchBoard rebuild(SearchBoard board) {
+        SearchBoard copy = new SearchBoard(board.getWidth(), board.getHeight());
+        for (int y = 0; y < board.getHeight(); y++) {
+            for (int x = 0; x < board.getWidth(); x++) {
+                if (board.isCellOccupied(x, y)) {
+                    copy.placeTileAt(x, y);
+                }
+            }
+        }
+        return copy;
+    }
+}
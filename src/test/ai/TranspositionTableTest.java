@@ -0,0 +1,117 @@
+package ai;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for the TranspositionTable class
+public class TranspositionTableTest {
+    private TranspositionTable table;
+
+    @BeforeEach
+    public void setUp() {
+        table = new TranspositionTable(16, 2);
+    }
+
+    @Test
+    public void testConstructor() {
+        assertEquals(16, table.getCapacity());
+        assertEquals(2, table.getNumStripes());
+        assertEquals(0, table.getSize());
+        assertEquals(0, table.getHitRate());
+        assertTrue(table.getMemoryFootprintBytes() >= 16 * 20);
+
+        TranspositionTable rounded = new TranspositionTable(9, 100);
+        assertEquals(16, rounded.getCapacity());
+        assertEquals(4, rounded.getNumStripes());
+    }
+
+    @Test
+    public void testConstructorInvalid() {
+        int[][] arguments = {{0, 1}, {1, 0}};
+        for (int[] argument : arguments) {
+            try {
+                new TranspositionTable(argument[0], argument[1]);
+                fail("IllegalArgumentException should be thrown");
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testGetAndPut() {
+        assertTrue(Double.isNaN(table.get(42)));
+        table.put(42, 1.5);
+        table.put(0, Double.NEGATIVE_INFINITY);
+        assertEquals(1.5, table.get(42));
+        assertEquals(Double.NEGATIVE_INFINITY, table.get(0));
+        table.put(42, -2.5);
+        assertEquals(-2.5, table.get(42));
+        assertEquals(2, table.getSize());
+
+        assertEquals(3, table.getNumHits());
+        assertEquals(1, table.getNumMisses());
+        assertEquals(0.75, table.getHitRate());
+        assertEquals(0, table.getNumEvictions());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        // Keys that are multiples of the number of buckets all go in bucket 0
+        for (int i = 0; i < TranspositionTable.BUCKET_SIZE; i++) {
+            table.put(i * 4L, i);
+            table.nextGeneration();
+        }
+        table.get(0);
+        table.put(100 * 4L, 100);
+
+        assertEquals(1, table.getNumEvictions());
+        assertEquals(0, table.get(0));
+        assertTrue(Double.isNaN(table.get(4L)));
+        assertEquals(100, table.get(400L));
+        for (int i = 2; i < TranspositionTable.BUCKET_SIZE; i++) {
+            assertEquals(i, table.get(i * 4L));
+        }
+        assertEquals(TranspositionTable.BUCKET_SIZE, table.getSize());
+    }
+
+    @Test
+    public void testClear() {
+        table.put(1, 1);
+        table.get(1);
+        table.get(2);
+        table.clear();
+        assertEquals(0, table.getSize());
+        assertEquals(0, table.getNumHits());
+        assertEquals(0, table.getNumMisses());
+        assertTrue(Double.isNaN(table.get(1)));
+    }
+
+    @Test
+    public void testSharedBetweenThreads() throws InterruptedException {
+        TranspositionTable shared = new TranspositionTable(1 << 12, 8);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread() {
+                @Override
+                public void run() {
+                    for (long key = 0; key < 1000; key++) {
+                        if (Double.isNaN(shared.get(key))) {
+                            shared.put(key, key * 0.5);
+                        }
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(1000, shared.getSize());
+        for (long key = 0; key < 1000; key++) {
+            assertEquals(key * 0.5, shared.get(key));
+        }
+    }
+}
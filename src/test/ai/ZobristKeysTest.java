@@ -0,0 +1,92 @@
+package ai;
+
+import model.Game;
+import model.pieces.IPiece;
+import model.pieces.JPiece;
+import model.pieces.LPiece;
+import model.pieces.OPiece;
+import model.pieces.SPiece;
+import model.pieces.TPiece;
+import model.pieces.ZPiece;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for the ZobristKeys class
+public class ZobristKeysTest {
+    @Test
+    public void testGetInstance() {
+        ZobristKeys keys = ZobristKeys.getInstance(10, 20);
+        assertSame(keys, ZobristKeys.getInstance(10, 20));
+        assertNotSame(keys, ZobristKeys.getInstance(20, 10));
+    }
+
+    @Test
+    public void testGetInstanceUnsupportedSize() {
+        int[][] sizes = {{0, 20}, {10, 0}, {-1, -1}};
+        for (int[] size : sizes) {
+            try {
+                ZobristKeys.getInstance(size[0], size[1]);
+                fail("IllegalArgumentException should be thrown");
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testKeysAreDistinct() {
+        ZobristKeys keys = ZobristKeys.getInstance(10, 20);
+        Set<Long> seen = new HashSet<Long>();
+        for (int y = 0; y < 20; y++) {
+            for (int x = 0; x < 10; x++) {
+                assertTrue(seen.add(keys.getCellKey(x, y)));
+            }
+        }
+        for (int lines = 0; lines <= ZobristKeys.MAXIMUM_LINES; lines++) {
+            assertTrue(seen.add(keys.getLinesKey(lines)));
+        }
+    }
+
+    @Test
+    public void testGetLinesKeyOutOfRange() {
+        ZobristKeys keys = ZobristKeys.getInstance(10, 20);
+        int[] lines = {-1, ZobristKeys.MAXIMUM_LINES + 1};
+        for (int linesCleared : lines) {
+            try {
+                keys.getLinesKey(linesCleared);
+                fail("IllegalArgumentException should be thrown");
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testHashRows() {
+        ZobristKeys keys = ZobristKeys.getInstance(10, 20);
+        long[] rows = new long[20];
+        assertEquals(0, keys.hashRows(rows));
+        rows[19] = 0b101;
+        rows[3] = 1L << 9;
+        assertEquals(keys.getCellKey(0, 19) ^ keys.getCellKey(2, 19) ^ keys.getCellKey(9, 3), keys.hashRows(rows));
+    }
+
+    @Test
+    public void testGetShapeKey() {
+        Game game = new Game(0, 0);
+        assertEquals(ZobristKeys.getShapeKey(new TPiece(game).getShape()),
+                ZobristKeys.getShapeKey(new TPiece(game).getShape()));
+        Set<Long> seen = new HashSet<Long>();
+        assertTrue(seen.add(ZobristKeys.getShapeKey(new IPiece(game).getShape())));
+        assertTrue(seen.add(ZobristKeys.getShapeKey(new JPiece(game).getShape())));
+        assertTrue(seen.add(ZobristKeys.getShapeKey(new LPiece(game).getShape())));
+        assertTrue(seen.add(ZobristKeys.getShapeKey(new OPiece(game).getShape())));
+        assertTrue(seen.add(ZobristKeys.getShapeKey(new SPiece(game).getShape())));
+        assertTrue(seen.add(ZobristKeys.getShapeKey(new TPiece(game).getShape())));
+        assertTrue(seen.add(ZobristKeys.getShapeKey(new ZPiece(game).getShape())));
+    }
+}
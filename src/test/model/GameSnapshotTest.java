@@ -0,0 +1,91 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for the GameSnapshot class
+public class GameSnapshotTest {
+    @Test
+    public void testConstructor() {
+        long[] rows = new long[Game.HEIGHT];
+        rows[Game.HEIGHT - 1] = 0b1011;
+        GameSnapshot snapshot = new GameSnapshot(rows, 2, 3, -1, 4, 6, 1200, 9, 12345, true);
+        rows[Game.HEIGHT - 1] = 0;
+
+        assertEquals(Game.HEIGHT, snapshot.getNumRows());
+        assertEquals(0b1011, snapshot.getRow(Game.HEIGHT - 1));
+        assertEquals(0, snapshot.getRow(0));
+        assertEquals(2, snapshot.getActivePieceType());
+        assertEquals(3, snapshot.getActivePieceOrientation());
+        assertEquals(-1, snapshot.getActivePieceX());
+        assertEquals(4, snapshot.getActivePieceY());
+        assertEquals(6, snapshot.getNextPieceType());
+        assertEquals(1200, snapshot.getScore());
+        assertEquals(9, snapshot.getLinesCleared());
+        assertEquals(12345, snapshot.getRandomState());
+        assertTrue(snapshot.isGameOver());
+    }
+
+    @Test
+    public void testConstructorInvalidPieceType() {
+        long[] rows = new long[Game.HEIGHT];
+        try {
+            new GameSnapshot(rows, Game.NUM_TETRIS_PIECES, 0, 0, 0, 0, 0, 0, 0, false);
+            fail("IllegalArgumentException should be thrown");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            new GameSnapshot(rows, 0, 0, 0, 0, -1, 0, 0, 0, false);
+            fail("IllegalArgumentException should be thrown");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testConstructorWithWordsPerRow() {
+        long[] rows = new long[2 * 3];
+        rows[5] = 0b101;
+        GameSnapshot snapshot = new GameSnapshot(rows, 3, 2, 3, -1, 4, 6, 1200, 9, 12345, true);
+
+        assertEquals(2, snapshot.getNumRows());
+        assertEquals(3, snapshot.getWordsPerRow());
+        assertEquals(0b101, snapshot.getRowWord(1, 2));
+        assertEquals(0, snapshot.getRow(1));
+        assertEquals(1, new GameSnapshot(rows, 2, 3, -1, 4, 6, 1200, 9, 12345, true).getWordsPerRow());
+        assertNotEquals(snapshot, new GameSnapshot(rows, 2, 3, -1, 4, 6, 1200, 9, 12345, true));
+
+        try {
+            snapshot.getRowWord(0, 3);
+            fail("IndexOutOfBoundsException should be thrown");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+        try {
+            new GameSnapshot(rows, 4, 2, 3, -1, 4, 6, 1200, 9, 12345, true);
+            fail("IllegalArgumentException should be thrown");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testEqualsAndHashCode() {
+        long[] rows = new long[Game.HEIGHT];
+        rows[5] = 7;
+        GameSnapshot snapshot = new GameSnapshot(rows, 1, 0, 3, 2, 5, 40, 1, 99, false);
+        GameSnapshot same = new GameSnapshot(rows, 1, 0, 3, 2, 5, 40, 1, 99, false);
+        GameSnapshot differentRandomState = new GameSnapshot(rows, 1, 0, 3, 2, 5, 40, 1, 98, false);
+        rows[5] = 6;
+        GameSnapshot differentBoard = new GameSnapshot(rows, 1, 0, 3, 2, 5, 40, 1, 99, false);
+
+        assertEquals(snapshot, same);
+        assertEquals(snapshot.hashCode(), same.hashCode());
+        assertNotEquals(snapshot, differentRandomState);
+        assertNotEquals(snapshot, differentBoard);
+        assertNotEquals(snapshot, null);
+        assertNotEquals(snapshot, "snapshot");
+    }
+}
@@ -3,7 +3,10 @@ package model;
 import exceptions.IllegalStartingLevelException;
 import exceptions.IncorrectBoardSizeException;
 import exceptions.NegativeLinesException;
+import model.event.GameListener;
 import model.pieces.*;
+import model.randomizer.BagRandomizer;
+import model.randomizer.SequenceRandomizer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -13,7 +16,7 @@ import java.util.*;
 import static org.junit.jupiter.api.Assertions.*;
 
 // Unit tests for the Game class
-public class GameTest implements Observer {
+public class GameTest implements GameListener {
     private Game testGame1;
 
     // Identical to testGame1, except that the first "I" piece is placed upright
@@ -21,7 +24,14 @@ public class GameTest implements Observer {
     private Game testGame2;
     private static final int GAME_SEED = 5000;
 
-    private int numNotificationsReceived;
+    // Events this class has received from testGame1
+    private int numPiecesLocked;
+    private int numLinesClearedEvents;
+    private int lastNumLinesCleared;
+    private int lastPointsEarned;
+    private int numLevelChangedEvents;
+    private int lastNewLevel;
+    private int numGameOverEvents;
 
     @BeforeEach
     public void setUp() {
@@ -34,8 +44,11 @@ public class GameTest implements Observer {
             fail("IllegalStartingLevelException should not be thrown");
         }
 
-        testGame1.addObserver(this);
-        numNotificationsReceived = 0;
+        testGame1.addGameListener(this);
+        numPiecesLocked = 0;
+        numLinesClearedEvents = 0;
+        numLevelChangedEvents = 0;
+        numGameOverEvents = 0;
 
         // The random number generator seed is set so that the first piece is an "I" piece.
         // We now set this "I" piece standing upright at the bottom of the rightmost column.
@@ -76,6 +89,12 @@ public class GameTest implements Observer {
         assertTrue(testGame1.getNextPiece() instanceof JPiece);
     }
 
+    @Test
+    public void testGetSeed() {
+        assertEquals(GAME_SEED, testGame1.getSeed());
+        assertEquals(0, testGame1.getStartingLevel());
+    }
+
     @Test
     public void testConstructorStartingLevelNoException() {
         try {
@@ -83,6 +102,8 @@ public class GameTest implements Observer {
             Game myGame2 = new Game(0, Game.MAXIMUM_STARTING_LEVEL);
             assertEquals(4, myGame.getLevel());
             assertEquals(Game.MAXIMUM_STARTING_LEVEL, myGame2.getLevel());
+            assertEquals(4, myGame.getStartingLevel());
+            assertEquals(0, myGame.getSeed());
         } catch (IllegalStartingLevelException e) {
             fail("IllegalStartingLevelException should not be thrown.");
         }
@@ -441,6 +462,7 @@ public class GameTest implements Observer {
             }
             board.set(r, row);
         }
+        testGame1.setBoard(board);
 
         // The first game update will cause the "I" piece to move down one row.
         // The update after that will cause the "I" piece to land on the second-highest
@@ -448,11 +470,12 @@ public class GameTest implements Observer {
         // and cause the player to top out.
         testGame1.update();
         assertFalse(testGame1.isGameOver());
-        assertEquals(0, numNotificationsReceived);
+        assertEquals(0, numPiecesLocked);
 
         testGame1.update();
         assertTrue(testGame1.isGameOver());
-        assertEquals(1, numNotificationsReceived);
+        assertEquals(1, numPiecesLocked);
+        assertEquals(1, numGameOverEvents);
 
         board = testGame1.getBoard();
         List<ArrayList<Boolean>> boardCopy = new ArrayList<ArrayList<Boolean>>();
@@ -523,14 +546,14 @@ public class GameTest implements Observer {
     }
 
     @Test
-    public void testUpdateNotifyObservers() {
+    public void testUpdateNotifyPieceLocked() {
         for (int i = 0; i < Game.HEIGHT - 1; i++) {
             testGame1.update();
         }
 
-        assertEquals(0, numNotificationsReceived);
+        assertEquals(0, numPiecesLocked);
         testGame1.update();
-        assertEquals(1, numNotificationsReceived);
+        assertEquals(1, numPiecesLocked);
 
         // The next piece is a "J" piece.
 
@@ -538,9 +561,110 @@ public class GameTest implements Observer {
             testGame1.update();
         }
 
-        assertEquals(1, numNotificationsReceived);
+        assertEquals(1, numPiecesLocked);
+        testGame1.update();
+        assertEquals(2, numPiecesLocked);
+    }
+
+    @Test
+    public void testUpdateNotifyLinesClearedAndLevelChanged() {
+        List<ArrayList<Boolean>> riggedBoard = Game.getBlankBoard();
+        for (int c = 0; c < Game.WIDTH - 1; c++) {
+            riggedBoard.get(Game.HEIGHT - 1).set(c, true);
+            riggedBoard.get(Game.HEIGHT - 2).set(c, true);
+        }
+        for (int r = Game.HEIGHT - 4; r <= Game.HEIGHT - 1; r++) {
+            riggedBoard.get(r).set(Game.WIDTH - 1, true);
+        }
+        testGame2.setBoard(riggedBoard);
+        testGame2.setLinesCleared(9);
+        testGame2.addGameListener(this);
+
+        testGame2.update();
+        assertEquals(1, numPiecesLocked);
+        assertEquals(1, numLinesClearedEvents);
+        assertEquals(2, lastNumLinesCleared);
+        assertEquals(Game.DOUBLE_POINTS, lastPointsEarned);
+        assertEquals(1, numLevelChangedEvents);
+        assertEquals(1, lastNewLevel);
+        assertEquals(0, numGameOverEvents);
+
+        // Removed listeners are not notified
+        testGame2.removeGameListener(this);
+        for (int i = 0; i < Game.HEIGHT; i++) {
+            testGame2.update();
+        }
+        assertEquals(1, numPiecesLocked);
+    }
+
+    @Test
+    public void testExecuteMovesActivePiece() {
+        Piece activePiece = testGame1.getActivePiece();
+        Set<Point> tileLocations = activePiece.getTileLocations();
+
+        testGame1.execute(InputCommand.MOVE_LEFT);
+        testGame1.execute(InputCommand.MOVE_DOWN);
+        testGame1.execute(InputCommand.MOVE_RIGHT);
+        for (Point location : activePiece.getTileLocations()) {
+            assertTrue(tileLocations.contains(new Point(location.x, location.y - 1)));
+        }
+
+        testGame1.execute(InputCommand.ROTATE);
+        assertNotEquals(4, countTilesInRow(activePiece.getTileLocations(), 1));
+
+        testGame1.execute(InputCommand.NONE);
+        checkBoardContainsPiece(testGame1.getBoard(), activePiece);
+        assertEquals(4, getNumTilesOnBoard());
+    }
+
+    @Test
+    public void testExecuteHardDrop() {
+        Set<Point> hardDropTileLocations = testGame1.getActivePiece().getHardDropTileLocations();
+        testGame1.execute(InputCommand.HARD_DROP);
+
+        // The "I" piece locked into place at the bottom and the "J" piece spawned
+        assertTrue(testGame1.getActivePiece() instanceof JPiece);
+        assertEquals(1, numPiecesLocked);
+        for (Point location : hardDropTileLocations) {
+            assertTrue(testGame1.isCellOccupied(location.x, location.y));
+        }
+        assertEquals(8, getNumTilesOnBoard());
+    }
+
+    @Test
+    public void testExecuteAfterGameOver() {
+        List<ArrayList<Boolean>> board = Game.getBlankBoard();
+        for (int r = 1; r < Game.HEIGHT; r++) {
+            for (int c = 1; c < Game.WIDTH; c++) {
+                board.get(r).set(c, true);
+            }
+        }
+        testGame1.setBoard(board);
         testGame1.update();
-        assertEquals(2, numNotificationsReceived);
+        assertTrue(testGame1.isGameOver());
+
+        List<ArrayList<Boolean>> boardAtGameOver = testGame1.getBoard();
+        testGame1.execute(InputCommand.MOVE_LEFT);
+        testGame1.execute(InputCommand.HARD_DROP);
+        assertTrue(listsOfArrayListsEqual(boardAtGameOver, testGame1.getBoard()));
+    }
+
+    @Test
+    public void testUpdateNotificationsDisabled() {
+        testGame1.setNotificationsEnabled(false);
+        for (int i = 0; i < Game.HEIGHT; i++) {
+            testGame1.update();
+        }
+
+        // The "I" piece landed without notifying listeners
+        assertTrue(testGame1.getActivePiece() instanceof JPiece);
+        assertEquals(0, numPiecesLocked);
+
+        testGame1.setNotificationsEnabled(true);
+        for (int i = 0; i < Game.HEIGHT - 2; i++) {
+            testGame1.update();
+        }
+        assertEquals(1, numPiecesLocked);
     }
 
     @Test
@@ -893,6 +1017,209 @@ public class GameTest implements Observer {
         assertEquals(20, myGame3.getLevel());
     }
 
+    @Test
+    public void testGetMillisecondsPerUpdate() {
+        assertEquals(1000, testGame1.getMillisecondsPerUpdate());
+
+        Game game = new Game(GAME_SEED, 18);
+        assertEquals(1000 - 52 * 18, game.getMillisecondsPerUpdate());
+
+        game = new Game(GAME_SEED, 19);
+        assertEquals(40, game.getMillisecondsPerUpdate());
+
+        // Starting from level 19, level 28 is reached after 220 lines, and level 29 after 10 more
+        game.setLinesCleared(229);
+        assertEquals(28, game.getLevel());
+        assertEquals(40, game.getMillisecondsPerUpdate());
+        game.setLinesCleared(230);
+        assertEquals(29, game.getLevel());
+        assertEquals(20, game.getMillisecondsPerUpdate());
+    }
+
+    @Test
+    public void testTakeAndRestoreSnapshot() {
+        for (int i = 0; i < 30; i++) {
+            testGame1.execute(i % 3 == 0 ? InputCommand.MOVE_LEFT : InputCommand.ROTATE);
+            testGame1.execute(InputCommand.HARD_DROP);
+        }
+        testGame1.execute(InputCommand.MOVE_RIGHT);
+        testGame1.update();
+        GameSnapshot snapshot = testGame1.takeSnapshot();
+
+        Game restored = new Game(GAME_SEED + 1, 0);
+        restored.addGameListener(this);
+        int numPiecesLockedBeforeRestore = numPiecesLocked;
+        restored.restoreSnapshot(snapshot);
+        assertEquals(snapshot, restored.takeSnapshot());
+        assertEquals(testGame1.getBoard(), restored.getBoard());
+        assertEquals(testGame1.getActivePiece().getTileLocations(), restored.getActivePiece().getTileLocations());
+        assertEquals(testGame1.getNextPiece().getClass(), restored.getNextPiece().getClass());
+        assertEquals(testGame1.getScore(), restored.getScore());
+        assertEquals(testGame1.getLinesCleared(), restored.getLinesCleared());
+        assertEquals(numPiecesLockedBeforeRestore, numPiecesLocked);
+
+        // Both games continue in the same way, including the pieces they choose
+        for (int i = 0; i < 40; i++) {
+            InputCommand command = i % 2 == 0 ? InputCommand.MOVE_RIGHT : InputCommand.HARD_DROP;
+            testGame1.execute(command);
+            restored.execute(command);
+            assertEquals(testGame1.takeSnapshot(), restored.takeSnapshot());
+        }
+        assertEquals(GAME_SEED + 1, restored.getSeed());
+    }
+
+    @Test
+    public void testConstructorWithRandomizer() {
+        Game game = new Game(5, 3, new SequenceRandomizer(new int[] {3, 0, 6}));
+        assertEquals(5, game.getSeed());
+        assertEquals(3, game.getLevel());
+        assertTrue(game.getActivePiece() instanceof OPiece);
+        assertTrue(game.getNextPiece() instanceof IPiece);
+        game.execute(InputCommand.HARD_DROP);
+        assertTrue(game.getActivePiece() instanceof IPiece);
+        assertTrue(game.getNextPiece() instanceof ZPiece);
+        game.execute(InputCommand.HARD_DROP);
+        assertTrue(game.getNextPiece() instanceof OPiece);
+
+        try {
+            new Game(5, -1, new BagRandomizer(5));
+            fail("IllegalStartingLevelException should be thrown");
+        } catch (IllegalStartingLevelException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testConstructorWithBoardSize() {
+        Game game = new Game(5, 0, new SequenceRandomizer(new int[] {0, 3}), 64, 400);
+        assertEquals(64, game.getWidth());
+        assertEquals(400, game.getHeight());
+        assertEquals(400, game.getBoard().size());
+        assertEquals(64, game.getBoard().get(0).size());
+        assertEquals(Game.WIDTH, testGame1.getWidth());
+        assertEquals(Game.HEIGHT, testGame1.getHeight());
+
+        // Pieces spawn in the middle of the board and fall all the way down it
+        assertEquals(30, game.getActivePiece().getReferenceX());
+        game.execute(InputCommand.HARD_DROP);
+        assertTrue(game.isCellOccupied(31, 399));
+        assertTrue(game.isCellOccupied(32, 399));
+        assertFalse(game.isGameOver());
+
+        try {
+            new Game(5, 0, new BagRandomizer(5), Game.MINIMUM_WIDTH - 1, Game.HEIGHT);
+            fail("IncorrectBoardSizeException should be thrown");
+        } catch (IncorrectBoardSizeException e) {
+            // expected
+        }
+        try {
+            new Game(5, 0, new BagRandomizer(5), Game.WIDTH, Game.MINIMUM_HEIGHT - 1);
+            fail("IncorrectBoardSizeException should be thrown");
+        } catch (IncorrectBoardSizeException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testLineClearOnWideBoard() {
+        int width = 100;
+        Game game = new Game(5, 0, new SequenceRandomizer(new int[] {3}), width, 30);
+        List<ArrayList<Boolean>> board = Game.getBlankBoard(width, 30);
+        for (int c = 0; c < width; c++) {
+            board.get(29).set(c, c != 49 && c != 50);
+            board.get(28).set(c, c != 49 && c != 50);
+        }
+        board.get(27).set(99, true);
+        game.setBoard(board);
+
+        // The O piece spawns over columns 49 and 50 and fills the gaps in both rows
+        game.execute(InputCommand.HARD_DROP);
+        assertEquals(2, game.getLinesCleared());
+        assertTrue(game.isCellOccupied(99, 29));
+        assertEquals(1, game.getPlayfield().getNumTilesInRow(29));
+    }
+
+    @Test
+    public void testTakeAndRestoreSnapshotOnWideBoard() {
+        Game game = new Game(9, 0, new BagRandomizer(9), 130, 40);
+        game.placeTileAt(0, 39);
+        game.placeTileAt(129, 39);
+        game.placeTileAt(70, 38);
+        GameSnapshot snapshot = game.takeSnapshot();
+        assertEquals(3, snapshot.getWordsPerRow());
+        assertEquals(40, snapshot.getNumRows());
+        assertEquals(1L << 1, snapshot.getRowWord(39, 2));
+
+        Game copy = new Game(0, 0, new BagRandomizer(0), 130, 40);
+        copy.restoreSnapshot(snapshot);
+        assertEquals(game.getBoard(), copy.getBoard());
+        assertEquals(snapshot, copy.takeSnapshot());
+
+        try {
+            testGame1.restoreSnapshot(snapshot);
+            fail("IncorrectBoardSizeException should be thrown");
+        } catch (IncorrectBoardSizeException e) {
+            // expected
+        }
+        try {
+            new Game(0, 0, new BagRandomizer(0), 129, 40).restoreSnapshot(snapshot);
+            fail("IncorrectBoardSizeException should be thrown");
+        } catch (IncorrectBoardSizeException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testTakeAndRestoreSnapshotWithBagRandomizer() {
+        Game game = new Game(8, 0, new BagRandomizer(8));
+        Set<Class<?>> firstBag = new HashSet<Class<?>>();
+        for (int i = 0; i < Game.NUM_TETRIS_PIECES; i++) {
+            firstBag.add(game.getActivePiece().getClass());
+            game.execute(i % 2 == 0 ? InputCommand.MOVE_LEFT : InputCommand.MOVE_RIGHT);
+            game.execute(InputCommand.HARD_DROP);
+        }
+        assertEquals(Game.NUM_TETRIS_PIECES, firstBag.size());
+
+        game.execute(InputCommand.HARD_DROP);
+        Game restored = new Game(9, 0, new BagRandomizer(9));
+        restored.restoreSnapshot(game.takeSnapshot());
+        for (int i = 0; i < 20; i++) {
+            InputCommand command = i % 2 == 0 ? InputCommand.ROTATE : InputCommand.HARD_DROP;
+            game.execute(command);
+            restored.execute(command);
+            assertEquals(game.takeSnapshot(), restored.takeSnapshot());
+        }
+    }
+
+    @Test
+    public void testRestoreSnapshotGameOver() {
+        while (!testGame1.isGameOver()) {
+            testGame1.execute(InputCommand.HARD_DROP);
+        }
+        testGame2.restoreSnapshot(testGame1.takeSnapshot());
+        assertTrue(testGame2.isGameOver());
+        assertEquals(testGame1.getBoard(), testGame2.getBoard());
+    }
+
+    @Test
+    public void testRestoreSnapshotIncorrectBoardSize() {
+        GameSnapshot snapshot = testGame2.takeSnapshot();
+        GameSnapshot tooShort = new GameSnapshot(new long[Game.HEIGHT - 1], 0, 0, 0, 0, 0, 0, 0, 0, false);
+        long[] rows = new long[Game.HEIGHT];
+        rows[3] = 1L << Game.WIDTH;
+        GameSnapshot tooWide = new GameSnapshot(rows, 0, 0, 0, 0, 0, 0, 0, 0, false);
+
+        for (GameSnapshot badSnapshot : Arrays.asList(tooShort, tooWide)) {
+            try {
+                testGame2.restoreSnapshot(badSnapshot);
+                fail("IncorrectBoardSizeException should be thrown");
+            } catch (IncorrectBoardSizeException e) {
+                // this is expected
+            }
+        }
+        assertEquals(snapshot, testGame2.takeSnapshot());
+    }
+
     @Test
     public void testGetBlankBoard() {
         List<ArrayList<Boolean>> blankBoard = Game.getBlankBoard();
@@ -953,6 +1280,17 @@ public class GameTest implements Observer {
         assertEquals(4, pieceTileLocations.size());
     }
 
+    // EFFECTS: returns the number of the given tile locations that are in the given row
+    private static int countTilesInRow(Set<Point> tileLocations, int row) {
+        int numTiles = 0;
+        for (Point location : tileLocations) {
+            if (location.y == row) {
+                numTiles++;
+            }
+        }
+        return numTiles;
+    }
+
     // EFFECTS: returns the number of tiles on the game board
     private int getNumTilesOnBoard() {
         int numTiles = 0;
@@ -966,9 +1304,33 @@ public class GameTest implements Observer {
         return numTiles;
     }
 
-    // EFFECTS: increments the number of notifications this class has received from observables by 1.
+    // EFFECTS: increments the number of pieces this class has been told locked into place by 1.
+    @Override
+    public void pieceLocked(Game game, Piece lockedPiece) {
+        assertNotSame(lockedPiece, game.getActivePiece());
+        numPiecesLocked++;
+    }
+
+    // EFFECTS: records a lines cleared event
+    @Override
+    public void linesCleared(Game game, int numLines, int pointsEarned) {
+        numLinesClearedEvents++;
+        lastNumLinesCleared = numLines;
+        lastPointsEarned = pointsEarned;
+    }
+
+    // EFFECTS: records a level changed event
+    @Override
+    public void levelChanged(Game game, int oldLevel, int newLevel) {
+        assertNotEquals(oldLevel, newLevel);
+        numLevelChangedEvents++;
+        lastNewLevel = newLevel;
+    }
+
+    // EFFECTS: records a game over event
     @Override
-    public void update(Observable observable, Object arg) {
-        numNotificationsReceived++;
+    public void gameOver(Game game) {
+        assertTrue(game.isGameOver());
+        numGameOverEvents++;
     }
 }
\ No newline at end of file
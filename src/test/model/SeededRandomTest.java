@@ -0,0 +1,73 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for the SeededRandom class
+public class SeededRandomTest {
+    @Test
+    public void testSameNumbersAsJavaRandom() {
+        int[] bounds = {1, 2, 7, 8, 1000, 1 << 30, Integer.MAX_VALUE};
+        for (long seed : new long[] {0, 5000, -1, Long.MAX_VALUE}) {
+            Random expected = new Random(seed);
+            SeededRandom actual = new SeededRandom(seed);
+            for (int i = 0; i < 1000; i++) {
+                int bound = bounds[i % bounds.length];
+                assertEquals(expected.nextInt(bound), actual.nextInt(bound));
+            }
+        }
+    }
+
+    @Test
+    public void testSameDoublesAsJavaRandom() {
+        for (long seed : new long[] {0, 5000, -1, Long.MAX_VALUE}) {
+            Random expected = new Random(seed);
+            SeededRandom actual = new SeededRandom(seed);
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(expected.nextDouble(), actual.nextDouble());
+                assertEquals(expected.nextInt(10), actual.nextInt(10));
+            }
+        }
+    }
+
+    @Test
+    public void testGetAndSetState() {
+        SeededRandom random = new SeededRandom(42);
+        for (int i = 0; i < 10; i++) {
+            random.nextInt(Game.NUM_TETRIS_PIECES);
+        }
+        long state = random.getState();
+        int[] expected = new int[20];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = random.nextInt(Game.NUM_TETRIS_PIECES);
+        }
+
+        SeededRandom restored = new SeededRandom(7);
+        restored.setState(state);
+        assertEquals(state, restored.getState());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], restored.nextInt(Game.NUM_TETRIS_PIECES));
+        }
+    }
+
+    @Test
+    public void testSetStateUsesLow48Bits() {
+        SeededRandom random = new SeededRandom(0);
+        random.setState(-1L);
+        assertEquals((1L << 48) - 1, random.getState());
+    }
+
+    @Test
+    public void testNextIntNonPositiveBound() {
+        SeededRandom random = new SeededRandom(0);
+        try {
+            random.nextInt(0);
+            fail("IllegalArgumentException should be thrown");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+}
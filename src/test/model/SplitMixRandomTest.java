@@ -0,0 +1,81 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for the SplitMixRandom class
+public class SplitMixRandomTest {
+    @Test
+    public void testSameSeedSameNumbers() {
+        SplitMixRandom a = new SplitMixRandom(42);
+        SplitMixRandom b = new SplitMixRandom(42);
+        SplitMixRandom c = new SplitMixRandom(43);
+        boolean differs = false;
+        for (int i = 0; i < 100; i++) {
+            long value = a.nextLong();
+            assertEquals(value, b.nextLong());
+            differs |= value != c.nextLong();
+        }
+        assertTrue(differs);
+    }
+
+    @Test
+    public void testNextIntInRangeAndEven() {
+        SplitMixRandom random = new SplitMixRandom(0);
+        int[] counts = new int[7];
+        for (int i = 0; i < 70_000; i++) {
+            counts[random.nextInt(7)]++;
+        }
+        for (int count : counts) {
+            assertTrue(count > 9_500 && count < 10_500);
+        }
+        for (int bound : new int[] {1, 2, Integer.MAX_VALUE}) {
+            for (int i = 0; i < 100; i++) {
+                int value = random.nextInt(bound);
+                assertTrue(value >= 0 && value < bound);
+            }
+        }
+    }
+
+    @Test
+    public void testNextIntBadBound() {
+        try {
+            new SplitMixRandom(0).nextInt(0);
+            fail("IllegalArgumentException should be thrown");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testGetAndSetState() {
+        SplitMixRandom random = new SplitMixRandom(-7);
+        random.nextLong();
+        long state = random.getState();
+        assertEquals(0, state >>> SplitMixRandom.STATE_BITS);
+        long[] expected = new long[20];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = random.nextLong();
+        }
+
+        SplitMixRandom restored = new SplitMixRandom(5);
+        restored.setState(state | (1L << 63));
+        assertEquals(state, restored.getState());
+        for (long value : expected) {
+            assertEquals(value, restored.nextLong());
+        }
+    }
+
+    @Test
+    public void testSplit() {
+        SplitMixRandom random = new SplitMixRandom(1);
+        SplitMixRandom split = random.split();
+        SplitMixRandom again = new SplitMixRandom(1).split();
+        for (int i = 0; i < 20; i++) {
+            long value = split.nextLong();
+            assertEquals(value, again.nextLong());
+            assertNotEquals(value, random.nextLong());
+        }
+    }
+}
@@ -0,0 +1,395 @@
+package model.board;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for the BitBoard class
+public class BitBoardTest {
+    private static final int WIDTH = 10;
+    private static final int HEIGHT = 20;
+
+    private BitBoard board;
+
+    @BeforeEach
+    public void setUp() {
+        board = new BitBoard(WIDTH, HEIGHT);
+    }
+
+    @Test
+    public void testConstructor() {
+        assertEquals(WIDTH, board.getWidth());
+        assertEquals(HEIGHT, board.getHeight());
+        for (int r = 0; r < HEIGHT; r++) {
+            for (int c = 0; c < WIDTH; c++) {
+                assertFalse(board.isCellOccupied(c, r));
+            }
+        }
+    }
+
+    @Test
+    public void testConstructorUnsupportedSize() {
+        try {
+            new BitBoard(0, HEIGHT);
+            fail("IllegalArgumentException should be thrown");
+        } catch (IllegalArgumentException e) {
+            // this is expected
+        }
+
+        try {
+            new BitBoard(WIDTH, 0);
+            fail("IllegalArgumentException should be thrown");
+        } catch (IllegalArgumentException e) {
+            // this is expected
+        }
+    }
+
+    @Test
+    public void testPlaceAndRemoveTile() {
+        board.placeTileAt(WIDTH - 1, HEIGHT - 1);
+        assertTrue(board.isCellOccupied(WIDTH - 1, HEIGHT - 1));
+        assertFalse(board.isCellOccupied(WIDTH - 2, HEIGHT - 1));
+
+        board.removeTileAt(WIDTH - 1, HEIGHT - 1);
+        assertFalse(board.isCellOccupied(WIDTH - 1, HEIGHT - 1));
+
+        // Removing a tile from an empty cell does nothing
+        board.removeTileAt(WIDTH - 1, HEIGHT - 1);
+        assertFalse(board.isCellOccupied(WIDTH - 1, HEIGHT - 1));
+    }
+
+    @Test
+    public void testOutOfBoundsThrowsException() {
+        try {
+            board.isCellOccupied(WIDTH, 0);
+            fail("IndexOutOfBoundsException should be thrown");
+        } catch (IndexOutOfBoundsException e) {
+            // this is expected
+        }
+
+        try {
+            board.placeTileAt(-1, 0);
+            fail("IndexOutOfBoundsException should be thrown");
+        } catch (IndexOutOfBoundsException e) {
+            // this is expected
+        }
+
+        try {
+            board.isRowFilled(HEIGHT);
+            fail("IndexOutOfBoundsException should be thrown");
+        } catch (IndexOutOfBoundsException e) {
+            // this is expected
+        }
+    }
+
+    @Test
+    public void testIsRowFilled() {
+        for (int c = 0; c < WIDTH - 1; c++) {
+            board.placeTileAt(c, HEIGHT - 1);
+        }
+        assertFalse(board.isRowFilled(HEIGHT - 1));
+
+        board.placeTileAt(WIDTH - 1, HEIGHT - 1);
+        assertTrue(board.isRowFilled(HEIGHT - 1));
+        assertFalse(board.isRowFilled(HEIGHT - 2));
+    }
+
+    @Test
+    public void testClearFilledRows() {
+        // Fill the bottom row and the third row from the bottom, and leave a single tile in between and above
+        for (int c = 0; c < WIDTH; c++) {
+            board.placeTileAt(c, HEIGHT - 1);
+            board.placeTileAt(c, HEIGHT - 3);
+        }
+        board.placeTileAt(2, HEIGHT - 2);
+        board.placeTileAt(4, HEIGHT - 4);
+
+        assertEquals(2, board.clearFilledRows());
+
+        assertTrue(board.isCellOccupied(2, HEIGHT - 1));
+        assertTrue(board.isCellOccupied(4, HEIGHT - 2));
+        assertEquals(2, countTiles());
+        assertEquals(0, board.clearFilledRows());
+    }
+
+    @Test
+    public void testClearFilledRowsInRange() {
+        fillRow(HEIGHT - 1);
+        fillRow(HEIGHT - 3);
+
+        assertEquals(0, board.clearFilledRows(0, HEIGHT - 4));
+        assertEquals(1, board.clearFilledRows(HEIGHT - 2, HEIGHT - 1));
+        assertTrue(board.isRowFilled(HEIGHT - 2));
+        assertFalse(board.isRowFilled(HEIGHT - 1));
+    }
+
+    @Test
+    public void testClearFilledRowsNearTop() {
+        // The rows above the cleared rows are fewer than those below, so they are moved down directly
+        for (int r = 3; r < HEIGHT; r++) {
+            board.placeTileAt(r % WIDTH, r);
+        }
+        board.placeTileAt(0, 0);
+        fillRow(2);
+        fillRow(4);
+
+        assertEquals(2, board.clearFilledRows(0, 4));
+
+        assertTrue(board.isCellOccupied(0, 2));
+        assertTrue(board.isCellOccupied(3, 4));
+        for (int r = 5; r < HEIGHT; r++) {
+            assertTrue(board.isCellOccupied(r % WIDTH, r));
+            assertEquals(1, board.getNumTilesInRow(r));
+        }
+        assertEquals(HEIGHT - 3, countTiles());
+    }
+
+    @Test
+    public void testClearFilledRowsRepeatedly() {
+        // Every clear near the bottom rotates the rows, so repeat enough times to wrap around the board
+        int numClears = 3 * HEIGHT;
+        for (int i = 1; i <= numClears; i++) {
+            board.placeTileAt(i % WIDTH, 0);
+            fillRow(HEIGHT - 1);
+            assertEquals(1, board.clearFilledRows(HEIGHT - 1, HEIGHT - 1));
+        }
+
+        // The tile placed in the i'th iteration has fallen to row (numClears - i + 1)
+        assertEquals(0, board.getNumTilesInRow(0));
+        for (int r = 1; r < HEIGHT; r++) {
+            assertTrue(board.isCellOccupied((numClears - r + 1) % WIDTH, r));
+            assertEquals(1, board.getNumTilesInRow(r));
+        }
+        assertEquals(HEIGHT - 1, countTiles());
+        assertEquals(HEIGHT - 1, board.getColumnHeight(numClears % WIDTH));
+    }
+
+    @Test
+    public void testClearFilledRowsTallBoard() {
+        // Rows fall across the boundaries between the longs that hold each column
+        int tallHeight = 3 * Long.SIZE + 5;
+        BitBoard tallBoard = new BitBoard(WIDTH, tallHeight);
+        tallBoard.placeTileAt(2, Long.SIZE - 1);
+        tallBoard.placeTileAt(3, 2 * Long.SIZE - 2);
+        for (int c = 0; c < WIDTH; c++) {
+            tallBoard.placeTileAt(c, 2 * Long.SIZE);
+            tallBoard.placeTileAt(c, 2 * Long.SIZE + 1);
+        }
+
+        assertEquals(2, tallBoard.clearFilledRows());
+
+        assertTrue(tallBoard.isCellOccupied(2, Long.SIZE + 1));
+        assertTrue(tallBoard.isCellOccupied(3, 2 * Long.SIZE));
+        assertEquals(Long.SIZE + 1, tallBoard.getFirstOccupiedRowBelow(2, 0));
+        assertEquals(2 * Long.SIZE, tallBoard.getFirstOccupiedRowBelow(3, Long.SIZE));
+        assertEquals(tallHeight, tallBoard.getFirstOccupiedRowBelow(4, 0));
+    }
+
+    @Test
+    public void testWideBoard() {
+        // Rows span several longs, and the last long is only partly used
+        int wideWidth = 2 * BitBoard.ROW_WORD_BITS + 2;
+        BitBoard wideBoard = new BitBoard(wideWidth, HEIGHT);
+        assertEquals(3, wideBoard.getNumRowWords());
+
+        wideBoard.placeTileAt(BitBoard.ROW_WORD_BITS, HEIGHT - 1);
+        wideBoard.placeTileAt(wideWidth - 1, HEIGHT - 1);
+        assertTrue(wideBoard.isCellOccupied(BitBoard.ROW_WORD_BITS, HEIGHT - 1));
+        assertTrue(wideBoard.isCellOccupied(wideWidth - 1, HEIGHT - 1));
+        assertFalse(wideBoard.isCellOccupied(0, HEIGHT - 1));
+        assertFalse(wideBoard.isCellOccupied(BitBoard.ROW_WORD_BITS - 1, HEIGHT - 1));
+        assertEquals(0, wideBoard.getRowWord(HEIGHT - 1, 0));
+        assertEquals(1L, wideBoard.getRowWord(HEIGHT - 1, 1));
+        assertEquals(0b10L, wideBoard.getRowWord(HEIGHT - 1, 2));
+        assertEquals(2, wideBoard.getNumTilesInRow(HEIGHT - 1));
+
+        wideBoard.removeTileAt(BitBoard.ROW_WORD_BITS, HEIGHT - 1);
+        assertEquals(0, wideBoard.getRowWord(HEIGHT - 1, 1));
+        assertEquals(1, wideBoard.getNumTilesInRow(HEIGHT - 1));
+    }
+
+    @Test
+    public void testClearFilledRowsWideTallBoard() {
+        int wideWidth = 2 * BitBoard.ROW_WORD_BITS + 5;
+        int tallHeight = 400;
+        BitBoard wideBoard = new BitBoard(wideWidth, tallHeight);
+        wideBoard.placeTileAt(wideWidth - 1, tallHeight - 5);
+        wideBoard.placeTileAt(BitBoard.ROW_WORD_BITS + 1, 10);
+        for (int c = 0; c < wideWidth; c++) {
+            wideBoard.placeTileAt(c, tallHeight - 1);
+            wideBoard.placeTileAt(c, tallHeight - 3);
+        }
+        wideBoard.removeTileAt(0, tallHeight - 3);
+        assertTrue(wideBoard.isRowFilled(tallHeight - 1));
+        assertFalse(wideBoard.isRowFilled(tallHeight - 3));
+
+        assertEquals(1, wideBoard.clearFilledRows());
+
+        assertTrue(wideBoard.isCellOccupied(wideWidth - 1, tallHeight - 4));
+        assertTrue(wideBoard.isCellOccupied(BitBoard.ROW_WORD_BITS + 1, 11));
+        assertEquals(wideWidth - 1, wideBoard.getNumTilesInRow(tallHeight - 2));
+        assertFalse(wideBoard.isCellOccupied(0, tallHeight - 2));
+        assertEquals(0, wideBoard.getNumTilesInRow(tallHeight - 1));
+        assertEquals(0, wideBoard.getRowWord(tallHeight - 1, 2));
+        assertEquals(tallHeight - 11, wideBoard.getColumnHeight(BitBoard.ROW_WORD_BITS + 1));
+    }
+
+    @Test
+    public void testGetRowWord() {
+        board.placeTileAt(0, HEIGHT - 1);
+        board.placeTileAt(3, HEIGHT - 1);
+        assertEquals(1, board.getNumRowWords());
+        assertEquals(0b1001L, board.getRowWord(HEIGHT - 1, 0));
+        assertEquals(0, board.getRowWord(0, 0));
+
+        try {
+            board.getRowWord(0, 1);
+            fail("IndexOutOfBoundsException should be thrown");
+        } catch (IndexOutOfBoundsException e) {
+            // this is expected
+        }
+
+        try {
+            board.getRowWord(HEIGHT, 0);
+            fail("IndexOutOfBoundsException should be thrown");
+        } catch (IndexOutOfBoundsException e) {
+            // this is expected
+        }
+    }
+
+    @Test
+    public void testGetNumTilesInRow() {
+        assertEquals(0, board.getNumTilesInRow(HEIGHT - 1));
+
+        board.placeTileAt(0, HEIGHT - 1);
+        board.placeTileAt(0, HEIGHT - 1);
+        board.placeTileAt(5, HEIGHT - 1);
+        assertEquals(2, board.getNumTilesInRow(HEIGHT - 1));
+
+        board.removeTileAt(5, HEIGHT - 1);
+        board.removeTileAt(5, HEIGHT - 1);
+        assertEquals(1, board.getNumTilesInRow(HEIGHT - 1));
+
+        try {
+            board.getNumTilesInRow(HEIGHT);
+            fail("IndexOutOfBoundsException should be thrown");
+        } catch (IndexOutOfBoundsException e) {
+            // this is expected
+        }
+    }
+
+    @Test
+    public void testGetColumnHeight() {
+        assertEquals(0, board.getColumnHeight(4));
+
+        board.placeTileAt(4, HEIGHT - 1);
+        board.placeTileAt(4, HEIGHT - 5);
+        assertEquals(5, board.getColumnHeight(4));
+
+        board.removeTileAt(4, HEIGHT - 5);
+        assertEquals(1, board.getColumnHeight(4));
+
+        board.placeTileAt(4, HEIGHT - 3);
+        fillRow(HEIGHT - 1);
+        board.clearFilledRows();
+        assertEquals(2, board.getColumnHeight(4));
+        assertEquals(0, board.getColumnHeight(0));
+
+        board.clear();
+        assertEquals(0, board.getColumnHeight(4));
+
+        try {
+            board.getColumnHeight(WIDTH);
+            fail("IndexOutOfBoundsException should be thrown");
+        } catch (IndexOutOfBoundsException e) {
+            // this is expected
+        }
+    }
+
+    @Test
+    public void testClear() {
+        board.placeTileAt(0, 0);
+        board.placeTileAt(WIDTH - 1, HEIGHT - 1);
+        board.clear();
+        assertEquals(0, countTiles());
+    }
+
+    @Test
+    public void testGetFirstOccupiedRowBelow() {
+        assertEquals(HEIGHT, board.getFirstOccupiedRowBelow(3, 0));
+
+        board.placeTileAt(3, 5);
+        board.placeTileAt(3, HEIGHT - 1);
+        assertEquals(5, board.getFirstOccupiedRowBelow(3, 0));
+        assertEquals(5, board.getFirstOccupiedRowBelow(3, 4));
+        assertEquals(HEIGHT - 1, board.getFirstOccupiedRowBelow(3, 5));
+        assertEquals(HEIGHT, board.getFirstOccupiedRowBelow(3, HEIGHT - 1));
+        assertEquals(HEIGHT, board.getFirstOccupiedRowBelow(4, 0));
+
+        board.removeTileAt(3, 5);
+        assertEquals(HEIGHT - 1, board.getFirstOccupiedRowBelow(3, 0));
+    }
+
+    @Test
+    public void testGetFirstOccupiedRowBelowAfterLineClear() {
+        for (int c = 0; c < WIDTH; c++) {
+            board.placeTileAt(c, HEIGHT - 1);
+        }
+        board.placeTileAt(1, HEIGHT - 3);
+        board.clearFilledRows();
+
+        assertEquals(HEIGHT - 2, board.getFirstOccupiedRowBelow(1, 0));
+        assertEquals(HEIGHT, board.getFirstOccupiedRowBelow(0, 0));
+    }
+
+    @Test
+    public void testGetFirstOccupiedRowBelowTallBoard() {
+        // Columns of this board do not fit into a single long
+        int tallHeight = 3 * Long.SIZE + 5;
+        BitBoard tallBoard = new BitBoard(WIDTH, tallHeight);
+        tallBoard.placeTileAt(2, 2 * Long.SIZE + 1);
+
+        assertEquals(2 * Long.SIZE + 1, tallBoard.getFirstOccupiedRowBelow(2, 0));
+        assertEquals(2 * Long.SIZE + 1, tallBoard.getFirstOccupiedRowBelow(2, Long.SIZE));
+        assertEquals(tallHeight, tallBoard.getFirstOccupiedRowBelow(2, 2 * Long.SIZE + 1));
+    }
+
+    @Test
+    public void testGetModificationCount() {
+        long modificationCount = board.getModificationCount();
+
+        board.placeTileAt(0, 0);
+        assertNotEquals(modificationCount, board.getModificationCount());
+
+        modificationCount = board.getModificationCount();
+        board.isCellOccupied(0, 0);
+        board.isRowFilled(0);
+        assertEquals(0, board.clearFilledRows());
+        assertEquals(modificationCount, board.getModificationCount());
+
+        board.removeTileAt(0, 0);
+        assertNotEquals(modificationCount, board.getModificationCount());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: places a tile in every cell of row y
+    private void fillRow(int y) {
+        for (int c = 0; c < WIDTH; c++) {
+            board.placeTileAt(c, y);
+        }
+    }
+
+    // EFFECTS: returns the number of tiles on the board
+    private int countTiles() {
+        int numTiles = 0;
+        for (int r = 0; r < HEIGHT; r++) {
+            for (int c = 0; c < WIDTH; c++) {
+                if (board.isCellOccupied(c, r)) {
+                    numTiles++;
+                }
+            }
+        }
+        return numTiles;
+    }
+}
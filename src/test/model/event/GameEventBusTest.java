@@ -0,0 +1,126 @@
+package model.event;
+
+import model.Game;
+import model.pieces.Piece;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for the GameEventBus class
+public class GameEventBusTest {
+    private GameEventBus bus;
+    private Game game;
+    private List<String> received;
+
+    @BeforeEach
+    public void setUp() {
+        bus = new GameEventBus();
+        game = new Game(0, 0);
+        received = new ArrayList<String>();
+    }
+
+    @Test
+    public void testConstructor() {
+        assertEquals(0, bus.getNumListeners());
+        bus.gameOver(game);
+    }
+
+    @Test
+    public void testEventsDeliveredInOrderAdded() {
+        bus.addListener(new RecordingListener("a"));
+        bus.addListener(new RecordingListener("b"));
+        assertEquals(2, bus.getNumListeners());
+
+        bus.pieceLocked(game, game.getActivePiece());
+        bus.linesCleared(game, 4, Game.TETRIS_POINTS);
+        bus.levelChanged(game, 0, 1);
+        bus.gameOver(game);
+
+        List<String> expected = new ArrayList<String>();
+        expected.add("a locked");
+        expected.add("b locked");
+        expected.add("a cleared 4 for 1200");
+        expected.add("b cleared 4 for 1200");
+        expected.add("a level 0 to 1");
+        expected.add("b level 0 to 1");
+        expected.add("a over");
+        expected.add("b over");
+        assertEquals(expected, received);
+    }
+
+    @Test
+    public void testRemoveListener() {
+        RecordingListener listenerA = new RecordingListener("a");
+        RecordingListener listenerB = new RecordingListener("b");
+        bus.addListener(listenerA);
+        bus.addListener(listenerB);
+        bus.addListener(listenerA);
+
+        bus.removeListener(listenerA);
+        assertEquals(2, bus.getNumListeners());
+        bus.gameOver(game);
+
+        bus.removeListener(listenerA);
+        bus.removeListener(listenerA);
+        assertEquals(1, bus.getNumListeners());
+        bus.gameOver(game);
+
+        List<String> expected = new ArrayList<String>();
+        expected.add("b over");
+        expected.add("a over");
+        expected.add("b over");
+        assertEquals(expected, received);
+    }
+
+    @Test
+    public void testListenerAddedDuringDelivery() {
+        // A listener added while an event is being delivered only receives later events
+        bus.addListener(new GameAdapter() {
+            @Override
+            public void gameOver(Game game) {
+                bus.addListener(new RecordingListener("late"));
+            }
+        });
+
+        bus.gameOver(game);
+        assertTrue(received.isEmpty());
+        assertEquals(2, bus.getNumListeners());
+
+        bus.levelChanged(game, 2, 3);
+        assertEquals(1, received.size());
+        assertEquals("late level 2 to 3", received.get(0));
+    }
+
+    // Records every event it receives, prefixed by its name
+    private class RecordingListener implements GameListener {
+        private String name;
+
+        RecordingListener(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void pieceLocked(Game game, Piece lockedPiece) {
+            received.add(name + " locked");
+        }
+
+        @Override
+        public void linesCleared(Game game, int numLines, int pointsEarned) {
+            received.add(name + " cleared " + numLines + " for " + pointsEarned);
+        }
+
+        @Override
+        public void levelChanged(Game game, int oldLevel, int newLevel) {
+            received.add(name + " level " + oldLevel + " to " + newLevel);
+        }
+
+        @Override
+        public void gameOver(Game game) {
+            received.add(name + " over");
+        }
+    }
+}
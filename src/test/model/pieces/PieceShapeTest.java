@@ -0,0 +1,61 @@
+package model.pieces;
+
+import model.Game;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for the PieceShape class
+public class PieceShapeTest {
+
+    @Test
+    public void testGetTileLocations() {
+        PieceShape shape = new PieceShape(new int[][][] {
+                {{0, 1}, {1, 1}, {2, 1}, {3, 1}},
+                {{2, 0}, {2, 1}, {2, 2}, {2, 3}},
+                {{0, 2}, {1, 2}, {2, 2}, {3, 2}},
+                {{1, 0}, {1, 1}, {1, 2}, {1, 3}}
+        });
+
+        assertEquals(3, shape.getTileX(0, 3));
+        assertEquals(1, shape.getTileY(0, 3));
+        assertEquals(2, shape.getTileX(1, 0));
+        assertEquals(2, shape.getTileY(2, 1));
+        assertEquals(1, shape.getTileX(3, 2));
+        assertEquals(3, shape.getTileY(3, 3));
+    }
+
+    @Test
+    public void testConstructorWrongNumberOfOrientations() {
+        try {
+            new PieceShape(new int[][][] {
+                    {{0, 1}, {1, 1}, {2, 1}, {3, 1}}
+            });
+            fail("IllegalArgumentException should be thrown");
+        } catch (IllegalArgumentException e) {
+            // this is expected
+        }
+    }
+
+    @Test
+    public void testConstructorWrongNumberOfTiles() {
+        try {
+            new PieceShape(new int[][][] {
+                    {{0, 1}, {1, 1}, {2, 1}},
+                    {{2, 0}, {2, 1}, {2, 2}},
+                    {{0, 1}, {1, 1}, {2, 1}},
+                    {{2, 0}, {2, 1}, {2, 2}}
+            });
+            fail("IllegalArgumentException should be thrown");
+        } catch (IllegalArgumentException e) {
+            // this is expected
+        }
+    }
+
+    @Test
+    public void testShapeSharedByPiecesOfSameType() {
+        Game game = new Game(0, 0);
+        assertSame(new TPiece(game).shape, new TPiece(game).shape);
+        assertNotSame(new TPiece(game).shape, new JPiece(game).shape);
+    }
+}
@@ -3,6 +3,7 @@ package model.pieces;
 import exceptions.IllegalStartingLevelException;
 import exceptions.IncorrectBoardSizeException;
 import model.Game;
+import model.GameTest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -213,6 +214,102 @@ public abstract class PieceTest {
         assertEquals(tileLocationsCopy, piece.getTileLocations());
     }
 
+    @Test
+    public void testGetTileXAndY() {
+        piece.moveDown();
+        piece.moveRight();
+        piece.rotate();
+
+        Set<Point> tileLocations = piece.getTileLocations();
+        for (int i = 0; i < PieceShape.NUM_TILES; i++) {
+            assertTrue(tileLocations.contains(new Point(piece.getTileX(i), piece.getTileY(i))));
+        }
+    }
+
+    @Test
+    public void testGetReferenceAndOrientation() {
+        int referenceX = piece.getReferenceX();
+        int referenceY = piece.getReferenceY();
+        assertEquals(0, piece.getOrientation());
+
+        piece.moveDown();
+        piece.moveRight();
+        assertEquals(referenceX + 1, piece.getReferenceX());
+        assertEquals(referenceY + 1, piece.getReferenceY());
+        assertEquals(piece.rotate() ? 1 : 0, piece.getOrientation());
+    }
+
+    @Test
+    public void testSetPosition() {
+        List<ArrayList<Boolean>> board = testGame.getBoard();
+        piece.setPosition(piece.getReferenceX() + 1, piece.getReferenceY() + 2, 3);
+        assertEquals(3, piece.getOrientation());
+        for (int i = 0; i < PieceShape.NUM_TILES; i++) {
+            assertEquals(piece.getReferenceX() + piece.shape.getTileX(3, i), piece.getTileX(i));
+            assertEquals(piece.getReferenceY() + piece.shape.getTileY(3, i), piece.getTileY(i));
+        }
+
+        // The board is not changed
+        assertTrue(GameTest.listsOfArrayListsEqual(board, testGame.getBoard()));
+
+        try {
+            piece.setPosition(0, 0, PieceShape.NUM_ORIENTATIONS);
+            fail("IllegalArgumentException should be thrown");
+        } catch (IllegalArgumentException e) {
+            // this is expected
+        }
+        assertEquals(3, piece.getOrientation());
+    }
+
+    @Test
+    public void testGetHardDropDistanceDoesNotModifyBoard() {
+        List<ArrayList<Boolean>> board = testGame.getBoard();
+        Set<Point> tileLocations = piece.getTileLocations();
+
+        int distance = piece.getHardDropDistance();
+        assertTrue(distance > 0);
+        assertEquals(tileLocations, piece.getTileLocations());
+        assertTrue(GameTest.listsOfArrayListsEqual(board, testGame.getBoard()));
+    }
+
+    @Test
+    public void testHardDrop() {
+        Set<Point> hardDropTileLocations = piece.getHardDropTileLocations();
+        int distance = piece.getHardDropDistance();
+
+        assertEquals(distance, piece.hardDrop());
+        assertEquals(hardDropTileLocations, piece.getTileLocations());
+        GameTest.checkBoardContainsPiece(testGame.getBoard(), piece);
+
+        // The piece cannot move down any further
+        assertEquals(0, piece.getHardDropDistance());
+        assertEquals(0, piece.hardDrop());
+        assertFalse(piece.moveDown());
+    }
+
+    @Test
+    public void testGetHardDropTileLocationsIsCached() {
+        Set<Point> hardDropTileLocations = piece.getHardDropTileLocations();
+        assertSame(hardDropTileLocations, piece.getHardDropTileLocations());
+
+        try {
+            hardDropTileLocations.clear();
+            fail("UnsupportedOperationException should be thrown");
+        } catch (UnsupportedOperationException e) {
+            // this is expected
+        }
+
+        // Moving the piece sideways changes where it lands
+        assertTrue(piece.moveRight());
+        Set<Point> movedHardDropTileLocations = piece.getHardDropTileLocations();
+        assertNotEquals(hardDropTileLocations, movedHardDropTileLocations);
+
+        // Changing the board changes where the piece lands
+        Point lowestTile = movedHardDropTileLocations.iterator().next();
+        testGame.placeTileAt(lowestTile.x, lowestTile.y);
+        assertNotEquals(movedHardDropTileLocations, piece.getHardDropTileLocations());
+    }
+
     @Test
     public void testRotateAtCeiling() {
         Set<Point> tileLocations = piece.getTileLocations();
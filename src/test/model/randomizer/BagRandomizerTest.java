@@ -0,0 +1,44 @@
+package model.randomizer;
+
+import model.Game;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for the BagRandomizer class
+public class BagRandomizerTest {
+    @Test
+    public void testEveryTypeOncePerBag() {
+        int[] pieceTypes = RandomizerTestUtil.deal(new BagRandomizer(5), Game.NUM_TETRIS_PIECES * 100);
+        for (int bag = 0; bag < 100; bag++) {
+            boolean[] seen = new boolean[Game.NUM_TETRIS_PIECES];
+            for (int i = 0; i < Game.NUM_TETRIS_PIECES; i++) {
+                int type = pieceTypes[bag * Game.NUM_TETRIS_PIECES + i];
+                assertFalse(seen[type]);
+                seen[type] = true;
+            }
+        }
+    }
+
+    @Test
+    public void testBagsAreShuffledDifferently() {
+        int[] pieceTypes = RandomizerTestUtil.deal(new BagRandomizer(5), Game.NUM_TETRIS_PIECES * 2);
+        boolean differs = false;
+        for (int i = 0; i < Game.NUM_TETRIS_PIECES; i++) {
+            differs |= pieceTypes[i] != pieceTypes[i + Game.NUM_TETRIS_PIECES];
+        }
+        assertTrue(differs);
+        assertArrayEquals(pieceTypes, RandomizerTestUtil.deal(new BagRandomizer(5), Game.NUM_TETRIS_PIECES * 2));
+    }
+
+    @Test
+    public void testGetAndSetState() {
+        RandomizerTestUtil.checkStateRestores(new BagRandomizer(3), new BagRandomizer(4));
+
+        // A state taken before any piece is dealt restores too
+        BagRandomizer fresh = new BagRandomizer(8);
+        BagRandomizer restored = new BagRandomizer(9);
+        restored.setState(fresh.getState());
+        assertArrayEquals(RandomizerTestUtil.deal(fresh, 20), RandomizerTestUtil.deal(restored, 20));
+    }
+}
@@ -0,0 +1,35 @@
+package model.randomizer;
+
+import model.Game;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for the NesRandomizer class
+public class NesRandomizerTest {
+    @Test
+    public void testRepeatsAreRare() {
+        int n = 70_000;
+        int[] pieceTypes = RandomizerTestUtil.deal(new NesRandomizer(11), n);
+        int repeats = 0;
+        int[] counts = new int[Game.NUM_TETRIS_PIECES];
+        for (int i = 0; i < n; i++) {
+            counts[pieceTypes[i]]++;
+            if (i > 0 && pieceTypes[i] == pieceTypes[i - 1]) {
+                repeats++;
+            }
+        }
+
+        // A repeat needs a reroll, which happens when the first roll repeats or is the extra number (2 in 8), and
+        // the reroll to repeat (1 in 7): 1 in 28, which is far rarer than the uniform randomizer's 1 in 7
+        assertTrue(repeats > n / 35 && repeats < n / 23);
+        for (int count : counts) {
+            assertTrue(count > n / Game.NUM_TETRIS_PIECES * 9 / 10);
+        }
+    }
+
+    @Test
+    public void testGetAndSetState() {
+        RandomizerTestUtil.checkStateRestores(new NesRandomizer(3), new NesRandomizer(4));
+    }
+}
@@ -0,0 +1,27 @@
+package model.randomizer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Checks shared by the tests of every piece randomizer
+public class RandomizerTestUtil {
+    // EFFECTS: deals n pieces from the given randomizer and returns them, checking each is a piece type
+    public static int[] deal(PieceRandomizer randomizer, int n) {
+        int[] pieceTypes = new int[n];
+        for (int i = 0; i < n; i++) {
+            pieceTypes[i] = randomizer.nextPieceType();
+            assertTrue(pieceTypes[i] >= 0 && pieceTypes[i] < model.Game.NUM_TETRIS_PIECES);
+        }
+        return pieceTypes;
+    }
+
+    // EFFECTS: checks that after dealing each number of pieces up to 20, restoring original's state into
+    //          restored makes restored deal the same pieces as original
+    public static void checkStateRestores(PieceRandomizer original, PieceRandomizer restored) {
+        for (int i = 0; i < 20; i++) {
+            long state = original.getState();
+            restored.setState(state);
+            assertEquals(state, restored.getState());
+            assertArrayEquals(deal(original, 30), deal(restored, 30));
+        }
+    }
+}
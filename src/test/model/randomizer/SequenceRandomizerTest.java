@@ -0,0 +1,64 @@
+package model.randomizer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for the SequenceRandomizer and RandomizerKind classes
+public class SequenceRandomizerTest {
+    @Test
+    public void testDealsSequenceAndWrapsAround() {
+        SequenceRandomizer randomizer = new SequenceRandomizer(new int[] {6, 0, 3});
+        assertEquals(3, randomizer.getLength());
+        assertArrayEquals(new int[] {6, 0, 3, 6, 0, 3, 6}, RandomizerTestUtil.deal(randomizer, 7));
+        assertEquals(1, randomizer.getState());
+    }
+
+    @Test
+    public void testConstructorInvalid() {
+        int[][] sequences = {{}, {0, 7}, {-1}};
+        for (int[] sequence : sequences) {
+            try {
+                new SequenceRandomizer(sequence);
+                fail("IllegalArgumentException should be thrown");
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+        try {
+            SequenceRandomizer.generate(new BagRandomizer(0), 0);
+            fail("IllegalArgumentException should be thrown");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testGenerateAndShare() {
+        SequenceRandomizer generated = SequenceRandomizer.generate(new NesRandomizer(2), 500);
+        int[] expected = RandomizerTestUtil.deal(new NesRandomizer(2), 500);
+        SequenceRandomizer shared = new SequenceRandomizer(generated);
+        assertArrayEquals(expected, RandomizerTestUtil.deal(generated, 500));
+        assertEquals(0, shared.getState());
+        assertArrayEquals(expected, RandomizerTestUtil.deal(shared, 500));
+    }
+
+    @Test
+    public void testGetAndSetState() {
+        SequenceRandomizer generated = SequenceRandomizer.generate(new BagRandomizer(1), 45);
+        RandomizerTestUtil.checkStateRestores(generated, new SequenceRandomizer(generated));
+        generated.setState(-1);
+        assertEquals(44, generated.getState());
+    }
+
+    @Test
+    public void testRandomizerKindCreate() {
+        for (RandomizerKind kind : RandomizerKind.values()) {
+            assertArrayEquals(RandomizerTestUtil.deal(kind.create(17), 50),
+                    RandomizerTestUtil.deal(kind.create(17), 50));
+        }
+        assertTrue(RandomizerKind.UNIFORM.create(0) instanceof UniformRandomizer);
+        assertTrue(RandomizerKind.BAG.create(0) instanceof BagRandomizer);
+        assertTrue(RandomizerKind.NES.create(0) instanceof NesRandomizer);
+    }
+}
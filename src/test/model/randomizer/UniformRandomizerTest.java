@@ -0,0 +1,25 @@
+package model.randomizer;
+
+import model.Game;
+import model.SeededRandom;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for the UniformRandomizer class
+public class UniformRandomizerTest {
+    @Test
+    public void testSameAsSeededRandom() {
+        UniformRandomizer randomizer = new UniformRandomizer(99);
+        SeededRandom random = new SeededRandom(99);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(random.nextInt(Game.NUM_TETRIS_PIECES), randomizer.nextPieceType());
+        }
+        assertEquals(random.getState(), randomizer.getState());
+    }
+
+    @Test
+    public void testGetAndSetState() {
+        RandomizerTestUtil.checkStateRestores(new UniformRandomizer(3), new UniformRandomizer(4));
+    }
+}
@@ -0,0 +1,304 @@
+package persistence;
+
+import exceptions.CorruptedFileException;
+import model.ScoreboardEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for the ScoreboardLog class
+public class ScoreboardLogTest {
+    private File file;
+    private List<ScoreboardEntry> entries;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        file = File.createTempFile("scoreboard", ".dat");
+        file.deleteOnExit();
+        entries = new ArrayList<ScoreboardEntry>();
+        entries.add(new ScoreboardEntry(10000, "My Name", 64));
+        entries.add(new ScoreboardEntry(0, "", 0));
+        entries.add(new ScoreboardEntry(999999, "Zo\u00eb \u540d\u524d", 250));
+    }
+
+    @Test
+    public void testReadEmptyFile() throws CorruptedFileException, IOException {
+        assertEquals(0, ScoreboardLog.read(file).getSize());
+    }
+
+    @Test
+    public void testReadMissingFile() throws CorruptedFileException {
+        try {
+            ScoreboardLog.read(new File("./data/test/noSuchScoreboardLog.dat"));
+            fail("IOException should be thrown");
+        } catch (IOException e) {
+            // this is expected
+        }
+    }
+
+    @Test
+    public void testAppendToEmptyFile() throws CorruptedFileException, IOException {
+        ScoreboardLog.append(file, entries, SyncPolicy.NEVER);
+        assertEquals(entries, ScoreboardLog.read(file).getEntries());
+        assertEquals(expectedBytes(entries), file.length());
+    }
+
+    @Test
+    public void testAppendToMissingFile() throws CorruptedFileException, IOException {
+        assertTrue(file.delete());
+        ScoreboardLog.append(file, entries, SyncPolicy.ALWAYS);
+        assertEquals(entries, ScoreboardLog.read(file).getEntries());
+    }
+
+    @Test
+    public void testAppendOnlyWritesNewEntries() throws CorruptedFileException, IOException {
+        ScoreboardLog.append(file, entries.subList(0, 2), SyncPolicy.NEVER);
+        byte[] before = Files.readAllBytes(file.toPath());
+        ScoreboardLog.append(file, entries.subList(2, 3), SyncPolicy.ALWAYS);
+        byte[] after = Files.readAllBytes(file.toPath());
+
+        assertEquals(expectedBytes(entries), after.length);
+        for (int i = 0; i < before.length; i++) {
+            assertEquals(before[i], after[i]);
+        }
+        assertEquals(entries, ScoreboardLog.read(file).getEntries());
+    }
+
+    @Test
+    public void testAppendNoEntries() throws CorruptedFileException, IOException {
+        ScoreboardLog.append(file, new ArrayList<ScoreboardEntry>(), SyncPolicy.NEVER);
+        assertEquals(ScoreboardLog.HEADER_BYTES, file.length());
+        assertEquals(0, ScoreboardLog.read(file).getSize());
+    }
+
+    @Test
+    public void testAppendToTextFile() throws IOException {
+        Files.write(file.toPath(), "10000\nMy Name\n64\n".getBytes(StandardCharsets.UTF_8));
+        long length = file.length();
+        try {
+            ScoreboardLog.append(file, entries, SyncPolicy.NEVER);
+            fail("CorruptedFileException should be thrown");
+        } catch (CorruptedFileException e) {
+            // this is expected
+        }
+        assertEquals(length, file.length());
+    }
+
+    @Test
+    public void testAppendNameTooLong() throws CorruptedFileException {
+        List<ScoreboardEntry> longName = new ArrayList<ScoreboardEntry>();
+        longName.add(new ScoreboardEntry(1, "a".repeat(ScoreboardLog.MAXIMUM_PAYLOAD_BYTES), 1));
+        try {
+            ScoreboardLog.append(file, longName, SyncPolicy.NEVER);
+            fail("IOException should be thrown");
+        } catch (IOException e) {
+            // this is expected
+        }
+        assertEquals(0, file.length());
+    }
+
+    @Test
+    public void testWrite() throws CorruptedFileException, IOException {
+        ScoreboardLog.append(file, entries, SyncPolicy.NEVER);
+        List<ScoreboardEntry> kept = new ArrayList<ScoreboardEntry>(entries.subList(1, 3));
+        ScoreboardLog.write(file, kept, SyncPolicy.ALWAYS);
+        assertEquals(kept, ScoreboardLog.read(file).getEntries());
+        assertEquals(expectedBytes(kept), file.length());
+
+        ScoreboardLog.write(file, new ArrayList<ScoreboardEntry>(), SyncPolicy.NEVER);
+        assertEquals(0, ScoreboardLog.read(file).getSize());
+        ScoreboardLog.append(file, entries, SyncPolicy.NEVER);
+        assertEquals(entries, ScoreboardLog.read(file).getEntries());
+    }
+
+    @Test
+    public void testReadNotALog() throws IOException {
+        Files.write(file.toPath(), "10000\nMy Name\n64\n".getBytes(StandardCharsets.UTF_8));
+        checkCorrupted();
+    }
+
+    @Test
+    public void testReadUnsupportedVersion() throws CorruptedFileException, IOException {
+        ScoreboardLog.append(file, entries, SyncPolicy.NEVER);
+        overwriteByte(Integer.BYTES, ScoreboardLog.VERSION + 1);
+        checkCorrupted();
+    }
+
+    @Test
+    public void testReadInvalidChecksum() throws CorruptedFileException, IOException {
+        ScoreboardLog.append(file, entries, SyncPolicy.NEVER);
+        // Change the last byte of the first entry's score
+        overwriteByte(ScoreboardLog.HEADER_BYTES + ScoreboardLog.RECORD_HEADER_BYTES + Integer.BYTES - 1, 0x11);
+        checkCorrupted();
+    }
+
+    @Test
+    public void testReadInvalidLength() throws CorruptedFileException, IOException {
+        ScoreboardLog.append(file, entries, SyncPolicy.NEVER);
+        overwriteByte(ScoreboardLog.HEADER_BYTES, 0x7F);
+        checkCorrupted();
+    }
+
+    @Test
+    public void testReadTruncatedRecord() throws CorruptedFileException, IOException {
+        ScoreboardLog.append(file, entries, SyncPolicy.NEVER);
+        setLength(file.length() - 1);
+        assertEquals(entries.subList(0, 2), ScoreboardLog.read(file).getEntries());
+        setLength(ScoreboardLog.HEADER_BYTES + ScoreboardLog.RECORD_HEADER_BYTES - 1);
+        assertEquals(0, ScoreboardLog.read(file).getSize());
+    }
+
+    @Test
+    public void testReadInvalidLastChecksum() throws CorruptedFileException, IOException {
+        ScoreboardLog.append(file, entries, SyncPolicy.NEVER);
+        overwriteByte(file.length() - 1, 0x11);
+        assertEquals(entries.subList(0, 2), ScoreboardLog.read(file).getEntries());
+    }
+
+    @Test
+    public void testReadZerosAfterRecords() throws CorruptedFileException, IOException {
+        ScoreboardLog.append(file, entries, SyncPolicy.NEVER);
+        setLength(file.length() + 100);
+        assertEquals(entries, ScoreboardLog.read(file).getEntries());
+    }
+
+    @Test
+    public void testRepairTruncatedRecord() throws CorruptedFileException, IOException {
+        ScoreboardLog.append(file, entries, SyncPolicy.NEVER);
+        setLength(file.length() - 1);
+        ScoreboardLog.repair(file);
+        assertEquals(expectedBytes(entries.subList(0, 2)), file.length());
+
+        ScoreboardLog.append(file, entries.subList(0, 1), SyncPolicy.NEVER);
+        List<ScoreboardEntry> expected = new ArrayList<ScoreboardEntry>(entries.subList(0, 2));
+        expected.add(entries.get(0));
+        assertEquals(expected, ScoreboardLog.read(file).getEntries());
+        assertEquals(expectedBytes(expected), file.length());
+    }
+
+    @Test
+    public void testRepairTruncatedRecordHeader() throws CorruptedFileException, IOException {
+        ScoreboardLog.append(file, entries, SyncPolicy.NEVER);
+        setLength(ScoreboardLog.HEADER_BYTES + ScoreboardLog.RECORD_HEADER_BYTES - 1);
+        ScoreboardLog.repair(file);
+        assertEquals(ScoreboardLog.HEADER_BYTES, file.length());
+
+        ScoreboardLog.append(file, entries, SyncPolicy.ALWAYS);
+        assertEquals(entries, ScoreboardLog.read(file).getEntries());
+        assertEquals(expectedBytes(entries), file.length());
+    }
+
+    @Test
+    public void testRepairZerosAfterRecords() throws CorruptedFileException, IOException {
+        ScoreboardLog.append(file, entries.subList(0, 2), SyncPolicy.NEVER);
+        setLength(file.length() + 100);
+        ScoreboardLog.repair(file);
+        ScoreboardLog.append(file, entries.subList(2, 3), SyncPolicy.NEVER);
+        assertEquals(entries, ScoreboardLog.read(file).getEntries());
+        assertEquals(expectedBytes(entries), file.length());
+    }
+
+    @Test
+    public void testRepairValidLog() throws CorruptedFileException, IOException {
+        ScoreboardLog.repair(file);
+        assertEquals(0, file.length());
+        ScoreboardLog.append(file, entries, SyncPolicy.NEVER);
+        ScoreboardLog.repair(file);
+        assertEquals(expectedBytes(entries), file.length());
+        assertEquals(entries, ScoreboardLog.read(file).getEntries());
+    }
+
+    @Test
+    public void testRepairInvalidMiddleChecksum() throws CorruptedFileException, IOException {
+        ScoreboardLog.append(file, entries, SyncPolicy.NEVER);
+        overwriteMiddleScore();
+        long length = file.length();
+        try {
+            ScoreboardLog.repair(file);
+            fail("CorruptedFileException should be thrown");
+        } catch (CorruptedFileException e) {
+            // this is expected
+        }
+        assertEquals(length, file.length());
+    }
+
+    @Test
+    public void testRepairInvalidLength() throws CorruptedFileException, IOException {
+        ScoreboardLog.append(file, entries, SyncPolicy.NEVER);
+        overwriteByte(ScoreboardLog.HEADER_BYTES, 0x7F);
+        long length = file.length();
+        try {
+            ScoreboardLog.repair(file);
+            fail("CorruptedFileException should be thrown");
+        } catch (CorruptedFileException e) {
+            // this is expected
+        }
+        assertEquals(length, file.length());
+    }
+
+    @Test
+    public void testAppendAfterInvalidMiddleChecksum() throws CorruptedFileException, IOException {
+        ScoreboardLog.append(file, entries, SyncPolicy.NEVER);
+        overwriteMiddleScore();
+        long length = file.length();
+        // Appending only checks the header, so the new record is written and reading still finds the damage
+        ScoreboardLog.append(file, entries.subList(0, 1), SyncPolicy.NEVER);
+        assertEquals(length + expectedBytes(entries.subList(0, 1)) - ScoreboardLog.HEADER_BYTES, file.length());
+        checkCorrupted();
+    }
+
+    // EFFECTS: returns the number of bytes a log holding the given entries takes
+    private long expectedBytes(List<ScoreboardEntry> entriesInLog) {
+        long bytes = ScoreboardLog.HEADER_BYTES;
+        for (ScoreboardEntry entry : entriesInLog) {
+            bytes += ScoreboardLog.RECORD_HEADER_BYTES + 2 * Integer.BYTES
+                    + entry.getPlayerName().getBytes(StandardCharsets.UTF_8).length;
+        }
+        return bytes;
+    }
+
+    // MODIFIES: file
+    // EFFECTS: sets the byte of the file at the given position to the given value
+    private void overwriteByte(long position, int value) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(position);
+            raf.write(value);
+        }
+    }
+
+    // MODIFIES: file
+    // EFFECTS: changes the last byte of the score of the second entry in the file, which is followed by a valid record
+    private void overwriteMiddleScore() throws IOException {
+        overwriteByte(expectedBytes(entries.subList(0, 1)) + ScoreboardLog.RECORD_HEADER_BYTES + Integer.BYTES - 1,
+                0x11);
+    }
+
+    // MODIFIES: file
+    // EFFECTS: cuts the file short, or pads it with zeros, to the given length
+    private void setLength(long length) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(length);
+        }
+    }
+
+    // EFFECTS: checks that reading the file throws CorruptedFileException
+    private void checkCorrupted() {
+        try {
+            ScoreboardLog.read(file);
+            fail("CorruptedFileException should be thrown");
+        } catch (CorruptedFileException e) {
+            // this is expected
+        } catch (IOException e) {
+            fail("IOException should not be thrown");
+        }
+    }
+}
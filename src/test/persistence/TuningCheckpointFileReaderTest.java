@@ -0,0 +1,86 @@
+package persistence;
+
+import ai.HeuristicWeights;
+import exceptions.CorruptedFileException;
+import org.junit.jupiter.api.Test;
+import tuning.Candidate;
+import tuning.TuningCheckpoint;
+import tuning.TuningSettings;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for the TuningCheckpointFileReader class
+public class TuningCheckpointFileReaderTest {
+    @Test
+    public void testReadCheckpoint() {
+        try {
+            TuningCheckpoint checkpoint = TuningCheckpointFileReader.readCheckpoint(
+                    new File("./data/test/testTuningCheckpoint.txt"));
+            assertEquals(new TuningSettings(2, 3, 10, 0, 500), checkpoint.getSettings());
+            assertEquals(7, checkpoint.getGeneration());
+            assertEquals(12345, checkpoint.getRandomState());
+            assertEquals(42, checkpoint.getNumGamesPlayed());
+            List<Candidate> population = checkpoint.getPopulation();
+            assertEquals(2, population.size());
+            assertEquals(new Candidate(new HeuristicWeights(-0.5, -0.5, -0.5, 0.5), 12.5), population.get(0));
+            assertEquals(new Candidate(new HeuristicWeights(0.5, -0.5, -0.5, 0.5), 3), population.get(1));
+        } catch (CorruptedFileException e) {
+            fail("CorruptedFileException should not be thrown");
+        } catch (IOException e) {
+            fail("IOException should not be thrown");
+        }
+    }
+
+    @Test
+    public void testReadCheckpointWrittenBySaveTo() throws IOException {
+        List<Candidate> population = new ArrayList<Candidate>();
+        population.add(new Candidate(new HeuristicWeights(-0.1, 0.2, -1.0 / 3, 0.9), 1.0 / 7));
+        population.add(new Candidate(new HeuristicWeights(Math.PI, -Math.E, 1e-300, -0.0), 0));
+        TuningCheckpoint checkpoint = new TuningCheckpoint(new TuningSettings(2, 1, -5, 3, 1), 1, -1, 2,
+                population);
+
+        File file = File.createTempFile("checkpoint", ".txt");
+        file.deleteOnExit();
+        Writer writer = new Writer(new PrintWriter(file, "UTF-8"));
+        writer.write(checkpoint);
+        writer.close();
+        try {
+            assertEquals(checkpoint, TuningCheckpointFileReader.readCheckpoint(file));
+        } catch (CorruptedFileException e) {
+            fail("CorruptedFileException should not be thrown");
+        }
+    }
+
+    @Test
+    public void testReadCheckpointCorrupted() {
+        for (int i = 1; i <= 3; i++) {
+            File file = new File("./data/test/corruptedTuningCheckpoint" + i + ".txt");
+            try {
+                TuningCheckpointFileReader.readCheckpoint(file);
+                fail("CorruptedFileException should be thrown");
+            } catch (CorruptedFileException e) {
+                // expected
+            } catch (IOException e) {
+                fail("IOException should not be thrown");
+            }
+        }
+    }
+
+    @Test
+    public void testReadCheckpointMissingFile() {
+        try {
+            TuningCheckpointFileReader.readCheckpoint(new File("./data/test/noSuchCheckpoint.txt"));
+            fail("IOException should be thrown");
+        } catch (CorruptedFileException e) {
+            fail("CorruptedFileException should not be thrown");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package replay;
+
+import exceptions.CorruptedFileException;
+import model.Game;
+import model.InputCommand;
+import model.randomizer.RandomizerKind;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for the ReplayFormat class
+public class ReplayFormatTest {
+    @Test
+    public void testRoundTrip() throws CorruptedFileException {
+        Replay replay = new Replay(Long.MIN_VALUE, 19);
+        replay.addCommand(0, InputCommand.MOVE_LEFT);
+        replay.addCommand(0, InputCommand.ROTATE);
+        replay.addCommand(1000000, InputCommand.HARD_DROP);
+        replay.setResult(1000050, 123456, 78);
+
+        Replay copy = ReplayFormat.fromBytes(ReplayFormat.toBytes(replay));
+        assertReplaysEqual(replay, copy);
+    }
+
+    @Test
+    public void testRoundTripEmpty() throws CorruptedFileException {
+        Replay replay = new Replay(3, 0);
+        Replay copy = ReplayFormat.fromBytes(ReplayFormat.toBytes(replay));
+        assertReplaysEqual(replay, copy);
+    }
+
+    @Test
+    public void testRoundTripRecordedGame() throws CorruptedFileException, IOException {
+        Replay replay = ReplayRecorderTest.recordGame(77, 5);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ReplayFormat.write(replay, out);
+        Replay copy = ReplayFormat.read(new ByteArrayInputStream(out.toByteArray()));
+        assertReplaysEqual(replay, copy);
+
+        // Commands close together take one byte each, plus the fixed-size header
+        assertTrue(out.size() < 2 * replay.getNumCommands() + 32);
+    }
+
+    @Test
+    public void testRoundTripKeyframes() throws CorruptedFileException {
+        Replay replay = ReplayRecorderTest.recordGame(12, 9, 1);
+        assertTrue(replay.getNumKeyframes() > 0);
+        Replay copy = ReplayFormat.fromBytes(ReplayFormat.toBytes(replay));
+        assertReplaysEqual(replay, copy);
+    }
+
+    @Test
+    public void testRoundTripRandomizerKinds() throws CorruptedFileException {
+        for (RandomizerKind kind : RandomizerKind.values()) {
+            Replay replay = new Replay(6, 1, kind);
+            replay.addCommand(2, InputCommand.ROTATE);
+            replay.setResult(9, 0, 0);
+            Replay copy = ReplayFormat.fromBytes(ReplayFormat.toBytes(replay));
+            assertReplaysEqual(replay, copy);
+        }
+    }
+
+    @Test
+    public void testReadVersion1() throws CorruptedFileException {
+        Replay replay = new Replay(8, 2);
+        replay.addCommand(3, InputCommand.MOVE_LEFT);
+        replay.setResult(10, 0, 0);
+        byte[] bytes = withoutRandomizerKind(ReplayFormat.toBytes(replay));
+
+        // A version 1 replay is a version 2 replay without the number of keyframes at the end
+        byte[] version1 = Arrays.copyOf(bytes, bytes.length - 1);
+        version1[4] = 1;
+        assertReplaysEqual(replay, ReplayFormat.fromBytes(version1));
+    }
+
+    @Test
+    public void testReadVersion2() throws CorruptedFileException {
+        Replay replay = ReplayRecorderTest.recordGame(12, 9, 1);
+        byte[] version2 = withoutRandomizerKind(ReplayFormat.toBytes(replay));
+        version2[4] = 2;
+        Replay copy = ReplayFormat.fromBytes(version2);
+        assertEquals(RandomizerKind.UNIFORM, copy.getRandomizerKind());
+        assertReplaysEqual(replay, copy);
+    }
+
+    @Test
+    public void testBadRandomizerKind() {
+        byte[] bytes = ReplayFormat.toBytes(new Replay(1, 1));
+        // The randomizer kind is the byte after the starting level
+        bytes[14] = (byte) RandomizerKind.values().length;
+        assertCorrupted(bytes);
+    }
+
+    @Test
+    public void testKeyframeOutsideReplay() {
+        Replay replay = new Replay(1, 1);
+        replay.setResult(10, 0, 0);
+        replay.addKeyframe(new Keyframe(11, 0, 1, new Game(1, 1).takeSnapshot()));
+        assertCorrupted(ReplayFormat.toBytes(replay));
+
+        replay = new Replay(1, 1);
+        replay.setResult(10, 0, 0);
+        replay.addKeyframe(new Keyframe(5, 0, 1, new Game(1, 1).takeSnapshot()));
+        byte[] bytes = ReplayFormat.toBytes(replay);
+        // The keyframe's command index is the byte after the final result, the number of keyframes and its tick
+        bytes[21] = 1;
+        assertCorrupted(bytes);
+    }
+
+    @Test
+    public void testBadMagic() {
+        byte[] bytes = ReplayFormat.toBytes(new Replay(1, 1));
+        bytes[0] ^= 1;
+        assertCorrupted(bytes);
+    }
+
+    @Test
+    public void testBadVersion() {
+        byte[] bytes = ReplayFormat.toBytes(new Replay(1, 1));
+        bytes[4] = ReplayFormat.VERSION + 1;
+        assertCorrupted(bytes);
+    }
+
+    @Test
+    public void testBadStartingLevel() {
+        byte[] bytes = ReplayFormat.toBytes(new Replay(1, 1));
+        // The starting level is the byte after the magic number, version and seed
+        bytes[13] = 100;
+        assertCorrupted(bytes);
+    }
+
+    @Test
+    public void testBadCommand() {
+        Replay replay = new Replay(1, 1);
+        replay.addCommand(0, InputCommand.MOVE_LEFT);
+        byte[] bytes = ReplayFormat.toBytes(replay);
+        // The command is the byte after the starting level, randomizer kind and number of commands
+        bytes[16] = 7;
+        assertCorrupted(bytes);
+    }
+
+    @Test
+    public void testTruncated() {
+        Replay replay = new Replay(1, 1);
+        replay.addCommand(5, InputCommand.MOVE_RIGHT);
+        replay.setResult(10, 40, 1);
+        byte[] bytes = ReplayFormat.toBytes(replay);
+        for (int length = 0; length < bytes.length; length++) {
+            assertCorrupted(Arrays.copyOf(bytes, length));
+        }
+    }
+
+    @Test
+    public void testReadTruncatedStream() throws CorruptedFileException {
+        byte[] bytes = ReplayFormat.toBytes(new Replay(1, 1));
+        try {
+            ReplayFormat.read(new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 1)));
+            fail("EOFException should be thrown");
+        } catch (EOFException e) {
+            // expected
+        } catch (IOException e) {
+            fail("EOFException should be thrown");
+        }
+    }
+
+    // EFFECTS: returns the given bytes of a replay whose starting level takes one byte, without the randomizer kind
+    //          that follows it, as replays before version 3 were written
+    private static byte[] withoutRandomizerKind(byte[] bytes) {
+        byte[] result = new byte[bytes.length - 1];
+        System.arraycopy(bytes, 0, result, 0, 14);
+        System.arraycopy(bytes, 15, result, 14, bytes.length - 15);
+        return result;
+    }
+
+    // EFFECTS: fails unless reading the given bytes throws CorruptedFileException
+    private void assertCorrupted(byte[] bytes) {
+        try {
+            ReplayFormat.fromBytes(bytes);
+            fail("CorruptedFileException should be thrown");
+        } catch (CorruptedFileException e) {
+            // expected
+        }
+    }
+
+    // EFFECTS: fails unless the given replays hold the same game
+    public static void assertReplaysEqual(Replay expected, Replay actual) {
+        assertEquals(expected.getSeed(), actual.getSeed());
+        assertEquals(expected.getStartingLevel(), actual.getStartingLevel());
+        assertEquals(expected.getRandomizerKind(), actual.getRandomizerKind());
+        assertEquals(expected.getNumCommands(), actual.getNumCommands());
+        for (int i = 0; i < expected.getNumCommands(); i++) {
+            assertEquals(expected.getCommandTick(i), actual.getCommandTick(i));
+            assertEquals(expected.getCommand(i), actual.getCommand(i));
+        }
+        assertEquals(expected.getNumKeyframes(), actual.getNumKeyframes());
+        for (int i = 0; i < expected.getNumKeyframes(); i++) {
+            assertEquals(expected.getKeyframe(i).getTick(), actual.getKeyframe(i).getTick());
+            assertEquals(expected.getKeyframe(i).getCommandIndex(), actual.getKeyframe(i).getCommandIndex());
+            assertEquals(expected.getKeyframe(i).getNumPiecesLocked(), actual.getKeyframe(i).getNumPiecesLocked());
+            assertEquals(expected.getKeyframe(i).getSnapshot(), actual.getKeyframe(i).getSnapshot());
+        }
+        assertEquals(expected.getNumTicks(), actual.getNumTicks());
+        assertEquals(expected.getFinalScore(), actual.getFinalScore());
+        assertEquals(expected.getFinalLinesCleared(), actual.getFinalLinesCleared());
+    }
+}
@@ -0,0 +1,140 @@
+package replay;
+
+import exceptions.ReplayMismatchException;
+import model.Game;
+import model.InputCommand;
+import model.randomizer.RandomizerKind;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for the ReplayPlayer class
+public class ReplayPlayerTest {
+    @Test
+    public void testPlayRecordedGames() throws Exception {
+        for (int seed = 0; seed < 20; seed++) {
+            Replay replay = ReplayRecorderTest.recordGame(seed, seed % 10);
+            ReplayPlayer player = new ReplayPlayer(ReplayFormat.fromBytes(ReplayFormat.toBytes(replay)));
+            Game game = player.playAndVerify();
+
+            assertTrue(game.isGameOver());
+            assertEquals(replay.getFinalScore(), game.getScore());
+            assertEquals(replay.getFinalLinesCleared(), game.getLinesCleared());
+            assertTrue(player.getNumPiecesLocked() > 0);
+        }
+    }
+
+    @Test
+    public void testPlayRecordedBagGame() throws Exception {
+        Replay replay = ReplayRecorderTest.recordGame(31, 2, 3, RandomizerKind.BAG);
+        Replay copy = ReplayFormat.fromBytes(ReplayFormat.toBytes(replay));
+        assertEquals(RandomizerKind.BAG, copy.getRandomizerKind());
+
+        ReplayPlayer player = new ReplayPlayer(copy);
+        Game game = player.playAndVerify();
+        assertTrue(game.isGameOver());
+        assertEquals(replay.getFinalScore(), game.getScore());
+
+        // Seeking restores keyframes into a game with a bag randomizer, so the pieces after them match too
+        assertTrue(copy.getNumKeyframes() > 0);
+        Game end = player.seek(copy.getNumTicks());
+        assertTrue(end.isGameOver());
+        assertEquals(replay.getFinalScore(), end.getScore());
+    }
+
+    @Test
+    public void testPlayRecordedNesGame() {
+        Replay replay = ReplayRecorderTest.recordGame(32, 0, ReplayRecorder.DEFAULT_KEYFRAME_INTERVAL,
+                RandomizerKind.NES);
+        Game game = new ReplayPlayer(replay).playAndVerify();
+        assertEquals(replay.getFinalLinesCleared(), game.getLinesCleared());
+    }
+
+    @Test
+    public void testPlayUnfinishedGame() {
+        Game game = new Game(9, 0);
+        ReplayRecorder recorder = new ReplayRecorder(game);
+        recorder.execute(InputCommand.MOVE_LEFT);
+        recorder.execute(InputCommand.HARD_DROP);
+        recorder.update();
+        recorder.execute(InputCommand.ROTATE);
+        recorder.update();
+        recorder.update();
+
+        Game copy = new ReplayPlayer(recorder.getReplay()).playAndVerify();
+        assertFalse(copy.isGameOver());
+        assertEquals(game.getBoard(), copy.getBoard());
+        assertEquals(game.getActivePiece().getTileLocations(), copy.getActivePiece().getTileLocations());
+    }
+
+    @Test
+    public void testPlayEmptyReplay() {
+        ReplayPlayer player = new ReplayPlayer(new Replay(4, 2));
+        Game game = player.playAndVerify();
+        assertEquals(0, game.getScore());
+        assertEquals(2, game.getLevel());
+        assertEquals(0, player.getNumPiecesLocked());
+    }
+
+    @Test
+    public void testPlayAndVerifyMismatch() {
+        Replay replay = ReplayRecorderTest.recordGame(3, 0);
+        replay.setResult(replay.getNumTicks(), replay.getFinalScore() + 1, replay.getFinalLinesCleared());
+        try {
+            new ReplayPlayer(replay).playAndVerify();
+            fail("ReplayMismatchException should be thrown");
+        } catch (ReplayMismatchException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testSeekMatchesPlayback() {
+        Replay replay = ReplayRecorderTest.recordGame(21, 4, 3);
+        assertTrue(replay.getNumKeyframes() > 1);
+        Replay withoutKeyframes = copyWithoutKeyframes(replay);
+
+        ReplayPlayer player = new ReplayPlayer(replay);
+        ReplayPlayer slowPlayer = new ReplayPlayer(withoutKeyframes);
+        for (long tick = -1; tick <= replay.getNumTicks() + 1; tick++) {
+            Game game = player.seek(tick);
+            Game expected = slowPlayer.seek(tick);
+            assertEquals(expected.takeSnapshot(), game.takeSnapshot());
+            assertEquals(slowPlayer.getNumPiecesLocked(), player.getNumPiecesLocked());
+        }
+
+        Game end = player.seek(replay.getNumTicks());
+        assertTrue(end.isGameOver());
+        assertEquals(replay.getFinalScore(), end.getScore());
+    }
+
+    @Test
+    public void testSeekSimulatesFromNearestKeyframe() {
+        Replay replay = ReplayRecorderTest.recordGame(21, 4, 3);
+        ReplayPlayer player = new ReplayPlayer(replay);
+        for (int i = 0; i < replay.getNumKeyframes(); i++) {
+            Keyframe keyframe = replay.getKeyframe(i);
+            player.seek(keyframe.getTick());
+            assertEquals(0, player.getNumTicksSimulated());
+            assertEquals(keyframe.getNumPiecesLocked(), player.getNumPiecesLocked());
+
+            long nextTick = i + 1 < replay.getNumKeyframes() ? replay.getKeyframe(i + 1).getTick()
+                    : replay.getNumTicks() + 1;
+            player.seek(nextTick - 1);
+            assertEquals(nextTick - 1 - keyframe.getTick(), player.getNumTicksSimulated());
+        }
+
+        player.play();
+        assertEquals(replay.getNumTicks(), player.getNumTicksSimulated());
+    }
+
+    // EFFECTS: returns a copy of the given replay without its keyframes
+    private static Replay copyWithoutKeyframes(Replay replay) {
+        Replay copy = new Replay(replay.getSeed(), replay.getStartingLevel(), replay.getRandomizerKind());
+        for (int i = 0; i < replay.getNumCommands(); i++) {
+            copy.addCommand(replay.getCommandTick(i), replay.getCommand(i));
+        }
+        copy.setResult(replay.getNumTicks(), replay.getFinalScore(), replay.getFinalLinesCleared());
+        return copy;
+    }
+}
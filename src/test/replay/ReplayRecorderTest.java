@@ -0,0 +1,191 @@
+package replay;
+
+import model.Game;
+import model.InputCommand;
+import model.randomizer.BagRandomizer;
+import model.randomizer.RandomizerKind;
+import model.randomizer.SequenceRandomizer;
+import model.randomizer.UniformRandomizer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import simulation.RandomInputScript;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for the ReplayRecorder class
+public class ReplayRecorderTest {
+    private static final int GAME_SEED = 5000;
+
+    private Game game;
+    private ReplayRecorder recorder;
+
+    @BeforeEach
+    public void setUp() {
+        game = new Game(GAME_SEED, 3);
+        recorder = new ReplayRecorder(game);
+    }
+
+    @Test
+    public void testConstructor() {
+        assertSame(game, recorder.getGame());
+        Replay replay = recorder.getReplay();
+        assertEquals(GAME_SEED, replay.getSeed());
+        assertEquals(3, replay.getStartingLevel());
+        assertEquals(RandomizerKind.UNIFORM, replay.getRandomizerKind());
+        assertEquals(0, replay.getNumCommands());
+        assertEquals(0, replay.getNumTicks());
+    }
+
+    @Test
+    public void testExecuteAndUpdate() {
+        int startX = game.getActivePiece().getTileX(0);
+        int startY = game.getActivePiece().getTileY(0);
+        recorder.execute(InputCommand.MOVE_LEFT);
+        recorder.execute(InputCommand.NONE);
+        recorder.update();
+        recorder.update();
+        recorder.execute(InputCommand.MOVE_RIGHT);
+
+        assertEquals(startX, game.getActivePiece().getTileX(0));
+        assertEquals(startY + 2, game.getActivePiece().getTileY(0));
+        Replay replay = recorder.getReplay();
+        assertEquals(2, replay.getNumCommands());
+        assertEquals(0, replay.getCommandTick(0));
+        assertEquals(InputCommand.MOVE_LEFT, replay.getCommand(0));
+        assertEquals(2, replay.getCommandTick(1));
+        assertEquals(InputCommand.MOVE_RIGHT, replay.getCommand(1));
+        assertEquals(2, replay.getNumTicks());
+    }
+
+    @Test
+    public void testNothingRecordedAfterGameOver() {
+        while (!game.isGameOver()) {
+            recorder.execute(InputCommand.HARD_DROP);
+        }
+        int numCommands = recorder.getReplay().getNumCommands();
+        recorder.update();
+        recorder.execute(InputCommand.MOVE_LEFT);
+        recorder.execute(InputCommand.HARD_DROP);
+        assertEquals(0, recorder.getReplay().getNumTicks());
+        assertEquals(numCommands, recorder.getReplay().getNumCommands());
+    }
+
+    @Test
+    public void testGetReplaySetsResult() {
+        Replay replay = recordGame(GAME_SEED, 0);
+        assertTrue(replay.getNumTicks() > 0);
+        assertTrue(replay.getNumCommands() > 0);
+        assertTrue(replay.getFinalScore() >= 0);
+
+        while (!game.isGameOver()) {
+            recorder.execute(InputCommand.HARD_DROP);
+        }
+        replay = recorder.getReplay();
+        assertEquals(game.getScore(), replay.getFinalScore());
+        assertEquals(game.getLinesCleared(), replay.getFinalLinesCleared());
+    }
+
+    @Test
+    public void testKeyframes() {
+        Replay replay = recordGame(GAME_SEED, 0, 2);
+        assertTrue(replay.getNumKeyframes() > 2);
+        for (int i = 0; i < replay.getNumKeyframes(); i++) {
+            Keyframe keyframe = replay.getKeyframe(i);
+            assertTrue(keyframe.getNumPiecesLocked() >= 2 * (i + 1));
+            assertTrue(keyframe.getTick() <= replay.getNumTicks());
+            assertFalse(keyframe.getSnapshot().isGameOver());
+            if (keyframe.getCommandIndex() > 0) {
+                assertTrue(replay.getCommandTick(keyframe.getCommandIndex() - 1) < keyframe.getTick());
+            }
+            if (keyframe.getCommandIndex() < replay.getNumCommands()) {
+                assertTrue(replay.getCommandTick(keyframe.getCommandIndex()) >= keyframe.getTick());
+            }
+        }
+    }
+
+    @Test
+    public void testKeyframeTakenAtStartOfTick() {
+        recorder = new ReplayRecorder(game, 1);
+        recorder.execute(InputCommand.HARD_DROP);
+        assertEquals(0, recorder.getReplay().getNumKeyframes());
+        recorder.update();
+
+        Replay replay = recorder.getReplay();
+        assertEquals(1, replay.getNumKeyframes());
+        Keyframe keyframe = replay.getKeyframe(0);
+        assertEquals(1, keyframe.getTick());
+        assertEquals(1, keyframe.getCommandIndex());
+        assertEquals(1, keyframe.getNumPiecesLocked());
+        assertEquals(game.takeSnapshot(), keyframe.getSnapshot());
+    }
+
+    @Test
+    public void testConstructorInvalidKeyframeInterval() {
+        try {
+            new ReplayRecorder(game, 0);
+            fail("IllegalArgumentException should be thrown");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testConstructorNonStandardBoard() {
+        try {
+            new ReplayRecorder(new Game(0, 0, new UniformRandomizer(0), Game.WIDTH + 1, Game.HEIGHT));
+            fail("IllegalArgumentException should be thrown");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testConstructorRandomizerKinds() {
+        for (RandomizerKind kind : RandomizerKind.values()) {
+            Replay replay = new ReplayRecorder(new Game(GAME_SEED, 0, kind.create(GAME_SEED))).getReplay();
+            assertEquals(kind, replay.getRandomizerKind());
+        }
+    }
+
+    @Test
+    public void testConstructorRandomizerNotFromSeed() {
+        try {
+            new ReplayRecorder(new Game(GAME_SEED, 0, new SequenceRandomizer(new int[] {0, 1, 2})));
+            fail("IllegalArgumentException should be thrown");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            new ReplayRecorder(new Game(GAME_SEED, 0, new BagRandomizer(GAME_SEED + 1)));
+            fail("IllegalArgumentException should be thrown");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    // EFFECTS: plays a game with the given seed and starting level to the end, giving it one random command per
+    //          tick through a recorder, and returns the replay
+    public static Replay recordGame(long seed, int startingLevel) {
+        return recordGame(seed, startingLevel, ReplayRecorder.DEFAULT_KEYFRAME_INTERVAL);
+    }
+
+    // EFFECTS: plays a game with the given seed and starting level to the end, giving it one random command per
+    //          tick through a recorder that takes a keyframe every keyframeInterval pieces, and returns the replay
+    public static Replay recordGame(long seed, int startingLevel, int keyframeInterval) {
+        return recordGame(seed, startingLevel, keyframeInterval, RandomizerKind.UNIFORM);
+    }
+
+    // EFFECTS: plays a game with the given seed and starting level, whose pieces are dealt by a randomizer of the
+    //          given kind, to the end, giving it one random command per tick through a recorder that takes a
+    //          keyframe every keyframeInterval pieces, and returns the replay
+    public static Replay recordGame(long seed, int startingLevel, int keyframeInterval, RandomizerKind kind) {
+        Game game = new Game(seed, startingLevel, kind.create(seed));
+        ReplayRecorder recorder = new ReplayRecorder(game, keyframeInterval);
+        RandomInputScript script = new RandomInputScript(seed);
+        for (long tick = 0; !game.isGameOver(); tick++) {
+            recorder.execute(script.nextCommand(game, tick));
+            recorder.update();
+        }
+        return recorder.getReplay();
+    }
+}
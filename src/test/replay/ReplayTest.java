@@ -0,0 +1,156 @@
+package replay;
+
+import model.Game;
+import model.GameSnapshot;
+import model.InputCommand;
+import model.randomizer.RandomizerKind;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for the Replay class
+public class ReplayTest {
+    private Replay replay;
+
+    @BeforeEach
+    public void setUp() {
+        replay = new Replay(-12, 7);
+    }
+
+    @Test
+    public void testConstructor() {
+        assertEquals(-12, replay.getSeed());
+        assertEquals(7, replay.getStartingLevel());
+        assertEquals(RandomizerKind.UNIFORM, replay.getRandomizerKind());
+        assertEquals(0, replay.getNumCommands());
+        assertEquals(0, replay.getNumTicks());
+        assertEquals(0, replay.getFinalScore());
+        assertEquals(0, replay.getFinalLinesCleared());
+    }
+
+    @Test
+    public void testConstructorRandomizerKind() {
+        Replay bagReplay = new Replay(3, 0, RandomizerKind.BAG);
+        assertEquals(3, bagReplay.getSeed());
+        assertEquals(RandomizerKind.BAG, bagReplay.getRandomizerKind());
+    }
+
+    @Test
+    public void testAddCommand() {
+        replay.addCommand(0, InputCommand.ROTATE);
+        replay.addCommand(0, InputCommand.MOVE_LEFT);
+        replay.addCommand(40, InputCommand.HARD_DROP);
+
+        assertEquals(3, replay.getNumCommands());
+        assertEquals(0, replay.getCommandTick(0));
+        assertEquals(InputCommand.ROTATE, replay.getCommand(0));
+        assertEquals(0, replay.getCommandTick(1));
+        assertEquals(InputCommand.MOVE_LEFT, replay.getCommand(1));
+        assertEquals(40, replay.getCommandTick(2));
+        assertEquals(InputCommand.HARD_DROP, replay.getCommand(2));
+    }
+
+    @Test
+    public void testAddManyCommands() {
+        for (int i = 0; i < 5000; i++) {
+            replay.addCommand(i / 2, InputCommand.values()[i % InputCommand.values().length]);
+        }
+        assertEquals(5000, replay.getNumCommands());
+        assertEquals(2499, replay.getCommandTick(4999));
+        assertEquals(InputCommand.values()[4999 % InputCommand.values().length], replay.getCommand(4999));
+    }
+
+    @Test
+    public void testAddCommandEarlierTick() {
+        replay.addCommand(10, InputCommand.MOVE_RIGHT);
+        try {
+            replay.addCommand(9, InputCommand.MOVE_RIGHT);
+            fail("IllegalArgumentException should be thrown");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        assertEquals(1, replay.getNumCommands());
+    }
+
+    @Test
+    public void testGetCommandOutOfBounds() {
+        replay.addCommand(3, InputCommand.MOVE_DOWN);
+        try {
+            replay.getCommand(1);
+            fail("IndexOutOfBoundsException should be thrown");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+        try {
+            replay.getCommandTick(-1);
+            fail("IndexOutOfBoundsException should be thrown");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testSetResult() {
+        replay.setResult(1234, 5600, 21);
+        assertEquals(1234, replay.getNumTicks());
+        assertEquals(5600, replay.getFinalScore());
+        assertEquals(21, replay.getFinalLinesCleared());
+    }
+
+    @Test
+    public void testAddKeyframe() {
+        replay.addCommand(5, InputCommand.ROTATE);
+        replay.addCommand(20, InputCommand.HARD_DROP);
+        Keyframe first = new Keyframe(10, 1, 4, snapshot());
+        Keyframe second = new Keyframe(30, 2, 8, snapshot());
+        replay.addKeyframe(first);
+        replay.addKeyframe(second);
+
+        assertEquals(2, replay.getNumKeyframes());
+        assertSame(first, replay.getKeyframe(0));
+        assertSame(second, replay.getKeyframe(1));
+    }
+
+    @Test
+    public void testAddKeyframeOutOfOrder() {
+        replay.addCommand(5, InputCommand.ROTATE);
+        replay.addKeyframe(new Keyframe(10, 1, 4, snapshot()));
+        Keyframe[] badKeyframes = {
+                new Keyframe(10, 1, 4, snapshot()),
+                new Keyframe(9, 1, 4, snapshot()),
+                new Keyframe(11, 0, 4, snapshot()),
+                new Keyframe(11, 2, 4, snapshot())
+        };
+        for (Keyframe keyframe : badKeyframes) {
+            try {
+                replay.addKeyframe(keyframe);
+                fail("IllegalArgumentException should be thrown");
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+        assertEquals(1, replay.getNumKeyframes());
+    }
+
+    @Test
+    public void testGetKeyframeAtOrBefore() {
+        assertNull(replay.getKeyframeAtOrBefore(100));
+        for (int i = 1; i <= 9; i++) {
+            replay.addKeyframe(new Keyframe(10 * i, 0, i, snapshot()));
+        }
+
+        assertNull(replay.getKeyframeAtOrBefore(0));
+        assertNull(replay.getKeyframeAtOrBefore(9));
+        assertSame(replay.getKeyframe(0), replay.getKeyframeAtOrBefore(10));
+        assertSame(replay.getKeyframe(0), replay.getKeyframeAtOrBefore(19));
+        assertSame(replay.getKeyframe(4), replay.getKeyframeAtOrBefore(55));
+        assertSame(replay.getKeyframe(8), replay.getKeyframeAtOrBefore(90));
+        assertSame(replay.getKeyframe(8), replay.getKeyframeAtOrBefore(Long.MAX_VALUE));
+    }
+
+    // EFFECTS: returns a snapshot of a new game
+    private static GameSnapshot snapshot() {
+        return new Game(0, 0).takeSnapshot();
+    }
+}
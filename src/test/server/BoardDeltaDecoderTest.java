@@ -0,0 +1,211 @@
+package server;
+
+import model.Game;
+import model.InputCommand;
+import model.SplitMixRandom;
+import model.board.BitBoard;
+import model.board.Board;
+import model.randomizer.RandomizerKind;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for the BoardDeltaDecoder class
+public class BoardDeltaDecoderTest {
+    private static final int WIDTH = 10;
+    private static final int HEIGHT = 20;
+
+    private Board board;
+    private BoardDeltaEncoder encoder;
+    private BoardDeltaDecoder decoder;
+    private ByteBuffer buffer;
+
+    @BeforeEach
+    public void setUp() {
+        board = new BitBoard(WIDTH, HEIGHT);
+        encoder = new BoardDeltaEncoder(WIDTH, HEIGHT, BoardDeltaEncoder.DEFAULT_KEYFRAME_INTERVAL);
+        decoder = new BoardDeltaDecoder(WIDTH, HEIGHT);
+        buffer = ByteBuffer.allocate(1024);
+    }
+
+    @Test
+    public void testConstructor() {
+        assertEquals(WIDTH, decoder.getWidth());
+        assertEquals(HEIGHT, decoder.getHeight());
+        assertFalse(decoder.isSynced());
+    }
+
+    @Test
+    public void testConstructorInvalidSize() {
+        try {
+            new BoardDeltaDecoder(WIDTH, 0);
+            fail("IllegalArgumentException should be thrown");
+        } catch (IllegalArgumentException e) {
+            // this is expected
+        }
+    }
+
+    @Test
+    public void testDecodeKeyframe() {
+        board.placeTileAt(0, 0);
+        board.placeTileAt(9, 19);
+        encodeAndFlip();
+        assertTrue(decoder.decode(buffer));
+        assertFalse(buffer.hasRemaining());
+        assertTrue(decoder.isSynced());
+        assertTrue(decoder.isCellOccupied(0, 0));
+        assertTrue(decoder.isCellOccupied(9, 19));
+        assertFalse(decoder.isCellOccupied(1, 0));
+        assertEquals(1L << 9, decoder.getRowWord(19, 0));
+    }
+
+    @Test
+    public void testDecodeDeltas() {
+        encodeAndFlip();
+        decoder.decode(buffer);
+        board.placeTileAt(4, 10);
+        encodeAndFlip();
+        assertTrue(decoder.decode(buffer));
+        assertTrue(decoder.isCellOccupied(4, 10));
+
+        board.removeTileAt(4, 10);
+        board.placeTileAt(5, 11);
+        encodeAndFlip();
+        assertTrue(decoder.decode(buffer));
+        assertFalse(buffer.hasRemaining());
+        assertFalse(decoder.isCellOccupied(4, 10));
+        assertTrue(decoder.isCellOccupied(5, 11));
+    }
+
+    @Test
+    public void testDecodeDeltaBeforeKeyframe() {
+        encodeAndFlip();
+        board.placeTileAt(4, 10);
+        encodeAndFlip();
+        assertFalse(decoder.decode(buffer));
+        assertFalse(buffer.hasRemaining());
+        assertFalse(decoder.isSynced());
+
+        // A viewer that started late catches up at the next keyframe
+        encoder.requestKeyframe();
+        encodeAndFlip();
+        assertTrue(decoder.decode(buffer));
+        assertTrue(decoder.isCellOccupied(4, 10));
+    }
+
+    @Test
+    public void testDecodeGame() {
+        checkDecodeGame(Game.WIDTH, Game.HEIGHT, 8);
+    }
+
+    @Test
+    public void testDecodeGameOnLargeBoard() {
+        checkDecodeGame(100, 70, BoardDeltaEncoder.DEFAULT_KEYFRAME_INTERVAL);
+    }
+
+    @Test
+    public void testDecodeInvalidType() {
+        buffer.put((byte) 7);
+        buffer.flip();
+        try {
+            decoder.decode(buffer);
+            fail("IllegalArgumentException should be thrown");
+        } catch (IllegalArgumentException e) {
+            // this is expected
+        }
+    }
+
+    @Test
+    public void testDecodeRowBelowBoard() {
+        // Row 20 is bit 4 of the third byte of the mask
+        buffer.put(BoardDeltaEncoder.DELTA);
+        buffer.put((byte) 0);
+        buffer.put((byte) 0);
+        buffer.put((byte) (1 << 4));
+        buffer.putShort((short) 0);
+        buffer.flip();
+        try {
+            decoder.decode(buffer);
+            fail("IllegalArgumentException should be thrown");
+        } catch (IllegalArgumentException e) {
+            // this is expected
+        }
+    }
+
+    @Test
+    public void testDecodeColumnPastBoard() {
+        // Column 10 is bit 2 of the second byte of a row
+        encodeAndFlip();
+        buffer.put(2, (byte) (1 << 2));
+        try {
+            decoder.decode(buffer);
+            fail("IllegalArgumentException should be thrown");
+        } catch (IllegalArgumentException e) {
+            // this is expected
+        }
+    }
+
+    @Test
+    public void testDecodeTruncatedFrame() {
+        encodeAndFlip();
+        buffer.limit(buffer.limit() - 1);
+        try {
+            decoder.decode(buffer);
+            fail("BufferUnderflowException should be thrown");
+        } catch (BufferUnderflowException e) {
+            // this is expected
+        }
+    }
+
+    @Test
+    public void testIsCellOccupiedOutOfBounds() {
+        try {
+            decoder.isCellOccupied(WIDTH, 0);
+            fail("IndexOutOfBoundsException should be thrown");
+        } catch (IndexOutOfBoundsException e) {
+            // this is expected
+        }
+    }
+
+    @Test
+    public void testGetRowWordOutOfBounds() {
+        try {
+            decoder.getRowWord(0, 1);
+            fail("IndexOutOfBoundsException should be thrown");
+        } catch (IndexOutOfBoundsException e) {
+            // this is expected
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: clears the buffer, encodes the board into it, and flips it so the frame can be decoded
+    private void encodeAndFlip() {
+        buffer.clear();
+        encoder.encode(board, buffer);
+        buffer.flip();
+    }
+
+    // EFFECTS: plays a game on a board of the given size with random commands, and checks that the board decoded
+    //          from every frame is the game's board
+    private void checkDecodeGame(int width, int height, int keyframeInterval) {
+        Game game = new Game(1, 10, RandomizerKind.BAG.create(1), width, height);
+        encoder = new BoardDeltaEncoder(width, height, keyframeInterval);
+        decoder = new BoardDeltaDecoder(width, height);
+        buffer = ByteBuffer.allocate(encoder.getKeyframeBytes());
+        SplitMixRandom random = new SplitMixRandom(1);
+        InputCommand[] commands = InputCommand.values();
+        for (int i = 0; i < 2000 && !game.isGameOver(); i++) {
+            game.execute(commands[random.nextInt(commands.length)]);
+            game.update();
+            buffer.clear();
+            encoder.encode(game.getPlayfield(), buffer);
+            buffer.flip();
+            assertTrue(decoder.decode(buffer));
+            assertEquals(game.getBoard(), decoder.getBoard());
+        }
+    }
+}
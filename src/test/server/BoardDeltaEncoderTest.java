@@ -0,0 +1,188 @@
+package server;
+
+import exceptions.IncorrectBoardSizeException;
+import model.board.BitBoard;
+import model.board.Board;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for the BoardDeltaEncoder class
+public class BoardDeltaEncoderTest {
+    private static final int WIDTH = 10;
+    private static final int HEIGHT = 20;
+    private static final int ROW_BYTES = 2;
+    private static final int MASK_BYTES = 3;
+    private static final int KEYFRAME_BYTES = 1 + HEIGHT * ROW_BYTES;
+    private static final int EMPTY_DELTA_BYTES = 1 + MASK_BYTES;
+
+    private Board board;
+    private BoardDeltaEncoder encoder;
+    private ByteBuffer buffer;
+
+    @BeforeEach
+    public void setUp() {
+        board = new BitBoard(WIDTH, HEIGHT);
+        encoder = new BoardDeltaEncoder(WIDTH, HEIGHT, BoardDeltaEncoder.DEFAULT_KEYFRAME_INTERVAL);
+        buffer = ByteBuffer.allocate(1024);
+    }
+
+    @Test
+    public void testConstructorInvalidSize() {
+        try {
+            new BoardDeltaEncoder(0, HEIGHT, 1);
+            fail("IllegalArgumentException should be thrown");
+        } catch (IllegalArgumentException e) {
+            // this is expected
+        }
+    }
+
+    @Test
+    public void testConstructorInvalidKeyframeInterval() {
+        try {
+            new BoardDeltaEncoder(WIDTH, HEIGHT, 0);
+            fail("IllegalArgumentException should be thrown");
+        } catch (IllegalArgumentException e) {
+            // this is expected
+        }
+    }
+
+    @Test
+    public void testEncodeFirstFrameIsKeyframe() {
+        board.placeTileAt(3, HEIGHT - 1);
+        assertEquals(KEYFRAME_BYTES, encoder.getKeyframeBytes());
+        assertEquals(KEYFRAME_BYTES, encoder.getEncodedBytes(board));
+        assertEquals(KEYFRAME_BYTES, encoder.encode(board, buffer));
+        assertEquals(KEYFRAME_BYTES, buffer.position());
+        assertEquals(BoardDeltaEncoder.KEYFRAME, buffer.get(0));
+        assertEquals(0, buffer.get(1));
+        assertEquals(1 << 3, buffer.get(1 + (HEIGHT - 1) * ROW_BYTES));
+        assertEquals(0, buffer.get(2 + (HEIGHT - 1) * ROW_BYTES));
+    }
+
+    @Test
+    public void testEncodeUnchangedBoard() {
+        encoder.encode(board, buffer);
+        buffer.clear();
+        assertEquals(EMPTY_DELTA_BYTES, encoder.getEncodedBytes(board));
+        assertEquals(EMPTY_DELTA_BYTES, encoder.encode(board, buffer));
+        assertEquals(BoardDeltaEncoder.DELTA, buffer.get(0));
+        for (int i = 1; i < EMPTY_DELTA_BYTES; i++) {
+            assertEquals(0, buffer.get(i));
+        }
+    }
+
+    @Test
+    public void testEncodeChangedRows() {
+        encoder.encode(board, buffer);
+        buffer.clear();
+        board.placeTileAt(0, 2);
+        board.placeTileAt(9, 2);
+        board.placeTileAt(5, 17);
+        assertEquals(EMPTY_DELTA_BYTES + 2 * ROW_BYTES, encoder.encode(board, buffer));
+        assertEquals(BoardDeltaEncoder.DELTA, buffer.get(0));
+        assertEquals(1 << 2, buffer.get(1));
+        assertEquals(0, buffer.get(2));
+        assertEquals(1 << (17 - 16), buffer.get(3));
+        assertEquals(1, buffer.get(EMPTY_DELTA_BYTES));
+        assertEquals(1 << (9 - 8), buffer.get(EMPTY_DELTA_BYTES + 1));
+        assertEquals(1 << 5, buffer.get(EMPTY_DELTA_BYTES + ROW_BYTES));
+        assertEquals(0, buffer.get(EMPTY_DELTA_BYTES + ROW_BYTES + 1));
+
+        // The rows are only sent once
+        buffer.clear();
+        assertEquals(EMPTY_DELTA_BYTES, encoder.encode(board, buffer));
+    }
+
+    @Test
+    public void testEncodeKeyframeInterval() {
+        encoder = new BoardDeltaEncoder(WIDTH, HEIGHT, 3);
+        byte[] expected = {BoardDeltaEncoder.KEYFRAME, BoardDeltaEncoder.DELTA, BoardDeltaEncoder.DELTA,
+                BoardDeltaEncoder.KEYFRAME, BoardDeltaEncoder.DELTA, BoardDeltaEncoder.DELTA,
+                BoardDeltaEncoder.KEYFRAME};
+        for (byte type : expected) {
+            buffer.clear();
+            encoder.encode(board, buffer);
+            assertEquals(type, buffer.get(0));
+        }
+    }
+
+    @Test
+    public void testEncodeKeyframeIntervalOne() {
+        encoder = new BoardDeltaEncoder(WIDTH, HEIGHT, 1);
+        for (int i = 0; i < 3; i++) {
+            buffer.clear();
+            assertEquals(KEYFRAME_BYTES, encoder.encode(board, buffer));
+        }
+    }
+
+    @Test
+    public void testRequestKeyframe() {
+        encoder.encode(board, buffer);
+        encoder.requestKeyframe();
+        buffer.clear();
+        assertEquals(KEYFRAME_BYTES, encoder.encode(board, buffer));
+        assertEquals(BoardDeltaEncoder.KEYFRAME, buffer.get(0));
+        buffer.clear();
+        assertEquals(EMPTY_DELTA_BYTES, encoder.encode(board, buffer));
+        assertEquals(BoardDeltaEncoder.DELTA, buffer.get(0));
+    }
+
+    @Test
+    public void testEncodeKeyframeWhenDeltaIsLarger() {
+        encoder.encode(board, buffer);
+        for (int r = 0; r < HEIGHT - 1; r++) {
+            board.placeTileAt(r % WIDTH, r);
+        }
+        buffer.clear();
+        assertEquals(KEYFRAME_BYTES, encoder.encode(board, buffer));
+        assertEquals(BoardDeltaEncoder.KEYFRAME, buffer.get(0));
+    }
+
+    @Test
+    public void testEncodeLargeBoard() {
+        board = new BitBoard(100, 70);
+        encoder = new BoardDeltaEncoder(100, 70, BoardDeltaEncoder.DEFAULT_KEYFRAME_INTERVAL);
+        buffer = ByteBuffer.allocate(4096);
+        assertEquals(1 + 70 * 13, encoder.encode(board, buffer));
+
+        // Row 65 is bit 1 of the ninth byte of the mask, and column 99 is bit 3 of the thirteenth byte of the row
+        buffer.clear();
+        board.placeTileAt(99, 65);
+        assertEquals(1 + 9 + 13, encoder.encode(board, buffer));
+        assertEquals(0, buffer.get(1 + 7));
+        assertEquals(1 << 1, buffer.get(1 + 8));
+        assertEquals(0, buffer.get(1 + 9 + 11));
+        assertEquals(1 << 3, buffer.get(1 + 9 + 12));
+    }
+
+    @Test
+    public void testEncodeIncorrectBoardSize() {
+        try {
+            encoder.encode(new BitBoard(WIDTH + 1, HEIGHT), buffer);
+            fail("IncorrectBoardSizeException should be thrown");
+        } catch (IncorrectBoardSizeException e) {
+            // this is expected
+        }
+    }
+
+    @Test
+    public void testEncodeBufferTooSmall() {
+        buffer = ByteBuffer.allocate(KEYFRAME_BYTES - 1);
+        try {
+            encoder.encode(board, buffer);
+            fail("BufferOverflowException should be thrown");
+        } catch (BufferOverflowException e) {
+            // this is expected
+        }
+        assertEquals(0, buffer.position());
+
+        // Nothing was sent, so the next frame is still a keyframe
+        buffer = ByteBuffer.allocate(KEYFRAME_BYTES);
+        assertEquals(KEYFRAME_BYTES, encoder.encode(board, buffer));
+    }
+}
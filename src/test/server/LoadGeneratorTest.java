@@ -0,0 +1,56 @@
+package server;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for the LoadGenerator class
+public class LoadGeneratorTest {
+    private static final InetSocketAddress ADDRESS =
+            new InetSocketAddress(InetAddress.getLoopbackAddress(), ServerProtocol.DEFAULT_PORT);
+
+    @Test
+    public void testConstructorNoClients() {
+        try {
+            new LoadGenerator(ADDRESS, 0, 10, 0, 0);
+            fail("IllegalArgumentException should be thrown");
+        } catch (IllegalArgumentException e) {
+            // this is expected
+        }
+    }
+
+    @Test
+    public void testConstructorNoCommands() {
+        try {
+            new LoadGenerator(ADDRESS, 1, 0, 0, 0);
+            fail("IllegalArgumentException should be thrown");
+        } catch (IllegalArgumentException e) {
+            // this is expected
+        }
+    }
+
+    @Test
+    public void testRun() throws IOException, InterruptedException {
+        TournamentServer server = new TournamentServer(0);
+        Thread serverThread = new Thread(server);
+        serverThread.start();
+        try {
+            LoadGenerator generator = new LoadGenerator(
+                    new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort()), 3, 20, 0, 15);
+            generator.run(500);
+            assertTrue(generator.getNumCommandsSent() > 0);
+            assertTrue(generator.getNumBoardMessages() > 0);
+            assertEquals(0, generator.getNumBoardsNotDecoded());
+            assertTrue(generator.getNumBytesReceived() > 0);
+            assertEquals(0, generator.getNumErrors());
+            assertTrue(server.getNumGamesStarted() >= 3);
+        } finally {
+            server.stop();
+            serverThread.join(5000);
+        }
+    }
+}
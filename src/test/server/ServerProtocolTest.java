@@ -0,0 +1,91 @@
+package server;
+
+import model.InputCommand;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for the ServerProtocol class
+public class ServerProtocolTest {
+    @Test
+    public void testPutJoin() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        ServerProtocol.putJoin(buffer, 12345, 7, 1, 64, 400);
+        assertEquals(ServerProtocol.JOIN_FRAME_BYTES, buffer.position());
+        buffer.flip();
+        assertEquals(ServerProtocol.JOIN_FRAME_BYTES - Integer.BYTES, buffer.getInt());
+        assertEquals(ServerProtocol.JOIN, buffer.get());
+        assertEquals(12345, buffer.getLong());
+        assertEquals(7, buffer.get());
+        assertEquals(1, buffer.get());
+        assertEquals(64, buffer.getShort());
+        assertEquals(400, buffer.getShort());
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void testPutInput() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        ServerProtocol.putInput(buffer, InputCommand.HARD_DROP);
+        assertEquals(ServerProtocol.INPUT_FRAME_BYTES, buffer.position());
+        assertEquals(ServerProtocol.INPUT, buffer.get(Integer.BYTES));
+        assertEquals(InputCommand.HARD_DROP.ordinal(), buffer.get(ServerProtocol.HEADER_BYTES));
+    }
+
+    @Test
+    public void testPutWelcomeAndGameOver() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        ServerProtocol.putWelcome(buffer, 3, 10, 20);
+        int welcomeBytes = buffer.position();
+        ServerProtocol.putGameOver(buffer, 99, 1200, 4);
+        assertEquals(ServerProtocol.GAME_OVER_FRAME_BYTES, buffer.position() - welcomeBytes);
+
+        buffer.flip();
+        assertEquals(welcomeBytes, ServerProtocol.getCompleteFrameBytes(buffer));
+        assertEquals(ServerProtocol.WELCOME, buffer.get(Integer.BYTES));
+        assertEquals(3, buffer.getInt(ServerProtocol.HEADER_BYTES));
+        buffer.position(welcomeBytes);
+        assertEquals(ServerProtocol.GAME_OVER_FRAME_BYTES, ServerProtocol.getCompleteFrameBytes(buffer));
+        assertEquals(ServerProtocol.GAME_OVER, buffer.get(welcomeBytes + Integer.BYTES));
+        assertEquals(99, buffer.getLong(welcomeBytes + ServerProtocol.HEADER_BYTES));
+    }
+
+    @Test
+    public void testPutError() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        ServerProtocol.putError(buffer, "Bad");
+        assertEquals(ServerProtocol.getErrorFrameBytes("Bad"), buffer.position());
+        buffer.flip();
+        assertEquals(ServerProtocol.ERROR, buffer.get(Integer.BYTES));
+        assertEquals("Bad", ServerProtocol.getErrorMessage(buffer));
+    }
+
+    @Test
+    public void testPutBoardHeader() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        ServerProtocol.putBoardHeader(buffer, 9, 50, 40, 1, 3);
+        assertEquals(ServerProtocol.HEADER_BYTES + ServerProtocol.BOARD_FIELD_BYTES, buffer.position());
+        assertEquals(ServerProtocol.getBoardFrameBytes(9) - Integer.BYTES, buffer.getInt(0));
+        assertEquals(ServerProtocol.BOARD, buffer.get(Integer.BYTES));
+        assertEquals(50, buffer.getLong(ServerProtocol.HEADER_BYTES));
+        assertEquals(40, buffer.getInt(ServerProtocol.HEADER_BYTES + Long.BYTES));
+        assertEquals(1, buffer.getInt(ServerProtocol.HEADER_BYTES + Long.BYTES + Integer.BYTES));
+        assertEquals(3, buffer.get(ServerProtocol.HEADER_BYTES + Long.BYTES + 2 * Integer.BYTES));
+    }
+
+    @Test
+    public void testGetCompleteFrameBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        ServerProtocol.putInput(buffer, InputCommand.ROTATE);
+        buffer.flip();
+        buffer.limit(2);
+        assertEquals(-1, ServerProtocol.getCompleteFrameBytes(buffer));
+        buffer.limit(ServerProtocol.INPUT_FRAME_BYTES - 1);
+        assertEquals(-1, ServerProtocol.getCompleteFrameBytes(buffer));
+        buffer.limit(ServerProtocol.INPUT_FRAME_BYTES);
+        assertEquals(ServerProtocol.INPUT_FRAME_BYTES, ServerProtocol.getCompleteFrameBytes(buffer));
+        assertEquals(0, buffer.position());
+    }
+}
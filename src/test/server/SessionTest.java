@@ -0,0 +1,203 @@
+package server;
+
+import model.Game;
+import model.InputCommand;
+import model.randomizer.RandomizerKind;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for the Session class
+public class SessionTest {
+    private static final long SEED = 42;
+
+    private ServerSocketChannel listener;
+    private SocketChannel client;
+    private Session session;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        listener = ServerSocketChannel.open();
+        listener.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        client = SocketChannel.open(listener.getLocalAddress());
+        session = new Session(7, listener.accept());
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        session.getChannel().close();
+        client.close();
+        listener.close();
+    }
+
+    @Test
+    public void testConstructor() {
+        assertEquals(7, session.getId());
+        assertNull(session.getGame());
+        assertFalse(session.isDirty());
+        assertFalse(session.isClosing());
+        assertFalse(session.hasQueuedBytes());
+        assertEquals(ServerProtocol.MAXIMUM_CLIENT_FRAME_BYTES, session.getIncoming().capacity());
+    }
+
+    @Test
+    public void testStartGame() throws IOException {
+        Game game = new Game(SEED, 0);
+        session.startGame(game, 1000);
+        assertEquals(game, session.getGame());
+        assertEquals(0, session.getTick());
+        assertEquals(1000 + game.getMillisecondsPerUpdate() * 1000000L, session.getNextTickNanos());
+        assertTrue(session.isDirty());
+        assertTrue(session.hasQueuedBytes());
+
+        ByteBuffer received = receive(session.flush());
+        assertEquals(ServerProtocol.WELCOME, received.get(Integer.BYTES));
+        assertEquals(7, received.getInt(ServerProtocol.HEADER_BYTES));
+        assertEquals(Game.WIDTH, received.getShort(ServerProtocol.HEADER_BYTES + Integer.BYTES));
+        assertEquals(Game.HEIGHT, received.getShort(ServerProtocol.HEADER_BYTES + Integer.BYTES + Short.BYTES));
+    }
+
+    @Test
+    public void testTick() {
+        Game game = new Game(SEED, 0);
+        session.startGame(game, 0);
+        long nanosPerUpdate = game.getMillisecondsPerUpdate() * 1000000L;
+        session.tick(nanosPerUpdate, TournamentServer.MAXIMUM_CATCH_UP_TICKS);
+        assertEquals(1, session.getTick());
+        assertEquals(2 * nanosPerUpdate, session.getNextTickNanos());
+        assertTrue(session.isDirty());
+    }
+
+    @Test
+    public void testTickFallenBehind() {
+        Game game = new Game(SEED, 0);
+        session.startGame(game, 0);
+        long nanosPerUpdate = game.getMillisecondsPerUpdate() * 1000000L;
+        long now = 100 * nanosPerUpdate;
+        session.tick(now, TournamentServer.MAXIMUM_CATCH_UP_TICKS);
+        assertEquals(1, session.getTick());
+        assertEquals(now, session.getNextTickNanos());
+    }
+
+    @Test
+    public void testTickGameOver() {
+        Game game = new Game(SEED, 0);
+        session.startGame(game, 0);
+        while (!game.isGameOver()) {
+            game.execute(InputCommand.HARD_DROP);
+        }
+        long nextTickNanos = session.getNextTickNanos();
+        session.tick(nextTickNanos, TournamentServer.MAXIMUM_CATCH_UP_TICKS);
+        assertEquals(0, session.getTick());
+        assertEquals(nextTickNanos, session.getNextTickNanos());
+    }
+
+    @Test
+    public void testExecute() {
+        Game game = new Game(SEED, 0);
+        session.startGame(game, 0);
+        assertTrue(session.queueBoard());
+        assertFalse(session.isDirty());
+
+        assertTrue(session.execute(InputCommand.MOVE_LEFT.ordinal()));
+        assertTrue(session.isDirty());
+        assertFalse(session.execute(-1));
+        assertFalse(session.execute(InputCommand.values().length));
+    }
+
+    @Test
+    public void testExecuteWithoutGame() {
+        assertTrue(session.execute(InputCommand.HARD_DROP.ordinal()));
+        assertFalse(session.isDirty());
+    }
+
+    @Test
+    public void testQueueBoardKeyframeThenDeltas() throws IOException {
+        Game game = new Game(SEED, 0);
+        session.startGame(game, 0);
+        receive(session.flush());
+        BoardDeltaDecoder decoder = new BoardDeltaDecoder(Game.WIDTH, Game.HEIGHT);
+
+        // The first board is a keyframe
+        assertTrue(session.queueBoard());
+        ByteBuffer received = receive(session.flush());
+        assertEquals(ServerProtocol.getBoardFrameBytes(1 + Game.HEIGHT * 2), received.limit());
+        received.position(ServerProtocol.HEADER_BYTES + ServerProtocol.BOARD_FIELD_BYTES);
+        assertTrue(decoder.decode(received));
+        assertEquals(game.getBoard(), decoder.getBoard());
+
+        // Nothing has changed since, so the next board is a delta that only holds the mask of changed rows
+        assertTrue(session.queueBoard());
+        received = receive(session.flush());
+        assertEquals(ServerProtocol.getBoardFrameBytes(1 + 3), received.limit());
+
+        // Moving the active piece only changes the rows it is in, of which there are at most 4
+        session.execute(InputCommand.MOVE_LEFT.ordinal());
+        assertTrue(session.queueBoard());
+        received = receive(session.flush());
+        assertTrue(received.limit() <= ServerProtocol.getBoardFrameBytes(1 + 3 + 4 * 2));
+        received.position(ServerProtocol.HEADER_BYTES + ServerProtocol.BOARD_FIELD_BYTES);
+        assertEquals(BoardDeltaEncoder.DELTA, received.get(received.position()));
+        assertTrue(decoder.decode(received));
+        assertEquals(game.getBoard(), decoder.getBoard());
+    }
+
+    @Test
+    public void testQueueBoardGameOver() throws IOException {
+        Game game = new Game(SEED, 0);
+        session.startGame(game, 0);
+        receive(session.flush());
+        while (!game.isGameOver()) {
+            game.execute(InputCommand.HARD_DROP);
+        }
+        assertTrue(session.queueBoard());
+        ByteBuffer received = receive(session.flush());
+        int boardBytes = ServerProtocol.getCompleteFrameBytes(received);
+        assertEquals(ServerProtocol.BOARD, received.get(Integer.BYTES));
+        assertEquals(ServerProtocol.GAME_OVER, received.get(boardBytes + Integer.BYTES));
+        assertEquals(game.getScore(), received.getInt(boardBytes + ServerProtocol.HEADER_BYTES + Long.BYTES));
+    }
+
+    @Test
+    public void testQueueErrorAndClose() throws IOException {
+        session.queueErrorAndClose("Bad frame");
+        assertTrue(session.isClosing());
+        ByteBuffer received = receive(session.flush());
+        assertEquals(ServerProtocol.ERROR, received.get(Integer.BYTES));
+        assertEquals("Bad frame", ServerProtocol.getErrorMessage(received));
+        assertFalse(session.hasQueuedBytes());
+    }
+
+    @Test
+    public void testStartGameOnLargeBoard() throws IOException {
+        Game game = new Game(SEED, 0, RandomizerKind.UNIFORM.create(SEED), 100, 30);
+        session.startGame(game, 0);
+        receive(session.flush());
+        assertTrue(session.queueBoard());
+        ByteBuffer received = receive(session.flush());
+        assertEquals(ServerProtocol.getBoardFrameBytes(1 + 30 * 13), received.limit());
+        BoardDeltaDecoder decoder = new BoardDeltaDecoder(100, 30);
+        received.position(ServerProtocol.HEADER_BYTES + ServerProtocol.BOARD_FIELD_BYTES);
+        assertTrue(decoder.decode(received));
+        assertEquals(game.getBoard(), decoder.getBoard());
+    }
+
+    // EFFECTS: reads the given number of bytes sent to the client, and returns them in a buffer ready to be read
+    private ByteBuffer receive(int numBytes) throws IOException {
+        ByteBuffer received = ByteBuffer.allocate(numBytes);
+        while (received.hasRemaining()) {
+            client.read(received);
+        }
+        received.flip();
+        return received;
+    }
+}
@@ -0,0 +1,246 @@
+package server;
+
+import model.Game;
+import model.InputCommand;
+import model.randomizer.RandomizerKind;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for the TournamentServer class
+public class TournamentServerTest {
+    private static final long SEED = 42;
+    private static final int TIMEOUT_MILLIS = 5000;
+
+    private TournamentServer server;
+    private Thread serverThread;
+    private Socket socket;
+    private DataInputStream in;
+    private OutputStream out;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = new TournamentServer(0);
+        serverThread = new Thread(server);
+        serverThread.start();
+        connect();
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException, InterruptedException {
+        socket.close();
+        server.stop();
+        serverThread.join(TIMEOUT_MILLIS);
+    }
+
+    @Test
+    public void testJoin() throws IOException {
+        join(0, Game.WIDTH, Game.HEIGHT);
+        ByteBuffer welcome = readFrame();
+        assertEquals(ServerProtocol.WELCOME, welcome.get(Integer.BYTES));
+        assertEquals(Game.WIDTH, welcome.getShort(ServerProtocol.HEADER_BYTES + Integer.BYTES));
+        assertEquals(Game.HEIGHT, welcome.getShort(ServerProtocol.HEADER_BYTES + Integer.BYTES + Short.BYTES));
+
+        ByteBuffer board = readFrame();
+        assertEquals(ServerProtocol.BOARD, board.get(Integer.BYTES));
+        assertEquals(1, server.getNumSessions());
+        assertEquals(1, server.getNumGamesStarted());
+    }
+
+    @Test
+    public void testPlayUntilGameOver() throws IOException, InterruptedException {
+        join(0, Game.WIDTH, Game.HEIGHT);
+        readFrame();
+        ByteBuffer frame = readFrame();
+        long lastTick = 0;
+        while (frame.get(Integer.BYTES) != ServerProtocol.GAME_OVER) {
+            assertEquals(ServerProtocol.BOARD, frame.get(Integer.BYTES));
+            lastTick = frame.getLong(ServerProtocol.HEADER_BYTES);
+            send(InputCommand.HARD_DROP);
+            frame = readFrame();
+        }
+        assertEquals(lastTick, frame.getLong(ServerProtocol.HEADER_BYTES));
+        for (int i = 0; i < 100 && server.getNumGamesFinished() == 0; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, server.getNumGamesFinished());
+    }
+
+    @Test
+    public void testTicksFollowLevelSpeed() throws IOException {
+        // Level 19 updates every 40 ms, so about 12 updates are due in half a second
+        join(19, Game.WIDTH, Game.HEIGHT);
+        readFrame();
+        long start = System.nanoTime();
+        long lastTick = 0;
+        while (System.nanoTime() - start < 500000000L) {
+            ByteBuffer frame = readFrame();
+            if (frame.get(Integer.BYTES) == ServerProtocol.BOARD) {
+                lastTick = frame.getLong(ServerProtocol.HEADER_BYTES);
+            }
+        }
+        assertTrue(lastTick >= 5, "only " + lastTick + " ticks");
+        assertTrue(lastTick <= 20, lastTick + " ticks");
+        assertTrue(server.getNumTicks() >= lastTick);
+    }
+
+    @Test
+    public void testJoinLargeBoard() throws IOException {
+        join(0, 100, 30);
+        readFrame();
+        ByteBuffer board = readFrame();
+        assertEquals(ServerProtocol.BOARD, board.get(Integer.BYTES));
+        assertEquals(ServerProtocol.getBoardFrameBytes(1 + 30 * 13), board.limit());
+        assertEquals(BoardDeltaEncoder.KEYFRAME,
+                board.get(ServerProtocol.HEADER_BYTES + ServerProtocol.BOARD_FIELD_BYTES));
+    }
+
+    @Test
+    public void testJoinInvalidBoardSize() throws IOException {
+        join(0, ServerProtocol.MAXIMUM_WIDTH + 1, Game.HEIGHT);
+        assertErrorThenClosed();
+    }
+
+    @Test
+    public void testJoinInvalidLevel() throws IOException {
+        join(-1, Game.WIDTH, Game.HEIGHT);
+        assertErrorThenClosed();
+    }
+
+    @Test
+    public void testInvalidInputCommand() throws IOException {
+        join(0, Game.WIDTH, Game.HEIGHT);
+        ByteBuffer buffer = ByteBuffer.allocate(ServerProtocol.INPUT_FRAME_BYTES);
+        ServerProtocol.putInput(buffer, InputCommand.NONE);
+        buffer.put(ServerProtocol.HEADER_BYTES, (byte) 100);
+        out.write(buffer.array());
+        readFrame();
+        assertErrorThenClosed();
+    }
+
+    @Test
+    public void testInvalidMessageType() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(ServerProtocol.INPUT_FRAME_BYTES);
+        ServerProtocol.putInput(buffer, InputCommand.NONE);
+        buffer.put(Integer.BYTES, (byte) 9);
+        out.write(buffer.array());
+        assertErrorThenClosed();
+    }
+
+    @Test
+    public void testFrameTooLong() throws IOException {
+        writeFrameLength(ServerProtocol.MAXIMUM_CLIENT_FRAME_BYTES - Integer.BYTES + 1);
+        assertErrorThenClosed();
+    }
+
+    @Test
+    public void testZeroLengthFrame() throws IOException {
+        writeFrameLength(0);
+        assertErrorThenClosed();
+        assertStillServing();
+    }
+
+    @Test
+    public void testNegativeLengthFrame() throws IOException {
+        writeFrameLength(-4);
+        assertErrorThenClosed();
+        assertStillServing();
+    }
+
+    @Test
+    public void testTypeOnlyFrames() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(ServerProtocol.HEADER_BYTES);
+        buffer.putInt(1);
+        buffer.put(ServerProtocol.JOIN);
+        out.write(buffer.array());
+        assertErrorThenClosed();
+
+        socket.close();
+        connect();
+        buffer.put(Integer.BYTES, ServerProtocol.INPUT);
+        out.write(buffer.array());
+        assertErrorThenClosed();
+        assertStillServing();
+    }
+
+    @Test
+    public void testStop() throws InterruptedException {
+        server.stop();
+        serverThread.join(TIMEOUT_MILLIS);
+        assertFalse(serverThread.isAlive());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: opens a new connection to the server
+    private void connect() throws IOException {
+        socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+        socket.setSoTimeout(TIMEOUT_MILLIS);
+        in = new DataInputStream(socket.getInputStream());
+        out = socket.getOutputStream();
+    }
+
+    // EFFECTS: sends only the length of a frame, declaring it to be the given length
+    private void writeFrameLength(int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES);
+        buffer.putInt(length);
+        out.write(buffer.array());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: checks that the server still accepts and welcomes a new client
+    private void assertStillServing() throws IOException {
+        socket.close();
+        connect();
+        join(0, Game.WIDTH, Game.HEIGHT);
+        assertEquals(ServerProtocol.WELCOME, readFrame().get(Integer.BYTES));
+        assertTrue(serverThread.isAlive());
+    }
+
+    // EFFECTS: sends a JOIN message for a uniform game with the given starting level and board size
+    private void join(int level, int width, int height) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(ServerProtocol.JOIN_FRAME_BYTES);
+        ServerProtocol.putJoin(buffer, SEED, level, RandomizerKind.UNIFORM.ordinal(), width, height);
+        out.write(buffer.array());
+    }
+
+    // EFFECTS: sends an INPUT message holding the given command
+    private void send(InputCommand command) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(ServerProtocol.INPUT_FRAME_BYTES);
+        ServerProtocol.putInput(buffer, command);
+        out.write(buffer.array());
+    }
+
+    // EFFECTS: reads the next frame the server sent, and returns it, including its header, in a buffer ready to be
+    //          read
+    private ByteBuffer readFrame() throws IOException {
+        int length = in.readInt();
+        ByteBuffer frame = ByteBuffer.allocate(Integer.BYTES + length);
+        frame.putInt(length);
+        in.readFully(frame.array(), Integer.BYTES, length);
+        frame.position(0);
+        return frame;
+    }
+
+    // EFFECTS: checks that the next frame the server sent is an ERROR, and that the server then closed the
+    //          connection
+    private void assertErrorThenClosed() throws IOException {
+        ByteBuffer frame = readFrame();
+        assertEquals(ServerProtocol.ERROR, frame.get(Integer.BYTES));
+        try {
+            readFrame();
+            fail("EOFException should be thrown");
+        } catch (EOFException e) {
+            // this is expected
+        }
+    }
+}
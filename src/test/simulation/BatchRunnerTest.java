@@ -0,0 +1,103 @@
+package simulation;
+
+import model.randomizer.RandomizerKind;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for the BatchRunner class
+public class BatchRunnerTest {
+    private static final long MAX_TICKS_PER_GAME = 10000;
+
+    private InputPolicy policy;
+
+    @BeforeEach
+    public void setUp() {
+        policy = new InputPolicy() {
+            @Override
+            public InputScript createScript(long seed) {
+                return new RandomInputScript(seed);
+            }
+        };
+    }
+
+    @Test
+    public void testConstructorNoThreads() {
+        try {
+            new BatchRunner(policy, 0, MAX_TICKS_PER_GAME, 0);
+            fail("IllegalArgumentException should be thrown");
+        } catch (IllegalArgumentException e) {
+            // this is expected
+        }
+    }
+
+    @Test
+    public void testRandomizerKind() {
+        List<GameResult> uniform = new BatchRunner(policy, 0, MAX_TICKS_PER_GAME, 2).run(0, 10).getResults();
+        List<GameResult> bag = new BatchRunner(policy, 0, MAX_TICKS_PER_GAME, 2, RandomizerKind.BAG)
+                .run(0, 10).getResults();
+        List<GameResult> bagAgain = new BatchRunner(policy, 0, MAX_TICKS_PER_GAME, 1, RandomizerKind.BAG)
+                .run(0, 10).getResults();
+
+        boolean differs = false;
+        for (int i = 0; i < uniform.size(); i++) {
+            assertEquals(bag.get(i).getScore(), bagAgain.get(i).getScore());
+            assertEquals(bag.get(i).getTicks(), bagAgain.get(i).getTicks());
+            differs |= bag.get(i).getTicks() != uniform.get(i).getTicks();
+        }
+        assertTrue(differs);
+    }
+
+    @Test
+    public void testRunResultsOrderedBySeed() {
+        BatchRunner runner = new BatchRunner(policy, 0, MAX_TICKS_PER_GAME, 3);
+        BatchSummary summary = runner.run(100, 25);
+
+        List<GameResult> results = summary.getResults();
+        assertEquals(25, results.size());
+        assertEquals(25, summary.getNumGames());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(100 + i, results.get(i).getSeed());
+        }
+    }
+
+    @Test
+    public void testRunSameResultsOnAnyNumberOfThreads() {
+        List<GameResult> singleThreadResults = new BatchRunner(policy, 5, MAX_TICKS_PER_GAME, 1)
+                .run(0, 20).getResults();
+        List<GameResult> multiThreadResults = new BatchRunner(policy, 5, MAX_TICKS_PER_GAME, 4)
+                .run(0, 20).getResults();
+
+        for (int i = 0; i < singleThreadResults.size(); i++) {
+            GameResult expected = singleThreadResults.get(i);
+            GameResult actual = multiThreadResults.get(i);
+            assertEquals(expected.getScore(), actual.getScore());
+            assertEquals(expected.getLinesCleared(), actual.getLinesCleared());
+            assertEquals(expected.getLevel(), actual.getLevel());
+            assertEquals(expected.getTicks(), actual.getTicks());
+        }
+    }
+
+    @Test
+    public void testPlay() {
+        BatchRunner runner = new BatchRunner(policy, 7, MAX_TICKS_PER_GAME, 1);
+        GameResult result = runner.play(3);
+
+        assertEquals(3, result.getSeed());
+        assertTrue(result.isToppedOut());
+        assertTrue(result.getTicks() > 0);
+        assertTrue(result.getLevel() >= 7);
+    }
+
+    @Test
+    public void testPlayStopsAtMaxTicks() {
+        BatchRunner runner = new BatchRunner(policy, 0, 5, 1);
+        GameResult result = runner.play(3);
+
+        assertEquals(5, result.getTicks());
+        assertFalse(result.isToppedOut());
+    }
+}
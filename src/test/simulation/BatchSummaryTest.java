@@ -0,0 +1,60 @@
+package simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for the BatchSummary class
+public class BatchSummaryTest {
+
+    @Test
+    public void testStatistics() {
+        List<GameResult> results = new ArrayList<GameResult>();
+        results.add(new GameResult(0, 100, 2, 0, 300, true));
+        results.add(new GameResult(1, 300, 12, 1, 500, true));
+        results.add(new GameResult(2, 200, 7, 0, 1000, false));
+
+        BatchSummary summary = new BatchSummary(results, 1000000000L, 2);
+        assertEquals(3, summary.getNumGames());
+        assertEquals(2, summary.getNumToppedOut());
+        assertEquals(200, summary.getMeanScore(), 1e-9);
+        assertEquals(7, summary.getMeanLinesCleared(), 1e-9);
+        assertEquals(1.0 / 3, summary.getMeanLevel(), 1e-9);
+        assertEquals(3, summary.getGamesPerSecond(), 1e-9);
+        assertEquals(1800, summary.getTicksPerSecond(), 1e-9);
+
+        String table = summary.toTable();
+        assertTrue(table.contains("Score"));
+        assertTrue(table.contains("300"));
+    }
+
+    @Test
+    public void testEmptyBatch() {
+        BatchSummary summary = new BatchSummary(new ArrayList<GameResult>(), 0, 1);
+        assertEquals(0, summary.getNumGames());
+        assertEquals(0, summary.getMeanScore());
+        assertEquals(0, summary.getGamesPerSecond());
+        assertTrue(summary.toTable().contains("-"));
+    }
+
+    @Test
+    public void testWriteCsv() {
+        List<GameResult> results = new ArrayList<GameResult>();
+        results.add(new GameResult(4, 40, 1, 0, 123, true));
+        results.add(new GameResult(5, 0, 0, 0, 50, false));
+
+        StringWriter stringWriter = new StringWriter();
+        new BatchSummary(results, 1, 1).writeCsv(new PrintWriter(stringWriter));
+
+        String[] lines = stringWriter.toString().split("\\R");
+        assertEquals(3, lines.length);
+        assertEquals(GameResult.CSV_HEADER, lines[0]);
+        assertEquals("4,40,1,0,123,true", lines[1]);
+        assertEquals("5,0,0,0,50,false", lines[2]);
+    }
+}
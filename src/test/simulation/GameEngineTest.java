@@ -0,0 +1,116 @@
+package simulation;
+
+import model.Game;
+import model.InputCommand;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for the GameEngine class
+public class GameEngineTest {
+    private static final int GAME_SEED = 5000;
+
+    private Game game;
+
+    @BeforeEach
+    public void setUp() {
+        game = new Game(GAME_SEED, 0);
+    }
+
+    @Test
+    public void testStepWithoutCommands() {
+        GameEngine engine = new GameEngine(game, new ConstantInputScript(InputCommand.NONE));
+        int previousY = game.getActivePiece().getTileY(0);
+
+        assertTrue(engine.step());
+        assertEquals(1, engine.getTicks());
+        assertEquals(previousY + 1, game.getActivePiece().getTileY(0));
+    }
+
+    @Test
+    public void testStepExecutesCommandsBeforeUpdating() {
+        // Move the piece left twice during the first tick only
+        GameEngine engine = new GameEngine(game, new InputScript() {
+            private int commandsGiven = 0;
+
+            @Override
+            public InputCommand nextCommand(Game g, long tick) {
+                if (tick == 0 && commandsGiven < 2) {
+                    commandsGiven++;
+                    return InputCommand.MOVE_LEFT;
+                }
+                return InputCommand.NONE;
+            }
+        });
+        int previousX = game.getActivePiece().getTileX(0);
+        int previousY = game.getActivePiece().getTileY(0);
+
+        engine.step();
+        assertEquals(previousX - 2, game.getActivePiece().getTileX(0));
+        assertEquals(previousY + 1, game.getActivePiece().getTileY(0));
+    }
+
+    @Test
+    public void testStepLimitsCommandsPerTick() {
+        GameEngine engine = new GameEngine(game, new ConstantInputScript(InputCommand.ROTATE));
+        assertTrue(engine.step());
+        assertEquals(1, engine.getTicks());
+    }
+
+    @Test
+    public void testRunUntilGameOver() {
+        // Hard dropping every piece straight down tops out quickly
+        GameEngine engine = new GameEngine(game, new RandomInputScript(0) {
+            @Override
+            public InputCommand nextCommand(Game g, long tick) {
+                return tick % 2 == 0 ? InputCommand.HARD_DROP : InputCommand.NONE;
+            }
+        });
+
+        long ticksRun = engine.run(Long.MAX_VALUE);
+        assertTrue(game.isGameOver());
+        assertEquals(ticksRun, engine.getTicks());
+        assertTrue(engine.getTicksPerSecond() > 0);
+
+        // The game is over, so nothing else happens
+        assertFalse(engine.step());
+        assertEquals(0, engine.run(10));
+        assertEquals(ticksRun, engine.getTicks());
+    }
+
+    @Test
+    public void testRunStopsAtMaxTicks() {
+        GameEngine engine = new GameEngine(game, new RandomInputScript(1));
+        assertEquals(5, engine.run(5));
+        assertEquals(5, engine.getTicks());
+        assertFalse(game.isGameOver());
+    }
+
+    @Test
+    public void testRandomInputScriptIsReproducible() {
+        Game otherGame = new Game(GAME_SEED, 0);
+        GameEngine engine = new GameEngine(game, new RandomInputScript(42));
+        GameEngine otherEngine = new GameEngine(otherGame, new RandomInputScript(42));
+
+        engine.run(2000);
+        otherEngine.run(2000);
+        assertEquals(engine.getTicks(), otherEngine.getTicks());
+        assertEquals(game.getScore(), otherGame.getScore());
+        assertEquals(game.getBoard(), otherGame.getBoard());
+    }
+
+    // An input script that always gives the same command
+    private static class ConstantInputScript implements InputScript {
+        private InputCommand command;
+
+        public ConstantInputScript(InputCommand command) {
+            this.command = command;
+        }
+
+        @Override
+        public InputCommand nextCommand(Game game, long tick) {
+            return command;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package simulation;
+
+import model.Game;
+import model.InputCommand;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for the InputQueue class
+public class InputQueueTest {
+    private static final int CAPACITY = 4;
+
+    private InputQueue queue;
+
+    @BeforeEach
+    public void setUp() {
+        queue = new InputQueue(CAPACITY);
+    }
+
+    @Test
+    public void testConstructor() {
+        assertEquals(CAPACITY, queue.getCapacity());
+        assertEquals(0, queue.size());
+        assertNull(queue.poll());
+        assertEquals(InputQueue.DEFAULT_CAPACITY, new InputQueue().getCapacity());
+    }
+
+    @Test
+    public void testConstructorCapacityNotPowerOfTwo() {
+        try {
+            new InputQueue(3);
+            fail("IllegalArgumentException should be thrown");
+        } catch (IllegalArgumentException e) {
+            // this is expected
+        }
+
+        try {
+            new InputQueue(0);
+            fail("IllegalArgumentException should be thrown");
+        } catch (IllegalArgumentException e) {
+            // this is expected
+        }
+    }
+
+    @Test
+    public void testOfferAndPollInOrder() {
+        assertTrue(queue.offer(InputCommand.MOVE_LEFT, 10));
+        assertTrue(queue.offer(InputCommand.ROTATE, 20));
+        assertEquals(2, queue.size());
+
+        assertEquals(InputCommand.MOVE_LEFT, queue.poll());
+        assertEquals(10, queue.getPolledTimestamp());
+        assertEquals(InputCommand.ROTATE, queue.poll());
+        assertEquals(20, queue.getPolledTimestamp());
+        assertNull(queue.poll());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testOfferWhenFull() {
+        for (int i = 0; i < CAPACITY; i++) {
+            assertTrue(queue.offer(InputCommand.MOVE_DOWN, i));
+        }
+        assertFalse(queue.offer(InputCommand.HARD_DROP, CAPACITY));
+        assertEquals(CAPACITY, queue.size());
+
+        // Removing one command makes room for one more
+        assertEquals(InputCommand.MOVE_DOWN, queue.poll());
+        assertTrue(queue.offer(InputCommand.HARD_DROP, CAPACITY));
+        assertFalse(queue.offer(InputCommand.HARD_DROP, CAPACITY + 1));
+    }
+
+    @Test
+    public void testWrapsAroundRingBuffer() {
+        InputCommand[] commands = InputCommand.values();
+        for (int i = 0; i < 10 * CAPACITY; i++) {
+            assertTrue(queue.offer(commands[i % commands.length], i));
+            assertTrue(queue.offer(commands[(i + 1) % commands.length], i + 1));
+            assertEquals(commands[i % commands.length], queue.poll());
+            assertEquals(i, queue.getPolledTimestamp());
+            assertEquals(commands[(i + 1) % commands.length], queue.poll());
+        }
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testNextCommandForGameEngine() {
+        Game game = new Game(0, 0);
+        GameEngine engine = new GameEngine(game, queue);
+        int startX = game.getActivePiece().getTileX(0);
+        int startY = game.getActivePiece().getTileY(0);
+
+        queue.offer(InputCommand.MOVE_LEFT, 0);
+        queue.offer(InputCommand.MOVE_LEFT, 0);
+        engine.step();
+        assertEquals(startX - 2, game.getActivePiece().getTileX(0));
+        assertEquals(startY + 1, game.getActivePiece().getTileY(0));
+
+        // An empty queue gives no commands
+        assertEquals(InputCommand.NONE, queue.nextCommand(game, 1));
+        engine.step();
+        assertEquals(startX - 2, game.getActivePiece().getTileX(0));
+    }
+
+    @Test
+    public void testProducerAndConsumerThreads() throws InterruptedException {
+        // The producer offers commands numbered by their timestamps; the consumer must see every one, in order
+        final int numCommands = 200000;
+        final InputCommand[] commands = InputCommand.values();
+        Thread producer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < numCommands; i++) {
+                    while (!queue.offer(commands[i % commands.length], i)) {
+                        Thread.yield();
+                    }
+                }
+            }
+        });
+        producer.start();
+
+        int received = 0;
+        while (received < numCommands) {
+            InputCommand command = queue.poll();
+            if (command == null) {
+                Thread.yield();
+            } else {
+                assertEquals(commands[received % commands.length], command);
+                assertEquals(received, queue.getPolledTimestamp());
+                received++;
+            }
+        }
+        producer.join();
+        assertNull(queue.poll());
+    }
+}
@@ -0,0 +1,77 @@
+package tuning;
+
+import ai.HeuristicWeights;
+import org.junit.jupiter.api.Test;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for the TuningCheckpoint, TuningSettings and Candidate classes
+public class TuningCheckpointTest {
+    private static final TuningSettings SETTINGS = new TuningSettings(2, 3, 10, 0, 500);
+
+    @Test
+    public void testSettingsInvalid() {
+        long[][] arguments = {{1, 1, 1}, {2, 0, 1}, {2, 1, 0}};
+        for (long[] argument : arguments) {
+            try {
+                new TuningSettings((int) argument[0], (int) argument[1], 0, 0, argument[2]);
+                fail("IllegalArgumentException should be thrown");
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testSettingsEquals() {
+        assertEquals(SETTINGS, new TuningSettings(2, 3, 10, 0, 500));
+        assertEquals(SETTINGS.hashCode(), new TuningSettings(2, 3, 10, 0, 500).hashCode());
+        assertNotEquals(SETTINGS, new TuningSettings(2, 3, 11, 0, 500));
+        assertNotEquals(SETTINGS, null);
+    }
+
+    @Test
+    public void testCandidate() {
+        Candidate candidate = new Candidate(HeuristicWeights.DEFAULT, 12.5);
+        assertSame(HeuristicWeights.DEFAULT, candidate.getWeights());
+        assertEquals(12.5, candidate.getFitness());
+        assertEquals(candidate, new Candidate(HeuristicWeights.fromArray(HeuristicWeights.DEFAULT.toArray()), 12.5));
+        assertNotEquals(candidate, new Candidate(HeuristicWeights.DEFAULT, 12));
+        assertTrue(candidate.toString().contains("12.50"));
+    }
+
+    @Test
+    public void testConstructorWrongPopulationSize() {
+        List<Candidate> population = new ArrayList<Candidate>();
+        population.add(new Candidate(HeuristicWeights.DEFAULT, 1));
+        try {
+            new TuningCheckpoint(SETTINGS, 1, 0, 0, population);
+            fail("IllegalArgumentException should be thrown");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testSaveTo() {
+        List<Candidate> population = new ArrayList<Candidate>();
+        population.add(new Candidate(new HeuristicWeights(-0.5, -0.5, -0.5, 0.5), 12.5));
+        population.add(new Candidate(new HeuristicWeights(0.5, -0.5, -0.5, 0.5), 3));
+        TuningCheckpoint checkpoint = new TuningCheckpoint(SETTINGS, 7, 12345, 42, population);
+        population.clear();
+        assertEquals(2, checkpoint.getPopulation().size());
+
+        StringWriter out = new StringWriter();
+        PrintWriter printWriter = new PrintWriter(out);
+        checkpoint.saveTo(printWriter);
+        printWriter.flush();
+        String expected = String.format("2,3,10,0,500%n7,12345,42%n-0.5,-0.5,-0.5,0.5,12.5%n"
+                + "0.5,-0.5,-0.5,0.5,3.0%n");
+        assertEquals(expected, out.toString());
+    }
+}
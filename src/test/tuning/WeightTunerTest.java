@@ -0,0 +1,97 @@
+package tuning;
+
+import ai.HeuristicWeights;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for the WeightTuner class
+public class WeightTunerTest {
+    private static final TuningSettings SETTINGS = new TuningSettings(10, 2, 0, 0, 300);
+
+    @Test
+    public void testConstructorNoThreads() {
+        try {
+            new WeightTuner(SETTINGS, 0);
+            fail("IllegalArgumentException should be thrown");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testFirstGeneration() {
+        WeightTuner tuner = new WeightTuner(SETTINGS, 2);
+        assertSame(SETTINGS, tuner.getSettings());
+        assertNull(tuner.getBest());
+        assertEquals(0, tuner.getGamesPerSecondPerThread());
+
+        tuner.runGeneration();
+        assertEquals(1, tuner.getGeneration());
+        assertEquals(20, tuner.getNumGamesPlayed());
+        assertTrue(tuner.getGamesPerSecondPerThread() > 0);
+        List<Candidate> population = tuner.getPopulation();
+        assertEquals(10, population.size());
+        assertSame(population.get(0), tuner.getBest());
+        for (int i = 0; i < population.size(); i++) {
+            assertEquals(1, length(population.get(i).getWeights()), 1e-9);
+            if (i > 0) {
+                assertTrue(population.get(i - 1).getFitness() >= population.get(i).getFitness());
+            }
+        }
+    }
+
+    @Test
+    public void testLaterGenerationsReplaceLeastFit() {
+        WeightTuner tuner = new WeightTuner(SETTINGS, 1);
+        tuner.runGeneration();
+        Candidate best = tuner.getBest();
+        tuner.runGeneration();
+        assertEquals(2, tuner.getGeneration());
+        assertEquals(20 + 3 * 2, tuner.getNumGamesPlayed());
+        assertEquals(10, tuner.getPopulation().size());
+        assertTrue(tuner.getBest().getFitness() >= best.getFitness());
+    }
+
+    @Test
+    public void testEvaluate() {
+        WeightTuner tuner = new WeightTuner(SETTINGS, 3);
+        List<HeuristicWeights> weights = new ArrayList<HeuristicWeights>();
+        weights.add(HeuristicWeights.DEFAULT);
+        weights.add(new HeuristicWeights(0, 0, 0, 0));
+        weights.add(HeuristicWeights.DEFAULT);
+        double[] fitnesses = tuner.evaluate(weights);
+        assertEquals(3, fitnesses.length);
+        assertEquals(fitnesses[0], fitnesses[2]);
+        assertTrue(fitnesses[0] > fitnesses[1]);
+        assertEquals(6, tuner.getNumGamesPlayed());
+    }
+
+    @Test
+    public void testResumeFromCheckpoint() {
+        WeightTuner uninterrupted = new WeightTuner(SETTINGS, 2);
+        for (int i = 0; i < 3; i++) {
+            uninterrupted.runGeneration();
+        }
+
+        WeightTuner stopped = new WeightTuner(SETTINGS, 1);
+        stopped.runGeneration();
+        WeightTuner resumed = new WeightTuner(stopped.getCheckpoint(), 3);
+        assertEquals(1, resumed.getGeneration());
+        resumed.runGeneration();
+        resumed.runGeneration();
+        assertEquals(uninterrupted.getCheckpoint(), resumed.getCheckpoint());
+    }
+
+    // EFFECTS: returns the length of the given weights as a vector
+    private static double length(HeuristicWeights weights) {
+        double sumOfSquares = 0;
+        for (double weight : weights.toArray()) {
+            sumOfSquares += weight * weight;
+        }
+        return Math.sqrt(sumOfSquares);
+    }
+}